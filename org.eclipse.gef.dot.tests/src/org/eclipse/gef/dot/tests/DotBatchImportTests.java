@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.tests;
+
+import static org.eclipse.gef.dot.tests.DotTestUtils.RESOURCES_TESTS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.eclipse.gef.dot.internal.DotAttributes;
+import org.eclipse.gef.dot.internal.DotBatchImport;
+import org.eclipse.gef.dot.internal.DotBatchImport.Problem;
+import org.eclipse.gef.dot.internal.DotBatchImport.Result;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DotBatchImport} class.
+ *
+ * @author zhaosongvip
+ */
+public final class DotBatchImportTests {
+
+	private DotBatchImport dotBatchImport;
+
+	@Before
+	public void setUp() {
+		dotBatchImport = new DotBatchImport(4);
+	}
+
+	@After
+	public void tearDown() {
+		dotBatchImport.dispose();
+	}
+
+	@Test
+	public void importDirectory() {
+		File directory = new File(RESOURCES_TESTS);
+		List<Result> results = dotBatchImport.importDirectory(directory);
+		assertFalse(results.isEmpty());
+		// results are returned in the order of the file names
+		for (int i = 1; i < results.size(); i++) {
+			assertTrue(results.get(i - 1).getFile()
+					.compareTo(results.get(i).getFile()) < 0);
+		}
+	}
+
+	@Test
+	public void importMultipleGraphs() {
+		StringBuilder dot = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			dot.append("graph g" + i + " { n1 -- n2 }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		Result result = dotBatchImport.importDot(dot.toString());
+		assertFalse(result.hasProblems());
+		assertEquals(20, result.getGraphs().size());
+		// graphs are returned in document order
+		for (int i = 0; i < 20; i++) {
+			assertEquals("g" + i, //$NON-NLS-1$
+					DotAttributes._getName(result.getGraphs().get(i)));
+		}
+	}
+
+	@Test
+	public void workerThreadsAreDaemons() {
+		StringBuilder dot = new StringBuilder();
+		for (int i = 0; i < 8; i++) {
+			dot.append("graph g" + i + " { n1 -- n2 }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		dotBatchImport.importDot(dot.toString());
+		int workers = 0;
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().startsWith("DotBatchImport-")) { //$NON-NLS-1$
+				assertTrue(thread.isDaemon());
+				workers++;
+			}
+		}
+		assertTrue(workers > 0);
+	}
+
+	@Test
+	public void importSyntaxError() {
+		Result result = dotBatchImport.importDot("graph g0 { n1 -- n2 }\n" //$NON-NLS-1$
+				+ "graph g1 { n1 -- }\n" //$NON-NLS-1$
+				+ "graph g2 { n1 -- n2 }\n"); //$NON-NLS-1$
+		assertTrue(result.hasProblems());
+		Problem problem = result.getProblems().get(0);
+		assertEquals(1, problem.getGraphIndex());
+		assertEquals(2, problem.getLine());
+		// the valid graphs are imported nevertheless, and the graphs are
+		// indexed like the problems
+		assertEquals(3, result.getGraphs().size());
+		assertNull(result.getGraphs().get(problem.getGraphIndex()));
+		assertEquals("g0", //$NON-NLS-1$
+				DotAttributes._getName(result.getGraphs().get(0)));
+		assertEquals("g2", //$NON-NLS-1$
+				DotAttributes._getName(result.getGraphs().get(2)));
+	}
+
+}
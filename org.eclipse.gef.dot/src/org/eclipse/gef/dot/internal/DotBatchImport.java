@@ -0,0 +1,502 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.internal;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.gef.dot.internal.language.DotStandaloneSetup;
+import org.eclipse.gef.dot.internal.language.dot.DotAst;
+import org.eclipse.gef.dot.internal.language.dot.DotGraph;
+import org.eclipse.gef.dot.internal.language.parser.antlr.DotParser;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.parser.IParser;
+
+import com.google.inject.Injector;
+
+/**
+ * The {@link DotBatchImport} is a thread-safe facade for importing multiple DOT
+ * documents concurrently. Independent documents are parsed and transformed in
+ * parallel, using a bounded pool of worker threads. When importing a single
+ * document, its top-level graphs are transformed in parallel.
+ * <p>
+ * Each worker thread uses its own {@link DotParser} instance (obtained from the
+ * {@link Injector}), and each graph is transformed by its own
+ * {@link DotImport}, so that no mutable state is shared between the workers.
+ * <p>
+ * In contrast to {@link DotImport}, errors do not abort the import. Instead,
+ * they are reported per graph (including their source positions) by the
+ * {@link Result} of the respective document, while the valid graphs of the
+ * document are still imported. The results are returned in document order,
+ * and a result provides one slot per top-level graph of its document (which
+ * is <code>null</code> if the graph could not be imported), so that the
+ * graphs can be looked up by the {@link Problem#getGraphIndex() graph index}
+ * of a {@link Problem}.
+ * <p>
+ * The worker threads are daemon threads, so that they do not prevent the
+ * termination of the JVM. Nevertheless, the {@link DotBatchImport} should be
+ * {@link #dispose() disposed} when it is no longer needed, so that its worker
+ * threads are terminated.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class DotBatchImport {
+
+	/**
+	 * A {@link Problem} describes an error that occurred while importing a DOT
+	 * document, together with its source position.
+	 */
+	public static final class Problem {
+
+		private final int graphIndex;
+		private final int line;
+		private final int offset;
+		private final int length;
+		private final String message;
+
+		/**
+		 * Constructs a new {@link Problem}.
+		 *
+		 * @param graphIndex
+		 *            The index of the top-level graph to which the problem
+		 *            belongs, or <code>-1</code> if it cannot be attributed to
+		 *            a graph.
+		 * @param line
+		 *            The (1-based) line of the problem, or <code>-1</code> if
+		 *            unknown.
+		 * @param offset
+		 *            The (0-based) character offset of the problem, or
+		 *            <code>-1</code> if unknown.
+		 * @param length
+		 *            The number of characters covered by the problem.
+		 * @param message
+		 *            The problem message.
+		 */
+		public Problem(int graphIndex, int line, int offset, int length,
+				String message) {
+			this.graphIndex = graphIndex;
+			this.line = line;
+			this.offset = offset;
+			this.length = length;
+			this.message = message;
+		}
+
+		/**
+		 * Returns the index of the top-level graph to which this
+		 * {@link Problem} belongs, or <code>-1</code> if it cannot be
+		 * attributed to a graph.
+		 *
+		 * @return The index of the affected top-level graph.
+		 */
+		public int getGraphIndex() {
+			return graphIndex;
+		}
+
+		/**
+		 * Returns the number of characters covered by this {@link Problem}.
+		 *
+		 * @return The number of characters covered by this {@link Problem}.
+		 */
+		public int getLength() {
+			return length;
+		}
+
+		/**
+		 * Returns the (1-based) line of this {@link Problem}, or
+		 * <code>-1</code> if unknown.
+		 *
+		 * @return The line of this {@link Problem}.
+		 */
+		public int getLine() {
+			return line;
+		}
+
+		/**
+		 * Returns the message of this {@link Problem}.
+		 *
+		 * @return The message of this {@link Problem}.
+		 */
+		public String getMessage() {
+			return message;
+		}
+
+		/**
+		 * Returns the (0-based) character offset of this {@link Problem}, or
+		 * <code>-1</code> if unknown.
+		 *
+		 * @return The offset of this {@link Problem}.
+		 */
+		public int getOffset() {
+			return offset;
+		}
+
+		@Override
+		public String toString() {
+			return "graph " + graphIndex + ", line " + line + ": " + message; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * The {@link Result} of importing a single DOT document, i.e. one
+	 * {@link Graph} per top-level graph of the document (in document order,
+	 * where graphs that could not be imported are <code>null</code>) and the
+	 * {@link Problem}s that occurred.
+	 */
+	public static final class Result {
+
+		private final File file;
+		private final List<Graph> graphs;
+		private final List<Problem> problems;
+
+		/**
+		 * Constructs a new {@link Result}.
+		 *
+		 * @param file
+		 *            The DOT file that was imported, or <code>null</code> if a
+		 *            DOT string was imported.
+		 * @param graphs
+		 *            The imported {@link Graph}s, one per top-level graph of
+		 *            the document, where graphs that could not be imported are
+		 *            <code>null</code>.
+		 * @param problems
+		 *            The {@link Problem}s that occurred.
+		 */
+		public Result(File file, List<Graph> graphs, List<Problem> problems) {
+			this.file = file;
+			this.graphs = Collections.unmodifiableList(graphs);
+			this.problems = Collections.unmodifiableList(problems);
+		}
+
+		/**
+		 * Returns the DOT file that was imported, or <code>null</code> if a
+		 * DOT string was imported.
+		 *
+		 * @return The imported DOT file.
+		 */
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * Returns one {@link Graph} per top-level graph of the document, in
+		 * document order. Graphs that could not be imported are
+		 * <code>null</code>, so that the index of a graph matches the
+		 * {@link Problem#getGraphIndex() graph index} of its {@link Problem}s.
+		 *
+		 * @return The imported {@link Graph}s.
+		 */
+		public List<Graph> getGraphs() {
+			return graphs;
+		}
+
+		/**
+		 * Returns the {@link Problem}s that occurred during the import.
+		 *
+		 * @return The {@link Problem}s that occurred.
+		 */
+		public List<Problem> getProblems() {
+			return problems;
+		}
+
+		/**
+		 * Returns <code>true</code> if any {@link Problem}s occurred during
+		 * the import. Otherwise returns <code>false</code>.
+		 *
+		 * @return <code>true</code> if any {@link Problem}s occurred,
+		 *         otherwise <code>false</code>.
+		 */
+		public boolean hasProblems() {
+			return !problems.isEmpty();
+		}
+	}
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	private static Injector standaloneInjector;
+
+	private static synchronized Injector getStandaloneInjector() {
+		if (standaloneInjector == null) {
+			standaloneInjector = new DotStandaloneSetup()
+					.createInjectorAndDoEMFRegistration();
+		}
+		return standaloneInjector;
+	}
+
+	private final Injector injector;
+	private final ThreadPoolExecutor executor;
+
+	private final ThreadLocal<IParser> parser = new ThreadLocal<IParser>() {
+		@Override
+		protected IParser initialValue() {
+			return injector.getInstance(DotParser.class);
+		}
+	};
+
+	/**
+	 * Constructs a new {@link DotBatchImport} that uses one worker thread per
+	 * available processor and a standalone {@link Injector}.
+	 */
+	public DotBatchImport() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructs a new {@link DotBatchImport} that uses the given number of
+	 * worker threads and a standalone {@link Injector}.
+	 *
+	 * @param parallelism
+	 *            The number of worker threads.
+	 */
+	public DotBatchImport(int parallelism) {
+		this(getStandaloneInjector(), parallelism);
+	}
+
+	/**
+	 * Constructs a new {@link DotBatchImport} that uses the given number of
+	 * worker threads and obtains its {@link DotParser} instances from the
+	 * given {@link Injector}.
+	 *
+	 * @param injector
+	 *            The {@link Injector} of the DOT language.
+	 * @param parallelism
+	 *            The number of worker threads.
+	 */
+	public DotBatchImport(Injector injector, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException(
+					"parallelism has to be positive, but is " + parallelism); //$NON-NLS-1$
+		}
+		this.injector = injector;
+		// bound the queue, so that the calling thread executes tasks itself
+		// (and thereby stops submitting) when the workers are saturated
+		executor = new ThreadPoolExecutor(parallelism, parallelism, 0L,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(4 * parallelism),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"DotBatchImport-" //$NON-NLS-1$
+										+ threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	private void checkNotDisposed() {
+		if (executor.isShutdown()) {
+			throw new IllegalStateException(
+					"DotBatchImport has already been disposed."); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Terminates the worker threads of this {@link DotBatchImport}. Imports
+	 * that are in progress are completed.
+	 */
+	public void dispose() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Transforms the given {@link DotGraph} into a {@link Graph}, using a new
+	 * {@link DotImport}. If the transformation fails, a {@link Problem} is
+	 * added to the given list.
+	 */
+	private Graph importDot(DotGraph dotGraph, int graphIndex,
+			List<Problem> problems) {
+		try {
+			return new DotImport().importDot(dotGraph);
+		} catch (RuntimeException e) {
+			INode node = NodeModelUtils.getNode(dotGraph);
+			problems.add(new Problem(graphIndex,
+					node == null ? -1 : node.getStartLine(),
+					node == null ? -1 : node.getOffset(),
+					node == null ? 0 : node.getLength(), String.valueOf(
+							e.getMessage())));
+			return null;
+		}
+	}
+
+	/**
+	 * Imports all DOT files (i.e. files with the <code>.dot</code> extension)
+	 * that are contained in the given directory (not recursively) in parallel.
+	 * The files are imported in the order of their names.
+	 *
+	 * @param directory
+	 *            The directory that contains the DOT files.
+	 * @return A {@link Result} per DOT file, in the order of the file names.
+	 */
+	public List<Result> importDirectory(File directory) {
+		File[] files = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().endsWith(".dot"); //$NON-NLS-1$
+			}
+		});
+		if (files == null) {
+			throw new IllegalArgumentException(
+					"Given file is not a directory: " + directory); //$NON-NLS-1$
+		}
+		Arrays.sort(files);
+		return importFiles(Arrays.asList(files));
+	}
+
+	/**
+	 * Imports the given DOT document. The top-level graphs of the document
+	 * are transformed in parallel. This method may not be called from within
+	 * a worker thread of this {@link DotBatchImport}.
+	 *
+	 * @param dotString
+	 *            The DOT document to import.
+	 * @return The {@link Result} of the import.
+	 */
+	public Result importDot(String dotString) {
+		checkNotDisposed();
+		final List<Problem> problems = Collections
+				.synchronizedList(new ArrayList<Problem>());
+		List<DotGraph> dotGraphs = parse(dotString, problems);
+		List<Future<Graph>> futures = new ArrayList<>();
+		for (int i = 0; i < dotGraphs.size(); i++) {
+			final DotGraph dotGraph = dotGraphs.get(i);
+			final int graphIndex = i;
+			futures.add(executor.submit(new Callable<Graph>() {
+				@Override
+				public Graph call() throws Exception {
+					return dotGraph == null ? null
+							: importDot(dotGraph, graphIndex, problems);
+				}
+			}));
+		}
+		// keep one slot per graph, so that indices match the problems
+		List<Graph> graphs = new ArrayList<>();
+		for (Future<Graph> future : futures) {
+			graphs.add(waitFor(future));
+		}
+		return new Result(null, graphs, sort(problems));
+	}
+
+	/**
+	 * Imports the given DOT files in parallel. Each file is processed
+	 * completely by a single worker thread.
+	 *
+	 * @param files
+	 *            The DOT files to import.
+	 * @return A {@link Result} per DOT file, in the order of the given files.
+	 */
+	public List<Result> importFiles(List<File> files) {
+		checkNotDisposed();
+		List<Future<Result>> futures = new ArrayList<>();
+		for (final File file : files) {
+			futures.add(executor.submit(new Callable<Result>() {
+				@Override
+				public Result call() throws Exception {
+					return importFile(file);
+				}
+			}));
+		}
+		List<Result> results = new ArrayList<>();
+		for (Future<Result> future : futures) {
+			results.add(waitFor(future));
+		}
+		return results;
+	}
+
+	private Result importFile(File file) {
+		List<Problem> problems = new ArrayList<>();
+		List<Graph> graphs = new ArrayList<>();
+		List<DotGraph> dotGraphs = parse(DotFileUtils.read(file), problems);
+		for (int i = 0; i < dotGraphs.size(); i++) {
+			graphs.add(dotGraphs.get(i) == null ? null
+					: importDot(dotGraphs.get(i), i, problems));
+		}
+		return new Result(file, graphs, sort(problems));
+	}
+
+	/**
+	 * Parses the given DOT document using the {@link DotParser} of the
+	 * current thread. Returns the top-level graphs of the document, where
+	 * graphs that contain syntax errors are replaced by <code>null</code>.
+	 * The syntax errors are added to the given list of {@link Problem}s.
+	 */
+	private List<DotGraph> parse(String dotString, List<Problem> problems) {
+		IParseResult parseResult = parser.get()
+				.parse(new StringReader(dotString));
+		List<DotGraph> dotGraphs = new ArrayList<>();
+		if (parseResult.getRootASTElement() instanceof DotAst) {
+			dotGraphs.addAll(
+					((DotAst) parseResult.getRootASTElement()).getGraphs());
+		}
+		for (INode error : parseResult.getSyntaxErrors()) {
+			// attribute the syntax error to the graph that contains it
+			int graphIndex = -1;
+			for (int i = 0; i < dotGraphs.size() && graphIndex < 0; i++) {
+				INode node = dotGraphs.get(i) == null ? null
+						: NodeModelUtils.getNode(dotGraphs.get(i));
+				if (node != null && error.getOffset() >= node.getOffset()
+						&& error.getOffset() <= node.getEndOffset()) {
+					graphIndex = i;
+				}
+			}
+			problems.add(new Problem(graphIndex, error.getStartLine(),
+					error.getOffset(), error.getLength(),
+					error.getSyntaxErrorMessage().getMessage()));
+			if (graphIndex >= 0) {
+				dotGraphs.set(graphIndex, null);
+			}
+		}
+		return dotGraphs;
+	}
+
+	private List<Problem> sort(List<Problem> problems) {
+		List<Problem> sorted = new ArrayList<>(problems);
+		Collections.sort(sorted, new Comparator<Problem>() {
+			@Override
+			public int compare(Problem p1, Problem p2) {
+				return Integer.compare(p1.getOffset(), p2.getOffset());
+			}
+		});
+		return sorted;
+	}
+
+	private <T> T waitFor(Future<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
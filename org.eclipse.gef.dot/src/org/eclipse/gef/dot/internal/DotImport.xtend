@@ -82,6 +82,21 @@ class DotImport {
 		(parseResult.rootASTElement as DotAst).graphs.map[transformDotGraph].filterNull.toList
 	}
 
+	/**
+	 * Creates a {@link Graph} for the given (already parsed) {@link DotGraph}.
+	 * As the created graph only depends on the given {@link DotGraph}, the
+	 * top-level graphs of a DOT document may be transformed independently,
+	 * using one {@link DotImport} per graph (see {@link DotBatchImport}).
+	 * 
+	 * @param dotGraph
+	 *            The {@link DotGraph} to transform.
+	 * @return The created {@link Graph}, or <code>null</code> if the given
+	 *         {@link DotGraph} could not be transformed.
+	 */
+	def Graph importDot(DotGraph dotGraph) {
+		dotGraph.transformDotGraph
+	}
+
 	private def Map<String, ID> create newHashMap globalGraphAttributes(Graph.Builder context) {
 	}
 
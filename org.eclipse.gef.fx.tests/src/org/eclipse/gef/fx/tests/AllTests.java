@@ -18,7 +18,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ ConnectionTests.class, GeometryNodeTests.class, GeometryConversionTests.class,
-		OrthogonalProjectionStrategyTests.class, NodeUtilsTests.class, FXCanvasExTests.class})
+		OrthogonalProjectionStrategyTests.class, NodeUtilsTests.class, FXCanvasExTests.class, VisualChangeListenerTests.class })
 public class AllTests {
 
 }
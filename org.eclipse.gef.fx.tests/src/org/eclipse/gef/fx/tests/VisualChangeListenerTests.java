@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.fx.listeners.VisualChangeListener;
+import org.junit.Test;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Transform;
+
+public class VisualChangeListenerTests {
+
+	/**
+	 * Counts the reported bounds and transform changes.
+	 */
+	private static class CountingListener extends VisualChangeListener {
+		private int boundsChanges;
+		private int transformChanges;
+
+		@Override
+		protected void boundsInLocalChanged(Bounds oldBounds, Bounds newBounds) {
+			boundsChanges++;
+		}
+
+		@Override
+		protected void localToParentTransformChanged(Node observed, Transform oldTransform, Transform newTransform) {
+			transformChanges++;
+		}
+	}
+
+	/**
+	 * Changes of a node that is observed by multiple listeners are reported
+	 * once to each listener, while the node is only observed once.
+	 */
+	@Test
+	public void fanOutToRegisteredListeners() {
+		Rectangle observed = new Rectangle(10, 10);
+		Rectangle observer = new Rectangle(10, 10);
+		new Group(observed, observer);
+
+		CountingListener[] listeners = new CountingListener[3];
+		for (int i = 0; i < listeners.length; i++) {
+			listeners[i] = new CountingListener();
+			listeners[i].register(observed, observer);
+			assertTrue(listeners[i].isRegistered());
+		}
+		// the observation state is shared by all listeners
+		assertEquals(1, observed.getProperties().size());
+		assertEquals(1, observer.getProperties().size());
+
+		// a bounds change is reported once per listener
+		observed.setWidth(20);
+		for (CountingListener l : listeners) {
+			assertEquals(1, l.boundsChanges);
+		}
+
+		// transform changes are reported for the observed and the observer
+		observed.setLayoutX(5);
+		observer.setLayoutX(5);
+		for (CountingListener l : listeners) {
+			assertEquals(2, l.transformChanges);
+		}
+	}
+
+	/**
+	 * Unregistered listeners are no longer notified, and the observation state
+	 * is released when the last listener is unregistered.
+	 */
+	@Test
+	public void unregister() {
+		Rectangle observed = new Rectangle(10, 10);
+		Rectangle observer = new Rectangle(10, 10);
+		new Group(observed, observer);
+
+		CountingListener first = new CountingListener();
+		CountingListener second = new CountingListener();
+		first.register(observed, observer);
+		second.register(observed, observer);
+
+		first.unregister();
+		assertFalse(first.isRegistered());
+		observed.setWidth(20);
+		observed.setLayoutX(5);
+		assertEquals(0, first.boundsChanges);
+		assertEquals(0, first.transformChanges);
+		assertEquals(1, second.boundsChanges);
+		assertEquals(1, second.transformChanges);
+		assertEquals(1, observed.getProperties().size());
+
+		second.unregister();
+		assertTrue(observed.getProperties().isEmpty());
+		assertTrue(observer.getProperties().isEmpty());
+		observed.setWidth(30);
+		observed.setLayoutX(10);
+		assertEquals(1, second.boundsChanges);
+		assertEquals(1, second.transformChanges);
+
+		// re-registering observes the node again
+		first.register(observed, observer);
+		observed.setWidth(40);
+		assertEquals(1, first.boundsChanges);
+		first.unregister();
+	}
+}
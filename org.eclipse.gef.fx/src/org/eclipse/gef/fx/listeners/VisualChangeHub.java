@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.listeners;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.transform.Transform;
+
+/**
+ * The {@link VisualChangeHub} maintains exactly one set of property listeners
+ * per observed {@link Node}, which is shared by all {@link VisualChangeListener}
+ * s that observe that {@link Node}. Changes are fanned out to the subscribed
+ * {@link VisualChangeListener}s, so that the number of listeners registered at
+ * a {@link Node} (and the number of change notifications that are processed by
+ * JavaFX) does not grow with the number of {@link VisualChangeListener}s. For
+ * example, when a lot of anchored nodes are attached to the same anchorage,
+ * the anchorage and all its ancestors are only observed once.
+ * <p>
+ * Bounds changes are coalesced per {@link Node}, i.e. a bounds change is only
+ * reported after the layout-bounds, bounds-in-local, and bounds-in-parent of
+ * the {@link Node} changed, and it is reported only once per subscribed
+ * {@link VisualChangeListener}.
+ * <p>
+ * The observation state is stored within the {@link Node#getProperties()
+ * properties} of the observed {@link Node}, so that it is maintained per
+ * scene graph and released together with the {@link Node}. It is removed as
+ * soon as the last {@link VisualChangeListener} unsubscribes.
+ *
+ * @author zhaosongvip
+ *
+ */
+final class VisualChangeHub {
+
+	/**
+	 * The observation state for a single {@link Node}.
+	 */
+	private static final class Observation {
+
+		private final Node node;
+
+		private final Set<VisualChangeListener> boundsSubscribers = new LinkedHashSet<>();
+		private final Set<VisualChangeListener> transformSubscribers = new LinkedHashSet<>();
+		private VisualChangeListener[] boundsSnapshot;
+		private VisualChangeListener[] transformSnapshot;
+
+		private boolean layoutBoundsChanged = false;
+		private boolean boundsInLocalChanged = false;
+		private boolean boundsInParentChanged = false;
+		private Bounds oldBoundsInLocal = null;
+		private Bounds newBoundsInLocal = null;
+
+		private final ChangeListener<Bounds> layoutBoundsListener = new ChangeListener<Bounds>() {
+			@Override
+			public void changed(ObservableValue<? extends Bounds> observable,
+					Bounds oldValue, Bounds newValue) {
+				// only fire a visual change event if the new bounds are valid
+				if (isValidBounds(newValue)) {
+					layoutBoundsChanged = true;
+					onBoundsChanged();
+				}
+			}
+		};
+
+		private final ChangeListener<Bounds> boundsInLocalListener = new ChangeListener<Bounds>() {
+			@Override
+			public void changed(ObservableValue<? extends Bounds> observable,
+					Bounds oldValue, Bounds newValue) {
+				// only fire a visual change event if the new bounds are valid
+				if (isValidBounds(newValue)) {
+					// keep the oldest bounds until the change is reported
+					if (!boundsInLocalChanged) {
+						oldBoundsInLocal = oldValue;
+					}
+					newBoundsInLocal = newValue;
+					boundsInLocalChanged = true;
+					onBoundsChanged();
+				}
+			}
+		};
+
+		private final ChangeListener<Bounds> boundsInParentListener = new ChangeListener<Bounds>() {
+			@Override
+			public void changed(ObservableValue<? extends Bounds> observable,
+					Bounds oldValue, Bounds newValue) {
+				// only fire a visual change event if the new bounds are valid
+				if (isValidBounds(newValue)) {
+					boundsInParentChanged = true;
+					onBoundsChanged();
+				}
+			}
+		};
+
+		private final ChangeListener<Transform> transformListener = new ChangeListener<Transform>() {
+			@Override
+			public void changed(ObservableValue<? extends Transform> observable,
+					Transform oldValue, Transform newValue) {
+				// only fire a visual change event if the new transform is
+				// valid
+				if (isValidTransform(newValue)) {
+					onTransformChanged(oldValue, newValue);
+				}
+			}
+		};
+
+		private Observation(Node node) {
+			this.node = node;
+		}
+
+		private boolean addBoundsSubscriber(VisualChangeListener listener) {
+			if (boundsSubscribers.isEmpty()) {
+				node.layoutBoundsProperty().addListener(layoutBoundsListener);
+				node.boundsInLocalProperty().addListener(boundsInLocalListener);
+				node.boundsInParentProperty()
+						.addListener(boundsInParentListener);
+			}
+			boundsSnapshot = null;
+			return boundsSubscribers.add(listener);
+		}
+
+		private boolean addTransformSubscriber(VisualChangeListener listener) {
+			if (transformSubscribers.isEmpty()) {
+				node.localToParentTransformProperty()
+						.addListener(transformListener);
+			}
+			transformSnapshot = null;
+			return transformSubscribers.add(listener);
+		}
+
+		private boolean isEmpty() {
+			return boundsSubscribers.isEmpty()
+					&& transformSubscribers.isEmpty();
+		}
+
+		private void onBoundsChanged() {
+			if (layoutBoundsChanged && boundsInLocalChanged
+					&& boundsInParentChanged) {
+				layoutBoundsChanged = false;
+				boundsInLocalChanged = false;
+				boundsInParentChanged = false;
+				Bounds oldBounds = oldBoundsInLocal;
+				Bounds newBounds = newBoundsInLocal;
+				oldBoundsInLocal = null;
+				newBoundsInLocal = null;
+				if (boundsSnapshot == null) {
+					boundsSnapshot = boundsSubscribers
+							.toArray(new VisualChangeListener[] {});
+				}
+				for (VisualChangeListener l : boundsSnapshot) {
+					// skip listeners that unsubscribed during notification
+					if (boundsSubscribers.contains(l)) {
+						l.boundsChanged(oldBounds, newBounds);
+					}
+				}
+			}
+		}
+
+		private void onTransformChanged(Transform oldTransform,
+				Transform newTransform) {
+			if (transformSnapshot == null) {
+				transformSnapshot = transformSubscribers
+						.toArray(new VisualChangeListener[] {});
+			}
+			for (VisualChangeListener l : transformSnapshot) {
+				// skip listeners that unsubscribed during notification
+				if (transformSubscribers.contains(l)) {
+					l.localToParentTransformChanged(node, oldTransform,
+							newTransform);
+				}
+			}
+		}
+
+		private boolean removeBoundsSubscriber(VisualChangeListener listener) {
+			if (!boundsSubscribers.remove(listener)) {
+				return false;
+			}
+			boundsSnapshot = null;
+			if (boundsSubscribers.isEmpty()) {
+				node.layoutBoundsProperty()
+						.removeListener(layoutBoundsListener);
+				node.boundsInLocalProperty()
+						.removeListener(boundsInLocalListener);
+				node.boundsInParentProperty()
+						.removeListener(boundsInParentListener);
+				layoutBoundsChanged = false;
+				boundsInLocalChanged = false;
+				boundsInParentChanged = false;
+				oldBoundsInLocal = null;
+				newBoundsInLocal = null;
+			}
+			return true;
+		}
+
+		private boolean removeTransformSubscriber(
+				VisualChangeListener listener) {
+			if (!transformSubscribers.remove(listener)) {
+				return false;
+			}
+			transformSnapshot = null;
+			if (transformSubscribers.isEmpty()) {
+				node.localToParentTransformProperty()
+						.removeListener(transformListener);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The key that is used to store the {@link Observation} within the
+	 * properties of an observed {@link Node}.
+	 */
+	private static final Object OBSERVATION_KEY = VisualChangeHub.class
+			.getName() + ".observation";
+
+	private static Observation getObservation(Node node, boolean create) {
+		Object observation = node.hasProperties()
+				? node.getProperties().get(OBSERVATION_KEY) : null;
+		if (observation == null && create) {
+			observation = new Observation(node);
+			node.getProperties().put(OBSERVATION_KEY, observation);
+		}
+		return (Observation) observation;
+	}
+
+	/**
+	 * Checks if the given Bounds contain NaN values. Returns <code>true</code>
+	 * if no NaN values are found, otherwise <code>false</code>.
+	 *
+	 * @param b
+	 * @return
+	 */
+	private static boolean isValidBounds(Bounds b) {
+		return isValidValue(b.getMinX()) && isValidValue(b.getMinY())
+				&& isValidValue(b.getMaxX()) && isValidValue(b.getMaxY());
+	}
+
+	/**
+	 * Checks if the given Transform contains NaN values. Returns
+	 * <code>true</code> if no NaN values are found, otherwise
+	 * <code>false</code>.
+	 *
+	 * @param t
+	 * @return
+	 */
+	private static boolean isValidTransform(Transform t) {
+		return isValidValue(t.getMxx()) && isValidValue(t.getMxy())
+				&& isValidValue(t.getMxz()) && isValidValue(t.getMyx())
+				&& isValidValue(t.getMyy()) && isValidValue(t.getMyz())
+				&& isValidValue(t.getMzx()) && isValidValue(t.getMzy())
+				&& isValidValue(t.getMzz()) && isValidValue(t.getTx())
+				&& isValidValue(t.getTy()) && isValidValue(t.getTz());
+	}
+
+	private static boolean isValidValue(double value) {
+		return !Double.isNaN(value) && !Double.isInfinite(value);
+	}
+
+	private static void release(Observation observation) {
+		if (observation.isEmpty()) {
+			observation.node.getProperties().remove(OBSERVATION_KEY);
+		}
+	}
+
+	/**
+	 * Subscribes the given {@link VisualChangeListener} to bounds changes of
+	 * the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} to observe.
+	 * @param listener
+	 *            The {@link VisualChangeListener} to notify.
+	 */
+	static void subscribeBounds(Node node, VisualChangeListener listener) {
+		getObservation(node, true).addBoundsSubscriber(listener);
+	}
+
+	/**
+	 * Subscribes the given {@link VisualChangeListener} to
+	 * local-to-parent-transform changes of the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} to observe.
+	 * @param listener
+	 *            The {@link VisualChangeListener} to notify.
+	 */
+	static void subscribeTransform(Node node, VisualChangeListener listener) {
+		getObservation(node, true).addTransformSubscriber(listener);
+	}
+
+	/**
+	 * Unsubscribes the given {@link VisualChangeListener} from bounds changes
+	 * of the given {@link Node}.
+	 *
+	 * @param node
+	 *            The observed {@link Node}.
+	 * @param listener
+	 *            The {@link VisualChangeListener} to unsubscribe.
+	 */
+	static void unsubscribeBounds(Node node, VisualChangeListener listener) {
+		Observation observation = getObservation(node, false);
+		if (observation != null
+				&& observation.removeBoundsSubscriber(listener)) {
+			release(observation);
+		}
+	}
+
+	/**
+	 * Unsubscribes the given {@link VisualChangeListener} from
+	 * local-to-parent-transform changes of the given {@link Node}.
+	 *
+	 * @param node
+	 *            The observed {@link Node}.
+	 * @param listener
+	 *            The {@link VisualChangeListener} to unsubscribe.
+	 */
+	static void unsubscribeTransform(Node node,
+			VisualChangeListener listener) {
+		Observation observation = getObservation(node, false);
+		if (observation != null
+				&& observation.removeTransformSubscriber(listener)) {
+			release(observation);
+		}
+	}
+
+	private VisualChangeHub() {
+		// not intended to be instantiated
+	}
+
+}
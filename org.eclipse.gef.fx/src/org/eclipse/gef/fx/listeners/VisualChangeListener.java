@@ -12,14 +12,13 @@
  *******************************************************************************/
 package org.eclipse.gef.fx.listeners;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
 
-import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableValue;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -36,6 +35,11 @@ import javafx.scene.transform.Transform;
  * local-to-parent-transform change occurs when the node undergoes a
  * transformation change. Transformation listeners are registered for all nodes
  * in the hierarchy up to a specific parent.
+ * <p>
+ * The property listeners are not registered per {@link VisualChangeListener},
+ * but they are shared among all {@link VisualChangeListener}s that observe the
+ * same {@link Node}, so that each {@link Node} is observed only once,
+ * independent of the number of {@link VisualChangeListener}s.
  *
  * @author anyssen
  * @author mwienand
@@ -45,51 +49,13 @@ public abstract class VisualChangeListener {
 
 	private Node observed;
 	private Node parent;
-	private HashMap<ChangeListener<Transform>, Node> localToParentTransformListeners = new HashMap<>();
+	private List<Node> transformObserved = new ArrayList<>();
 	private boolean layoutBoundsChanged = false;
 	private boolean boundsInLocalChanged = false;
 	private boolean boundsInParentChanged = false;
 	private Bounds oldBoundsInLocal = null;
 	private Bounds newBoundsInLocal = null;
 
-	private ChangeListener<? super Bounds> layoutBoundsListener = new ChangeListener<Bounds>() {
-		@Override
-		public void changed(ObservableValue<? extends Bounds> observable,
-				Bounds oldValue, Bounds newValue) {
-			// only fire a visual change event if the new bounds are valid
-			if (isValidBounds(newValue)) {
-				layoutBoundsChanged = true;
-				onBoundsChanged();
-			}
-		}
-	};
-
-	private final ChangeListener<? super Bounds> boundsInLocalListener = new ChangeListener<Bounds>() {
-		@Override
-		public void changed(ObservableValue<? extends Bounds> observable,
-				Bounds oldValue, Bounds newValue) {
-			// only fire a visual change event if the new bounds are valid
-			if (isValidBounds(newValue)) {
-				oldBoundsInLocal = oldValue;
-				newBoundsInLocal = newValue;
-				boundsInLocalChanged = true;
-				onBoundsChanged();
-			}
-		}
-	};
-
-	private ChangeListener<? super Bounds> boundsInParentListener = new ChangeListener<Bounds>() {
-		@Override
-		public void changed(ObservableValue<? extends Bounds> observable,
-				Bounds oldValue, Bounds newValue) {
-			// only fire a visual change event if the new bounds are valid
-			if (isValidBounds(newValue)) {
-				boundsInParentChanged = true;
-				onBoundsChanged();
-			}
-		}
-	};
-
 	/**
 	 * This method is called upon a bounds-in-local change.
 	 *
@@ -101,6 +67,25 @@ public abstract class VisualChangeListener {
 	protected abstract void boundsInLocalChanged(Bounds oldBounds,
 			Bounds newBounds);
 
+	/**
+	 * Called by the {@link VisualChangeHub} when the layout-bounds,
+	 * bounds-in-local, and bounds-in-parent of the observed {@link Node}
+	 * changed.
+	 *
+	 * @param oldBounds
+	 *            The old bounds-in-local.
+	 * @param newBounds
+	 *            The new bounds-in-local.
+	 */
+	void boundsChanged(Bounds oldBounds, Bounds newBounds) {
+		oldBoundsInLocal = oldBounds;
+		newBoundsInLocal = newBounds;
+		layoutBoundsChanged = true;
+		boundsInLocalChanged = true;
+		boundsInParentChanged = true;
+		onBoundsChanged();
+	}
+
 	private Node getNearestCommonAncestor(Node source, Node target) {
 		if (source == target) {
 			return source;
@@ -147,77 +132,6 @@ public abstract class VisualChangeListener {
 		return parent != null;
 	}
 
-	/**
-	 * Checks if the given Bounds contain NaN values. Returns <code>true</code>
-	 * if no NaN values are found, otherwise <code>false</code>.
-	 *
-	 * @param b
-	 * @return
-	 */
-	private boolean isValidBounds(Bounds b) {
-		if (Double.isNaN(b.getMinX()) || Double.isInfinite(b.getMinX())) {
-			return false;
-		}
-		if (Double.isNaN(b.getMinY()) || Double.isInfinite(b.getMinY())) {
-			return false;
-		}
-		if (Double.isNaN(b.getMaxX()) || Double.isInfinite(b.getMaxX())) {
-			return false;
-		}
-		if (Double.isNaN(b.getMaxY()) || Double.isInfinite(b.getMaxY())) {
-			return false;
-		}
-		return true;
-	}
-
-	/**
-	 * Checks if the given Transform contains NaN values. Returns
-	 * <code>true</code> if no NaN values are found, otherwise <code>false/
-	 * <code>.
-	 *
-	 * @param t
-	 * @return
-	 */
-	private boolean isValidTransform(Transform t) {
-		if (Double.isNaN(t.getMxx()) || Double.isInfinite(t.getMxx())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMxy()) || Double.isInfinite(t.getMxy())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMxz()) || Double.isInfinite(t.getMxz())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMyx()) || Double.isInfinite(t.getMyx())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMyy()) || Double.isInfinite(t.getMyy())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMyz()) || Double.isInfinite(t.getMyz())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMzx()) || Double.isInfinite(t.getMzx())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMzy()) || Double.isInfinite(t.getMzy())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMzz()) || Double.isInfinite(t.getMzz())) {
-			return false;
-		}
-		if (Double.isNaN(t.getTx()) || Double.isInfinite(t.getTx())) {
-			return false;
-		}
-		if (Double.isNaN(t.getTy()) || Double.isInfinite(t.getTy())) {
-			return false;
-		}
-		if (Double.isNaN(t.getTz()) || Double.isInfinite(t.getTz())) {
-			return false;
-		}
-		return true;
-	}
-
 	/**
 	 * This method is called upon a local-to-parent-transform change.
 	 *
@@ -313,55 +227,20 @@ public abstract class VisualChangeListener {
 		this.observed = observed;
 		parent = commonAncestor;
 
-		// add bounds listeners
-		observed.layoutBoundsProperty().addListener(layoutBoundsListener);
-		observed.boundsInLocalProperty().addListener(boundsInLocalListener);
-		observed.boundsInParentProperty().addListener(boundsInParentListener);
+		// subscribe to bounds changes of the observed node
+		VisualChangeHub.subscribeBounds(observed, this);
 
-		// add transform listeners
-		tmp = observed;
-		while (tmp != null && tmp != parent) {
-			final Node current = tmp;
-			ChangeListener<Transform> transformChangeListener = new ChangeListener<Transform>() {
-				@Override
-				public void changed(
-						ObservableValue<? extends Transform> observable,
-						Transform oldValue, Transform newValue) {
-					// only fire a visual change event if the new transform is
-					// valid
-					if (isValidTransform(newValue)) {
-						localToParentTransformChanged(current, oldValue,
-								newValue);
-					}
-				}
-			};
-			tmp.localToParentTransformProperty()
-					.addListener(transformChangeListener);
-			localToParentTransformListeners.put(transformChangeListener, tmp);
-			tmp = tmp.getParent();
-		}
+		// subscribe to transform changes of the observed and observer
+		// hierarchies up to (but excluding) the common ancestor
+		subscribeTransforms(observed);
+		subscribeTransforms(observer);
+	}
 
-		// add transform listeners
-		// FIXME: Duplicate code!
-		tmp = observer;
+	private void subscribeTransforms(Node start) {
+		Node tmp = start;
 		while (tmp != null && tmp != parent) {
-			final Node current = tmp;
-			ChangeListener<Transform> transformChangeListener = new ChangeListener<Transform>() {
-				@Override
-				public void changed(
-						ObservableValue<? extends Transform> observable,
-						Transform oldValue, Transform newValue) {
-					// only fire a visual change event if the new transform is
-					// valid
-					if (isValidTransform(newValue)) {
-						localToParentTransformChanged(current, oldValue,
-								newValue);
-					}
-				}
-			};
-			tmp.localToParentTransformProperty()
-					.addListener(transformChangeListener);
-			localToParentTransformListeners.put(transformChangeListener, tmp);
+			VisualChangeHub.subscribeTransform(tmp, this);
+			transformObserved.add(tmp);
 			tmp = tmp.getParent();
 		}
 	}
@@ -374,22 +253,20 @@ public abstract class VisualChangeListener {
 			return;
 		}
 
-		// remove bounds listener
-		observed.layoutBoundsProperty().removeListener(layoutBoundsListener);
-		observed.boundsInLocalProperty().removeListener(boundsInLocalListener);
-		observed.boundsInParentProperty()
-				.removeListener(boundsInParentListener);
-
-		// remove transform listeners
-		for (ChangeListener<Transform> l : localToParentTransformListeners
-				.keySet()) {
-			localToParentTransformListeners.get(l)
-					.localToParentTransformProperty().removeListener(l);
+		// unsubscribe from the shared listeners
+		VisualChangeHub.unsubscribeBounds(observed, this);
+		for (Node n : transformObserved) {
+			VisualChangeHub.unsubscribeTransform(n, this);
 		}
 
 		// reset fields
 		parent = null;
 		observed = null;
-		localToParentTransformListeners.clear();
+		transformObserved.clear();
+		layoutBoundsChanged = false;
+		boundsInLocalChanged = false;
+		boundsInParentChanged = false;
+		oldBoundsInLocal = null;
+		newBoundsInLocal = null;
 	}
 }
@@ -15,6 +15,8 @@ package org.eclipse.gef.geometry.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
+import java.awt.geom.NoninvertibleTransformException;
+
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.Point;
@@ -36,6 +38,20 @@ public class AffineTransformTests {
 		assertEquals(t0, t1);
 	}
 
+	@Test
+	public void test_inverse() throws NoninvertibleTransformException {
+		AffineTransform tx = new AffineTransform().translate(10, 20)
+				.rotate(Angle.fromDeg(30).rad()).scale(2, 3);
+		Point p = new Point(5, 7);
+		assertEquals(p, tx.inverseTransform(tx.getTransformed(p)));
+		assertEquals(p, tx.getInverse().getTransformed(tx.getTransformed(p)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_inverse_singular() {
+		new AffineTransform().scale(0, 1).getInverse();
+	}
+
 	@Test
 	public void test_rotate90() {
 		AffineTransform tx = new AffineTransform();
@@ -44,4 +60,38 @@ public class AffineTransformTests {
 		assertEquals(new Point(0, 1), tx.getTransformed(new Point(1, 0)));
 	}
 
+	@Test
+	public void test_transform_bulk() {
+		AffineTransform tx = new AffineTransform().translate(10, 20)
+				.rotate(Angle.fromDeg(45).rad()).shear(0.5, 0.25);
+		double[] coordinates = new double[] { 0, 0, 1, 2, 3, 4, -5, 6 };
+		double[] transformed = new double[coordinates.length];
+		tx.transform(coordinates, 0, transformed, 0, 4);
+		for (int i = 0; i < 4; i++) {
+			assertEquals(
+					tx.getTransformed(
+							new Point(coordinates[2 * i], coordinates[2 * i + 1])),
+					new Point(transformed[2 * i], transformed[2 * i + 1]));
+		}
+		// in place with overlapping ranges
+		tx.transform(coordinates, 0, coordinates, 2, 3);
+		for (int i = 0; i < 6; i++) {
+			assertEquals(transformed[i], coordinates[i + 2], 0);
+		}
+	}
+
+	@Test
+	public void test_type() {
+		assertEquals(AffineTransform.TYPE_IDENTITY,
+				new AffineTransform().getType());
+		assertEquals(AffineTransform.TYPE_TRANSLATION,
+				new AffineTransform().translate(1, 2).getType());
+		assertEquals(AffineTransform.TYPE_UNIFORM_SCALE,
+				new AffineTransform().scale(2, 2).getType());
+		assertEquals(AffineTransform.TYPE_QUADRANT_ROTATION,
+				new AffineTransform().quadrantRotate(1).getType());
+		assertEquals(AffineTransform.TYPE_GENERAL_TRANSFORM,
+				new AffineTransform().shear(0.5, 0).getType());
+	}
+
 }
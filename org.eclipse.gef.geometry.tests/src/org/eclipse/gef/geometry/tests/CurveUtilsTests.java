@@ -16,6 +16,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
@@ -23,6 +25,9 @@ import org.eclipse.gef.geometry.euclidean.Straight;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 import org.eclipse.gef.geometry.planar.BezierCurve;
 import org.eclipse.gef.geometry.planar.CubicCurve;
+import org.eclipse.gef.geometry.planar.CurveUtils;
+import org.eclipse.gef.geometry.planar.CurveUtils.Intersection;
+import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Line;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Point;
@@ -249,6 +254,49 @@ public class CurveUtilsTests {
 		}
 	}
 
+	@Test
+	public void test_getIntersections_batch() {
+		Random rng = new Random(SEED);
+		List<ICurve> curves = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			if (i % 2 == 0) {
+				curves.add(new Line(rng.nextDouble() * 100,
+						rng.nextDouble() * 100, rng.nextDouble() * 100,
+						rng.nextDouble() * 100));
+			} else {
+				curves.add(new CubicCurve(rng.nextDouble() * 100,
+						rng.nextDouble() * 100, rng.nextDouble() * 100,
+						rng.nextDouble() * 100, rng.nextDouble() * 100,
+						rng.nextDouble() * 100, rng.nextDouble() * 100,
+						rng.nextDouble() * 100));
+			}
+		}
+
+		List<Intersection> sequential = CurveUtils.getIntersections(curves,
+				false);
+		List<Intersection> parallel = CurveUtils.getIntersections(curves,
+				true);
+		assertEquals(sequential.size(), parallel.size());
+
+		// compare with pairwise intersection
+		int k = 0;
+		for (int i = 0; i < curves.size(); i++) {
+			for (int j = i + 1; j < curves.size(); j++) {
+				Point[] expected = curves.get(i)
+						.getIntersections(curves.get(j));
+				for (int l = 0; l < expected.length; l++, k++) {
+					assertEquals(i, sequential.get(k).getCurveIndex1());
+					assertEquals(j, sequential.get(k).getCurveIndex2());
+					assertTrue(isClose(sequential.get(k).getPoint(), expected));
+					assertEquals(i, parallel.get(k).getCurveIndex1());
+					assertEquals(j, parallel.get(k).getCurveIndex2());
+					assertTrue(isClose(parallel.get(k).getPoint(), expected));
+				}
+			}
+		}
+		assertEquals(k, sequential.size());
+	}
+
 	@Test
 	public void test_getIntersections_linear() {
 		BezierCurve yAxis = new BezierCurve(new Point(0, 0), new Point(1, 0));
@@ -539,4 +587,18 @@ public class CurveUtilsTests {
 		assertEquals(end, segments[2].getPoints()[0]);
 	}
 
+	/**
+	 * Checks if the given {@link Point} is close to one of the given
+	 * {@link Point}s. The intersection computation is not deterministic, so
+	 * that the same intersection may be approximated slightly differently.
+	 */
+	private boolean isClose(Point p, Point[] points) {
+		for (Point q : points) {
+			if (p.getDistance(q) < 1e-3) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
@@ -16,16 +16,146 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
+import org.eclipse.gef.geometry.convert.awt.AWTPathOperations;
+import org.eclipse.gef.geometry.planar.Ellipse;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Path;
+import org.eclipse.gef.geometry.planar.Path.Segment;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.junit.Test;
 
 public class PathTests {
 
+	private static final long SEED = 123;
+
+	private static final int UNION = 0;
+	private static final int INTERSECTION = 1;
+	private static final int DIFFERENCE = 2;
+
+	/**
+	 * Computes the signed area of a polygonal {@link Path}.
+	 */
+	private static double area(Path path) {
+		double area = 0;
+		Point start = null;
+		Point current = null;
+		for (Segment s : path.getSegments()) {
+			if (s.getType() == Segment.MOVE_TO) {
+				if (current != null) {
+					area += current.x * start.y - start.x * current.y;
+				}
+				start = s.getPoints()[0];
+				current = start;
+			} else if (s.getType() == Segment.LINE_TO) {
+				Point next = s.getPoints()[0];
+				area += current.x * next.y - next.x * current.y;
+				current = next;
+			} else if (s.getType() == Segment.CLOSE) {
+				area += current.x * start.y - start.x * current.y;
+				current = null;
+			} else {
+				throw new IllegalArgumentException("Path is not polygonal.");
+			}
+		}
+		if (current != null) {
+			area += current.x * start.y - start.x * current.y;
+		}
+		return area / 2;
+	}
+
+	private static Path awtOperation(int operation, Path pa, Path pb) {
+		switch (operation) {
+		case UNION:
+			return AWTPathOperations.add(pa, pb);
+		case INTERSECTION:
+			return AWTPathOperations.intersect(pa, pb);
+		case DIFFERENCE:
+			return AWTPathOperations.subtract(pa, pb);
+		default:
+			return AWTPathOperations.exclusiveOr(pa, pb);
+		}
+	}
+
+	private static boolean evaluate(int operation, boolean inA, boolean inB) {
+		switch (operation) {
+		case UNION:
+			return inA || inB;
+		case INTERSECTION:
+			return inA && inB;
+		case DIFFERENCE:
+			return inA && !inB;
+		default:
+			return inA != inB;
+		}
+	}
+
+	private static boolean isNear(Path path, Point p) {
+		return path.touches(new Rectangle(p.x - 1, p.y - 1, 2, 2))
+				&& !path.contains(new Rectangle(p.x - 1, p.y - 1, 2, 2));
+	}
+
+	private static Path nativeOperation(int operation, Path pa, Path pb) {
+		switch (operation) {
+		case UNION:
+			return Path.add(pa, pb);
+		case INTERSECTION:
+			return Path.intersect(pa, pb);
+		case DIFFERENCE:
+			return Path.subtract(pa, pb);
+		default:
+			return Path.exclusiveOr(pa, pb);
+		}
+	}
+
+	/**
+	 * Creates a random (possibly self-intersecting) polygon.
+	 */
+	private static Path randomPolygon(Random rng, int windingRule) {
+		Path path = new Path(windingRule);
+		int n = 3 + rng.nextInt(10);
+		for (int i = 0; i < n; i++) {
+			double x = rng.nextDouble() * 100;
+			double y = rng.nextDouble() * 100;
+			if (i == 0) {
+				path.moveTo(x, y);
+			} else {
+				path.lineTo(x, y);
+			}
+		}
+		return path.close();
+	}
+
+	/**
+	 * Creates a random star-shaped (simple) polygon.
+	 */
+	private static Path randomStarPolygon(Random rng) {
+		int n = 3 + rng.nextInt(20);
+		double[] angles = new double[n];
+		for (int i = 0; i < n; i++) {
+			angles[i] = rng.nextDouble() * 2 * Math.PI;
+		}
+		Arrays.sort(angles);
+		double cx = 20 + rng.nextDouble() * 60;
+		double cy = 20 + rng.nextDouble() * 60;
+		Path path = new Path();
+		for (int i = 0; i < n; i++) {
+			double radius = 10 + rng.nextDouble() * 40;
+			double x = cx + radius * Math.cos(angles[i]);
+			double y = cy + radius * Math.sin(angles[i]);
+			if (i == 0) {
+				path.moveTo(x, y);
+			} else {
+				path.lineTo(x, y);
+			}
+		}
+		return path.close();
+	}
+
 	@Test
 	public void test_CAG_add() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
@@ -55,6 +185,71 @@ public class PathTests {
 		assertFalse(intersectionPath.contains(new Point(125, 125)));
 	}
 
+	@Test
+	public void test_CAG_properties() {
+		Random rng = new Random(SEED);
+		for (int i = 0; i < 500; i++) {
+			Path pa, pb;
+			if (i % 3 == 0) {
+				pa = randomStarPolygon(rng);
+				pb = randomStarPolygon(rng);
+			} else if (i % 3 == 1) {
+				pa = randomPolygon(rng, Path.WIND_EVEN_ODD);
+				pb = randomPolygon(rng, Path.WIND_NON_ZERO);
+			} else {
+				// coincident edges
+				pa = randomPolygon(rng, Path.WIND_NON_ZERO);
+				pb = pa.getCopy();
+			}
+			for (int operation = 0; operation < 4; operation++) {
+				Path result = nativeOperation(operation, pa, pb);
+				// compare area with AWT
+				double expectedArea = Math
+						.abs(area(awtOperation(operation, pa, pb)));
+				assertEquals(expectedArea, Math.abs(area(result)),
+						1e-6 * Math.max(1, expectedArea));
+				// compare containment with operands
+				for (int j = 0; j < 50; j++) {
+					Point p = new Point(rng.nextDouble() * 120 - 10,
+							rng.nextDouble() * 120 - 10);
+					assertEquals(
+							evaluate(operation, pa.contains(p),
+									pb.contains(p)),
+							result.contains(p));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void test_CAG_properties_curved() {
+		Path pa = new Ellipse(0, 0, 100, 60).toPath();
+		Path pb = new Ellipse(40, 20, 100, 60).toPath();
+		for (int operation = 0; operation < 4; operation++) {
+			Path result = nativeOperation(operation, pa, pb);
+			// curved segments are flattened
+			for (Segment s : result.getSegments()) {
+				assertTrue(s.getType() == Segment.MOVE_TO
+						|| s.getType() == Segment.LINE_TO
+						|| s.getType() == Segment.CLOSE);
+			}
+			// points that are not close to the outlines are classified
+			// correctly
+			for (int x = 5; x < 140; x += 10) {
+				for (int y = 5; y < 80; y += 10) {
+					Point p = new Point(x, y);
+					boolean inA = pa.contains(p);
+					boolean inB = pb.contains(p);
+					if (isNear(pa, p) || isNear(pb, p)) {
+						continue;
+					}
+					assertEquals(evaluate(operation, inA, inB),
+							result.contains(p));
+				}
+			}
+		}
+	}
+
 	@Test
 	public void test_CAG_subtract() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.convert.awt;
+
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+
+import org.eclipse.gef.geometry.planar.Path;
+
+/**
+ * Utility class that computes boolean operations on {@link Path}s using AWT's
+ * {@link Area}. In contrast to the respective operations of {@link Path}
+ * (e.g. {@link Path#add(Path, Path)}), curved segments are preserved. These
+ * operations are retained for comparison with the native implementation.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class AWTPathOperations {
+
+	/**
+	 * Unions the two specified {@link Path}s
+	 *
+	 * @param pa
+	 *            the first area to add
+	 * @param pb
+	 *            the second area to add
+	 * @return the sum of the areas
+	 */
+	public static Path add(Path pa, Path pb) {
+		Area a = new Area(Geometry2AWT.toAWTPath(pa));
+		Area b = new Area(Geometry2AWT.toAWTPath(pb));
+		a.add(b);
+		return AWT2Geometry.toPath(new Path2D.Double(a));
+	}
+
+	/**
+	 * Computes the area covered by the first or the second but not both given
+	 * areas.
+	 *
+	 * @param pa
+	 *            the first area to compute the xor for
+	 * @param pb
+	 *            the second area to compute the xor for
+	 * @return the exclusive-or of the areas
+	 */
+	public static Path exclusiveOr(Path pa, Path pb) {
+		Area a = new Area(Geometry2AWT.toAWTPath(pa));
+		Area b = new Area(Geometry2AWT.toAWTPath(pb));
+		a.exclusiveOr(b);
+		return AWT2Geometry.toPath(new Path2D.Double(a));
+	}
+
+	/**
+	 * Intersects the given areas.
+	 *
+	 * @param pa
+	 *            the first area to intersect
+	 * @param pb
+	 *            the second area to intersect
+	 * @return the intersection of the areas, i.e. the area covered by both
+	 *         areas
+	 */
+	public static Path intersect(Path pa, Path pb) {
+		Area a = new Area(Geometry2AWT.toAWTPath(pa));
+		Area b = new Area(Geometry2AWT.toAWTPath(pb));
+		a.intersect(b);
+		return AWT2Geometry.toPath(new Path2D.Double(a));
+	}
+
+	/**
+	 * Subtracts the second given area from the first given area.
+	 *
+	 * @param pa
+	 *            the area to subtract from
+	 * @param pb
+	 *            the area to subtract
+	 * @return the area covered by the first but not the second given area
+	 */
+	public static Path subtract(Path pa, Path pb) {
+		Area a = new Area(Geometry2AWT.toAWTPath(pa));
+		Area b = new Area(Geometry2AWT.toAWTPath(pb));
+		a.subtract(b);
+		return AWT2Geometry.toPath(new Path2D.Double(a));
+	}
+
+	private AWTPathOperations() {
+		// this class should not be instantiated by clients
+	}
+
+}
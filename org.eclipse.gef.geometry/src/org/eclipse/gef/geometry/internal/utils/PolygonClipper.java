@@ -0,0 +1,659 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.internal.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.CubicCurve;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Path;
+import org.eclipse.gef.geometry.planar.Path.Segment;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.QuadraticCurve;
+
+/**
+ * The {@link PolygonClipper} implements boolean operations (union,
+ * intersection, difference, and exclusive-or) on {@link Path}s without
+ * resorting to <code>java.awt.geom.Area</code>. Curved segments of the operand
+ * {@link Path}s are flattened within a given tolerance, so that the result is
+ * always polygonal.
+ * <p>
+ * The operation is performed in four steps:
+ * <ol>
+ * <li>The edges of both operands are split at all their (mutual and self)
+ * intersections, which are determined using a sweep over the x-extents of the
+ * edges. Split points that are equal with respect to {@link PrecisionUtils}
+ * are merged.</li>
+ * <li>Coincident edges are merged, accumulating the direction of the original
+ * edges per operand.</li>
+ * <li>For every edge, the winding numbers of both operands are determined on
+ * its left and right side (respecting the winding rule of the respective
+ * operand). The edge is part of the result if the result of the boolean
+ * operation differs for both sides. It is oriented so that the result lies on
+ * its left side.</li>
+ * <li>The resulting edges are linked into closed rings, whereby collinear
+ * vertices are removed.</li>
+ * </ol>
+ * The resulting {@link Path} uses the {@link Path#WIND_NON_ZERO} winding rule
+ * (the result is the same for {@link Path#WIND_EVEN_ODD}).
+ *
+ * @author zhaosongvip
+ *
+ */
+public class PolygonClipper {
+
+	/**
+	 * Operation that computes the area covered by either operand.
+	 */
+	public static final int UNION = 0;
+
+	/**
+	 * Operation that computes the area covered by both operands.
+	 */
+	public static final int INTERSECTION = 1;
+
+	/**
+	 * Operation that computes the area covered by the first but not the second
+	 * operand.
+	 */
+	public static final int DIFFERENCE = 2;
+
+	/**
+	 * Operation that computes the area covered by exactly one of the operands.
+	 */
+	public static final int EXCLUSIVE_OR = 3;
+
+	/**
+	 * The default tolerance for flattening curved segments (the same that is
+	 * used by {@link org.eclipse.gef.geometry.planar.BezierCurve#toPath()}).
+	 */
+	public static final double DEFAULT_FLATNESS = 0.25d;
+
+	/**
+	 * An edge of one of the operands, including the parameter values at which
+	 * it is split.
+	 */
+	private static final class Edge {
+		final double x1, y1, x2, y2;
+		final int operand;
+		double[] splits = new double[2];
+		int splitCount;
+
+		Edge(double x1, double y1, double x2, double y2, int operand) {
+			this.x1 = x1;
+			this.y1 = y1;
+			this.x2 = x2;
+			this.y2 = y2;
+			this.operand = operand;
+		}
+
+		void addSplit(double t) {
+			if (splitCount == splits.length) {
+				splits = Arrays.copyOf(splits, splits.length * 2);
+			}
+			splits[splitCount++] = t;
+		}
+
+		double maxX() {
+			return Math.max(x1, x2);
+		}
+
+		double maxY() {
+			return Math.max(y1, y2);
+		}
+
+		double minX() {
+			return Math.min(x1, x2);
+		}
+
+		double minY() {
+			return Math.min(y1, y2);
+		}
+	}
+
+	/**
+	 * A split edge between two (merged) vertices, where <code>v1</code> is
+	 * smaller than <code>v2</code>, together with the accumulated directions
+	 * of the original edges of both operands (<code>+1</code> for an edge
+	 * from <code>v1</code> to <code>v2</code>, <code>-1</code> for an edge
+	 * from <code>v2</code> to <code>v1</code>).
+	 */
+	private static final class Fragment {
+		final int v1, v2;
+		int windingA, windingB;
+
+		Fragment(int v1, int v2) {
+			this.v1 = v1;
+			this.v2 = v2;
+		}
+	}
+
+	private static final double EPSILON = PrecisionUtils.calculateFraction(0);
+
+	private final List<Edge> edges = new ArrayList<>();
+
+	private double[] vertexX = new double[16];
+	private double[] vertexY = new double[16];
+	private int vertexCount;
+	private final Map<Long, List<Integer>> vertexCells = new HashMap<>();
+
+	private final int operation;
+	private final int windingRuleA;
+	private final int windingRuleB;
+
+	private PolygonClipper(int operation, int windingRuleA,
+			int windingRuleB) {
+		this.operation = operation;
+		this.windingRuleA = windingRuleA;
+		this.windingRuleB = windingRuleB;
+	}
+
+	/**
+	 * Computes the given boolean operation for the given {@link Path}s,
+	 * flattening curved segments using the {@link #DEFAULT_FLATNESS}.
+	 *
+	 * @param pa
+	 *            The first operand.
+	 * @param pb
+	 *            The second operand.
+	 * @param operation
+	 *            The operation to perform, i.e. one of {@link #UNION},
+	 *            {@link #INTERSECTION}, {@link #DIFFERENCE}, or
+	 *            {@link #EXCLUSIVE_OR}.
+	 * @return A new {@link Path} representing the result of the operation.
+	 */
+	public static Path clip(Path pa, Path pb, int operation) {
+		return clip(pa, pb, operation, DEFAULT_FLATNESS);
+	}
+
+	/**
+	 * Computes the given boolean operation for the given {@link Path}s,
+	 * flattening curved segments within the given tolerance.
+	 *
+	 * @param pa
+	 *            The first operand.
+	 * @param pb
+	 *            The second operand.
+	 * @param operation
+	 *            The operation to perform, i.e. one of {@link #UNION},
+	 *            {@link #INTERSECTION}, {@link #DIFFERENCE}, or
+	 *            {@link #EXCLUSIVE_OR}.
+	 * @param flatness
+	 *            The tolerance for flattening curved segments (see
+	 *            {@link org.eclipse.gef.geometry.planar.BezierCurve#toLineStrip(double)}).
+	 * @return A new {@link Path} representing the result of the operation.
+	 */
+	public static Path clip(Path pa, Path pb, int operation,
+			double flatness) {
+		if (operation < UNION || operation > EXCLUSIVE_OR) {
+			throw new IllegalArgumentException(
+					"Unsupported operation: " + operation);
+		}
+		PolygonClipper clipper = new PolygonClipper(operation,
+				pa.getWindingRule(), pb.getWindingRule());
+		clipper.flatten(pa, 0, flatness);
+		clipper.flatten(pb, 1, flatness);
+		clipper.split();
+		return clipper.link(clipper.select(clipper.fragment()));
+	}
+
+	private static double cross(double ax, double ay, double bx, double by) {
+		return ax * by - ay * bx;
+	}
+
+	private void addEdge(Point p, Point q, int operand) {
+		if (!p.equals(q)) {
+			edges.add(new Edge(p.x, p.y, q.x, q.y, operand));
+		}
+	}
+
+	/**
+	 * Determines the winding numbers of both operands at the given point,
+	 * by casting a ray in positive x (or y) direction and summing up the
+	 * directions of the crossed {@link Fragment}s (skipping the given one).
+	 */
+	private int[] computeWinding(Fragment[] fragments, FragmentIndex index,
+			Fragment skip, double mx, double my, boolean xRay) {
+		int[] winding = new int[2];
+		for (int i : index.query(xRay ? my : mx)) {
+			Fragment f = fragments[i];
+			if (f == skip) {
+				continue;
+			}
+			double ax = vertexX[f.v1], ay = vertexY[f.v1];
+			double bx = vertexX[f.v2], by = vertexY[f.v2];
+			int direction;
+			if (xRay) {
+				if ((ay <= my) == (by <= my)
+						|| ax + (my - ay) * (bx - ax) / (by - ay) <= mx) {
+					continue;
+				}
+				direction = by > ay ? 1 : -1;
+			} else {
+				if ((ax <= mx) == (bx <= mx)
+						|| ay + (mx - ax) * (by - ay) / (bx - ax) <= my) {
+					continue;
+				}
+				direction = bx < ax ? 1 : -1;
+			}
+			winding[0] += direction * f.windingA;
+			winding[1] += direction * f.windingB;
+		}
+		return winding;
+	}
+
+	/**
+	 * Splits the edges at their split parameters and merges coincident
+	 * fragments.
+	 */
+	private Fragment[] fragment() {
+		Map<Long, Fragment> fragments = new HashMap<>();
+		List<Fragment> ordered = new ArrayList<>();
+		for (Edge e : edges) {
+			double[] t = Arrays.copyOf(e.splits, e.splitCount);
+			Arrays.sort(t);
+			int previous = getVertex(e.x1, e.y1);
+			for (int i = 0; i <= t.length; i++) {
+				int next = i == t.length ? getVertex(e.x2, e.y2)
+						: getVertex(e.x1 + t[i] * (e.x2 - e.x1),
+								e.y1 + t[i] * (e.y2 - e.y1));
+				if (next != previous) {
+					int v1 = Math.min(previous, next);
+					int v2 = Math.max(previous, next);
+					long key = ((long) v1 << 32) | v2;
+					Fragment f = fragments.get(key);
+					if (f == null) {
+						f = new Fragment(v1, v2);
+						fragments.put(key, f);
+						ordered.add(f);
+					}
+					int direction = previous == v1 ? 1 : -1;
+					if (e.operand == 0) {
+						f.windingA += direction;
+					} else {
+						f.windingB += direction;
+					}
+				}
+				previous = next;
+			}
+		}
+		List<Fragment> relevant = new ArrayList<>();
+		for (Fragment f : ordered) {
+			if (f.windingA != 0 || f.windingB != 0) {
+				relevant.add(f);
+			}
+		}
+		return relevant.toArray(new Fragment[] {});
+	}
+
+	/**
+	 * Converts the given {@link Path} into edges of the given operand.
+	 * Curved segments are flattened and open sub-paths are closed
+	 * implicitly.
+	 */
+	private void flatten(Path path, int operand, double flatness) {
+		Point start = null;
+		Point current = null;
+		for (Segment s : path.getSegments()) {
+			Point[] points = s.getPoints();
+			switch (s.getType()) {
+			case Segment.MOVE_TO:
+				if (current != null) {
+					addEdge(current, start, operand);
+				}
+				start = points[0];
+				current = start;
+				break;
+			case Segment.LINE_TO:
+				addEdge(current, points[0], operand);
+				current = points[0];
+				break;
+			case Segment.QUAD_TO:
+				for (Line l : new QuadraticCurve(current, points[0], points[1])
+						.toLineStrip(flatness)) {
+					addEdge(l.getP1(), l.getP2(), operand);
+				}
+				current = points[1];
+				break;
+			case Segment.CUBIC_TO:
+				for (Line l : new CubicCurve(current, points[0], points[1],
+						points[2]).toLineStrip(flatness)) {
+					addEdge(l.getP1(), l.getP2(), operand);
+				}
+				current = points[2];
+				break;
+			case Segment.CLOSE:
+				addEdge(current, start, operand);
+				current = start;
+				break;
+			default:
+				throw new IllegalStateException(
+						"This Path contains an unsupported Segment: <" + s
+								+ ">.");
+			}
+		}
+		if (current != null) {
+			addEdge(current, start, operand);
+		}
+	}
+
+	/**
+	 * Returns the index of the vertex at the given coordinates, creating a
+	 * new vertex if no vertex exists within the precision of
+	 * {@link PrecisionUtils}.
+	 */
+	private int getVertex(double x, double y) {
+		long cx = Math.round(x / EPSILON);
+		long cy = Math.round(y / EPSILON);
+		for (long i = cx - 1; i <= cx + 1; i++) {
+			for (long j = cy - 1; j <= cy + 1; j++) {
+				List<Integer> cell = vertexCells.get(i * 31 + j * 1000003);
+				if (cell != null) {
+					for (int v : cell) {
+						if (Math.abs(vertexX[v] - x) <= EPSILON
+								&& Math.abs(vertexY[v] - y) <= EPSILON) {
+							return v;
+						}
+					}
+				}
+			}
+		}
+		if (vertexCount == vertexX.length) {
+			vertexX = Arrays.copyOf(vertexX, vertexCount * 2);
+			vertexY = Arrays.copyOf(vertexY, vertexCount * 2);
+		}
+		vertexX[vertexCount] = x;
+		vertexY[vertexCount] = y;
+		long key = cx * 31 + cy * 1000003;
+		List<Integer> cell = vertexCells.get(key);
+		if (cell == null) {
+			cell = new ArrayList<>(1);
+			vertexCells.put(key, cell);
+		}
+		cell.add(vertexCount);
+		return vertexCount++;
+	}
+
+	private void intersect(Edge e, Edge f) {
+		double rx = e.x2 - e.x1, ry = e.y2 - e.y1;
+		double sx = f.x2 - f.x1, sy = f.y2 - f.y1;
+		double qx = f.x1 - e.x1, qy = f.y1 - e.y1;
+		double rLength = Math.sqrt(rx * rx + ry * ry);
+		double sLength = Math.sqrt(sx * sx + sy * sy);
+		double denominator = cross(rx, ry, sx, sy);
+		if (Math.abs(denominator) <= EPSILON * rLength * sLength) {
+			// parallel edges only intersect if they are collinear, in which
+			// case the end points of each edge split the other edge
+			if (Math.abs(cross(qx, qy, rx, ry)) > EPSILON * rLength) {
+				return;
+			}
+			splitAtProjection(e, f.x1, f.y1, rLength);
+			splitAtProjection(e, f.x2, f.y2, rLength);
+			splitAtProjection(f, e.x1, e.y1, sLength);
+			splitAtProjection(f, e.x2, e.y2, sLength);
+			return;
+		}
+		double t = cross(qx, qy, sx, sy) / denominator;
+		double u = cross(qx, qy, rx, ry) / denominator;
+		double tTolerance = EPSILON / rLength;
+		double uTolerance = EPSILON / sLength;
+		if (t < -tTolerance || t > 1 + tTolerance || u < -uTolerance
+				|| u > 1 + uTolerance) {
+			return;
+		}
+		if (t > 0 && t < 1) {
+			e.addSplit(t);
+		}
+		if (u > 0 && u < 1) {
+			f.addSplit(u);
+		}
+	}
+
+	private boolean isInside(int winding, int windingRule) {
+		return windingRule == Path.WIND_EVEN_ODD ? (winding & 1) != 0
+				: winding != 0;
+	}
+
+	private boolean isInResult(int[] winding) {
+		boolean inA = isInside(winding[0], windingRuleA);
+		boolean inB = isInside(winding[1], windingRuleB);
+		switch (operation) {
+		case UNION:
+			return inA || inB;
+		case INTERSECTION:
+			return inA && inB;
+		case DIFFERENCE:
+			return inA && !inB;
+		default:
+			return inA != inB;
+		}
+	}
+
+	/**
+	 * Links the given directed fragments (pairs of start and end vertex) into
+	 * closed rings and creates a {@link Path} from them.
+	 */
+	private Path link(int[] directed) {
+		int count = directed.length / 2;
+		// sort the outgoing fragments by start vertex
+		int[] outgoingStart = new int[vertexCount + 1];
+		for (int i = 0; i < count; i++) {
+			outgoingStart[directed[2 * i] + 1]++;
+		}
+		for (int v = 0; v < vertexCount; v++) {
+			outgoingStart[v + 1] += outgoingStart[v];
+		}
+		int[] outgoing = new int[count];
+		int[] next = Arrays.copyOf(outgoingStart, vertexCount);
+		for (int i = 0; i < count; i++) {
+			outgoing[next[directed[2 * i]]++] = i;
+		}
+
+		// walk along unused fragments until the start vertex is reached again
+		Path path = new Path();
+		int[] ring = new int[count];
+		next = Arrays.copyOf(outgoingStart, vertexCount);
+		for (int start = 0; start < vertexCount; start++) {
+			while (next[start] < outgoingStart[start + 1]) {
+				int size = 0;
+				int v = start;
+				do {
+					ring[size++] = v;
+					v = directed[2 * outgoing[next[v]++] + 1];
+				} while (v != start && next[v] < outgoingStart[v + 1]);
+				appendRing(path, ring, size);
+			}
+		}
+		return path;
+	}
+
+	/**
+	 * Appends the given ring of vertices to the given {@link Path}, omitting
+	 * collinear vertices.
+	 */
+	private void appendRing(Path path, int[] ring, int size) {
+		int[] kept = new int[size];
+		int keptCount = 0;
+		for (int i = 0; i < size; i++) {
+			int previous = keptCount == 0 ? ring[size - 1]
+					: kept[keptCount - 1];
+			int current = ring[i];
+			int next = ring[(i + 1) % size];
+			if (!isCollinear(previous, current, next)) {
+				kept[keptCount++] = current;
+			}
+		}
+		// the first vertex was checked against the unfiltered last one
+		int first = 0;
+		if (keptCount > 2 && isCollinear(kept[keptCount - 1], kept[0],
+				kept[1])) {
+			first = 1;
+		}
+		if (keptCount - first < 3) {
+			return;
+		}
+		path.moveTo(vertexX[kept[first]], vertexY[kept[first]]);
+		for (int i = first + 1; i < keptCount; i++) {
+			path.lineTo(vertexX[kept[i]], vertexY[kept[i]]);
+		}
+		path.close();
+	}
+
+	private boolean isCollinear(int previous, int current, int next) {
+		double ax = vertexX[current] - vertexX[previous];
+		double ay = vertexY[current] - vertexY[previous];
+		double bx = vertexX[next] - vertexX[current];
+		double by = vertexY[next] - vertexY[current];
+		double bLength = Math.sqrt(bx * bx + by * by);
+		return Math.abs(cross(ax, ay, bx, by)) <= EPSILON * bLength
+				&& ax * bx + ay * by > 0;
+	}
+
+	/**
+	 * Determines which fragments are part of the result and returns them as
+	 * pairs of start and end vertex, oriented so that the result lies on
+	 * their left side.
+	 */
+	private int[] select(Fragment[] fragments) {
+		FragmentIndex xRayIndex = new FragmentIndex(fragments, true);
+		FragmentIndex yRayIndex = new FragmentIndex(fragments, false);
+		int[] directed = new int[2 * fragments.length];
+		int count = 0;
+		for (Fragment f : fragments) {
+			double dx = vertexX[f.v2] - vertexX[f.v1];
+			double dy = vertexY[f.v2] - vertexY[f.v1];
+			double mx = (vertexX[f.v1] + vertexX[f.v2]) / 2;
+			double my = (vertexY[f.v1] + vertexY[f.v2]) / 2;
+			// cast the ray in the direction that is "most perpendicular" to
+			// the fragment, and determine on which side it leaves the fragment
+			boolean xRay = Math.abs(dy) >= Math.abs(dx);
+			boolean rayLeavesLeft = xRay ? dy < 0 : dx > 0;
+			int[] side = computeWinding(fragments,
+					xRay ? xRayIndex : yRayIndex, f, mx, my, xRay);
+			// crossing the fragment from right to left increases the winding
+			// by its (accumulated) direction
+			int[] left, right;
+			if (rayLeavesLeft) {
+				left = side;
+				right = new int[] { side[0] - f.windingA,
+						side[1] - f.windingB };
+			} else {
+				right = side;
+				left = new int[] { side[0] + f.windingA,
+						side[1] + f.windingB };
+			}
+			boolean inLeft = isInResult(left);
+			if (inLeft != isInResult(right)) {
+				directed[count++] = inLeft ? f.v1 : f.v2;
+				directed[count++] = inLeft ? f.v2 : f.v1;
+			}
+		}
+		return Arrays.copyOf(directed, count);
+	}
+
+	/**
+	 * Determines the split parameters of all edges by intersecting all pairs
+	 * of edges whose bounds overlap, using a sweep over their x-extents.
+	 */
+	private void split() {
+		Edge[] sorted = edges.toArray(new Edge[] {});
+		Arrays.sort(sorted, new Comparator<Edge>() {
+			@Override
+			public int compare(Edge e1, Edge e2) {
+				return Double.compare(e1.minX(), e2.minX());
+			}
+		});
+		for (int i = 0; i < sorted.length; i++) {
+			Edge e = sorted[i];
+			double maxX = e.maxX() + EPSILON;
+			for (int j = i + 1; j < sorted.length
+					&& sorted[j].minX() <= maxX; j++) {
+				Edge f = sorted[j];
+				if (f.minY() <= e.maxY() + EPSILON
+						&& f.maxY() >= e.minY() - EPSILON) {
+					intersect(e, f);
+				}
+			}
+		}
+	}
+
+	private void splitAtProjection(Edge e, double x, double y,
+			double length) {
+		double rx = e.x2 - e.x1, ry = e.y2 - e.y1;
+		double t = ((x - e.x1) * rx + (y - e.y1) * ry) / (length * length);
+		double tolerance = EPSILON / length;
+		if (t > tolerance && t < 1 - tolerance) {
+			e.addSplit(t);
+		}
+	}
+
+	/**
+	 * A bucket index over the y-extents (for rays in x direction) or the
+	 * x-extents (for rays in y direction) of the fragments, so that only the
+	 * fragments that may be crossed by a ray have to be tested.
+	 */
+	private final class FragmentIndex {
+		private final double min;
+		private final double bucketSize;
+		private final int bucketCount;
+		private final int[][] buckets;
+
+		FragmentIndex(Fragment[] fragments, boolean xRay) {
+			double[] c = xRay ? vertexY : vertexX;
+			double[] lo = new double[fragments.length];
+			double[] hi = new double[fragments.length];
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < fragments.length; i++) {
+				lo[i] = Math.min(c[fragments[i].v1], c[fragments[i].v2]);
+				hi[i] = Math.max(c[fragments[i].v1], c[fragments[i].v2]);
+				min = Math.min(min, lo[i]);
+				max = Math.max(max, hi[i]);
+			}
+			this.min = min;
+			bucketCount = Math.max(1, (int) Math.sqrt(fragments.length));
+			bucketSize = max > min ? (max - min) / bucketCount : 1;
+			int[] sizes = new int[bucketCount];
+			for (int i = 0; i < fragments.length; i++) {
+				for (int b = bucket(lo[i]); b <= bucket(hi[i]); b++) {
+					sizes[b]++;
+				}
+			}
+			buckets = new int[bucketCount][];
+			for (int b = 0; b < bucketCount; b++) {
+				buckets[b] = new int[sizes[b]];
+				sizes[b] = 0;
+			}
+			for (int i = 0; i < fragments.length; i++) {
+				for (int b = bucket(lo[i]); b <= bucket(hi[i]); b++) {
+					buckets[b][sizes[b]++] = i;
+				}
+			}
+		}
+
+		private int bucket(double value) {
+			int b = (int) ((value - min) / bucketSize);
+			return Math.max(0, Math.min(bucketCount - 1, b));
+		}
+
+		int[] query(double value) {
+			return buckets[bucket(value)];
+		}
+	}
+
+}
@@ -15,8 +15,6 @@ package org.eclipse.gef.geometry.planar;
 
 import java.awt.geom.NoninvertibleTransformException;
 
-import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
-import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.euclidean.Vector;
 
@@ -26,7 +24,11 @@ import org.eclipse.gef.geometry.euclidean.Vector;
  * 2-dimensional affine transformations.
  * </p>
  * <p>
- * It delegates to the {@link java.awt.geom.AffineTransform} functionality.
+ * The transformation matrix is stored in six <code>double</code> values, so
+ * that transforming coordinates does not require any intermediate objects. The
+ * bulk {@link #transform(double[], int, double[], int, int)} and
+ * {@link #deltaTransform(double[], int, double[], int, int)} methods should be
+ * preferred when transforming a large number of coordinates.
  * </p>
  *
  * @author anyssen
@@ -35,10 +37,74 @@ import org.eclipse.gef.geometry.euclidean.Vector;
  */
 public class AffineTransform implements Cloneable {
 
-	// TODO: implement affine transform locally to get rid of dependency on
-	// awt.geom.
+	/**
+	 * Flag bit indicating that the transformation is the identity
+	 * transformation. The value is identical to
+	 * {@link java.awt.geom.AffineTransform#TYPE_IDENTITY}.
+	 */
+	public static final int TYPE_IDENTITY = 0;
+
+	/**
+	 * Flag bit indicating that the transformation contains a translation. The
+	 * value is identical to
+	 * {@link java.awt.geom.AffineTransform#TYPE_TRANSLATION}.
+	 */
+	public static final int TYPE_TRANSLATION = 1;
+
+	/**
+	 * Flag bit indicating that the transformation contains a uniform scale.
+	 * The value is identical to
+	 * {@link java.awt.geom.AffineTransform#TYPE_UNIFORM_SCALE}.
+	 */
+	public static final int TYPE_UNIFORM_SCALE = 2;
+
+	/**
+	 * Flag bit indicating that the transformation contains a general scale.
+	 * The value is identical to
+	 * {@link java.awt.geom.AffineTransform#TYPE_GENERAL_SCALE}.
+	 */
+	public static final int TYPE_GENERAL_SCALE = 4;
+
+	/**
+	 * Flag bit indicating that the transformation contains a rotation by an
+	 * integer multiple of 90deg. The value is identical to
+	 * {@link java.awt.geom.AffineTransform#TYPE_QUADRANT_ROTATION}.
+	 */
+	public static final int TYPE_QUADRANT_ROTATION = 8;
+
+	/**
+	 * Flag bit indicating that the transformation contains a rotation by an
+	 * arbitrary angle. The value is identical to
+	 * {@link java.awt.geom.AffineTransform#TYPE_GENERAL_ROTATION}.
+	 */
+	public static final int TYPE_GENERAL_ROTATION = 16;
+
+	/**
+	 * Flag bit indicating that the transformation is a general affine
+	 * transformation. The value is identical to
+	 * {@link java.awt.geom.AffineTransform#TYPE_GENERAL_TRANSFORM}.
+	 */
+	public static final int TYPE_GENERAL_TRANSFORM = 32;
+
+	/**
+	 * Flag bit indicating that the transformation mirrors the coordinate
+	 * system. The value is identical to
+	 * {@link java.awt.geom.AffineTransform#TYPE_FLIP}.
+	 */
+	public static final int TYPE_FLIP = 64;
 
-	private java.awt.geom.AffineTransform delegate = new java.awt.geom.AffineTransform();
+	// x coordinate scaling
+	private double m00 = 1;
+	// y coordinate shearing
+	private double m10 = 0;
+	// x coordinate shearing
+	private double m01 = 0;
+	// y coordinate scaling
+	private double m11 = 1;
+	// x coordinate translation
+	private double m02 = 0;
+	// y coordinate translation
+	private double m12 = 0;
 
 	/**
 	 * Creates a new {@link AffineTransform} with its transformation matrix set
@@ -73,16 +139,16 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform(double m00, double m10, double m01, double m11,
 			double m02, double m12) {
-		delegate = new java.awt.geom.AffineTransform(m00, m10, m01, m11, m02,
-				m12);
+		setTransform(m00, m10, m01, m11, m02, m12);
 	}
 
 	/**
 	 * Creates a new {@link AffineTransform} with its transformation matrix set
-	 * to the values of the passed-in array. See the
+	 * to the values of the passed-in array. The array is expected to contain
+	 * the values in the order m00, m10, m01, m11 and, optionally, m02, m12 (see
 	 * {@link AffineTransform#AffineTransform(double, double, double, double, double, double)}
-	 * or the {@link java.awt.geom.AffineTransform#AffineTransform(double[])}
-	 * method for a specification of the values in the array.
+	 * for a specification of the values). If the array contains less than six
+	 * values, the translation components are set to <code>0</code>.
 	 *
 	 * @param flatmatrix
 	 *            the values for the transformation matrix
@@ -90,16 +156,19 @@ public class AffineTransform implements Cloneable {
 	 *      double, double)
 	 */
 	public AffineTransform(double[] flatmatrix) {
-		delegate = new java.awt.geom.AffineTransform(flatmatrix);
-	}
-
-	private AffineTransform(java.awt.geom.AffineTransform delegate) {
-		this.delegate = delegate;
+		m00 = flatmatrix[0];
+		m10 = flatmatrix[1];
+		m01 = flatmatrix[2];
+		m11 = flatmatrix[3];
+		if (flatmatrix.length > 5) {
+			m02 = flatmatrix[4];
+			m12 = flatmatrix[5];
+		}
 	}
 
 	@Override
 	public Object clone() {
-		return delegate.clone();
+		return getCopy();
 	}
 
 	/**
@@ -114,8 +183,23 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform concatenate(AffineTransform Tx) {
-		delegate.concatenate(Tx.delegate);
-		return this;
+		return concatenate(Tx.m00, Tx.m10, Tx.m01, Tx.m11, Tx.m02, Tx.m12);
+	}
+
+	/**
+	 * Multiplies the transformation matrix of this {@link AffineTransform}
+	 * from the right with the transformation matrix specified by the given
+	 * values.
+	 */
+	private AffineTransform concatenate(double t00, double t10, double t01,
+			double t11, double t02, double t12) {
+		double n00 = m00 * t00 + m01 * t10;
+		double n01 = m00 * t01 + m01 * t11;
+		double n02 = m00 * t02 + m01 * t12 + m02;
+		double n10 = m10 * t00 + m11 * t10;
+		double n11 = m10 * t01 + m11 * t11;
+		double n12 = m10 * t02 + m11 * t12 + m12;
+		return setTransform(n00, n10, n01, n11, n02, n12);
 	}
 
 	/**
@@ -140,7 +224,19 @@ public class AffineTransform implements Cloneable {
 	 */
 	public void deltaTransform(double[] srcPts, int srcOff, double[] dstPts,
 			int dstOff, int numPts) {
-		delegate.deltaTransform(srcPts, srcOff, dstPts, dstOff, numPts);
+		if (srcPts == dstPts && dstOff > srcOff
+				&& dstOff < srcOff + numPts * 2) {
+			// overlapping regions, so that we would overwrite the source
+			// before reading it; copy the source to its final position first
+			System.arraycopy(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+			srcOff = dstOff;
+		}
+		for (int i = 0; i < numPts; i++) {
+			double x = srcPts[srcOff++];
+			double y = srcPts[srcOff++];
+			dstPts[dstOff++] = m00 * x + m01 * y;
+			dstPts[dstOff++] = m10 * x + m11 * y;
+		}
 	}
 
 	/**
@@ -153,14 +249,15 @@ public class AffineTransform implements Cloneable {
 	 * @return a new, transformed {@link Point}
 	 */
 	public Point deltaTransform(Point pt) {
-		return AWT2Geometry.toPoint(
-				delegate.deltaTransform(Geometry2AWT.toAWTPoint(pt), null));
+		return new Point(m00 * pt.x + m01 * pt.y, m10 * pt.x + m11 * pt.y);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof AffineTransform) {
-			return delegate.equals(((AffineTransform) obj).delegate);
+			AffineTransform o = (AffineTransform) obj;
+			return m00 == o.m00 && m01 == o.m01 && m02 == o.m02
+					&& m10 == o.m10 && m11 == o.m11 && m12 == o.m12;
 		}
 		return false;
 	}
@@ -182,7 +279,7 @@ public class AffineTransform implements Cloneable {
 	 *         {@link AffineTransform}
 	 */
 	public double getDeterminant() {
-		return delegate.getDeterminant();
+		return m00 * m11 - m01 * m10;
 	}
 
 	/**
@@ -194,7 +291,7 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform getInverse() {
 		try {
-			return new AffineTransform(delegate.createInverse());
+			return getCopy().invert();
 		} catch (NoninvertibleTransformException e) {
 			throw new IllegalArgumentException(e);
 		}
@@ -206,7 +303,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the first row and first column.
 	 */
 	public double getM00() {
-		return delegate.getScaleX();
+		return m00;
 	}
 
 	/**
@@ -215,7 +312,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the first row and second column.
 	 */
 	public double getM01() {
-		return delegate.getShearX();
+		return m01;
 	}
 
 	/**
@@ -224,7 +321,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the second row and first column.
 	 */
 	public double getM10() {
-		return delegate.getShearY();
+		return m10;
 	}
 
 	/**
@@ -233,20 +330,18 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the second row and second column.
 	 */
 	public double getM11() {
-		return delegate.getScaleY();
+		return m11;
 	}
 
 	/**
 	 * Returns the 6 specifiable elements of the transformation matrix of this
-	 * {@link AffineTransform}.
+	 * {@link AffineTransform} in the order m00, m10, m01, m11, m02, m12.
 	 *
 	 * @return the 6 specifiable elements of the transformation matrix of this
 	 *         {@link AffineTransform}
 	 */
 	public double[] getMatrix() {
-		double[] flatmatrix = new double[6];
-		delegate.getMatrix(flatmatrix);
-		return flatmatrix;
+		return new double[] { m00, m10, m01, m11, m02, m12 };
 	}
 
 	/**
@@ -291,8 +386,8 @@ public class AffineTransform implements Cloneable {
 	 * @return a new, transformed {@link Point}
 	 */
 	public Point getTransformed(Point ptSrc) {
-		return AWT2Geometry.toPoint(
-				delegate.transform(Geometry2AWT.toAWTPoint(ptSrc), null));
+		return new Point(m00 * ptSrc.x + m01 * ptSrc.y + m02,
+				m10 * ptSrc.x + m11 * ptSrc.y + m12);
 	}
 
 	/**
@@ -323,7 +418,7 @@ public class AffineTransform implements Cloneable {
 	 *         transformation matrix
 	 */
 	public double getTranslateX() {
-		return delegate.getTranslateX();
+		return m02;
 	}
 
 	/**
@@ -334,25 +429,87 @@ public class AffineTransform implements Cloneable {
 	 *         transformation matrix
 	 */
 	public double getTranslateY() {
-		return delegate.getTranslateY();
+		return m12;
 	}
 
 	/**
 	 * Returns the type of transformation represented by this
-	 * {@link AffineTransform}. See the
-	 * {@link java.awt.geom.AffineTransform#getType()} method for a
-	 * specification of the return type of this method.
+	 * {@link AffineTransform}, which is either {@link #TYPE_IDENTITY},
+	 * {@link #TYPE_GENERAL_TRANSFORM}, or a combination of the other
+	 * <code>TYPE_*</code> flag bits. The result is identical to the one of
+	 * {@link java.awt.geom.AffineTransform#getType()} for the same matrix.
 	 *
 	 * @return the type of transformation represented by this
 	 *         {@link AffineTransform}
 	 */
 	public int getType() {
-		return delegate.getType();
+		int type = m02 != 0 || m12 != 0 ? TYPE_TRANSLATION : TYPE_IDENTITY;
+		if (m01 != 0 || m10 != 0) {
+			if (m00 != 0 || m11 != 0) {
+				if (m00 * m01 + m10 * m11 != 0) {
+					// transformed unit vectors are not perpendicular
+					return TYPE_GENERAL_TRANSFORM;
+				}
+				boolean flip = (m00 >= 0) != (m11 >= 0);
+				type |= TYPE_GENERAL_ROTATION;
+				if (flip) {
+					type |= TYPE_FLIP;
+				}
+				if (flip ? m00 != -m11 || m01 != m10
+						: m00 != m11 || m01 != -m10) {
+					type |= TYPE_GENERAL_SCALE;
+				} else if (m00 * m11 - m01 * m10 != 1) {
+					type |= TYPE_UNIFORM_SCALE;
+				}
+			} else {
+				// pure quadrant rotation (shear components only)
+				type |= TYPE_QUADRANT_ROTATION;
+				if ((m01 >= 0) == (m10 >= 0)) {
+					type |= TYPE_FLIP;
+					type |= m01 == m10 ? TYPE_UNIFORM_SCALE
+							: TYPE_GENERAL_SCALE;
+				} else if (m01 != -m10) {
+					type |= TYPE_GENERAL_SCALE;
+				} else if (m01 != 1 && m01 != -1) {
+					type |= TYPE_UNIFORM_SCALE;
+				}
+			}
+		} else if (m00 != 1 || m11 != 1) {
+			if ((m00 >= 0) == (m11 >= 0)) {
+				if (m00 >= 0) {
+					type |= m00 == m11 ? TYPE_UNIFORM_SCALE
+							: TYPE_GENERAL_SCALE;
+				} else {
+					// both scaling factors negative - 180deg rotation
+					type |= TYPE_QUADRANT_ROTATION;
+					if (m00 != m11) {
+						type |= TYPE_GENERAL_SCALE;
+					} else if (m00 != -1) {
+						type |= TYPE_UNIFORM_SCALE;
+					}
+				}
+			} else {
+				// scaling factor signs differ - flip about some axis
+				type |= TYPE_FLIP;
+				if (m00 != -m11) {
+					type |= TYPE_GENERAL_SCALE;
+				} else if (m00 != 1 && m00 != -1) {
+					type |= TYPE_UNIFORM_SCALE;
+				}
+			}
+		}
+		return type;
 	}
 
 	@Override
 	public int hashCode() {
-		return delegate.hashCode();
+		long bits = Double.doubleToLongBits(m00);
+		bits = bits * 31 + Double.doubleToLongBits(m01);
+		bits = bits * 31 + Double.doubleToLongBits(m02);
+		bits = bits * 31 + Double.doubleToLongBits(m10);
+		bits = bits * 31 + Double.doubleToLongBits(m11);
+		bits = bits * 31 + Double.doubleToLongBits(m12);
+		return ((int) bits) ^ ((int) (bits >> 32));
 	}
 
 	/**
@@ -378,7 +535,18 @@ public class AffineTransform implements Cloneable {
 	 */
 	public void inverseTransform(double[] srcPts, int srcOff, double[] dstPts,
 			int dstOff, int numPts) throws NoninvertibleTransformException {
-		delegate.inverseTransform(srcPts, srcOff, dstPts, dstOff, numPts);
+		double det = checkedDeterminant();
+		if (srcPts == dstPts && dstOff > srcOff
+				&& dstOff < srcOff + numPts * 2) {
+			System.arraycopy(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+			srcOff = dstOff;
+		}
+		for (int i = 0; i < numPts; i++) {
+			double x = srcPts[srcOff++] - m02;
+			double y = srcPts[srcOff++] - m12;
+			dstPts[dstOff++] = (x * m11 - y * m01) / det;
+			dstPts[dstOff++] = (y * m00 - x * m10) / det;
+		}
 	}
 
 	/**
@@ -393,8 +561,10 @@ public class AffineTransform implements Cloneable {
 	 */
 	public Point inverseTransform(Point pt)
 			throws NoninvertibleTransformException {
-		return AWT2Geometry.toPoint(
-				delegate.inverseTransform(Geometry2AWT.toAWTPoint(pt), null));
+		double det = checkedDeterminant();
+		double x = pt.x - m02;
+		double y = pt.y - m12;
+		return new Point((x * m11 - y * m01) / det, (y * m00 - x * m10) / det);
 	}
 
 	/**
@@ -405,8 +575,23 @@ public class AffineTransform implements Cloneable {
 	 *             when this {@link AffineTransform} is not invertible.
 	 */
 	public AffineTransform invert() throws NoninvertibleTransformException {
-		delegate.invert();
-		return this;
+		double det = checkedDeterminant();
+		return setTransform(m11 / det, -m10 / det, -m01 / det, m00 / det,
+				(m01 * m12 - m11 * m02) / det, (m10 * m02 - m00 * m12) / det);
+	}
+
+	/**
+	 * Returns the determinant of the transformation matrix, throwing a
+	 * {@link NoninvertibleTransformException} in case it is too close to zero
+	 * to invert the matrix.
+	 */
+	private double checkedDeterminant() throws NoninvertibleTransformException {
+		double det = getDeterminant();
+		if (Math.abs(det) <= Double.MIN_VALUE) {
+			throw new NoninvertibleTransformException(
+					"Determinant is " + det);
+		}
+		return det;
 	}
 
 	/**
@@ -418,7 +603,8 @@ public class AffineTransform implements Cloneable {
 	 *         <code>false</code>
 	 */
 	public boolean isIdentity() {
-		return delegate.isIdentity();
+		return m00 == 1 && m01 == 0 && m02 == 0 && m10 == 0 && m11 == 1
+				&& m12 == 0;
 	}
 
 	/**
@@ -433,8 +619,13 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform preConcatenate(AffineTransform Tx) {
-		delegate.preConcatenate(Tx.delegate);
-		return this;
+		double n00 = Tx.m00 * m00 + Tx.m01 * m10;
+		double n01 = Tx.m00 * m01 + Tx.m01 * m11;
+		double n02 = Tx.m00 * m02 + Tx.m01 * m12 + Tx.m02;
+		double n10 = Tx.m10 * m00 + Tx.m11 * m10;
+		double n11 = Tx.m10 * m01 + Tx.m11 * m11;
+		double n12 = Tx.m10 * m02 + Tx.m11 * m12 + Tx.m12;
+		return setTransform(n00, n10, n01, n11, n02, n12);
 	}
 
 	/**
@@ -447,8 +638,16 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform quadrantRotate(int numquadrants) {
-		delegate.quadrantRotate(numquadrants);
-		return this;
+		switch (numquadrants & 3) {
+		case 1:
+			return rotateBy(1, 0);
+		case 2:
+			return rotateBy(0, -1);
+		case 3:
+			return rotateBy(-1, 0);
+		default:
+			return this;
+		}
 	}
 
 	/**
@@ -466,8 +665,9 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform quadrantRotate(int numquadrants, double anchorx,
 			double anchory) {
-		delegate.quadrantRotate(numquadrants, anchorx, anchory);
-		return this;
+		translate(anchorx, anchory);
+		quadrantRotate(numquadrants);
+		return translate(-anchorx, -anchory);
 	}
 
 	/**
@@ -479,7 +679,30 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform rotate(double theta) {
-		delegate.rotate(theta);
+		double sin = Math.sin(theta);
+		double cos = Math.cos(theta);
+		return rotateBy(sin, cos);
+	}
+
+	/**
+	 * Concatenates a rotation matrix specified by the sine and cosine of its
+	 * angle. Values that are off from a quadrant rotation by rounding errors
+	 * only are snapped to it, so that quadrant rotations are exact.
+	 */
+	private AffineTransform rotateBy(double sin, double cos) {
+		if (sin == 1 || sin == -1) {
+			cos = 0;
+		} else if (cos == 1 || cos == -1) {
+			sin = 0;
+		}
+		double n00 = m00 * cos + m01 * sin;
+		double n01 = m01 * cos - m00 * sin;
+		double n10 = m10 * cos + m11 * sin;
+		double n11 = m11 * cos - m10 * sin;
+		m00 = n00;
+		m01 = n01;
+		m10 = n10;
+		m11 = n11;
 		return this;
 	}
 
@@ -497,8 +720,13 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform rotate(double vecx, double vecy) {
-		delegate.rotate(vecx, vecy);
-		return this;
+		if (vecy == 0) {
+			return vecx < 0 ? rotateBy(0, -1) : this;
+		} else if (vecx == 0) {
+			return vecy > 0 ? rotateBy(1, 0) : rotateBy(-1, 0);
+		}
+		double len = Math.sqrt(vecx * vecx + vecy * vecy);
+		return rotateBy(vecy / len, vecx / len);
 	}
 
 	/**
@@ -516,8 +744,9 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform rotate(double theta, double anchorx,
 			double anchory) {
-		delegate.rotate(theta, anchorx, anchory);
-		return this;
+		translate(anchorx, anchory);
+		rotate(theta);
+		return translate(-anchorx, -anchory);
 	}
 
 	// TODO: Add the possibility to pass Angle objects instead of simple double
@@ -543,8 +772,9 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform rotate(double vecx, double vecy, double anchorx,
 			double anchory) {
-		delegate.rotate(vecx, vecy, anchorx, anchory);
-		return this;
+		translate(anchorx, anchory);
+		rotate(vecx, vecy);
+		return translate(-anchorx, -anchory);
 	}
 
 	/**
@@ -560,7 +790,10 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform scale(double sx, double sy) {
-		delegate.scale(sx, sy);
+		m00 *= sx;
+		m10 *= sx;
+		m01 *= sy;
+		m11 *= sy;
 		return this;
 	}
 
@@ -571,8 +804,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToIdentity() {
-		delegate.setToIdentity();
-		return this;
+		return setTransform(1, 0, 0, 1, 0, 0);
 	}
 
 	/**
@@ -584,8 +816,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToQuadrantRotation(int numquadrants) {
-		delegate.setToQuadrantRotation(numquadrants);
-		return this;
+		setToIdentity();
+		return quadrantRotate(numquadrants);
 	}
 
 	/**
@@ -604,8 +836,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToQuadrantRotation(int numquadrants,
 			double anchorx, double anchory) {
-		delegate.setToQuadrantRotation(numquadrants, anchorx, anchory);
-		return this;
+		setToIdentity();
+		return quadrantRotate(numquadrants, anchorx, anchory);
 	}
 
 	/**
@@ -617,8 +849,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToRotation(double theta) {
-		delegate.setToRotation(theta);
-		return this;
+		setToIdentity();
+		return rotate(theta);
 	}
 
 	/**
@@ -635,8 +867,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToRotation(double vecx, double vecy) {
-		delegate.setToRotation(vecx, vecy);
-		return this;
+		setToIdentity();
+		return rotate(vecx, vecy);
 	}
 
 	/**
@@ -655,8 +887,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToRotation(double theta, double anchorx,
 			double anchory) {
-		delegate.setToRotation(theta, anchorx, anchory);
-		return this;
+		setToIdentity();
+		return rotate(theta, anchorx, anchory);
 	}
 
 	/**
@@ -680,8 +912,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToRotation(double vecx, double vecy,
 			double anchorx, double anchory) {
-		delegate.setToRotation(vecx, vecy, anchorx, anchory);
-		return this;
+		setToIdentity();
+		return rotate(vecx, vecy, anchorx, anchory);
 	}
 
 	/**
@@ -695,8 +927,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToScale(double sx, double sy) {
-		delegate.setToScale(sx, sy);
-		return this;
+		return setTransform(sx, 0, 0, sy, 0, 0);
 	}
 
 	/**
@@ -710,8 +941,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToShear(double shx, double shy) {
-		delegate.setToShear(shx, shy);
-		return this;
+		return setTransform(1, shy, shx, 1, 0, 0);
 	}
 
 	/**
@@ -726,8 +956,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToTranslation(double tx, double ty) {
-		delegate.setToTranslation(tx, ty);
-		return this;
+		return setTransform(1, 0, 0, 1, tx, ty);
 	}
 
 	/**
@@ -740,8 +969,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setTransform(AffineTransform Tx) {
-		delegate.setTransform(Tx.delegate);
-		return this;
+		return setTransform(Tx.m00, Tx.m10, Tx.m01, Tx.m11, Tx.m02, Tx.m12);
 	}
 
 	/**
@@ -771,7 +999,12 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setTransform(double m00, double m10, double m01,
 			double m11, double m02, double m12) {
-		delegate.setTransform(m00, m10, m01, m11, m02, m12);
+		this.m00 = m00;
+		this.m10 = m10;
+		this.m01 = m01;
+		this.m11 = m11;
+		this.m02 = m02;
+		this.m12 = m12;
 		return this;
 	}
 
@@ -788,13 +1021,58 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform shear(double shx, double shy) {
-		delegate.shear(shx, shy);
+		double n00 = m00 + m01 * shy;
+		double n01 = m00 * shx + m01;
+		double n10 = m10 + m11 * shy;
+		double n11 = m10 * shx + m11;
+		m00 = n00;
+		m01 = n01;
+		m10 = n10;
+		m11 = n11;
 		return this;
 	}
 
 	@Override
 	public String toString() {
-		return delegate.toString();
+		return "AffineTransform[[" + m00 + ", " + m01 + ", " + m02 + "], ["
+				+ m10 + ", " + m11 + ", " + m12 + "]]";
+	}
+
+	/**
+	 * Transforms an array of {@link Point}s specified by their coordinate
+	 * values with this {@link AffineTransform}. The source and destination
+	 * arrays may be identical (also with overlapping ranges), so that the
+	 * coordinates can be transformed in place. No intermediate objects are
+	 * created.
+	 *
+	 * @param srcPts
+	 *            the array of x and y coordinates specifying the {@link Point}s
+	 *            that are transformed
+	 * @param srcOff
+	 *            the index of the <i>srcPts</i> array where the x coordinate of
+	 *            the first {@link Point} to transform is found
+	 * @param dstPts
+	 *            the destination array of x and y coordinates for the result of
+	 *            the transformation
+	 * @param dstOff
+	 *            the index of the <i>dstPts</i> array where the x coordinate of
+	 *            the first transformed {@link Point} is stored
+	 * @param numPts
+	 *            the number of {@link Point}s to transform
+	 */
+	public void transform(double[] srcPts, int srcOff, double[] dstPts,
+			int dstOff, int numPts) {
+		if (srcPts == dstPts && dstOff > srcOff
+				&& dstOff < srcOff + numPts * 2) {
+			System.arraycopy(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+			srcOff = dstOff;
+		}
+		for (int i = 0; i < numPts; i++) {
+			double x = srcPts[srcOff++];
+			double y = srcPts[srcOff++];
+			dstPts[dstOff++] = m00 * x + m01 * y + m02;
+			dstPts[dstOff++] = m10 * x + m11 * y + m12;
+		}
 	}
 
 	/**
@@ -808,7 +1086,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform translate(double tx, double ty) {
-		delegate.translate(tx, ty);
+		m02 += tx * m00 + ty * m01;
+		m12 += tx * m10 + ty * m11;
 		return this;
 	}
 
@@ -29,7 +29,6 @@ import java.util.function.BiFunction;
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.euclidean.Straight;
 import org.eclipse.gef.geometry.euclidean.Vector;
-import org.eclipse.gef.geometry.internal.utils.PointListUtils;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 import org.eclipse.gef.geometry.projective.Straight3D;
 import org.eclipse.gef.geometry.projective.Vector3D;
@@ -2430,7 +2429,11 @@ public class BezierCurve extends AbstractGeometry
 	 *            {@link BezierCurve} in x, y order
 	 */
 	public BezierCurve(double... controlPoints) {
-		this(PointListUtils.toPointsArray(controlPoints));
+		points = new Vector3D[controlPoints.length / 2];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = new Vector3D(controlPoints[2 * i],
+					controlPoints[2 * i + 1], 1);
+		}
 	}
 
 	/**
@@ -3283,7 +3286,13 @@ public class BezierCurve extends AbstractGeometry
 	 */
 	@Override
 	public BezierCurve getTransformed(AffineTransform t) {
-		return new BezierCurve(t.getTransformed(getPoints()));
+		double[] coordinates = new double[points.length * 2];
+		for (int i = 0; i < points.length; i++) {
+			coordinates[2 * i] = points[i].x / points[i].z;
+			coordinates[2 * i + 1] = points[i].y / points[i].z;
+		}
+		t.transform(coordinates, 0, coordinates, 0, points.length);
+		return new BezierCurve(coordinates);
 	}
 
 	@Override
@@ -12,9 +12,18 @@
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 
 /**
  * The {@link CurveUtils} class provides functionality that can be used for all
@@ -23,7 +32,89 @@ import java.util.Set;
  * @author mwienand
  *
  */
-class CurveUtils {
+public class CurveUtils {
+
+	/**
+	 * An {@link Intersection} represents a {@link Point} of intersection
+	 * between two {@link ICurve}s of a list of {@link ICurve}s (see
+	 * {@link CurveUtils#getIntersections(List, boolean)}), which are
+	 * identified by their indices.
+	 */
+	public static final class Intersection {
+
+		private final int curveIndex1;
+		private final int curveIndex2;
+		private final Point point;
+
+		/**
+		 * Constructs a new {@link Intersection} between the {@link ICurve}s
+		 * at the given indices at the given {@link Point}.
+		 *
+		 * @param curveIndex1
+		 *            The index of the first {@link ICurve}.
+		 * @param curveIndex2
+		 *            The index of the second {@link ICurve}.
+		 * @param point
+		 *            The {@link Point} of intersection.
+		 */
+		public Intersection(int curveIndex1, int curveIndex2, Point point) {
+			this.curveIndex1 = curveIndex1;
+			this.curveIndex2 = curveIndex2;
+			this.point = point;
+		}
+
+		/**
+		 * Returns the index of the first intersected {@link ICurve}, which is
+		 * always smaller than the {@link #getCurveIndex2() index of the second
+		 * intersected curve}.
+		 *
+		 * @return The index of the first intersected {@link ICurve}.
+		 */
+		public int getCurveIndex1() {
+			return curveIndex1;
+		}
+
+		/**
+		 * Returns the index of the second intersected {@link ICurve}.
+		 *
+		 * @return The index of the second intersected {@link ICurve}.
+		 */
+		public int getCurveIndex2() {
+			return curveIndex2;
+		}
+
+		/**
+		 * Returns the {@link Point} of intersection.
+		 *
+		 * @return The {@link Point} of intersection.
+		 */
+		public Point getPoint() {
+			return point;
+		}
+
+		@Override
+		public String toString() {
+			return "Intersection(" + curveIndex1 + ", " + curveIndex2 + ", "
+					+ point + ")";
+		}
+	}
+
+	/**
+	 * A {@link BezierCurve} segment of one of the {@link ICurve}s that are
+	 * intersected by {@link CurveUtils#getIntersections(List, boolean)},
+	 * together with its control bounds.
+	 */
+	private static final class IndexedSegment {
+		final int curveIndex;
+		final BezierCurve bezier;
+		final Rectangle bounds;
+
+		IndexedSegment(int curveIndex, BezierCurve bezier) {
+			this.curveIndex = curveIndex;
+			this.bezier = bezier;
+			this.bounds = bezier.getControlBounds();
+		}
+	}
 
 	/**
 	 * Creates copies of the given {@link BezierCurve}s.
@@ -60,6 +151,126 @@ class CurveUtils {
 		return intersections.toArray(new Point[] {});
 	}
 
+	/**
+	 * Computes all {@link Point}s of intersection between the given
+	 * {@link ICurve}s. Equivalent to
+	 * <code>getIntersections(curves, false)</code>.
+	 *
+	 * @param curves
+	 *            The {@link ICurve}s to intersect with each other.
+	 * @return A list of {@link Intersection}s.
+	 * @see #getIntersections(List, boolean)
+	 */
+	public static List<Intersection> getIntersections(
+			List<? extends ICurve> curves) {
+		return getIntersections(curves, false);
+	}
+
+	/**
+	 * Computes all {@link Point}s of intersection between the given
+	 * {@link ICurve}s, i.e. between each pair of different {@link ICurve}s
+	 * (self-intersections are not reported). In contrast to calling
+	 * {@link #getIntersections(ICurve, ICurve)} for each pair of
+	 * {@link ICurve}s, the {@link BezierCurve} segments of the {@link ICurve}s
+	 * are sorted by their control bounds, so that the (expensive) exact
+	 * intersection is only computed for pairs of segments whose control
+	 * bounds touch.
+	 * <p>
+	 * The returned {@link Intersection}s are ordered by the indices of the
+	 * intersected {@link ICurve}s, and by the coordinates of their
+	 * {@link Point}s, independent of whether the computation is performed in
+	 * parallel.
+	 *
+	 * @param curves
+	 *            The {@link ICurve}s to intersect with each other.
+	 * @param parallel
+	 *            <code>true</code> if the exact intersections should be
+	 *            computed in parallel, otherwise <code>false</code>.
+	 * @return A list of {@link Intersection}s, ordered by
+	 *         {@link Intersection#getCurveIndex1()},
+	 *         {@link Intersection#getCurveIndex2()}, and
+	 *         {@link Intersection#getPoint()}.
+	 */
+	public static List<Intersection> getIntersections(
+			List<? extends ICurve> curves, boolean parallel) {
+		// decompose curves into segments and sort them by their left bound
+		List<IndexedSegment> segments = new ArrayList<>();
+		for (int i = 0; i < curves.size(); i++) {
+			for (BezierCurve bezier : curves.get(i).toBezier()) {
+				segments.add(new IndexedSegment(i, bezier));
+			}
+		}
+		Collections.sort(segments, new Comparator<IndexedSegment>() {
+			@Override
+			public int compare(IndexedSegment s1, IndexedSegment s2) {
+				return Double.compare(s1.bounds.getX(), s2.bounds.getX());
+			}
+		});
+
+		// sweep over the x-extents to determine candidate pairs
+		List<IndexedSegment[]> candidates = new ArrayList<>();
+		for (int i = 0; i < segments.size(); i++) {
+			IndexedSegment s1 = segments.get(i);
+			double maxX = s1.bounds.getX() + s1.bounds.getWidth();
+			for (int j = i + 1; j < segments.size() && PrecisionUtils
+					.smallerEqual(segments.get(j).bounds.getX(), maxX); j++) {
+				IndexedSegment s2 = segments.get(j);
+				if (s1.curveIndex != s2.curveIndex
+						&& s1.bounds.touches(s2.bounds)) {
+					candidates.add(s1.curveIndex < s2.curveIndex
+							? new IndexedSegment[] { s1, s2 }
+							: new IndexedSegment[] { s2, s1 });
+				}
+			}
+		}
+		Collections.sort(candidates, new Comparator<IndexedSegment[]>() {
+			@Override
+			public int compare(IndexedSegment[] c1, IndexedSegment[] c2) {
+				int result = Integer.compare(c1[0].curveIndex,
+						c2[0].curveIndex);
+				return result != 0 ? result
+						: Integer.compare(c1[1].curveIndex, c2[1].curveIndex);
+			}
+		});
+
+		// compute exact intersections for the candidate pairs
+		Stream<IndexedSegment[]> stream = parallel
+				? candidates.parallelStream() : candidates.stream();
+		List<Point[]> points = stream
+				.map(c -> c[0].bezier.getIntersections(c[1].bezier))
+				.collect(Collectors.toList());
+
+		// merge the points per pair of curves
+		List<Intersection> intersections = new ArrayList<>();
+		Set<Point> pairPoints = new LinkedHashSet<>();
+		for (int i = 0; i < candidates.size(); i++) {
+			pairPoints.addAll(Arrays.asList(points.get(i)));
+			IndexedSegment[] c = candidates.get(i);
+			IndexedSegment[] next = i + 1 < candidates.size()
+					? candidates.get(i + 1) : null;
+			if (next == null || next[0].curveIndex != c[0].curveIndex
+					|| next[1].curveIndex != c[1].curveIndex) {
+				// sort the points, because the order in which the
+				// intersections are found is not deterministic
+				Point[] sorted = pairPoints.toArray(new Point[] {});
+				Arrays.sort(sorted, new Comparator<Point>() {
+					@Override
+					public int compare(Point p1, Point p2) {
+						int result = Double.compare(p1.x, p2.x);
+						return result != 0 ? result
+								: Double.compare(p1.y, p2.y);
+					}
+				});
+				for (Point p : sorted) {
+					intersections.add(new Intersection(c[0].curveIndex,
+							c[1].curveIndex, p));
+				}
+				pairPoints.clear();
+			}
+		}
+		return intersections;
+	}
+
 	/**
 	 * Delegates to the appropriate getIntersections() method for the passed-in
 	 * {@link IGeometry} depending on its type.
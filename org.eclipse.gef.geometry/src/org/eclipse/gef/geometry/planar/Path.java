@@ -12,14 +12,15 @@
  *******************************************************************************/
 package org.eclipse.gef.geometry.planar;
 
-import java.awt.geom.Area;
 import java.awt.geom.Path2D;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
+import org.eclipse.gef.geometry.convert.awt.AWTPathOperations;
 import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.internal.utils.PolygonClipper;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 
 /**
@@ -31,6 +32,13 @@ import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
  * intersects, equals, etc.) are based on a limited precision (with an accuracy
  * defined within {@link PrecisionUtils}) to compensate for rounding effects.
  *
+ * The boolean operations ({@link #add(Path, Path)},
+ * {@link #exclusiveOr(Path, Path)}, {@link #intersect(Path, Path)}, and
+ * {@link #subtract(Path, Path)}) are computed natively, approximating curved
+ * segments by lines (see {@link PolygonClipper}). The AWT-based
+ * implementations, which preserve curved segments, are available via
+ * {@link AWTPathOperations}.
+ *
  * @author anyssen
  *
  */
@@ -254,10 +262,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the sum of the areas
 	 */
 	public static Path add(Path pa, Path pb) {
-		Area a = new Area(Geometry2AWT.toAWTPath(pa));
-		Area b = new Area(Geometry2AWT.toAWTPath(pb));
-		a.add(b);
-		return AWT2Geometry.toPath(new Path2D.Double(a));
+		return PolygonClipper.clip(pa, pb, PolygonClipper.UNION);
 	}
 
 	/**
@@ -271,10 +276,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the exclusive-or of the areas
 	 */
 	public static Path exclusiveOr(Path pa, Path pb) {
-		Area a = new Area(Geometry2AWT.toAWTPath(pa));
-		Area b = new Area(Geometry2AWT.toAWTPath(pb));
-		a.exclusiveOr(b);
-		return AWT2Geometry.toPath(new Path2D.Double(a));
+		return PolygonClipper.clip(pa, pb, PolygonClipper.EXCLUSIVE_OR);
 	}
 
 	/**
@@ -288,10 +290,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 *         areas
 	 */
 	public static Path intersect(Path pa, Path pb) {
-		Area a = new Area(Geometry2AWT.toAWTPath(pa));
-		Area b = new Area(Geometry2AWT.toAWTPath(pb));
-		a.intersect(b);
-		return AWT2Geometry.toPath(new Path2D.Double(a));
+		return PolygonClipper.clip(pa, pb, PolygonClipper.INTERSECTION);
 	}
 
 	/**
@@ -304,10 +303,7 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the area covered by the first but not the second given area
 	 */
 	public static Path subtract(Path pa, Path pb) {
-		Area a = new Area(Geometry2AWT.toAWTPath(pa));
-		Area b = new Area(Geometry2AWT.toAWTPath(pb));
-		a.subtract(b);
-		return AWT2Geometry.toPath(new Path2D.Double(a));
+		return PolygonClipper.clip(pa, pb, PolygonClipper.DIFFERENCE);
 	}
 
 	private int windingRule = WIND_NON_ZERO;
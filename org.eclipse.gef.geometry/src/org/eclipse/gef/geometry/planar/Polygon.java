@@ -580,7 +580,9 @@ public class Polygon extends AbstractPointListBasedGeometry<Polygon>
 	@Override
 	public Polygon getTransformed(AffineTransform t) {
 		// shape type should remain polygon (not path)
-		return new Polygon(t.getTransformed(points));
+		double[] coordinates = PointListUtils.toCoordinatesArray(points);
+		t.transform(coordinates, 0, coordinates, 0, points.length);
+		return new Polygon(coordinates);
 	}
 
 	/**
@@ -205,7 +205,9 @@ public class Polyline extends AbstractPointListBasedGeometry<Polyline>
 
 	@Override
 	public Polyline getTransformed(AffineTransform t) {
-		return new Polyline(t.getTransformed(points));
+		double[] coordinates = PointListUtils.toCoordinatesArray(points);
+		t.transform(coordinates, 0, coordinates, 0, points.length);
+		return new Polyline(coordinates);
 	}
 
 	@Override
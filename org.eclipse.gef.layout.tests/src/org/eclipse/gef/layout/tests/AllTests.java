@@ -17,6 +17,6 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ LayoutAlgorithmTests.class })
+@SuiteClasses({ LayoutAlgorithmTests.class, LayoutContextTests.class })
 public class AllTests {
 }
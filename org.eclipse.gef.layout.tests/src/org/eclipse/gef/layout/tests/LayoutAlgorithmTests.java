@@ -10,7 +10,36 @@
  *******************************************************************************/
 package org.eclipse.gef.layout.tests;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.ComponentLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.HorizontalShiftAlgorithm;
+import org.eclipse.gef.layout.algorithms.MultilevelLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.BrandesKoepfCoordinateAssigner;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.CrossingCounter;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.Direction;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.NetworkSimplexLayerProvider;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.NodeWrapper;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.SimpleLayerProvider;
 import org.eclipse.gef.layout.algorithms.TreeLayoutHelper;
 import org.junit.Assert;
 import org.junit.Test;
@@ -83,4 +112,620 @@ public class LayoutAlgorithmTests {
 		Assert.assertFalse(node3.isAncestorOf(node4));
 		Assert.assertFalse(node4.isAncestorOf(node3));
 	}
+
+	private static List<Node> createNodes(int count) {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Node node = new Node();
+			LayoutProperties.setLocation(node, new Point());
+			LayoutProperties.setSize(node, new Dimension(10, 10));
+			nodes.add(node);
+		}
+		return nodes;
+	}
+
+	private static List<Node> createGraph(int count, int[][] edges) {
+		List<Node> nodes = createNodes(count);
+		List<Edge> graphEdges = new ArrayList<>();
+		for (int[] e : edges)
+			graphEdges.add(new Edge(nodes.get(e[0]), nodes.get(e[1])));
+		new Graph(nodes, graphEdges);
+		return nodes;
+	}
+
+	private static Map<Node, Integer> calculateRanks(List<Node> nodes) {
+		List<List<NodeWrapper>> layers = new NetworkSimplexLayerProvider()
+				.calculateLayers(nodes);
+		Map<Node, Integer> ranks = new HashMap<>();
+		for (int l = 0; l < layers.size(); l++)
+			for (NodeWrapper nw : layers.get(l)) {
+				Assert.assertEquals(l, nw.getLayer());
+				if (nw.getNode() != null)
+					Assert.assertNull(ranks.put(nw.getNode(), l));
+			}
+		Assert.assertEquals(nodes.size(), ranks.size());
+		return ranks;
+	}
+
+	private static int totalLength(List<Node> nodes, int[][] edges,
+			Map<Node, Integer> ranks) {
+		int length = 0;
+		for (int[] e : edges) {
+			int l = ranks.get(nodes.get(e[1])) - ranks.get(nodes.get(e[0]));
+			Assert.assertTrue(l >= 1);
+			length += l;
+		}
+		return length;
+	}
+
+	/**
+	 * Enumerates all rankings with ranks below the number of nodes to find
+	 * the minimal total edge length of the given acyclic graph.
+	 */
+	private static int minimalLength(int count, int[][] edges) {
+		int[] rank = new int[count];
+		int best = Integer.MAX_VALUE;
+		while (true) {
+			int length = 0;
+			for (int[] e : edges) {
+				int l = rank[e[1]] - rank[e[0]];
+				if (l < 1) {
+					length = Integer.MAX_VALUE;
+					break;
+				}
+				length += l;
+			}
+			best = Math.min(best, length);
+			int i = 0;
+			while (i < count && ++rank[i] == count)
+				rank[i++] = 0;
+			if (i == count)
+				return best;
+		}
+	}
+
+	/**
+	 * Disconnected graphs are ranked component by component and must not
+	 * mix up the spanning trees of different components.
+	 */
+	@Test
+	public void testNetworkSimplexDisconnected() {
+		int[][] edges = { { 0, 1 }, { 2, 3 }, { 2, 4 }, { 3, 5 }, { 4, 5 },
+				{ 2, 5 } };
+		List<Node> nodes = createGraph(7, edges);
+		Map<Node, Integer> ranks = calculateRanks(nodes);
+		Assert.assertEquals(minimalLength(7, edges),
+				totalLength(nodes, edges, ranks));
+
+		Random random = new Random(7);
+		for (int t = 0; t < 2000; t++) {
+			int n = 2 + random.nextInt(12);
+			List<int[]> list = new ArrayList<>();
+			for (int i = random.nextInt(2 * n); i > 0; i--) {
+				int s = random.nextInt(n);
+				int d = random.nextInt(n);
+				if (s != d)
+					list.add(new int[] { s, d });
+			}
+			calculateRanks(createGraph(n, list.toArray(new int[0][])));
+		}
+	}
+
+	/**
+	 * Cycles are broken before ranking, so that every node is ranked and all
+	 * edges that were not reversed point downwards.
+	 */
+	@Test
+	public void testNetworkSimplexCyclic() {
+		int[][] edges = { { 0, 1 }, { 1, 2 }, { 2, 0 }, { 2, 3 }, { 3, 1 } };
+		List<Node> nodes = createGraph(4, edges);
+		Map<Node, Integer> ranks = calculateRanks(nodes);
+		int upwards = 0;
+		for (int[] e : edges) {
+			int l = ranks.get(nodes.get(e[1])) - ranks.get(nodes.get(e[0]));
+			Assert.assertNotEquals(0, l);
+			if (l < 0)
+				upwards++;
+		}
+		Assert.assertTrue(upwards > 0 && upwards < edges.length);
+	}
+
+	/**
+	 * A source that is only connected to the end of a long chain is ranked
+	 * directly above its target instead of in the first layer.
+	 */
+	@Test
+	public void testNetworkSimplexOptimalRanking() {
+		int[][] edges = { { 0, 1 }, { 1, 2 }, { 2, 3 }, { 4, 3 }, { 0, 5 },
+				{ 5, 3 }, { 0, 3 } };
+		List<Node> nodes = createGraph(6, edges);
+		Map<Node, Integer> ranks = calculateRanks(nodes);
+		Assert.assertEquals(1, ranks.get(nodes.get(3)) - ranks.get(nodes.get(4)));
+		Assert.assertEquals(minimalLength(6, edges),
+				totalLength(nodes, edges, ranks));
+
+		Random random = new Random(11);
+		for (int t = 0; t < 200; t++) {
+			int n = 2 + random.nextInt(5);
+			List<int[]> list = new ArrayList<>();
+			for (int s = 0; s < n; s++)
+				for (int d = s + 1; d < n; d++)
+					if (random.nextInt(3) == 0)
+						list.add(new int[] { s, d });
+			int[][] dag = list.toArray(new int[0][]);
+			nodes = createGraph(n, dag);
+			Assert.assertEquals(Arrays.deepToString(dag), minimalLength(n, dag),
+					totalLength(nodes, dag, calculateRanks(nodes)));
+		}
+	}
+
+	/**
+	 * Counts the crossings between the given edges by comparing all pairs of
+	 * edges.
+	 */
+	private static int countCrossings(List<int[]> edges) {
+		int count = 0;
+		for (int i = 0; i < edges.size(); i++)
+			for (int j = i + 1; j < edges.size(); j++) {
+				int[] e = edges.get(i);
+				int[] f = edges.get(j);
+				if ((e[0] - f[0]) * (e[1] - f[1]) < 0)
+					count++;
+			}
+		return count;
+	}
+
+	/**
+	 * The crossings computed by the {@link CrossingCounter} are equal to the
+	 * crossings that are found by comparing all pairs of edges, for whole
+	 * layers as well as for pairs of nodes within a layer.
+	 */
+	@Test
+	public void testCrossingCounter() {
+		Random random = new Random(5);
+		for (int t = 0; t < 300; t++) {
+			// create a proper layered graph, i.e. edges only connect
+			// adjacent layers
+			List<List<Node>> layered = new ArrayList<>();
+			List<Node> nodes = new ArrayList<>();
+			List<int[]> edgeIndices = new ArrayList<>();
+			for (int l = 2 + random.nextInt(3); l > 0; l--) {
+				List<Node> layer = createNodes(1 + random.nextInt(6));
+				for (Node node : layer) {
+					if (!layered.isEmpty()) {
+						List<Node> above = layered.get(layered.size() - 1);
+						for (int i = 0; i < above.size(); i++)
+							if (random.nextInt(3) == 0)
+								edgeIndices.add(new int[] {
+										nodes.indexOf(above.get(i)),
+										nodes.size() });
+						// ensure the node is not a root
+						if (edgeIndices.isEmpty() || edgeIndices.get(
+								edgeIndices.size() - 1)[1] != nodes.size())
+							edgeIndices.add(new int[] {
+									nodes.indexOf(above.get(random
+											.nextInt(above.size()))),
+									nodes.size() });
+					}
+					nodes.add(node);
+				}
+				layered.add(layer);
+			}
+			List<Edge> edges = new ArrayList<>();
+			for (int[] e : edgeIndices)
+				edges.add(new Edge(nodes.get(e[0]), nodes.get(e[1])));
+			new Graph(nodes, edges);
+
+			List<List<NodeWrapper>> layers = new SimpleLayerProvider()
+					.calculateLayers(new ArrayList<>(nodes));
+			Assert.assertEquals(layered.size(), layers.size());
+			for (int order = 0; order < 5; order++) {
+				Map<Node, Integer> positions = new HashMap<>();
+				for (List<NodeWrapper> layer : layers) {
+					Collections.shuffle(layer, random);
+					for (int i = 0; i < layer.size(); i++)
+						positions.put(layer.get(i).getNode(), i);
+				}
+				CrossingCounter counter = new CrossingCounter(layers);
+
+				int total = 0;
+				for (int l = 0; l + 1 < layers.size(); l++) {
+					List<int[]> between = new ArrayList<>();
+					for (Edge edge : edges)
+						if (layered.get(l).contains(edge.getSource()))
+							between.add(new int[] {
+									positions.get(edge.getSource()),
+									positions.get(edge.getTarget()) });
+					int crossings = countCrossings(between);
+					Assert.assertEquals(crossings, counter.crossings(l));
+					total += crossings;
+				}
+				Assert.assertEquals(total, counter.crossings());
+
+				// a counter restricted to a single layer yields the same
+				// counts for that layer
+				int scope = random.nextInt(layers.size());
+				CrossingCounter scoped = new CrossingCounter(layers,
+						Collections.singleton(scope));
+				Assert.assertEquals(counter.crossings(scope),
+						scoped.crossings(scope));
+				for (NodeWrapper left : layers.get(scope))
+					for (NodeWrapper right : layers.get(scope))
+						Assert.assertEquals(counter.crossings(left, right),
+								scoped.crossings(left, right));
+
+				for (List<NodeWrapper> layer : layers)
+					for (NodeWrapper left : layer)
+						for (NodeWrapper right : layer) {
+							if (left == right)
+								continue;
+							// edges of the left node that end after edges of
+							// the right node on the same side
+							int crossings = 0;
+							for (Edge e : edges)
+								for (Edge f : edges) {
+									Node a = e.getSource() == left.getNode()
+											? e.getTarget()
+											: e.getTarget() == left.getNode()
+													? e.getSource() : null;
+									Node b = f.getSource() == right.getNode()
+											? f.getTarget()
+											: f.getTarget() == right.getNode()
+													? f.getSource() : null;
+									if (a != null && b != null
+											&& positions.get(a) > positions
+													.get(b)
+											&& (a == e.getTarget()) == (b == f
+													.getTarget()))
+										crossings++;
+								}
+							Assert.assertEquals(crossings,
+									counter.crossings(left, right));
+						}
+			}
+		}
+	}
+
+	@Test
+	public void testCrossingCounterWithPadding() {
+		// a -> d and b -> c cross once
+		List<Node> nodes = createNodes(4);
+		new Graph(nodes,
+				Arrays.asList(new Edge(nodes.get(0), nodes.get(3)),
+						new Edge(nodes.get(1), nodes.get(2))));
+		List<List<NodeWrapper>> layers = new SimpleLayerProvider()
+				.calculateLayers(new ArrayList<>(nodes));
+		Assert.assertEquals(2, layers.size());
+		for (List<NodeWrapper> layer : layers)
+			Collections.sort(layer, (l, r) -> Integer.compare(
+					nodes.indexOf(l.getNode()), nodes.indexOf(r.getNode())));
+		// padding in front of the south layer and after the north layer
+		layers.get(1).add(0, new NodeWrapper());
+		layers.get(0).add(new NodeWrapper());
+
+		CrossingCounter counter = new CrossingCounter(layers);
+		Assert.assertEquals(1, counter.crossings(0));
+		Assert.assertEquals(1, counter.crossings());
+		Assert.assertEquals(0, counter.crossings(layers.get(0).get(0),
+				layers.get(0).get(2)));
+		Assert.assertEquals(1, counter.crossings(layers.get(0).get(0),
+				layers.get(0).get(1)));
+	}
+
+	private static LayoutContext createLayoutContext(Graph graph,
+			ILayoutAlgorithm algorithm) {
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 400, 400));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		return context;
+	}
+
+	private static Map<Node, Point> getLocations(List<Node> nodes) {
+		Map<Node, Point> locations = new HashMap<>();
+		for (Node node : nodes)
+			locations.put(node, LayoutProperties.getLocation(node).getCopy());
+		return locations;
+	}
+
+	/**
+	 * Nodes that are added to a {@link SugiyamaLayoutAlgorithm} layout are
+	 * inserted without changing the layers and positions of the previously
+	 * laid out nodes.
+	 */
+	@Test
+	public void testSugiyamaIncrementalKeepsUnchangedNodes() {
+		List<Node> nodes = createNodes(5);
+		Graph graph = new Graph(nodes,
+				Arrays.asList(new Edge(nodes.get(0), nodes.get(1)),
+						new Edge(nodes.get(0), nodes.get(2)),
+						new Edge(nodes.get(0), nodes.get(3)),
+						new Edge(nodes.get(1), nodes.get(4))));
+		LayoutContext context = createLayoutContext(graph,
+				new SugiyamaLayoutAlgorithm());
+		context.applyLayout(true);
+		Map<Node, Point> before = getLocations(nodes);
+
+		Node added = createNodes(1).get(0);
+		graph.getNodes().add(added);
+		graph.getEdges().add(new Edge(nodes.get(2), added));
+		context.applyLayout(false);
+
+		Assert.assertEquals(before, getLocations(nodes));
+		Point location = LayoutProperties.getLocation(added);
+		Assert.assertEquals(before.get(nodes.get(4)).y, location.y, 0);
+		Assert.assertNotEquals(before.get(nodes.get(4)).x, location.x, 0);
+	}
+
+	/**
+	 * If most of the nodes changed, an incremental pass of the
+	 * {@link SugiyamaLayoutAlgorithm} yields the same result as a clean pass.
+	 */
+	@Test
+	public void testSugiyamaIncrementalFallsBackToClean() {
+		List<Node> nodes = createNodes(3);
+		Graph graph = new Graph(nodes,
+				Arrays.asList(new Edge(nodes.get(0), nodes.get(1)),
+						new Edge(nodes.get(1), nodes.get(2))));
+		LayoutContext context = createLayoutContext(graph,
+				new SugiyamaLayoutAlgorithm());
+		context.applyLayout(true);
+
+		List<Node> added = createNodes(5);
+		graph.getNodes().addAll(added);
+		graph.getEdges().add(new Edge(added.get(0), nodes.get(0)));
+		for (int i = 1; i < added.size(); i++)
+			graph.getEdges().add(new Edge(added.get(0), added.get(i)));
+		context.applyLayout(false);
+		List<Node> all = new ArrayList<>(graph.getNodes());
+		Map<Node, Point> incremental = getLocations(all);
+
+		createLayoutContext(graph, new SugiyamaLayoutAlgorithm())
+				.applyLayout(true);
+		Assert.assertEquals(getLocations(all), incremental);
+	}
+
+	/**
+	 * The {@link BrandesKoepfCoordinateAssigner} draws chains as straight
+	 * lines, centers a parent above its two children, and keeps the minimum
+	 * spacing between the nodes of a layer.
+	 */
+	@Test
+	public void testBrandesKoepfCoordinates() {
+		// a chain 0-1-2 and a parent 3 of two children 4 and 5
+		List<Node> nodes = createNodes(6);
+		Graph graph = new Graph(nodes,
+				Arrays.asList(new Edge(nodes.get(0), nodes.get(1)),
+						new Edge(nodes.get(1), nodes.get(2)),
+						new Edge(nodes.get(3), nodes.get(4)),
+						new Edge(nodes.get(3), nodes.get(5))));
+		createLayoutContext(graph,
+				new SugiyamaLayoutAlgorithm(Direction.VERTICAL, null, null,
+						null, new BrandesKoepfCoordinateAssigner()))
+								.applyLayout(true);
+		Map<Node, Point> locations = getLocations(nodes);
+		Assert.assertEquals(locations.get(nodes.get(0)).x,
+				locations.get(nodes.get(1)).x, 1e-9);
+		Assert.assertEquals(locations.get(nodes.get(1)).x,
+				locations.get(nodes.get(2)).x, 1e-9);
+		Assert.assertEquals(
+				(locations.get(nodes.get(4)).x + locations.get(nodes.get(5)).x)
+						/ 2,
+				locations.get(nodes.get(3)).x, 1e-9);
+
+		Random random = new Random(13);
+		for (int t = 0; t < 100; t++) {
+			int n = 2 + random.nextInt(12);
+			nodes = new ArrayList<>();
+			for (int i = 0; i < n; i++)
+				nodes.add(createNode(0, 0, 5 + random.nextInt(30),
+						5 + random.nextInt(30)));
+			List<Edge> edges = new ArrayList<>();
+			for (int s = 0; s < n; s++)
+				for (int d = s + 1; d < n; d++)
+					if (random.nextInt(4) == 0)
+						edges.add(new Edge(nodes.get(s), nodes.get(d)));
+			graph = new Graph(nodes, edges);
+			createLayoutContext(graph, new SugiyamaLayoutAlgorithm(
+					Direction.VERTICAL, null, null, null,
+					new BrandesKoepfCoordinateAssigner(10))).applyLayout(true);
+			for (int i = 0; i < n; i++)
+				for (int j = i + 1; j < n; j++) {
+					Point a = LayoutProperties.getLocation(nodes.get(i));
+					Point b = LayoutProperties.getLocation(nodes.get(j));
+					if (a.y != b.y)
+						continue;
+					double separation = (LayoutProperties
+							.getSize(nodes.get(i)).width
+							+ LayoutProperties.getSize(nodes.get(j)).width) / 2
+							+ 10;
+					Assert.assertTrue(
+							Math.abs(a.x - b.x) >= separation - 1e-9);
+				}
+		}
+	}
+
+	/**
+	 * An incremental {@link SpringLayoutAlgorithm} pass only moves the nodes
+	 * within the incremental radius around the changed nodes.
+	 */
+	@Test
+	public void testSpringIncrementalKeepsUnchangedNodes() {
+		List<Node> nodes = createNodes(6);
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 1; i < nodes.size(); i++)
+			edges.add(new Edge(nodes.get(i - 1), nodes.get(i)));
+		Graph graph = new Graph(nodes, edges);
+		LayoutContext context = createLayoutContext(graph,
+				new SpringLayoutAlgorithm());
+		context.applyLayout(true);
+		Map<Node, Point> before = getLocations(nodes);
+
+		Node added = createNodes(1).get(0);
+		graph.getNodes().add(added);
+		graph.getEdges().add(new Edge(nodes.get(0), added));
+		context.applyLayout(false);
+
+		for (int i = 2; i < nodes.size(); i++)
+			Assert.assertEquals(before.get(nodes.get(i)),
+					LayoutProperties.getLocation(nodes.get(i)));
+		Assert.assertTrue(new Rectangle(0, 0, 400, 400)
+				.contains(LayoutProperties.getLocation(added)));
+	}
+
+	private static Map<Node, Point> applyMultilevelLayout(List<Node> nodes,
+			List<Edge> edges) {
+		for (Node node : nodes)
+			LayoutProperties.setLocation(node, new Point());
+		createLayoutContext(new Graph(nodes, edges),
+				new MultilevelLayoutAlgorithm()).applyLayout(true);
+		Map<Node, Point> locations = getLocations(nodes);
+		for (Node node : nodes) {
+			Point location = locations.get(node);
+			Dimension size = LayoutProperties.getSize(node);
+			Assert.assertTrue(new Rectangle(0, 0, 400, 400).contains(
+					new Rectangle(location.x - size.width / 2,
+							location.y - size.height / 2, size.width,
+							size.height)));
+		}
+		return locations;
+	}
+
+	/**
+	 * The {@link MultilevelLayoutAlgorithm} computes the same layout for the
+	 * same graph, fits the layout within the layout bounds, and handles tiny
+	 * as well as edgeless graphs.
+	 */
+	@Test
+	public void testMultilevelLayout() {
+		Random random = new Random(17);
+		List<Node> nodes = createNodes(200);
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 1; i < nodes.size(); i++) {
+			edges.add(new Edge(nodes.get(random.nextInt(i)), nodes.get(i)));
+			if (random.nextInt(4) == 0)
+				edges.add(new Edge(nodes.get(random.nextInt(i)),
+						nodes.get(i)));
+		}
+		Map<Node, Point> locations = applyMultilevelLayout(nodes, edges);
+		Assert.assertEquals(locations, applyMultilevelLayout(nodes, edges));
+
+		// empty and tiny graphs
+		applyMultilevelLayout(new ArrayList<Node>(), new ArrayList<Edge>());
+		nodes = createNodes(1);
+		Assert.assertEquals(new Point(200, 200), applyMultilevelLayout(nodes,
+				new ArrayList<Edge>()).get(nodes.get(0)));
+		nodes = createNodes(2);
+		locations = applyMultilevelLayout(nodes,
+				Arrays.asList(new Edge(nodes.get(0), nodes.get(1))));
+		Assert.assertNotEquals(locations.get(nodes.get(0)),
+				locations.get(nodes.get(1)));
+
+		// isolated nodes are spread instead of collapsing
+		nodes = createNodes(20);
+		locations = applyMultilevelLayout(nodes, new ArrayList<Edge>());
+		for (int i = 0; i < nodes.size(); i++)
+			for (int j = i + 1; j < nodes.size(); j++)
+				Assert.assertTrue(locations.get(nodes.get(i))
+						.getDistance(locations.get(nodes.get(j))) > 1);
+	}
+
+	private static Node createNode(double x, double y, double width,
+			double height) {
+		Node node = new Node();
+		LayoutProperties.setLocation(node, new Point(x, y));
+		LayoutProperties.setSize(node, new Dimension(width, height));
+		return node;
+	}
+
+	/**
+	 * A node that is close to two rows is added to the row that was created
+	 * first.
+	 */
+	@Test
+	public void testHorizontalShiftRowsPreferFirstRow() {
+		// the lower row is created first
+		Node first = createNode(0, 15, 10, 10);
+		Node second = createNode(0, 0, 10, 10);
+		Node between = createNode(0, 7, 10, 10);
+		Graph graph = new Graph(Arrays.asList(first, second, between),
+				new ArrayList<Edge>());
+		createLayoutContext(graph, new HorizontalShiftAlgorithm())
+				.applyLayout(true);
+		Assert.assertEquals(LayoutProperties.getLocation(first).y,
+				LayoutProperties.getLocation(between).y, 0);
+		Assert.assertNotEquals(LayoutProperties.getLocation(first).y,
+				LayoutProperties.getLocation(second).y, 0);
+	}
+
+	/**
+	 * The {@link HorizontalShiftAlgorithm.Mode#SWEEP_LINE} mode does not move
+	 * nodes that do not overlap, and removes all overlaps by moving nodes to
+	 * the right.
+	 */
+	@Test
+	public void testHorizontalShiftSweepLine() {
+		List<Node> nodes = Arrays.asList(createNode(5, 5, 10, 10),
+				createNode(30, 5, 10, 10), createNode(5, 30, 10, 10),
+				createNode(20, 20, 10, 10));
+		Graph graph = new Graph(nodes, new ArrayList<Edge>());
+		Map<Node, Point> before = getLocations(nodes);
+		HorizontalShiftAlgorithm algorithm = new HorizontalShiftAlgorithm(
+				HorizontalShiftAlgorithm.Mode.SWEEP_LINE);
+		createLayoutContext(graph, algorithm).applyLayout(true);
+		Assert.assertEquals(before, getLocations(nodes));
+
+		Random random = new Random(3);
+		nodes = new ArrayList<>();
+		for (int i = 0; i < 50; i++)
+			nodes.add(createNode(random.nextInt(100), random.nextInt(100),
+					5 + random.nextInt(20), 5 + random.nextInt(20)));
+		graph = new Graph(nodes, new ArrayList<Edge>());
+		before = getLocations(nodes);
+		createLayoutContext(graph, algorithm).applyLayout(true);
+		for (int i = 0; i < nodes.size(); i++) {
+			Point location = LayoutProperties.getLocation(nodes.get(i));
+			Assert.assertEquals(before.get(nodes.get(i)).y, location.y, 0);
+			Assert.assertTrue(location.x >= before.get(nodes.get(i)).x);
+			Dimension size = LayoutProperties.getSize(nodes.get(i));
+			for (int j = 0; j < i; j++) {
+				Point otherLocation = LayoutProperties
+						.getLocation(nodes.get(j));
+				Dimension otherSize = LayoutProperties.getSize(nodes.get(j));
+				boolean overlapX = Math.abs(location.x - otherLocation.x)
+						* 2 < size.width + otherSize.width;
+				boolean overlapY = Math.abs(location.y - otherLocation.y)
+						* 2 < size.height + otherSize.height;
+				Assert.assertFalse(overlapX && overlapY);
+			}
+		}
+	}
+
+	/**
+	 * The {@link ComponentLayoutAlgorithm} packs the components into the
+	 * bounds of the current layout if no layout bounds are specified.
+	 */
+	@Test
+	public void testComponentLayoutWithoutBounds() {
+		List<Node> nodes = Arrays.asList(createNode(0, 0, 10, 10),
+				createNode(100, 0, 10, 10), createNode(0, 100, 10, 10),
+				createNode(100, 100, 10, 10), createNode(50, 50, 10, 10));
+		Graph graph = new Graph(nodes,
+				Arrays.asList(new Edge(nodes.get(0), nodes.get(1)),
+						new Edge(nodes.get(2), nodes.get(3))));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(
+				new ComponentLayoutAlgorithm(new Supplier<ILayoutAlgorithm>() {
+					public ILayoutAlgorithm get() {
+						return new GridLayoutAlgorithm();
+					}
+				}));
+		context.applyLayout(true);
+		for (Node node : nodes) {
+			Point location = LayoutProperties.getLocation(node);
+			Assert.assertTrue(location.x >= -5 && location.x <= 105);
+			Assert.assertTrue(location.y >= -5 && location.y <= 105);
+		}
+	}
 }
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutProgressMonitor;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutContext.PartialResultPolicy;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.BoxLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.HorizontalShiftAlgorithm;
+import org.eclipse.gef.layout.algorithms.RadialLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpaceTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the progress reporting and cancellation of layout passes via the
+ * {@link LayoutContext}.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class LayoutContextTests {
+
+	/**
+	 * Cancels the layout pass after the given amount of work, and records the
+	 * names of the started phases.
+	 */
+	private static class CancelingMonitor implements ILayoutProgressMonitor {
+		private final int cancelAfter;
+		private int worked;
+		private final List<String> phases = new ArrayList<>();
+
+		public CancelingMonitor(int cancelAfter) {
+			this.cancelAfter = cancelAfter;
+		}
+
+		public void beginPhase(String name, int totalWork) {
+			phases.add(name);
+		}
+
+		public boolean isCanceled() {
+			return worked >= cancelAfter;
+		}
+
+		public void worked(int work) {
+			worked += work;
+		}
+	}
+
+	private static final Point INITIAL_LOCATION = new Point(1, 1);
+
+	private static List<Node> createTree(Graph graph, int count) {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Node node = new Node();
+			LayoutProperties.setLocation(node, INITIAL_LOCATION.getCopy());
+			LayoutProperties.setSize(node, new Dimension(10, 10));
+			nodes.add(node);
+			graph.getNodes().add(node);
+			if (i > 0) {
+				graph.getEdges()
+						.add(new Edge(nodes.get((i - 1) / 2), node));
+			}
+		}
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 400, 400));
+		return nodes;
+	}
+
+	private static LayoutContext createContext(Graph graph,
+			ILayoutAlgorithm algorithm, CancelingMonitor monitor,
+			PartialResultPolicy policy) {
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.setProgressMonitor(monitor);
+		context.setPartialResultPolicy(policy);
+		return context;
+	}
+
+	private static int countMoved(List<Node> nodes) {
+		int moved = 0;
+		for (Node node : nodes) {
+			if (!INITIAL_LOCATION.equals(LayoutProperties.getLocation(node))) {
+				moved++;
+			}
+		}
+		return moved;
+	}
+
+	/**
+	 * All algorithms report at least one phase and do not change the layout
+	 * if the pass is canceled right away.
+	 */
+	@Test
+	public void testCancelBeforeFirstIteration() {
+		for (ILayoutAlgorithm algorithm : Arrays.asList(
+				new TreeLayoutAlgorithm(), new SpaceTreeLayoutAlgorithm(),
+				new RadialLayoutAlgorithm(), new GridLayoutAlgorithm(),
+				new BoxLayoutAlgorithm(), new HorizontalShiftAlgorithm(),
+				new HorizontalShiftAlgorithm(
+						HorizontalShiftAlgorithm.Mode.SWEEP_LINE))) {
+			Graph graph = new Graph();
+			List<Node> nodes = createTree(graph, 7);
+			CancelingMonitor monitor = new CancelingMonitor(0);
+			createContext(graph, algorithm, monitor, PartialResultPolicy.KEEP)
+					.applyLayout(true);
+			String name = algorithm.getClass().getSimpleName();
+			Assert.assertFalse(name, monitor.phases.isEmpty());
+			Assert.assertEquals(name, 0, countMoved(nodes));
+		}
+	}
+
+	/**
+	 * The nodes of the rows that were laid out before the pass was canceled
+	 * keep their locations if the {@link PartialResultPolicy#KEEP} policy is
+	 * used.
+	 */
+	@Test
+	public void testCancelMidLayoutKeep() {
+		Graph graph = new Graph();
+		List<Node> nodes = createTree(graph, 9);
+		createContext(graph, new GridLayoutAlgorithm(), new CancelingMonitor(1),
+				PartialResultPolicy.KEEP).applyLayout(true);
+		int moved = countMoved(nodes);
+		Assert.assertTrue(moved > 0 && moved < nodes.size());
+	}
+
+	/**
+	 * The nodes are restored if the {@link PartialResultPolicy#ROLL_BACK}
+	 * policy is used.
+	 */
+	@Test
+	public void testCancelMidLayoutRollBack() {
+		Graph graph = new Graph();
+		List<Node> nodes = createTree(graph, 9);
+		createContext(graph, new GridLayoutAlgorithm(), new CancelingMonitor(1),
+				PartialResultPolicy.ROLL_BACK).applyLayout(true);
+		Assert.assertEquals(0, countMoved(nodes));
+	}
+
+	/**
+	 * The durations of the pass and of its phases are recorded.
+	 */
+	@Test
+	public void testLayoutDurations() {
+		Graph graph = new Graph();
+		List<Node> nodes = createTree(graph, 7);
+		LayoutContext context = createContext(graph,
+				new RadialLayoutAlgorithm(),
+				new CancelingMonitor(Integer.MAX_VALUE),
+				PartialResultPolicy.KEEP);
+		context.applyLayout(true);
+		Assert.assertEquals(nodes.size(), countMoved(nodes));
+		Assert.assertEquals(Arrays.asList("tree", "radial"), new ArrayList<>(
+				context.getLayoutPhaseDurations().keySet()));
+		long phases = 0;
+		for (Long duration : context.getLayoutPhaseDurations().values()) {
+			Assert.assertTrue(duration >= 0);
+			phases += duration;
+		}
+		Assert.assertTrue(context.getLayoutDuration() >= phases);
+	}
+}
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+/**
+ * An {@link IIncrementalLayoutAlgorithm} is an {@link ILayoutAlgorithm} that
+ * supports incremental layout passes. When
+ * {@link #applyLayout(LayoutContext, boolean)} is called with
+ * <code>clean</code> set to <code>false</code>, the layout that was computed
+ * by the previous layout pass is preserved as far as possible, and only the
+ * nodes that were added, or whose edges were changed, since the previous
+ * layout pass (as well as their vicinity) are laid out, so that the effort is
+ * roughly proportional to the size of the change. If no previous layout pass
+ * was performed, a full layout is computed.
+ * <p>
+ * Layout passes that are initiated because of content changes should not be
+ * clean when the layout algorithm is an {@link IIncrementalLayoutAlgorithm},
+ * so that the mental map of the user is preserved.
+ *
+ * @author zhaosongvip
+ *
+ */
+public interface IIncrementalLayoutAlgorithm extends ILayoutAlgorithm {
+
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+/**
+ * An {@link ILayoutProgressMonitor} can be set on a {@link LayoutContext} to
+ * get notified about the progress of an {@link ILayoutAlgorithm}, and to
+ * cancel a running layout pass. Algorithms report their progress and check for
+ * cancellation at iteration or phase boundaries, so that cancellation is
+ * cooperative: the layout pass stops at the next boundary.
+ * 
+ * @see LayoutContext#setProgressMonitor(ILayoutProgressMonitor)
+ * @see LayoutContext.PartialResultPolicy
+ */
+public interface ILayoutProgressMonitor {
+
+	/**
+	 * Constant indicating that the total amount of work of a phase is not
+	 * known in advance.
+	 */
+	public static final int UNKNOWN = -1;
+
+	/**
+	 * Notifies this {@link ILayoutProgressMonitor} that a new phase of the
+	 * layout pass is started.
+	 * 
+	 * @param name
+	 *            The name of the phase.
+	 * @param totalWork
+	 *            The total amount of work of the phase, or {@link #UNKNOWN}.
+	 */
+	public void beginPhase(String name, int totalWork);
+
+	/**
+	 * Returns <code>true</code> to indicate that the layout pass should be
+	 * stopped. Otherwise returns <code>false</code>.
+	 * 
+	 * @return <code>true</code> to indicate that the layout pass should be
+	 *         stopped, otherwise <code>false</code>.
+	 */
+	public boolean isCanceled();
+
+	/**
+	 * Notifies this {@link ILayoutProgressMonitor} that the given amount of
+	 * work of the current phase has been done.
+	 * 
+	 * @param work
+	 *            The amount of work that has been done.
+	 */
+	public void worked(int work);
+
+}
@@ -13,8 +13,18 @@
 package org.eclipse.gef.layout;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
@@ -27,13 +37,33 @@ import javafx.collections.ObservableList;
  * The {@link LayoutContext} provides the context in which to layout a
  * {@link Graph}. It maintains an {@link ILayoutAlgorithm} that can be applied,
  * supports the handling and execution of pre and post {@link Runnable}s, and
- * filtering of layout objects using {@link ILayoutFilter}.
+ * filtering of layout objects using {@link ILayoutFilter}. Furthermore, it
+ * forwards progress information of the layout algorithm to an
+ * {@link ILayoutProgressMonitor}, and records the duration of the last layout
+ * pass and of its phases for diagnostic purposes.
  * 
  * @author mwienand
  *
  */
 public class LayoutContext {
 
+	/**
+	 * Specifies what happens with the node locations and sizes when a layout
+	 * pass is canceled via the {@link ILayoutProgressMonitor}.
+	 */
+	public enum PartialResultPolicy {
+		/**
+		 * Keep the partial result, i.e. the result of the last completed
+		 * iteration or phase.
+		 */
+		KEEP,
+
+		/**
+		 * Restore the node locations and sizes from before the layout pass.
+		 */
+		ROLL_BACK
+	}
+
 	/**
 	 * An {@link LayoutContext} notifies registered listeners about changes to
 	 * the layout algorithm using this property name.
@@ -48,6 +78,13 @@ public class LayoutContext {
 	private final List<Runnable> preLayoutPass = new ArrayList<>();
 	private final List<ILayoutFilter> layoutFilters = new ArrayList<>();
 
+	private ILayoutProgressMonitor progressMonitor;
+	private PartialResultPolicy partialResultPolicy = PartialResultPolicy.KEEP;
+	private long layoutDuration;
+	private final Map<String, Long> layoutPhaseDurations = new LinkedHashMap<>();
+	private String layoutPhase;
+	private long layoutPhaseStart;
+
 	/**
 	 * Adds the given ILayoutFilter to this {@link LayoutContext}.
 	 * 
@@ -70,12 +107,225 @@ public class LayoutContext {
 	public void applyLayout(boolean clear) {
 		ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
 		if (layoutAlgorithm != null) {
+			long start = System.nanoTime();
+			layoutPhaseDurations.clear();
+			layoutPhase = null;
 			preLayout();
+			Map<Node, Point> locations = null;
+			Map<Node, Dimension> sizes = null;
+			if (progressMonitor != null
+					&& partialResultPolicy == PartialResultPolicy.ROLL_BACK) {
+				locations = new IdentityHashMap<>();
+				sizes = new IdentityHashMap<>();
+				for (Node node : graph.getNodes()) {
+					Point location = LayoutProperties.getLocation(node);
+					locations.put(node,
+							location == null ? null : location.getCopy());
+					Dimension size = LayoutProperties.getSize(node);
+					sizes.put(node, size == null ? null : size.getCopy());
+				}
+			}
 			layoutAlgorithm.applyLayout(this, clear);
+			endLayoutPhase();
+			if (locations != null && isLayoutCanceled()) {
+				for (Node node : locations.keySet()) {
+					LayoutProperties.setLocation(node, locations.get(node));
+					LayoutProperties.setSize(node, sizes.get(node));
+				}
+			}
 			postLayout();
+			layoutDuration = System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Applies the layout algorithms of the given {@link LayoutContext}s
+	 * concurrently, using the given {@link ExecutorService}, and waits until
+	 * all layout passes are finished. The {@link LayoutContext}s have to be
+	 * independent, i.e. they may not share nodes or edges. As
+	 * {@link ILayoutAlgorithm}s are stateful, {@link LayoutContext}s that share
+	 * the same {@link ILayoutAlgorithm} instance are laid out one after the
+	 * other.
+	 * 
+	 * @param contexts
+	 *            The {@link LayoutContext}s to layout.
+	 * @param clean
+	 *            <code>true</code> to indicate that the algorithms have to
+	 *            fully re-compute the layouts, otherwise <code>false</code>.
+	 * @param executor
+	 *            The {@link ExecutorService} that is used to perform the
+	 *            layout passes.
+	 * @see #applyLayout(boolean)
+	 */
+	public static void applyLayoutsConcurrently(
+			Collection<? extends LayoutContext> contexts, final boolean clean,
+			ExecutorService executor) {
+		// group the contexts by (identical) algorithms
+		Map<ILayoutAlgorithm, List<LayoutContext>> groups = new IdentityHashMap<>();
+		for (LayoutContext context : contexts) {
+			ILayoutAlgorithm layoutAlgorithm = context.getLayoutAlgorithm();
+			if (layoutAlgorithm == null) {
+				continue;
+			}
+			List<LayoutContext> group = groups.get(layoutAlgorithm);
+			if (group == null) {
+				group = new ArrayList<>();
+				groups.put(layoutAlgorithm, group);
+			}
+			group.add(context);
+		}
+		List<Future<?>> futures = new ArrayList<>();
+		for (final List<LayoutContext> group : groups.values()) {
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					for (LayoutContext context : group) {
+						context.applyLayout(clean);
+					}
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Called by an {@link ILayoutAlgorithm} to indicate that a new phase of
+	 * the layout pass is started. The duration of the previous phase is
+	 * recorded and the {@link ILayoutProgressMonitor} (if any) is notified.
+	 * 
+	 * @param name
+	 *            The name of the phase.
+	 * @param totalWork
+	 *            The total amount of work of the phase, or
+	 *            {@link ILayoutProgressMonitor#UNKNOWN}.
+	 * @see #getLayoutPhaseDurations()
+	 */
+	public void beginLayoutPhase(String name, int totalWork) {
+		endLayoutPhase();
+		layoutPhase = name;
+		layoutPhaseStart = System.nanoTime();
+		if (progressMonitor != null) {
+			progressMonitor.beginPhase(name, totalWork);
+		}
+	}
+
+	private void endLayoutPhase() {
+		if (layoutPhase != null) {
+			long duration = System.nanoTime() - layoutPhaseStart;
+			Long previous = layoutPhaseDurations.get(layoutPhase);
+			layoutPhaseDurations.put(layoutPhase,
+					previous == null ? duration : previous + duration);
+			layoutPhase = null;
 		}
 	}
 
+	/**
+	 * Returns the duration of the last layout pass that was performed via
+	 * {@link #applyLayout(boolean)} (in nanoseconds), including the pre and
+	 * post layout passes.
+	 * 
+	 * @return The duration of the last layout pass in nanoseconds.
+	 */
+	public long getLayoutDuration() {
+		return layoutDuration;
+	}
+
+	/**
+	 * Returns the durations of the phases of the last layout pass (in
+	 * nanoseconds), as reported by the {@link ILayoutAlgorithm} via
+	 * {@link #beginLayoutPhase(String, int)}, in the order in which the phases
+	 * were started. The durations of phases with the same name are
+	 * accumulated.
+	 * 
+	 * @return An unmodifiable {@link Map} from phase names to durations in
+	 *         nanoseconds.
+	 */
+	public Map<String, Long> getLayoutPhaseDurations() {
+		return Collections.unmodifiableMap(layoutPhaseDurations);
+	}
+
+	/**
+	 * Returns the {@link PartialResultPolicy} that is applied when a layout
+	 * pass is canceled.
+	 * 
+	 * @return The {@link PartialResultPolicy} of this {@link LayoutContext}.
+	 */
+	public PartialResultPolicy getPartialResultPolicy() {
+		return partialResultPolicy;
+	}
+
+	/**
+	 * Returns the {@link ILayoutProgressMonitor} of this {@link LayoutContext}
+	 * , or <code>null</code> if none is set.
+	 * 
+	 * @return The {@link ILayoutProgressMonitor} of this {@link LayoutContext}
+	 *         , or <code>null</code>.
+	 */
+	public ILayoutProgressMonitor getProgressMonitor() {
+		return progressMonitor;
+	}
+
+	/**
+	 * Returns <code>true</code> if the {@link ILayoutProgressMonitor} of this
+	 * {@link LayoutContext} requests to cancel the layout pass. Should be
+	 * checked by {@link ILayoutAlgorithm}s at iteration or phase boundaries.
+	 * 
+	 * @return <code>true</code> if the layout pass is canceled, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isLayoutCanceled() {
+		return progressMonitor != null && progressMonitor.isCanceled();
+	}
+
+	/**
+	 * Called by an {@link ILayoutAlgorithm} to report that the given amount of
+	 * work of the current phase has been done.
+	 * 
+	 * @param work
+	 *            The amount of work that has been done.
+	 */
+	public void layoutWorked(int work) {
+		if (progressMonitor != null) {
+			progressMonitor.worked(work);
+		}
+	}
+
+	/**
+	 * Sets the {@link PartialResultPolicy} that is applied when a layout pass
+	 * is canceled. Defaults to {@link PartialResultPolicy#KEEP}.
+	 * 
+	 * @param partialResultPolicy
+	 *            The new {@link PartialResultPolicy}.
+	 */
+	public void setPartialResultPolicy(
+			PartialResultPolicy partialResultPolicy) {
+		if (partialResultPolicy == null) {
+			throw new IllegalArgumentException(
+					"PartialResultPolicy may not be null.");
+		}
+		this.partialResultPolicy = partialResultPolicy;
+	}
+
+	/**
+	 * Sets the {@link ILayoutProgressMonitor} that is notified about the
+	 * progress of layout passes and that may cancel them.
+	 * 
+	 * @param progressMonitor
+	 *            The new {@link ILayoutProgressMonitor}, or <code>null</code>.
+	 */
+	public void setProgressMonitor(ILayoutProgressMonitor progressMonitor) {
+		this.progressMonitor = progressMonitor;
+	}
+
 	/**
 	 * Initiated by the context or by an {@link ILayoutAlgorithm} to perform
 	 * steps that are scheduled to be run after the layout pass. Should not be
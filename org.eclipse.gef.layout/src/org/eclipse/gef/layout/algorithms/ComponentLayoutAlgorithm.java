@@ -0,0 +1,424 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutProgressMonitor;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link ComponentLayoutAlgorithm} splits the graph into its connected
+ * components, lays out the components independently of each other, and packs
+ * the results. Each component (that consists of more than one node) is copied
+ * into a detached {@link Graph} that is laid out by its own
+ * {@link LayoutContext}, using a new {@link ILayoutAlgorithm} instance that is
+ * obtained from the given {@link Supplier}. The components are laid out
+ * concurrently (see
+ * {@link LayoutContext#applyLayoutsConcurrently(java.util.Collection, boolean, ExecutorService)}
+ * ), so that the layout of a graph with multiple (large) components scales
+ * with the number of available processors.
+ * <p>
+ * The laid out components are packed in rows (sorted by decreasing height),
+ * so that the packing approximates the aspect ratio of the
+ * {@link LayoutProperties#getBounds(Graph) layout bounds}, and the packing is
+ * then fitted into the layout bounds. Components that contain nodes that are
+ * not {@link LayoutProperties#isMovable(Node) movable} are not packed, but
+ * keep their location. If no layout bounds are specified, the bounds of the
+ * current layout are used instead.
+ * <p>
+ * If the graph consists of a single component, it is laid out directly (i.e.
+ * without copying it), using an {@link ILayoutAlgorithm} instance that is
+ * retained between layout passes, so that incremental layout passes are
+ * supported in this case.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class ComponentLayoutAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * A connected component of the graph, together with the detached
+	 * {@link LayoutContext} that is used to lay it out.
+	 */
+	private static class Component {
+		private final List<Node> nodes = new ArrayList<>();
+		private final List<Node> copies = new ArrayList<>();
+		private LayoutContext context;
+		private boolean movable = true;
+		private Rectangle bounds;
+		private double offsetX;
+		private double offsetY;
+		private double scale = 1;
+	}
+
+	/**
+	 * The default spacing between packed components.
+	 */
+	private static final double DEFAULT_SPACING = 10;
+
+	/**
+	 * The extent per node of the square layout area that is used if neither
+	 * layout bounds are specified, nor the nodes are laid out yet.
+	 */
+	private static final double FALLBACK_NODE_EXTENT = 100;
+
+	private final Supplier<? extends ILayoutAlgorithm> algorithmSupplier;
+	private ILayoutAlgorithm singleComponentAlgorithm;
+	private ExecutorService executor;
+	private double spacing = DEFAULT_SPACING;
+
+	/**
+	 * Constructs a new {@link ComponentLayoutAlgorithm} that lays out the
+	 * components of the graph using the {@link ILayoutAlgorithm}s that are
+	 * provided by the given {@link Supplier}. As the components are laid out
+	 * concurrently, the {@link Supplier} has to return a new
+	 * {@link ILayoutAlgorithm} instance on each invocation.
+	 *
+	 * @param algorithmSupplier
+	 *            The {@link Supplier} that provides the
+	 *            {@link ILayoutAlgorithm}s for laying out the components.
+	 */
+	public ComponentLayoutAlgorithm(
+			Supplier<? extends ILayoutAlgorithm> algorithmSupplier) {
+		if (algorithmSupplier == null) {
+			throw new IllegalArgumentException(
+					"Algorithm supplier may not be null.");
+		}
+		this.algorithmSupplier = algorithmSupplier;
+	}
+
+	@Override
+	public void applyLayout(LayoutContext context, boolean clean) {
+		Node[] nodes = context.getNodes();
+		Edge[] edges = context.getEdges();
+		if (nodes.length == 0) {
+			return;
+		}
+
+		// determine the connected components (union-find)
+		context.beginLayoutPhase("components", ILayoutProgressMonitor.UNKNOWN);
+		Map<Node, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < nodes.length; i++) {
+			indices.put(nodes[i], i);
+		}
+		int[] parents = new int[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			parents[i] = i;
+		}
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source != null && target != null) {
+				int sourceRoot = find(parents, source);
+				int targetRoot = find(parents, target);
+				if (sourceRoot != targetRoot) {
+					parents[sourceRoot] = targetRoot;
+				}
+			}
+		}
+		List<Component> components = new ArrayList<>();
+		Component[] nodeComponents = new Component[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			int root = find(parents, i);
+			Component component = nodeComponents[root];
+			if (component == null) {
+				component = new Component();
+				nodeComponents[root] = component;
+				components.add(component);
+			}
+			component.nodes.add(nodes[i]);
+			component.movable &= LayoutProperties.isMovable(nodes[i]);
+			nodeComponents[i] = component;
+		}
+
+		// lay out a single component directly
+		if (components.size() == 1) {
+			if (singleComponentAlgorithm == null) {
+				singleComponentAlgorithm = algorithmSupplier.get();
+			}
+			singleComponentAlgorithm.applyLayout(context, clean);
+			return;
+		}
+		singleComponentAlgorithm = null;
+
+		// copy the components into detached graphs (the original graph is
+		// only read on the calling thread)
+		Map<Node, Node> copies = new IdentityHashMap<>();
+		for (Component component : components) {
+			for (Node node : component.nodes) {
+				Node copy = new Node(node.getAttributes());
+				Point location = LayoutProperties.getLocation(node);
+				LayoutProperties.setLocation(copy,
+						location == null ? new Point() : location.getCopy());
+				Dimension size = LayoutProperties.getSize(node);
+				LayoutProperties.setSize(copy,
+						size == null ? new Dimension() : size.getCopy());
+				component.copies.add(copy);
+				copies.put(node, copy);
+			}
+		}
+		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
+		if (bounds == null) {
+			// use the bounds of the current layout instead
+			bounds = AlgorithmHelper.getLayoutBounds(
+					copies.values().toArray(new Node[] {}), true);
+			if (bounds.isEmpty()) {
+				double extent = FALLBACK_NODE_EXTENT
+						* Math.ceil(Math.sqrt(nodes.length));
+				bounds = new Rectangle(bounds.getX(), bounds.getY(), extent,
+						extent);
+			}
+		}
+		Map<Component, List<Edge>> componentEdges = new IdentityHashMap<>();
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source == null || target == null) {
+				continue;
+			}
+			Component component = nodeComponents[source];
+			List<Edge> edgeCopies = componentEdges.get(component);
+			if (edgeCopies == null) {
+				edgeCopies = new ArrayList<>();
+				componentEdges.put(component, edgeCopies);
+			}
+			edgeCopies.add(new Edge(edge.getAttributes(),
+					copies.get(edge.getSource()),
+					copies.get(edge.getTarget())));
+		}
+
+		// lay out the components (that consist of more than one node)
+		// concurrently, distributing the area of the layout bounds
+		// proportional to the number of nodes
+		context.beginLayoutPhase("component layout",
+				ILayoutProgressMonitor.UNKNOWN);
+		final LayoutContext parentContext = context;
+		ILayoutProgressMonitor cancelMonitor = new ILayoutProgressMonitor() {
+			@Override
+			public void beginPhase(String name, int totalWork) {
+			}
+
+			@Override
+			public boolean isCanceled() {
+				return parentContext.isLayoutCanceled();
+			}
+
+			@Override
+			public void worked(int work) {
+			}
+		};
+		List<LayoutContext> contexts = new ArrayList<>();
+		for (Component component : components) {
+			if (component.nodes.size() < 2) {
+				continue;
+			}
+			List<Edge> edgeCopies = componentEdges.get(component);
+			Graph graph = new Graph(context.getGraph().getAttributes(),
+					component.copies, edgeCopies == null
+							? Collections.<Edge> emptyList() : edgeCopies);
+			double share = Math.sqrt(
+					(double) component.nodes.size() / nodes.length);
+			LayoutProperties.setBounds(graph, new Rectangle(0, 0,
+					bounds.getWidth() * share, bounds.getHeight() * share));
+			component.context = new LayoutContext();
+			component.context.setGraph(graph);
+			component.context.setLayoutAlgorithm(algorithmSupplier.get());
+			component.context.setProgressMonitor(cancelMonitor);
+			contexts.add(component.context);
+		}
+		LayoutContext.applyLayoutsConcurrently(contexts, true,
+				executor == null ? ForkJoinPool.commonPool() : executor);
+		if (context.isLayoutCanceled()) {
+			return;
+		}
+
+		// pack the components and write back the results
+		context.beginLayoutPhase("packing", ILayoutProgressMonitor.UNKNOWN);
+		pack(components, bounds);
+		for (Component component : components) {
+			for (int i = 0; i < component.nodes.size(); i++) {
+				Node node = component.nodes.get(i);
+				Node copy = component.copies.get(i);
+				Point location = LayoutProperties.getLocation(copy);
+				if (component.movable) {
+					LayoutProperties.setLocation(node,
+							new Point(
+									location.x * component.scale
+											+ component.offsetX,
+									location.y * component.scale
+											+ component.offsetY));
+				}
+				Dimension size = LayoutProperties.getSize(node);
+				Dimension copySize = LayoutProperties.getSize(copy);
+				if (size != null && !size.equals(copySize)) {
+					LayoutProperties.setSize(node, copySize);
+				}
+			}
+		}
+	}
+
+	private static int find(int[] parents, int i) {
+		int root = i;
+		while (parents[root] != root) {
+			root = parents[root];
+		}
+		// compress the path
+		while (parents[i] != root) {
+			int next = parents[i];
+			parents[i] = root;
+			i = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Returns the {@link ExecutorService} that is used to lay out the
+	 * components concurrently, or <code>null</code> if the common
+	 * {@link ForkJoinPool} is used.
+	 *
+	 * @return The {@link ExecutorService} that is used to lay out the
+	 *         components, or <code>null</code>.
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Returns the spacing between packed components.
+	 *
+	 * @return The spacing between packed components.
+	 */
+	public double getSpacing() {
+		return spacing;
+	}
+
+	/**
+	 * Packs the movable components in rows of decreasing height, and
+	 * determines the offsets (and scale) that center the packing within the
+	 * given bounds.
+	 *
+	 * @param components
+	 *            The laid out components.
+	 * @param bounds
+	 *            The layout bounds.
+	 */
+	private void pack(List<Component> components, Rectangle bounds) {
+		List<Component> packed = new ArrayList<>();
+		double area = 0;
+		double maxWidth = 0;
+		for (Component component : components) {
+			if (!component.movable) {
+				continue;
+			}
+			component.bounds = AlgorithmHelper.getLayoutBounds(
+					component.copies.toArray(new Node[] {}), true);
+			area += (component.bounds.getWidth() + spacing)
+					* (component.bounds.getHeight() + spacing);
+			maxWidth = Math.max(maxWidth, component.bounds.getWidth());
+			packed.add(component);
+		}
+		if (packed.isEmpty()) {
+			return;
+		}
+		Collections.sort(packed, new Comparator<Component>() {
+			@Override
+			public int compare(Component c1, Component c2) {
+				return Double.compare(c2.bounds.getHeight(),
+						c1.bounds.getHeight());
+			}
+		});
+
+		// place the components in rows
+		double aspectRatio = bounds.getHeight() > 0
+				? bounds.getWidth() / bounds.getHeight() : 1;
+		double rowWidth = Math.max(maxWidth, Math.sqrt(area * aspectRatio));
+		double x = 0;
+		double y = 0;
+		double rowHeight = 0;
+		double packingWidth = 0;
+		for (Component component : packed) {
+			if (x > 0 && x + component.bounds.getWidth() > rowWidth) {
+				x = 0;
+				y += rowHeight + spacing;
+				rowHeight = 0;
+			}
+			component.offsetX = x - component.bounds.getX();
+			component.offsetY = y - component.bounds.getY();
+			x += component.bounds.getWidth() + spacing;
+			rowHeight = Math.max(rowHeight, component.bounds.getHeight());
+			packingWidth = Math.max(packingWidth, x - spacing);
+		}
+		double packingHeight = y + rowHeight;
+
+		// center the packing within the bounds, scaling down the locations
+		// (but not the sizes) if the packing exceeds the bounds
+		double scale = Math.min(1,
+				Math.min(bounds.getWidth() / packingWidth,
+						bounds.getHeight() / packingHeight));
+		double dx = bounds.getX()
+				+ (bounds.getWidth() - packingWidth * scale) / 2;
+		double dy = bounds.getY()
+				+ (bounds.getHeight() - packingHeight * scale) / 2;
+		for (Component component : packed) {
+			component.scale = scale;
+			component.offsetX = dx + component.offsetX * scale;
+			component.offsetY = dy + component.offsetY * scale;
+		}
+	}
+
+	/**
+	 * Sets the {@link ExecutorService} that is used to lay out the components
+	 * concurrently. If <code>null</code> is passed in (the default), the
+	 * common {@link ForkJoinPool} is used.
+	 *
+	 * @param executor
+	 *            The {@link ExecutorService} that is used to lay out the
+	 *            components, or <code>null</code>.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the spacing between packed components. Defaults to
+	 * <code>10</code>.
+	 *
+	 * @param spacing
+	 *            The new spacing between packed components.
+	 */
+	public void setSpacing(double spacing) {
+		if (spacing < 0) {
+			throw new IllegalArgumentException(
+					"Spacing may not be negative, but is " + spacing + ".");
+		}
+		this.spacing = spacing;
+	}
+
+}
@@ -41,7 +41,8 @@ public class CompositeLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	public void applyLayout(LayoutContext context, boolean clean) {
-		for (int i = 0; i < algorithms.length; i++) {
+		for (int i = 0; i < algorithms.length
+				&& !context.isLayoutCanceled(); i++) {
 			algorithms[i].applyLayout(context, clean);
 		}
 	}
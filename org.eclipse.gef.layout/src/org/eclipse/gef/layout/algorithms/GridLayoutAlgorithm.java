@@ -95,8 +95,9 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
 		calculateGrid(bounds);
 
+		context.beginLayoutPhase("grid", rows);
 		int index = 0;
-		for (int i = 0; i < rows; i++) {
+		for (int i = 0; i < rows && !context.isLayoutCanceled(); i++) {
 			for (int j = 0; j < cols; j++) {
 				if ((i * cols + j) < numChildren) {
 					Node node = context.getNodes()[index++];
@@ -114,6 +115,7 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 								new Point(xmove, ymove));
 				}
 			}
+			context.layoutWorked(1);
 		}
 	}
 
@@ -13,10 +13,12 @@
 package org.eclipse.gef.layout.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.TreeMap;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
@@ -27,7 +29,20 @@ import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
 /**
- * This layout shifts overlapping nodes to the right.
+ * This layout shifts overlapping nodes to the right. Two modes are supported:
+ * <ul>
+ * <li>{@link Mode#ROWS}: The nodes are grouped into rows (nodes whose
+ * y-coordinates differ by at most 10 share a row), and the nodes of each row
+ * are arranged side by side. The rows are indexed by their y-coordinate, so
+ * that a node's row is found in logarithmic time. A node that is close to two
+ * rows is added to the row that was created first.</li>
+ * <li>{@link Mode#SWEEP_LINE}: The nodes keep their y-coordinates, and
+ * overlapping nodes are shifted to the right of the nodes they overlap with,
+ * processing the nodes from left to right. As the vertical extent of the
+ * nodes is considered, nodes that span multiple rows are handled correctly.
+ * The maximum right side of the already placed nodes is maintained per
+ * vertical interval, so that the overlap removal takes O(n log n) time.</li>
+ * </ul>
  * 
  * @author Ian Bull
  * @author Mateusz Matela
@@ -35,41 +50,82 @@ import org.eclipse.gef.layout.LayoutProperties;
  */
 public class HorizontalShiftAlgorithm implements ILayoutAlgorithm {
 
+	/**
+	 * Specifies how overlaps are removed by the
+	 * {@link HorizontalShiftAlgorithm}.
+	 */
+	public enum Mode {
+		/**
+		 * The nodes are grouped into rows, and the nodes of each row are
+		 * arranged side by side.
+		 */
+		ROWS,
+
+		/**
+		 * The nodes keep their y-coordinates, and overlapping nodes are
+		 * shifted to the right (sweep line).
+		 */
+		SWEEP_LINE
+	}
+
 	private static final double DELTA = 10;
 
+	private static final double HSPACING = 10;
+
 	private static final double VSPACING = 16;
 
+	private Mode mode;
+
+	/**
+	 * Constructs a new {@link HorizontalShiftAlgorithm} that groups the nodes
+	 * into rows ({@link Mode#ROWS}).
+	 */
+	public HorizontalShiftAlgorithm() {
+		this(Mode.ROWS);
+	}
+
+	/**
+	 * Constructs a new {@link HorizontalShiftAlgorithm} that uses the given
+	 * {@link Mode}.
+	 * 
+	 * @param mode
+	 *            The {@link Mode} for this {@link HorizontalShiftAlgorithm}.
+	 */
+	public HorizontalShiftAlgorithm(Mode mode) {
+		setMode(mode);
+	}
+
 	public void applyLayout(LayoutContext context, boolean clean) {
 		if (!clean)
 			return;
-		ArrayList<List<Node>> rowsList = new ArrayList<>();
+		if (mode == Mode.SWEEP_LINE) {
+			removeOverlaps(context, context.getNodes());
+			return;
+		}
+		List<List<Node>> rowsList = new ArrayList<>();
+		TreeMap<Double, Integer> rows = new TreeMap<>();
 		Node[] entities = context.getNodes();
 
 		for (int i = 0; i < entities.length; i++) {
-			addToRowList(entities[i], rowsList);
+			addToRowList(entities[i], rowsList, rows);
 		}
 
-		Collections.sort(rowsList, new Comparator<List<Node>>() {
-			public int compare(List<Node> o1, List<Node> o2) {
-				Node entity0 = o1.get(0);
-				Node entity1 = o2.get(0);
-				return (int) (LayoutProperties.getLocation(entity0).y
-						- LayoutProperties.getLocation(entity1).y);
-			}
-		});
-
 		Comparator<Node> entityComparator = new Comparator<Node>() {
 			public int compare(Node o1, Node o2) {
-				return (int) (LayoutProperties.getLocation(o1).y
-						- LayoutProperties.getLocation(o2).y);
+				Point l1 = LayoutProperties.getLocation(o1);
+				Point l2 = LayoutProperties.getLocation(o2);
+				int result = Double.compare(l1.y, l2.y);
+				return result != 0 ? result : Double.compare(l1.x, l2.x);
 			}
 		};
 		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
 		int heightSoFar = 0;
 
-		for (Iterator<List<Node>> iterator = rowsList.iterator(); iterator
-				.hasNext();) {
-			List<Node> currentRow = iterator.next();
+		// the rows are sorted by the y-coordinates of their first nodes
+		context.beginLayoutPhase("rows", rows.size());
+		for (Iterator<Integer> iterator = rows.values().iterator(); iterator
+				.hasNext() && !context.isLayoutCanceled();) {
+			List<Node> currentRow = rowsList.get(iterator.next());
 			Collections.sort(currentRow, entityComparator);
 
 			int i = 0;
@@ -82,30 +138,191 @@ public class HorizontalShiftAlgorithm implements ILayoutAlgorithm {
 				Node entity = (Node) iterator2.next();
 				Dimension size = LayoutProperties.getSize(entity);
 				LayoutProperties.setLocation(entity,
-						new Point(width + 10 * ++i + size.width / 2,
+						new Point(width + HSPACING * ++i + size.width / 2,
 								heightSoFar + size.height / 2));
 				width += size.width;
 			}
+			context.layoutWorked(1);
 		}
 	}
 
-	private void addToRowList(Node entity, ArrayList<List<Node>> rowsList) {
+	/**
+	 * Adds the given {@link Node} to the first created row whose y-coordinate
+	 * (i.e. the y-coordinate of its first node) differs by at most
+	 * {@link #DELTA} from the y-coordinate of the given {@link Node}. If no
+	 * such row exists, a new row is created. As the y-coordinates of the rows
+	 * differ by more than {@link #DELTA}, at most two rows have to be
+	 * considered.
+	 * 
+	 * @param entity
+	 *            The {@link Node} to add.
+	 * @param rowsList
+	 *            The rows in the order in which they were created.
+	 * @param rows
+	 *            The indices of the rows (within the rows list), indexed by
+	 *            their y-coordinates.
+	 */
+	private void addToRowList(Node entity, List<List<Node>> rowsList,
+			TreeMap<Double, Integer> rows) {
 		double layoutY = LayoutProperties.getLocation(entity).y;
-
-		for (Iterator<List<Node>> iterator = rowsList.iterator(); iterator
-				.hasNext();) {
-			List<Node> currentRow = iterator.next();
-			Node currentRowEntity = currentRow.get(0);
-			double currentRowY = LayoutProperties
-					.getLocation(currentRowEntity).y;
-			if (layoutY >= currentRowY - DELTA
-					&& layoutY <= currentRowY + DELTA) {
-				currentRow.add(entity);
-				return;
-			}
+		int first = Integer.MAX_VALUE;
+		for (Integer index : rows
+				.subMap(layoutY - DELTA, true, layoutY + DELTA, true)
+				.values()) {
+			first = Math.min(first, index);
+		}
+		if (first < Integer.MAX_VALUE) {
+			rowsList.get(first).add(entity);
+			return;
 		}
 		List<Node> newRow = new ArrayList<>();
 		newRow.add(entity);
+		rows.put(layoutY, rowsList.size());
 		rowsList.add(newRow);
 	}
+
+	/**
+	 * Returns the {@link Mode} of this {@link HorizontalShiftAlgorithm}.
+	 * 
+	 * @return The {@link Mode} of this {@link HorizontalShiftAlgorithm}.
+	 */
+	public Mode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Shifts overlapping nodes to the right, processing the nodes in the
+	 * order of their left sides. The right sides of the placed nodes are
+	 * recorded in a segment tree over the (distinct) top and bottom
+	 * coordinates of the nodes, which supports raising the maximum right side
+	 * for a vertical interval, and querying the maximum right side within a
+	 * vertical interval, in logarithmic time.
+	 * 
+	 * @param context
+	 *            The {@link LayoutContext} that is checked for cancellation.
+	 * @param entities
+	 *            The nodes to layout.
+	 */
+	private void removeOverlaps(LayoutContext context, Node[] entities) {
+		int n = entities.length;
+		if (n < 2) {
+			return;
+		}
+		context.beginLayoutPhase("sweep line", n);
+		final double[] left = new double[n];
+		final double[] top = new double[n];
+		double[] width = new double[n];
+		double[] bottom = new double[n];
+		double[] ys = new double[2 * n];
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			Point location = LayoutProperties.getLocation(entities[i]);
+			Dimension size = LayoutProperties.getSize(entities[i]);
+			left[i] = location.x - size.width / 2;
+			top[i] = location.y - size.height / 2;
+			width[i] = size.width;
+			bottom[i] = top[i] + size.height;
+			ys[2 * i] = top[i];
+			ys[2 * i + 1] = bottom[i];
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			public int compare(Integer i1, Integer i2) {
+				int result = Double.compare(left[i1], left[i2]);
+				return result != 0 ? result : Double.compare(top[i1], top[i2]);
+			}
+		});
+
+		// compress the y-coordinates; the elementary interval k is
+		// [ys[k], ys[k + 1])
+		Arrays.sort(ys);
+		int distinct = 0;
+		for (int i = 0; i < ys.length; i++) {
+			if (distinct == 0 || ys[i] != ys[distinct - 1]) {
+				ys[distinct++] = ys[i];
+			}
+		}
+		int segments = Math.max(1, distinct - 1);
+		double[] tree = new double[4 * segments];
+		double[] tags = new double[4 * segments];
+		Arrays.fill(tree, Double.NEGATIVE_INFINITY);
+		Arrays.fill(tags, Double.NEGATIVE_INFINITY);
+
+		for (Integer index : order) {
+			if (context.isLayoutCanceled()) {
+				return;
+			}
+			context.layoutWorked(1);
+			int i = index;
+			int from = Arrays.binarySearch(ys, 0, distinct, top[i]);
+			int to = Arrays.binarySearch(ys, 0, distinct, bottom[i]) - 1;
+			if (from > to) {
+				// nodes without height do not overlap
+				continue;
+			}
+			double newLeft = left[i];
+			if (LayoutProperties.isMovable(entities[i])) {
+				double maxRight = query(tree, tags, 1, 0, segments - 1, from,
+						to);
+				if (maxRight + HSPACING > newLeft) {
+					newLeft = maxRight + HSPACING;
+					Point location = LayoutProperties.getLocation(entities[i]);
+					LayoutProperties.setLocation(entities[i], new Point(
+							newLeft + width[i] / 2, location.y));
+				}
+			}
+			update(tree, tags, 1, 0, segments - 1, from, to,
+					newLeft + width[i]);
+		}
+	}
+
+	private static double query(double[] tree, double[] tags, int node,
+			int lower, int upper, int from, int to) {
+		if (from <= lower && upper <= to) {
+			return tree[node];
+		}
+		int middle = (lower + upper) / 2;
+		double max = tags[node];
+		if (from <= middle) {
+			max = Math.max(max, query(tree, tags, 2 * node, lower, middle,
+					from, to));
+		}
+		if (to > middle) {
+			max = Math.max(max, query(tree, tags, 2 * node + 1, middle + 1,
+					upper, from, to));
+		}
+		return max;
+	}
+
+	/**
+	 * Sets the {@link Mode} of this {@link HorizontalShiftAlgorithm}.
+	 * 
+	 * @param mode
+	 *            The new {@link Mode}.
+	 */
+	public void setMode(Mode mode) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Mode may not be null.");
+		}
+		this.mode = mode;
+	}
+
+	private static void update(double[] tree, double[] tags, int node,
+			int lower, int upper, int from, int to, double value) {
+		if (from <= lower && upper <= to) {
+			tree[node] = Math.max(tree[node], value);
+			tags[node] = Math.max(tags[node], value);
+			return;
+		}
+		int middle = (lower + upper) / 2;
+		if (from <= middle) {
+			update(tree, tags, 2 * node, lower, middle, from, to, value);
+		}
+		if (to > middle) {
+			update(tree, tags, 2 * node + 1, middle + 1, upper, from, to,
+					value);
+		}
+		tree[node] = Math.max(tags[node],
+				Math.max(tree[2 * node], tree[2 * node + 1]));
+	}
 }
@@ -0,0 +1,779 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutProgressMonitor;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link MultilevelLayoutAlgorithm} is a force-directed layout algorithm
+ * that is suited for large graphs. Instead of untangling the whole graph from
+ * random positions (as done by the {@link SpringLayoutAlgorithm}), the graph
+ * is recursively coarsened by merging adjacent nodes (heavy edge matching),
+ * until only a few nodes remain. The coarsest graph is laid out, and the
+ * positions are then interpolated and refined level by level, using a
+ * force-directed model whose repulsive forces are approximated using a
+ * quadtree (Barnes-Hut), so that each refinement iteration takes O(n log n)
+ * time. As the interpolated positions are already close to the final layout,
+ * only few iterations are needed per level.
+ * <p>
+ * The algorithm only works on the {@link LayoutProperties} of the nodes and
+ * edges that are provided by the {@link LayoutContext}. The computed layout is
+ * fitted into the {@link LayoutProperties#getBounds(org.eclipse.gef.graph.Graph)
+ * layout bounds}. Nodes that are not {@link LayoutProperties#isMovable(Node)
+ * movable} are not changed. For a fixed {@link #setRandomSeed(long) random
+ * seed}, the computed layout is deterministic.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class MultilevelLayoutAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * A single level of the multilevel hierarchy, i.e. the (coarsened) graph
+	 * in compressed sparse row format, together with the positions of its
+	 * nodes.
+	 */
+	private static class Level {
+
+		private int size;
+		private int[] adjacencyStart;
+		private int[] adjacencyTarget;
+		private double[] adjacencyWeight;
+		private double[] mass;
+		// index of the coarse node that represents a node of this level
+		private int[] parent;
+		private double[] x;
+		private double[] y;
+
+		private Level(int size) {
+			this.size = size;
+			adjacencyStart = new int[size + 1];
+			mass = new double[size];
+			x = new double[size];
+			y = new double[size];
+		}
+	}
+
+	/**
+	 * The default number of refinement iterations per level.
+	 */
+	private static final int DEFAULT_ITERATIONS = 30;
+
+	/**
+	 * The default number of nodes at which coarsening stops.
+	 */
+	private static final int DEFAULT_COARSEST_SIZE = 8;
+
+	/**
+	 * The default seed of the random number generator.
+	 */
+	private static final long DEFAULT_RANDOM_SEED = 0;
+
+	/**
+	 * The factor by which the natural spring length grows from one level to
+	 * the next coarser level (Walshaw).
+	 */
+	private static final double SPRING_LENGTH_GROWTH = Math.sqrt(7d / 4d);
+
+	/**
+	 * The opening criterion of the Barnes-Hut approximation, i.e. a quadtree
+	 * cell is approximated by its center of mass if its size divided by its
+	 * distance is smaller than this value.
+	 */
+	private static final double THETA = 1.2;
+
+	/**
+	 * The maximum depth of the quadtree, which limits the subdivision of
+	 * (nearly) coincident nodes.
+	 */
+	private static final int MAX_TREE_DEPTH = 24;
+
+	/**
+	 * The factor by which the temperature is reduced after each iteration.
+	 */
+	private static final double COOLING = 0.85;
+
+	/**
+	 * A level is refined until the average displacement falls below this
+	 * fraction of the natural spring length.
+	 */
+	private static final double CONVERGENCE = 0.01;
+
+	/**
+	 * Coarsening stops when a level is reduced by less than this fraction.
+	 */
+	private static final double MIN_REDUCTION = 0.1;
+
+	private int iterations = DEFAULT_ITERATIONS;
+	private int coarsestSize = DEFAULT_COARSEST_SIZE;
+	private long randomSeed = DEFAULT_RANDOM_SEED;
+	private boolean resize = false;
+
+	private Random random;
+
+	// quadtree (Barnes-Hut) used to approximate the repulsive forces
+	private int[] treeOrder;
+	private int treeCount;
+	private double[] treeX;
+	private double[] treeY;
+	private double[] treeMass;
+	private double[] treeSize;
+	private int[] treeStart;
+	private int[] treeEnd;
+	private int[] treeFirstChild;
+	private int[] treeChildCount;
+	private int[] treeStack;
+
+	@Override
+	public void applyLayout(LayoutContext context, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] entities = context.getNodes();
+		if (entities.length == 0) {
+			return;
+		}
+		random = new Random(randomSeed);
+
+		// build the finest level
+		context.beginLayoutPhase("coarsen", ILayoutProgressMonitor.UNKNOWN);
+		Level finest = createLevel(entities, context.getEdges());
+
+		// coarsen until only a few nodes remain
+		List<Level> levels = new ArrayList<>();
+		levels.add(finest);
+		Level level = finest;
+		while (level.size > coarsestSize && !context.isLayoutCanceled()) {
+			Level coarse = coarsen(level);
+			if (coarse.size > (1 - MIN_REDUCTION) * level.size) {
+				// coarsening is no longer effective (e.g. for isolated nodes)
+				level.parent = null;
+				break;
+			}
+			levels.add(coarse);
+			level = coarse;
+		}
+
+		// determine the natural spring length of the finest level from the
+		// node sizes, so that the layout is independent of the graph size
+		double[] springLengths = new double[levels.size()];
+		springLengths[0] = getSpringLength(entities);
+		for (int i = 1; i < levels.size(); i++) {
+			springLengths[i] = springLengths[i - 1] * SPRING_LENGTH_GROWTH;
+		}
+
+		// lay out the coarsest level, then interpolate and refine
+		context.beginLayoutPhase("refine", levels.size());
+		int coarsest = levels.size() - 1;
+		for (int i = coarsest; i >= 0; i--) {
+			Level current = levels.get(i);
+			double temperature = springLengths[i];
+			if (i == coarsest) {
+				double extent = placeRandomly(current, springLengths[i]);
+				temperature = Math.max(temperature, extent / 4);
+			} else {
+				interpolate(levels.get(i + 1), current, springLengths[i]);
+			}
+			// when canceled, the remaining levels are only interpolated
+			if (!context.isLayoutCanceled()) {
+				refine(context, current, springLengths[i], temperature,
+						i == coarsest ? 2 * iterations : iterations);
+				context.layoutWorked(1);
+			}
+		}
+
+		// transfer the positions to the movable nodes
+		List<Node> movable = new ArrayList<>();
+		for (int i = 0; i < entities.length; i++) {
+			if (LayoutProperties.isMovable(entities[i])) {
+				LayoutProperties.setLocation(entities[i],
+						new Point(finest.x[i], finest.y[i]));
+				movable.add(entities[i]);
+			}
+		}
+		if (!movable.isEmpty()) {
+			Node[] movableEntities = movable.toArray(new Node[] {});
+			if (resize) {
+				AlgorithmHelper.maximizeSizes(movableEntities);
+			}
+			AlgorithmHelper.fitWithinBounds(movableEntities,
+					LayoutProperties.getBounds(context.getGraph()), resize);
+		}
+
+		// release the quadtree
+		treeOrder = null;
+		treeX = null;
+		treeY = null;
+		treeMass = null;
+		treeSize = null;
+		treeStart = null;
+		treeEnd = null;
+		treeFirstChild = null;
+		treeChildCount = null;
+		treeStack = null;
+	}
+
+	private int buildQuadtree(Level level, int t, int start, int end,
+			double minX, double minY, double size, int depth) {
+		// compute the center of mass
+		double mass = 0;
+		double x = 0;
+		double y = 0;
+		for (int i = start; i < end; i++) {
+			int v = treeOrder[i];
+			mass += level.mass[v];
+			x += level.x[v] * level.mass[v];
+			y += level.y[v] * level.mass[v];
+		}
+		treeMass[t] = mass;
+		treeX[t] = x / mass;
+		treeY[t] = y / mass;
+		treeSize[t] = size;
+		treeStart[t] = start;
+		treeEnd[t] = end;
+		treeFirstChild[t] = -1;
+		treeChildCount[t] = 0;
+		if (end - start <= 1 || depth >= MAX_TREE_DEPTH) {
+			return t;
+		}
+
+		// partition the nodes into the four quadrants
+		double half = size / 2;
+		int splitY = partition(level.y, start, end, minY + half);
+		int[] bounds = new int[] { start,
+				partition(level.x, start, splitY, minX + half), splitY,
+				partition(level.x, splitY, end, minX + half), end };
+
+		// reserve consecutive slots for the non-empty quadrants
+		int children = 0;
+		for (int q = 0; q < 4; q++) {
+			if (bounds[q + 1] > bounds[q]) {
+				children++;
+			}
+		}
+		ensureTreeCapacity(treeCount + children);
+		int child = treeCount;
+		treeFirstChild[t] = child;
+		treeChildCount[t] = children;
+		treeCount += children;
+		for (int q = 0; q < 4; q++) {
+			if (bounds[q + 1] > bounds[q]) {
+				buildQuadtree(level, child++, bounds[q], bounds[q + 1],
+						q % 2 == 0 ? minX : minX + half,
+						q < 2 ? minY : minY + half, half, depth + 1);
+			}
+		}
+		return t;
+	}
+
+	/**
+	 * Creates the next coarser {@link Level} for the given {@link Level} by
+	 * merging each node with its (unmatched) neighbor that is connected via the
+	 * heaviest edge. If the matching does not reduce the number of nodes
+	 * sufficiently (e.g. for star-like graphs), the remaining unmatched nodes
+	 * are merged into the cluster of their heaviest neighbor.
+	 *
+	 * @param fine
+	 *            The {@link Level} to coarsen.
+	 * @return The coarser {@link Level}.
+	 */
+	private Level coarsen(Level fine) {
+		int n = fine.size;
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+		}
+
+		// heavy edge matching
+		int[] parent = new int[n];
+		Arrays.fill(parent, -1);
+		int[] clusterSize = new int[n];
+		int clusters = 0;
+		for (int v : order) {
+			if (parent[v] != -1) {
+				continue;
+			}
+			int match = getHeaviestNeighbor(fine, v, parent, true);
+			parent[v] = clusters;
+			clusterSize[clusters]++;
+			if (match != -1) {
+				parent[match] = clusters;
+				clusterSize[clusters]++;
+			}
+			clusters++;
+		}
+
+		// merge the remaining singletons if the matching is not effective
+		int remaining = clusters;
+		if (clusters > 0.75 * n) {
+			for (int v : order) {
+				int cluster = parent[v];
+				if (clusterSize[cluster] != 1) {
+					continue;
+				}
+				int neighbor = getHeaviestNeighbor(fine, v, parent, false);
+				if (neighbor != -1) {
+					clusterSize[cluster] = 0;
+					parent[v] = parent[neighbor];
+					clusterSize[parent[v]]++;
+					remaining--;
+				}
+			}
+		}
+
+		// number the clusters consecutively
+		int[] clusterIndex = new int[clusters];
+		int index = 0;
+		for (int c = 0; c < clusters; c++) {
+			clusterIndex[c] = clusterSize[c] > 0 ? index++ : -1;
+		}
+		for (int v = 0; v < n; v++) {
+			parent[v] = clusterIndex[parent[v]];
+		}
+		fine.parent = parent;
+
+		// determine the members of each coarse node
+		Level coarse = new Level(remaining);
+		int[] memberStart = new int[remaining + 1];
+		for (int v = 0; v < n; v++) {
+			memberStart[parent[v] + 1]++;
+			coarse.mass[parent[v]] += fine.mass[v];
+		}
+		for (int c = 0; c < remaining; c++) {
+			memberStart[c + 1] += memberStart[c];
+		}
+		int[] members = new int[n];
+		int[] fill = Arrays.copyOf(memberStart, remaining);
+		for (int v = 0; v < n; v++) {
+			members[fill[parent[v]]++] = v;
+		}
+
+		// accumulate the edges between the coarse nodes
+		int[] targets = new int[fine.adjacencyTarget.length];
+		double[] weights = new double[fine.adjacencyTarget.length];
+		int[] marker = new int[remaining];
+		int[] position = new int[remaining];
+		Arrays.fill(marker, -1);
+		int edges = 0;
+		for (int c = 0; c < remaining; c++) {
+			coarse.adjacencyStart[c] = edges;
+			for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+				int v = members[m];
+				for (int e = fine.adjacencyStart[v]; e < fine.adjacencyStart[v
+						+ 1]; e++) {
+					int target = parent[fine.adjacencyTarget[e]];
+					if (target == c) {
+						continue;
+					}
+					if (marker[target] != c) {
+						marker[target] = c;
+						position[target] = edges;
+						targets[edges] = target;
+						weights[edges] = 0;
+						edges++;
+					}
+					weights[position[target]] += fine.adjacencyWeight[e];
+				}
+			}
+		}
+		coarse.adjacencyStart[remaining] = edges;
+		coarse.adjacencyTarget = Arrays.copyOf(targets, edges);
+		coarse.adjacencyWeight = Arrays.copyOf(weights, edges);
+		return coarse;
+	}
+
+	/**
+	 * Creates the finest {@link Level}, which represents the given nodes and
+	 * edges.
+	 */
+	private Level createLevel(Node[] entities, Edge[] edges) {
+		Level level = new Level(entities.length);
+		Map<Node, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < entities.length; i++) {
+			indices.put(entities[i], i);
+			level.mass[i] = 1;
+		}
+
+		// collect the (undirected) edges in compressed sparse row format
+		int[] sources = new int[edges.length];
+		int[] targets = new int[edges.length];
+		int count = 0;
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source == null || target == null
+					|| source.intValue() == target.intValue()) {
+				continue;
+			}
+			sources[count] = source;
+			targets[count] = target;
+			level.adjacencyStart[source + 1]++;
+			level.adjacencyStart[target + 1]++;
+			count++;
+		}
+		for (int i = 0; i < entities.length; i++) {
+			level.adjacencyStart[i + 1] += level.adjacencyStart[i];
+		}
+		level.adjacencyTarget = new int[2 * count];
+		level.adjacencyWeight = new double[2 * count];
+		int[] fill = Arrays.copyOf(level.adjacencyStart, entities.length);
+		int e = 0;
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source == null || target == null
+					|| source.intValue() == target.intValue()) {
+				continue;
+			}
+			double weight = LayoutProperties.getWeight(edge);
+			weight = weight <= 0 ? 0.1 : weight;
+			level.adjacencyTarget[fill[sources[e]]] = targets[e];
+			level.adjacencyWeight[fill[sources[e]]++] = weight;
+			level.adjacencyTarget[fill[targets[e]]] = sources[e];
+			level.adjacencyWeight[fill[targets[e]]++] = weight;
+			e++;
+		}
+		return level;
+	}
+
+	private void ensureTreeCapacity(int capacity) {
+		if (treeX.length >= capacity) {
+			return;
+		}
+		int length = Math.max(capacity, 2 * treeX.length);
+		treeX = Arrays.copyOf(treeX, length);
+		treeY = Arrays.copyOf(treeY, length);
+		treeMass = Arrays.copyOf(treeMass, length);
+		treeSize = Arrays.copyOf(treeSize, length);
+		treeStart = Arrays.copyOf(treeStart, length);
+		treeEnd = Arrays.copyOf(treeEnd, length);
+		treeFirstChild = Arrays.copyOf(treeFirstChild, length);
+		treeChildCount = Arrays.copyOf(treeChildCount, length);
+	}
+
+	/**
+	 * Returns the number of nodes at which coarsening stops.
+	 *
+	 * @return The number of nodes at which coarsening stops.
+	 */
+	public int getCoarsestSize() {
+		return coarsestSize;
+	}
+
+	private int getHeaviestNeighbor(Level level, int v, int[] parent,
+			boolean unmatched) {
+		int heaviest = -1;
+		double maxWeight = 0;
+		for (int e = level.adjacencyStart[v]; e < level.adjacencyStart[v
+				+ 1]; e++) {
+			int u = level.adjacencyTarget[e];
+			if (unmatched && parent[u] != -1) {
+				continue;
+			}
+			double weight = level.adjacencyWeight[e];
+			// prefer light neighbors on ties, so that clusters stay balanced
+			if (weight > maxWeight || weight == maxWeight && heaviest != -1
+					&& level.mass[u] < level.mass[heaviest]) {
+				heaviest = u;
+				maxWeight = weight;
+			}
+		}
+		return heaviest;
+	}
+
+	/**
+	 * Returns the number of refinement iterations per level.
+	 *
+	 * @return The number of refinement iterations per level.
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Returns the seed of the random number generator that is used for
+	 * coarsening and initial placement.
+	 *
+	 * @return The seed of the random number generator.
+	 */
+	public long getRandomSeed() {
+		return randomSeed;
+	}
+
+	private double getSpringLength(Node[] entities) {
+		double sum = 0;
+		for (Node entity : entities) {
+			Dimension size = LayoutProperties.getSize(entity);
+			if (size != null) {
+				sum += Math.sqrt(
+						size.width * size.width + size.height * size.height);
+			}
+		}
+		return sum > 0 ? 2 * sum / entities.length : 1;
+	}
+
+	/**
+	 * Places the nodes of the given fine {@link Level} around the positions of
+	 * their coarse nodes. The nodes that were merged into a coarse node are
+	 * distributed within a disk whose area grows with their number, so that
+	 * large clusters (e.g. the leaves of a star) are not placed on top of each
+	 * other.
+	 */
+	private void interpolate(Level coarse, Level fine, double springLength) {
+		int[] children = new int[coarse.size];
+		for (int v = 0; v < fine.size; v++) {
+			children[fine.parent[v]]++;
+		}
+		for (int v = 0; v < fine.size; v++) {
+			int c = fine.parent[v];
+			double radius = 0.5 * springLength * Math.sqrt(children[c])
+					* Math.sqrt(random.nextDouble());
+			double angle = 2 * Math.PI * random.nextDouble();
+			fine.x[v] = coarse.x[c] + radius * Math.cos(angle);
+			fine.y[v] = coarse.y[c] + radius * Math.sin(angle);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if this algorithm is set to resize elements.
+	 *
+	 * @return <code>true</code> if this algorithm is set to resize elements,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isResizing() {
+		return resize;
+	}
+
+	/**
+	 * Reorders the nodes within the given range of the quadtree order, so
+	 * that the nodes whose coordinate is smaller than the given split value
+	 * precede the others, and returns the index of the first node that is not
+	 * smaller.
+	 */
+	private int partition(double[] coordinates, int start, int end,
+			double split) {
+		int i = start;
+		int j = end - 1;
+		while (i <= j) {
+			if (coordinates[treeOrder[i]] < split) {
+				i++;
+			} else {
+				int tmp = treeOrder[i];
+				treeOrder[i] = treeOrder[j];
+				treeOrder[j] = tmp;
+				j--;
+			}
+		}
+		return i;
+	}
+
+	private double placeRandomly(Level level, double springLength) {
+		double extent = springLength * Math.sqrt(level.size);
+		for (int v = 0; v < level.size; v++) {
+			level.x[v] = random.nextDouble() * extent;
+			level.y[v] = random.nextDouble() * extent;
+		}
+		return extent;
+	}
+
+	/**
+	 * Refines the positions of the given {@link Level} using a force-directed
+	 * model (Fruchterman-Reingold), where repulsive forces are weighted by the
+	 * mass of the repelling nodes and approximated using a quadtree
+	 * (Barnes-Hut), so that each iteration takes O(n log n) time.
+	 */
+	private void refine(LayoutContext context, Level level, double springLength,
+			double temperature, int iterations) {
+		int n = level.size;
+		double repulsion = springLength * springLength;
+		double[] dispX = new double[n];
+		double[] dispY = new double[n];
+		if (treeOrder == null || treeOrder.length < n) {
+			treeOrder = new int[n];
+			int capacity = 2 * n + 1;
+			treeX = new double[capacity];
+			treeY = new double[capacity];
+			treeMass = new double[capacity];
+			treeSize = new double[capacity];
+			treeStart = new int[capacity];
+			treeEnd = new int[capacity];
+			treeFirstChild = new int[capacity];
+			treeChildCount = new int[capacity];
+			treeStack = new int[4 * MAX_TREE_DEPTH + 4];
+		}
+		for (int i = 0; i < iterations && !context.isLayoutCanceled(); i++) {
+			// build the quadtree
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			double maxY = Double.NEGATIVE_INFINITY;
+			for (int v = 0; v < n; v++) {
+				treeOrder[v] = v;
+				minX = Math.min(minX, level.x[v]);
+				minY = Math.min(minY, level.y[v]);
+				maxX = Math.max(maxX, level.x[v]);
+				maxY = Math.max(maxY, level.y[v]);
+			}
+			treeCount = 1;
+			buildQuadtree(level, 0, 0, n, minX, minY,
+					Math.max(maxX - minX, maxY - minY) * (1 + 1e-9) + 1e-9,
+					0);
+
+			// process the nodes in quadtree order, so that nearby nodes
+			// (which traverse similar parts of the quadtree) follow each other
+			for (int o = 0; o < n; o++) {
+				int v = treeOrder[o];
+				double x = level.x[v];
+				double y = level.y[v];
+
+				// repulsive forces
+				int stackSize = 0;
+				treeStack[stackSize++] = 0;
+				while (stackSize > 0) {
+					int t = treeStack[--stackSize];
+					double dx = x - treeX[t];
+					double dy = y - treeY[t];
+					double distanceSquared = dx * dx + dy * dy;
+					if (treeFirstChild[t] != -1 && treeSize[t]
+							* treeSize[t] < THETA * THETA * distanceSquared) {
+						// approximate the cell by its center of mass
+						double f = repulsion * treeMass[t] / distanceSquared;
+						dispX[v] += dx * f;
+						dispY[v] += dy * f;
+					} else if (treeFirstChild[t] != -1) {
+						for (int c = 0; c < treeChildCount[t]; c++) {
+							treeStack[stackSize++] = treeFirstChild[t] + c;
+						}
+					} else {
+						for (int j = treeStart[t]; j < treeEnd[t]; j++) {
+							int u = treeOrder[j];
+							if (u == v) {
+								continue;
+							}
+							dx = x - level.x[u];
+							dy = y - level.y[u];
+							distanceSquared = dx * dx + dy * dy;
+							if (distanceSquared < 1e-12 * repulsion) {
+								// separate coincident nodes deterministically
+								dx = (v < u ? -1e-3 : 1e-3) * springLength;
+								dy = 0;
+								distanceSquared = dx * dx;
+							}
+							double f = repulsion * level.mass[u]
+									/ distanceSquared;
+							dispX[v] += dx * f;
+							dispY[v] += dy * f;
+						}
+					}
+				}
+
+				// attractive forces along the edges
+				for (int e = level.adjacencyStart[v]; e < level.adjacencyStart[v
+						+ 1]; e++) {
+					int u = level.adjacencyTarget[e];
+					double dx = level.x[u] - x;
+					double dy = level.y[u] - y;
+					double f = Math.sqrt(dx * dx + dy * dy)
+							* level.adjacencyWeight[e] / springLength;
+					dispX[v] += dx * f;
+					dispY[v] += dy * f;
+				}
+			}
+
+			// move the nodes, limiting the displacement by the temperature
+			double totalDisplacement = 0;
+			for (int v = 0; v < n; v++) {
+				double length = Math
+						.sqrt(dispX[v] * dispX[v] + dispY[v] * dispY[v]);
+				if (length > 0) {
+					double scale = Math.min(length, temperature) / length;
+					level.x[v] += dispX[v] * scale;
+					level.y[v] += dispY[v] * scale;
+					totalDisplacement += length * scale;
+				}
+			}
+			temperature *= COOLING;
+			if (totalDisplacement < CONVERGENCE * springLength * n) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Sets the number of nodes at which coarsening stops. Defaults to
+	 * <code>8</code>.
+	 *
+	 * @param coarsestSize
+	 *            The number of nodes at which coarsening stops.
+	 */
+	public void setCoarsestSize(int coarsestSize) {
+		this.coarsestSize = Math.max(1, coarsestSize);
+	}
+
+	/**
+	 * Sets the number of refinement iterations per level. The coarsest level
+	 * is refined using twice as many iterations. Refinement of a level stops
+	 * early if the layout converged. Defaults to <code>30</code>.
+	 *
+	 * @param iterations
+	 *            The number of refinement iterations per level.
+	 */
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Sets the seed of the random number generator that is used for
+	 * coarsening and initial placement. Layouts that are computed using the
+	 * same seed (for the same input) are identical. Defaults to <code>0</code>
+	 * .
+	 *
+	 * @param randomSeed
+	 *            The seed of the random number generator.
+	 */
+	public void setRandomSeed(long randomSeed) {
+		this.randomSeed = randomSeed;
+	}
+
+	/**
+	 * Specifies whether this algorithm should resize elements.
+	 *
+	 * @param resizing
+	 *            <code>true</code> if this algorithm should resize elements
+	 *            (default is <code>false</code>)
+	 */
+	public void setResizing(boolean resizing) {
+		resize = resizing;
+	}
+
+}
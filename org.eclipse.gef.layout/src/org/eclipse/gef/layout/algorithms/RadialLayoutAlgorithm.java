@@ -16,6 +16,7 @@ import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutProgressMonitor;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -47,6 +48,10 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 		if (!clean)
 			return;
 		treeLayout.internalApplyLayout(layoutContext);
+		if (layoutContext.isLayoutCanceled())
+			return;
+		layoutContext.beginLayoutPhase("radial",
+				ILayoutProgressMonitor.UNKNOWN);
 		Node[] entities = layoutContext.getNodes();
 		Rectangle bounds = LayoutProperties.getBounds(layoutContext.getGraph())
 				.getCopy();
@@ -26,6 +26,7 @@ import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutProgressMonitor;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.layout.algorithms.TreeLayoutHelper.TreeNode;
@@ -935,12 +936,23 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 			return;
 		}
 
+		layoutContext.beginLayoutPhase("tree", ILayoutProgressMonitor.UNKNOWN);
 		treeObserver = new TreeLayoutHelper(spaceTreeNodeFactory);
 		treeObserver.computeTree(layoutContext.getNodes());
+		if (layoutContext.isLayoutCanceled()) {
+			return;
+		}
 
 		if (clean) {
+			layoutContext.beginLayoutPhase("expansion",
+					ILayoutProgressMonitor.UNKNOWN);
 			maximizeExpansion((SpaceTreeNode) treeObserver.getSuperRoot());
+			if (layoutContext.isLayoutCanceled()) {
+				return;
+			}
 		}
+		layoutContext.beginLayoutPhase("locations",
+				ILayoutProgressMonitor.UNKNOWN);
 
 		SpaceTreeNode superRoot = ((SpaceTreeNode) treeObserver.getSuperRoot());
 		superRoot.flushExpansionChanges();
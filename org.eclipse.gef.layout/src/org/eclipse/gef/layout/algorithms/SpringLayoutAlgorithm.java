@@ -14,14 +14,21 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutProgressMonitor;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -29,6 +36,12 @@ import org.eclipse.gef.layout.LayoutProperties;
  * The SpringLayoutAlgorithm has its own data repository and relation
  * repository. A user can populate the repository, specify the layout
  * conditions, do the computation and query the computed results.
+ * <p>
+ * The {@link SpringLayoutAlgorithm} supports incremental layout passes (see
+ * {@link IIncrementalLayoutAlgorithm}). An incremental layout pass starts from
+ * the existing node locations, and only the nodes that were added, or whose
+ * edges were changed, since the previous layout pass, as well as the nodes
+ * within their {@link #setIncrementalRadius(int) vicinity}, are moved.
  * 
  * @author Jingwei Wu
  * @author Rob Lintern
@@ -37,7 +50,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
+public class SpringLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
 
 	/**
 	 * The default value for the spring layout number of iterations.
@@ -74,11 +87,35 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private static final double DEFAULT_SPRING_GRAVITATION = 2.0f;
 
+	/**
+	 * The default number of hops around the added or changed nodes within
+	 * which nodes are moved during an incremental layout pass.
+	 */
+	private static final int DEFAULT_INCREMENTAL_RADIUS = 1;
+
+	/**
+	 * The number of iterations of an incremental layout pass (relative to the
+	 * number of iterations of a full layout pass).
+	 */
+	private static final double INCREMENTAL_ITERATIONS_FACTOR = 0.1;
+
 	/**
 	 * Minimum distance considered between nodes
 	 */
 	private static final double MIN_DISTANCE = 1.0d;
 
+	/**
+	 * The distance (in multiples of the spring length) up to which nodes are
+	 * repelled from each other during an incremental layout pass.
+	 */
+	private static final double INCREMENTAL_REPULSION_RADIUS = 2.0d;
+
+	/**
+	 * The seed for displacing the added nodes during an incremental layout
+	 * pass, so that repeated passes on the same input yield the same result.
+	 */
+	private static final long INCREMENTAL_SEED = 0L;
+
 	/**
 	 * The variable can be customized to set the number of iterations used.
 	 */
@@ -138,15 +175,31 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	// TODO: expose field
 	private boolean fitWithinBounds = true;
 
+	/**
+	 * The number of hops around the added or changed nodes within which nodes
+	 * are moved during an incremental layout pass.
+	 */
+	private int incrementalRadius = DEFAULT_INCREMENTAL_RADIUS;
+
+	// nodes and edges of the previous layout pass (for incremental layout)
+	private Set<Node> laidOutNodes = Collections
+			.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+	private Set<Edge> laidOutEdges = Collections
+			.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
 		this.layoutContext = layoutContext;
-		initLayout(layoutContext);
-		if (!clean) {
+		if (!clean && !laidOutNodes.isEmpty()) {
+			applyIncrementalLayout(layoutContext);
 			return;
 		}
+		initLayout(layoutContext);
 
-		while (performAnotherNonContinuousIteration()) {
+		layoutContext.beginLayoutPhase("spring", sprIterations);
+		while (performAnotherNonContinuousIteration()
+				&& !layoutContext.isLayoutCanceled()) {
 			computeOneIteration();
+			layoutContext.layoutWorked(1);
 		}
 
 		saveLocations();
@@ -162,6 +215,279 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			bounds2.setHeight(bounds2.getHeight() - 2 * insets);
 			AlgorithmHelper.fitWithinBounds(entities, bounds2, resize);
 		}
+		rememberLaidOut(layoutContext.getEdges());
+	}
+
+	/**
+	 * Performs an incremental layout pass. The nodes that were added, or whose
+	 * edges were changed, since the previous layout pass are determined, and
+	 * only these nodes and the nodes within the incremental radius around them
+	 * are moved. Added nodes are initially placed at the barycenter of their
+	 * already placed neighbors. The forces are only computed for the moving
+	 * nodes, so that an iteration takes O(m * n) time for m moving nodes.
+	 * 
+	 * @param context
+	 *            The {@link LayoutContext} that provides the nodes and edges.
+	 */
+	private void applyIncrementalLayout(LayoutContext context) {
+		context.beginLayoutPhase("spring (incremental)",
+				ILayoutProgressMonitor.UNKNOWN);
+		entities = context.getNodes();
+		bounds = LayoutProperties.getBounds(context.getGraph());
+		loadLocations();
+		int n = entities.length;
+		Map<Node, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < n; i++) {
+			indices.put(entities[i], i);
+		}
+
+		// build the adjacency of the laid out nodes
+		Edge[] edges = context.getEdges();
+		int[] degree = new int[n + 1];
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source != null && target != null
+					&& source.intValue() != target.intValue()) {
+				degree[source + 1]++;
+				degree[target + 1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			degree[i + 1] += degree[i];
+		}
+		int[] adjacency = new int[degree[n]];
+		double[] adjacencyWeight = new double[degree[n]];
+		int[] fill = new int[n];
+		System.arraycopy(degree, 0, fill, 0, n);
+
+		// determine the added nodes and the end points of changed edges
+		boolean[] changed = new boolean[n];
+		boolean[] added = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			added[i] = !laidOutNodes.contains(entities[i]);
+			changed[i] = added[i];
+		}
+		Set<Edge> currentEdges = Collections
+				.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (Edge edge : edges) {
+			currentEdges.add(edge);
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source == null || target == null
+					|| source.intValue() == target.intValue()) {
+				continue;
+			}
+			double weight = LayoutProperties.getWeight(edge);
+			weight = (weight <= 0 ? 0.1 : weight);
+			adjacency[fill[source]] = target;
+			adjacencyWeight[fill[source]++] = weight;
+			adjacency[fill[target]] = source;
+			adjacencyWeight[fill[target]++] = weight;
+			if (!laidOutEdges.contains(edge)) {
+				changed[source] = true;
+				changed[target] = true;
+			}
+		}
+		for (Edge edge : laidOutEdges) {
+			if (!currentEdges.contains(edge)) {
+				Integer source = indices.get(edge.getSource());
+				Integer target = indices.get(edge.getTarget());
+				if (source != null) {
+					changed[source] = true;
+				}
+				if (target != null) {
+					changed[target] = true;
+				}
+			}
+		}
+
+		// collect the nodes within the incremental radius (breadth first)
+		int[] distance = new int[n];
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		for (int i = 0; i < n; i++) {
+			distance[i] = changed[i] ? 0 : -1;
+			if (changed[i]) {
+				queue.add(i);
+			}
+		}
+		int[] moving = new int[n];
+		int movingCount = 0;
+		while (!queue.isEmpty()) {
+			int i = queue.poll();
+			if (LayoutProperties.isMovable(entities[i])) {
+				moving[movingCount++] = i;
+			}
+			if (distance[i] < incrementalRadius) {
+				for (int e = degree[i]; e < degree[i + 1]; e++) {
+					int j = adjacency[e];
+					if (distance[j] == -1) {
+						distance[j] = distance[i] + 1;
+						queue.add(j);
+					}
+				}
+			}
+		}
+
+		// place the added nodes at the barycenter of their placed neighbors
+		Random random = new Random(INCREMENTAL_SEED);
+		boolean[] placed = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			placed[i] = !added[i];
+		}
+		for (int m = 0; m < movingCount; m++) {
+			int i = moving[m];
+			if (placed[i]) {
+				continue;
+			}
+			double x = 0;
+			double y = 0;
+			int count = 0;
+			for (int e = degree[i]; e < degree[i + 1]; e++) {
+				int j = adjacency[e];
+				if (placed[j]) {
+					x += locationsX[j];
+					y += locationsY[j];
+					count++;
+				}
+			}
+			if (count > 0) {
+				// displace slightly, so that siblings are separated
+				locationsX[i] = x / count
+						+ (random.nextDouble() - 0.5) * 0.05
+								* bounds.getWidth();
+				locationsY[i] = y / count
+						+ (random.nextDouble() - 0.5) * 0.05
+								* bounds.getHeight();
+			} else {
+				locationsX[i] = bounds.getX()
+						+ random.nextDouble() * bounds.getWidth();
+				locationsY[i] = bounds.getY()
+						+ random.nextDouble() * bounds.getHeight();
+			}
+			placed[i] = true;
+		}
+
+		// refine the locations of the moving nodes
+		// The bounds scale that was reached by the previous layout pass refers
+		// to the unfitted locations, so that it cannot be used here. Instead,
+		// the unit of distance is derived from the preserved edges, which
+		// have approximately the spring length at equilibrium.
+		double unit = 0;
+		int unitCount = 0;
+		for (int i = 0; i < n; i++) {
+			if (added[i]) {
+				continue;
+			}
+			for (int e = degree[i]; e < degree[i + 1]; e++) {
+				int j = adjacency[e];
+				if (j > i && !added[j]) {
+					double dx = locationsX[i] - locationsX[j];
+					double dy = locationsY[i] - locationsY[j];
+					unit += Math.sqrt(dx * dx + dy * dy);
+					unitCount++;
+				}
+			}
+		}
+		double minExtent = Math.min(bounds.getWidth(), bounds.getHeight());
+		if (unitCount > 0 && unit > 0) {
+			unit = Math.min(unit / unitCount / sprLength, minExtent);
+		} else {
+			unit = minExtent / sprLength / Math.max(1, Math.sqrt(n));
+		}
+		if (!(unit > 0)) {
+			unit = 1;
+		}
+
+		int iterations = Math.max(1,
+				(int) (sprIterations * INCREMENTAL_ITERATIONS_FACTOR));
+		double[] weights = new double[n];
+		double[] deltaX = new double[movingCount];
+		double[] deltaY = new double[movingCount];
+		double[] anchorsX = new double[movingCount];
+		double[] anchorsY = new double[movingCount];
+		for (int m = 0; m < movingCount; m++) {
+			anchorsX[m] = locationsX[moving[m]];
+			anchorsY[m] = locationsY[moving[m]];
+		}
+		for (int iteration = 0; iteration < iterations
+				&& !context.isLayoutCanceled(); iteration++) {
+			for (int m = 0; m < movingCount; m++) {
+				int i = moving[m];
+				for (int e = degree[i]; e < degree[i + 1]; e++) {
+					weights[adjacency[e]] += adjacencyWeight[e];
+				}
+				double forceX = 0;
+				double forceY = 0;
+				for (int j = 0; j < n; j++) {
+					if (j == i) {
+						continue;
+					}
+					double dx = (locationsX[i] - locationsX[j]) / unit;
+					double dy = (locationsY[i] - locationsY[j]) / unit;
+					double distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE,
+							dx * dx + dy * dy);
+					double dist = Math.sqrt(distance_sq);
+					double f;
+					if (weights[j] > 0) {
+						// nodes are pulled towards each other
+						f = -sprStrain * Math.log(dist / sprLength)
+								* weights[j];
+					} else if (dist < INCREMENTAL_REPULSION_RADIUS
+							* sprLength) {
+						// nodes are repelled from each other; distant nodes are
+						// ignored, because their (outward) repulsion is not
+						// balanced by the rest of the preserved layout
+						f = sprGravitation / distance_sq;
+					} else {
+						continue;
+					}
+					forceX += f * dx / dist;
+					forceY += f * dy / dist;
+				}
+				for (int e = degree[i]; e < degree[i + 1]; e++) {
+					weights[adjacency[e]] = 0;
+				}
+				// nodes are pulled back to their previous (or initial)
+				// location, so that the mental map is maintained
+				forceX -= sprStrain * (locationsX[i] - anchorsX[m]) / unit;
+				forceY -= sprStrain * (locationsY[i] - anchorsY[m]) / unit;
+				deltaX[m] = sprMove * forceX;
+				deltaY[m] = sprMove * forceY;
+			}
+			for (int m = 0; m < movingCount; m++) {
+				int i = moving[m];
+				// constrain movement, so that nodes don't shoot way off to the
+				// edge
+				double dist = Math.sqrt(
+						deltaX[m] * deltaX[m] + deltaY[m] * deltaY[m]);
+				double maxMovement = 0.2d * sprMove;
+				if (dist > maxMovement) {
+					deltaX[m] *= maxMovement / dist;
+					deltaY[m] *= maxMovement / dist;
+				}
+				// keep the moving nodes within the layout bounds
+				locationsX[i] = Math.max(bounds.getX(),
+						Math.min(bounds.getX() + bounds.getWidth(),
+								locationsX[i] + deltaX[m] * unit));
+				locationsY[i] = Math.max(bounds.getY(),
+						Math.min(bounds.getY() + bounds.getHeight(),
+								locationsY[i] + deltaY[m] * unit));
+			}
+			context.layoutWorked(1);
+		}
+
+		// only store the locations of the moving nodes
+		for (int m = 0; m < movingCount; m++) {
+			int i = moving[m];
+			if (Double.isNaN(locationsX[i]) || Double.isNaN(locationsY[i])) {
+				locationsX[i] = 0;
+				locationsY[i] = 0;
+			}
+			LayoutProperties.setLocation(entities[i],
+					new Point(locationsX[i], locationsY[i]));
+		}
+		rememberLaidOut(edges);
 	}
 
 	/**
@@ -202,6 +528,16 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		layoutContext.postLayout();
 	}
 
+	/**
+	 * Returns the number of hops around the added or changed nodes within
+	 * which nodes are moved during an incremental layout pass.
+	 * 
+	 * @return The incremental radius.
+	 */
+	public int getIncrementalRadius() {
+		return incrementalRadius;
+	}
+
 	/**
 	 * 
 	 * @return true if this algorithm is set to resize elements
@@ -220,6 +556,18 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		resize = resizing;
 	}
 
+	/**
+	 * Sets the number of hops around the added or changed nodes within which
+	 * nodes are moved during an incremental layout pass. Defaults to
+	 * <code>1</code>.
+	 * 
+	 * @param incrementalRadius
+	 *            The new incremental radius.
+	 */
+	public void setIncrementalRadius(int incrementalRadius) {
+		this.incrementalRadius = incrementalRadius;
+	}
+
 	/**
 	 * Sets the spring layout move-control.
 	 * 
@@ -416,6 +764,13 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 	}
 
+	private void rememberLaidOut(Edge[] edges) {
+		laidOutNodes.clear();
+		Collections.addAll(laidOutNodes, entities);
+		laidOutEdges.clear();
+		Collections.addAll(laidOutEdges, edges);
+	}
+
 	private void saveLocations() {
 		if (entities == null)
 			return;
@@ -17,10 +17,14 @@
  *******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
@@ -29,13 +33,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutProgressMonitor;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -54,11 +61,21 @@ import org.eclipse.gef.layout.LayoutProperties;
  * This layout algorithm works only with - directed graphs (otherwise an
  * appropriate RuntimeException is thrown)
  * 
+ * Incremental layout passes (see {@link IIncrementalLayoutAlgorithm}) keep the
+ * layers and the order of the previously laid out nodes. Added nodes are
+ * inserted into the layer that is determined by their neighbors, and the added
+ * nodes (as well as the dummy nodes of added edges) are placed using a local
+ * crossing reduction, i.e. at the position within their layer that minimizes
+ * the number of crossings while the other nodes keep their order. If the
+ * share of added and removed nodes exceeds the incremental threshold (see
+ * {@link #setIncrementalThreshold(double)}), a clean layout pass is performed
+ * instead.
+ * 
  * @author Rene Kuhlemann
  * @author Adam Kovacs
  * @author mwienand
  */
-public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
+public class SugiyamaLayoutAlgorithm implements IIncrementalLayoutAlgorithm {
 
 	/**
 	 * Specifies the direction for the {@link SugiyamaLayoutAlgorithm}.
@@ -243,144 +260,344 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			}
 		}
 
+		/**
+		 * Returns a copy of the current order of all layers.
+		 */
+		private List<List<NodeWrapper>> copyLayers() {
+			List<List<NodeWrapper>> copy = new ArrayList<>(layers.size());
+			for (List<NodeWrapper> layer : layers)
+				copy.add(new ArrayList<>(layer));
+			return copy;
+		}
+
+		/**
+		 * Restores the order of all layers from the given copy.
+		 */
+		private void restoreLayers(List<List<NodeWrapper>> copy) {
+			for (int i = 0; i < layers.size(); i++) {
+				List<NodeWrapper> layer = layers.get(i);
+				layer.clear();
+				layer.addAll(copy.get(i));
+				updateIndex(layer);
+			}
+		}
+
 		public void crossReduction(List<List<NodeWrapper>> nodes) {
 			this.layers = nodes;
 			padLayers();
+			// the barycenter heuristic does not decrease the number of
+			// crossings monotonically, therefore, the best order is recorded
+			CrossingCounter counter = new CrossingCounter(layers);
+			int bestCrossings = counter.crossings();
+			List<List<NodeWrapper>> bestLayers = copyLayers();
 			// reduce and refine iteratively, depending on the depth of the
 			// graph
-			for (int i = 0; i < layers.size(); i++) {
+			for (int i = 0; i <= layers.size(); i++) {
 				reduceCrossings();
-				refineLayers();
+				if (i < layers.size())
+					refineLayers();
+				int crossings = counter.crossings();
+				// prefer later orders, which are refined more often
+				if (crossings <= bestCrossings) {
+					bestCrossings = crossings;
+					bestLayers = copyLayers();
+				}
 			}
-			reduceCrossings();
+			restoreLayers(bestLayers);
 			unpadLayers();
 		}
 	}
 
 	/**
-	 * Implements the CrossingReducer interface. This algorithm divides each
-	 * layer by a pivot node based on the relative position of connected nodes
-	 * and decides which side of the pivot point it should be for the fewer edge
-	 * crossing.
+	 * Counts the edge crossings of a layered graph. Whole layer counts are
+	 * computed in O(E log V) using the accumulator tree of Barth, Jünger, and
+	 * Mutzel (http://dx.doi.org/10.1007/3-540-36151-0_13). The crossings
+	 * between the edges of two nodes of the same layer are computed in linear
+	 * time of their degrees, so that the effect of swapping two adjacent nodes
+	 * can be evaluated incrementally.
 	 * 
-	 * @author Adam Kovacs
+	 * The adjacency is computed once upon construction, while the positions
+	 * are always read from the {@link NodeWrapper#index} values, so that the
+	 * counter remains valid while the layers are reordered. Upon construction,
+	 * the {@link NodeWrapper#index} values are synchronized with the positions
+	 * of the {@link NodeWrapper}s within their layers, so that a new counter
+	 * has to be created to evaluate an order that was changed externally.
 	 * 
+	 * @author zhaosongvip
 	 */
-	public static class SplitCrossingReducer implements CrossingReducer {
-		private final Map<Node, NodeWrapper> map = new IdentityHashMap<>();
+	public static class CrossingCounter {
+
+		private static final NodeWrapper[] NO_NEIGHBORS = new NodeWrapper[0];
+
+		private final List<List<NodeWrapper>> layers;
+		// neighbors in preceding and succeeding layers, respectively
+		private final Map<NodeWrapper, NodeWrapper[]> above = new IdentityHashMap<>();
+		private final Map<NodeWrapper, NodeWrapper[]> below = new IdentityHashMap<>();
 
 		/**
-		 * Filters the multiple connections from the two arrays
+		 * Constructs a new {@link CrossingCounter} for the given layers. The
+		 * neighbors of a {@link NodeWrapper} are determined from its
+		 * predecessors and successors, restricted to the immediately preceding
+		 * and succeeding layers. If the layers are not chained via predecessors
+		 * and successors at all (e.g. when using the
+		 * {@link DFSLayerProvider}), the edges of the graph that connect
+		 * adjacent layers are used instead, so that edges spanning multiple
+		 * layers are ignored. Padding {@link NodeWrapper}s never have
+		 * neighbors.
 		 * 
-		 * @param a
-		 * @param b
-		 * @return
+		 * @param layers
+		 *            The layers, represented each as a list of
+		 *            {@link NodeWrapper}s.
+		 */
+		public CrossingCounter(List<List<NodeWrapper>> layers) {
+			this(layers, null);
+		}
+
+		/**
+		 * Constructs a new {@link CrossingCounter} that only determines the
+		 * neighbors of the {@link NodeWrapper}s on the layers at the given
+		 * indices, and only synchronizes the {@link NodeWrapper#index} values
+		 * of these and the adjacent layers. Therefore, crossings can only be
+		 * counted between {@link NodeWrapper}s on these layers, and between
+		 * these layers and their succeeding layers, respectively.
+		 * 
+		 * @param layers
+		 *            The layers, represented each as a list of
+		 *            {@link NodeWrapper}s.
+		 * @param layerIndices
+		 *            The indices of the layers for which crossings are to be
+		 *            counted, or <code>null</code> to count the crossings of
+		 *            all layers.
 		 */
-		private ArrayList<Node> unionOfNodes(Collection<Node> a,
-				Collection<Node> b) {
-			ArrayList<Node> res = new ArrayList<>(a);
-			for (Node n : b) {
-				if (!res.contains(n)) {
-					res.add(n);
+		public CrossingCounter(List<List<NodeWrapper>> layers,
+				Collection<Integer> layerIndices) {
+			this.layers = layers;
+			boolean[] indexed = new boolean[layers.size()];
+			if (layerIndices == null)
+				Arrays.fill(indexed, true);
+			else
+				for (int rank : layerIndices)
+					if (rank >= 0 && rank < indexed.length)
+						indexed[rank] = true;
+			Map<NodeWrapper, Integer> ranks = new IdentityHashMap<>();
+			boolean chained = false;
+			for (int rank = 0; rank < layers.size(); rank++) {
+				if (!indexed[rank] && !(rank > 0 && indexed[rank - 1])
+						&& !(rank + 1 < indexed.length && indexed[rank + 1]))
+					continue;
+				List<NodeWrapper> layer = layers.get(rank);
+				for (int i = 0; i < layer.size(); i++) {
+					NodeWrapper nw = layer.get(i);
+					nw.index = i;
+					ranks.put(nw, rank);
+					chained |= indexed[rank]
+							&& (!nw.pred.isEmpty() || !nw.succ.isEmpty());
 				}
 			}
-			return res;
+			if (chained) {
+				for (int rank = 0; rank < layers.size(); rank++) {
+					if (!indexed[rank])
+						continue;
+					for (NodeWrapper nw : layers.get(rank)) {
+						put(above, nw, adjacent(nw.pred, ranks, rank - 1));
+						put(below, nw, adjacent(nw.succ, ranks, rank + 1));
+					}
+				}
+			} else
+				indexEdges(ranks, indexed);
+		}
+
+		private static NodeWrapper[] adjacent(List<NodeWrapper> candidates,
+				Map<NodeWrapper, Integer> ranks, int rank) {
+			NodeWrapper[] adjacent = new NodeWrapper[candidates.size()];
+			int n = 0;
+			for (NodeWrapper candidate : candidates) {
+				Integer candidateRank = ranks.get(candidate);
+				if (candidateRank != null && candidateRank == rank)
+					adjacent[n++] = candidate;
+			}
+			return n == adjacent.length ? adjacent
+					: Arrays.copyOf(adjacent, n);
+		}
+
+		private static void put(Map<NodeWrapper, NodeWrapper[]> side,
+				NodeWrapper nw, NodeWrapper[] neighbors) {
+			if (neighbors.length > 0)
+				side.put(nw, neighbors);
+		}
+
+		private void indexEdges(Map<NodeWrapper, Integer> ranks,
+				boolean[] indexed) {
+			Map<Node, NodeWrapper> wrappers = new IdentityHashMap<>();
+			Graph graph = null;
+			for (NodeWrapper nw : ranks.keySet()) {
+				if (nw.node != null) {
+					wrappers.put(nw.node, nw);
+					if (graph == null)
+						graph = nw.node.getGraph();
+				}
+			}
+			if (graph == null)
+				return;
+			Map<NodeWrapper, List<NodeWrapper>> up = new IdentityHashMap<>();
+			Map<NodeWrapper, List<NodeWrapper>> down = new IdentityHashMap<>();
+			for (Edge edge : graph.getEdges()) {
+				NodeWrapper source = wrappers.get(edge.getSource());
+				NodeWrapper target = wrappers.get(edge.getTarget());
+				if (source == null || target == null)
+					continue;
+				int sourceRank = ranks.get(source);
+				int targetRank = ranks.get(target);
+				if (targetRank == sourceRank + 1) {
+					if (indexed[sourceRank])
+						add(down, source, target);
+					if (indexed[targetRank])
+						add(up, target, source);
+				} else if (sourceRank == targetRank + 1) {
+					if (indexed[targetRank])
+						add(down, target, source);
+					if (indexed[sourceRank])
+						add(up, source, target);
+				}
+			}
+			for (Map.Entry<NodeWrapper, List<NodeWrapper>> e : up.entrySet())
+				above.put(e.getKey(), e.getValue().toArray(NO_NEIGHBORS));
+			for (Map.Entry<NodeWrapper, List<NodeWrapper>> e : down.entrySet())
+				below.put(e.getKey(), e.getValue().toArray(NO_NEIGHBORS));
+		}
+
+		private static void add(Map<NodeWrapper, List<NodeWrapper>> side,
+				NodeWrapper nw, NodeWrapper neighbor) {
+			List<NodeWrapper> neighbors = side.get(nw);
+			if (neighbors == null) {
+				neighbors = new ArrayList<>(2);
+				side.put(nw, neighbors);
+			}
+			neighbors.add(neighbor);
 		}
 
 		/**
-		 * Returns the number of crosses between the two nodes and those
-		 * connected to them.
+		 * Returns the number of crossings between the edges of the given
+		 * {@link NodeWrapper}s (which have to be on the same layer), assuming
+		 * that <i>left</i> is placed before <i>right</i>. Only edges leading to
+		 * the same side (upwards or downwards) can cross.
 		 * 
-		 * @param nodeA
-		 * @param nodeB
-		 * @return
+		 * @param left
+		 *            The {@link NodeWrapper} that is assumed to be placed
+		 *            first.
+		 * @param right
+		 *            The {@link NodeWrapper} that is assumed to be placed
+		 *            second.
+		 * @return The number of crossings between the edges of both
+		 *         {@link NodeWrapper}s.
 		 */
-		private int numberOfCrosses(NodeWrapper nodeA, NodeWrapper nodeB) {
-			int numOfCrosses = 0;
-			if (nodeA.equals(nodeB))
+		public int crossings(NodeWrapper left, NodeWrapper right) {
+			if (left == right)
 				return 0;
+			return crossings(neighbors(above, left), neighbors(above, right))
+					+ crossings(neighbors(below, left),
+							neighbors(below, right));
+		}
 
-			// Filter nodes connected with bidirectional edges
-			ArrayList<Node> adjacentNodesOfA = unionOfNodes(
-					nodeA.node.getPredecessorNodes(),
-					nodeA.node.getSuccessorNodes());
-			ArrayList<Node> adjacentNodesOfB = unionOfNodes(
-					nodeB.node.getPredecessorNodes(),
-					nodeB.node.getSuccessorNodes());
-
-			for (Node aNode : adjacentNodesOfA) {
-				ArrayList<Integer> alreadyCrossed = new ArrayList<>();
-				NodeWrapper aNodeWrapper = map.get(aNode);
-				for (int i = 0; i < adjacentNodesOfB.size(); i++) {
-					NodeWrapper nw = map.get(adjacentNodesOfB.get(i));
-					if (!alreadyCrossed.contains(i) && nw != null) {
-						// only if on the same side
-						if ((nw.layer > nodeA.layer
-								&& aNodeWrapper.layer > nodeA.layer)
-								|| (nw.layer < nodeA.layer
-										&& aNodeWrapper.layer < nodeA.layer)) {
-							if (nodeA.index < nodeB.index) {
-								if (aNodeWrapper.index > nw.index) {
-									numOfCrosses++;
-									alreadyCrossed.add(i);
-								} else if (nw.index == aNodeWrapper.index) {
-									if (nodeA.index >= nw.index) {
-										// implies nodeB.index > nw.index
-										if ((aNodeWrapper.layer > nw.layer
-												&& nodeA.layer < nw.layer)
-												|| (aNodeWrapper.layer < nw.layer
-														&& nw.layer < nodeA.layer)) {
-											// top-left or bottom-left quarter
-											numOfCrosses++;
-											alreadyCrossed.add(i);
-										}
-									} else if (nodeB.index <= nw.index) {
-										// implies nodeA.index < nw.index
-										if ((aNodeWrapper.layer > nw.layer
-												&& aNodeWrapper.layer < nodeB.layer)
-												|| (aNodeWrapper.layer < nw.layer
-														&& aNodeWrapper.layer > nodeB.layer)) {
-											// top-right or bottom-right quarter
-											numOfCrosses++;
-											alreadyCrossed.add(i);
-										}
-									}
-								}
-							} else if (nodeA.index > nodeB.index) {
-								if (aNodeWrapper.index < nw.index) {
-									numOfCrosses++;
-									alreadyCrossed.add(i);
-								} else if (nw.index == aNodeWrapper.index) {
-									if (nodeB.index >= nw.index) {
-										// implies nodeB.index > nw.index
-										if ((aNodeWrapper.layer > nw.layer
-												&& nodeB.layer > aNodeWrapper.layer)
-												|| (aNodeWrapper.layer < nw.layer
-														&& aNodeWrapper.layer > nodeB.layer)) {
-											// top-left or bottom-left quarter
-											numOfCrosses++;
-											alreadyCrossed.add(i);
-										}
-									} else if (nodeA.index <= nw.index) {
-										// implies nodeA.index < nw.index
-										if ((aNodeWrapper.layer > nw.layer
-												&& nw.layer > nodeA.layer)
-												|| (aNodeWrapper.layer < nw.layer
-														&& nw.layer < nodeA.layer)) {
-											// top-right or bottom-right quarter
-											numOfCrosses++;
-											alreadyCrossed.add(i);
-										}
-									}
-								}
-							}
-						}
+		private static NodeWrapper[] neighbors(
+				Map<NodeWrapper, NodeWrapper[]> side, NodeWrapper nw) {
+			NodeWrapper[] neighbors = side.get(nw);
+			return neighbors == null ? NO_NEIGHBORS : neighbors;
+		}
+
+		private static int crossings(NodeWrapper[] left, NodeWrapper[] right) {
+			if (left.length == 0 || right.length == 0)
+				return 0;
+			int[] l = sortedIndices(left);
+			int[] r = sortedIndices(right);
+			// count pairs where the left neighbor is placed after the right one
+			int count = 0;
+			int i = 0;
+			for (int j = 0; j < r.length; j++) {
+				while (i < l.length && l[i] <= r[j])
+					i++;
+				count += l.length - i;
+			}
+			return count;
+		}
+
+		private static int[] sortedIndices(NodeWrapper[] wrappers) {
+			int[] indices = new int[wrappers.length];
+			for (int i = 0; i < wrappers.length; i++)
+				indices[i] = wrappers[i].index;
+			Arrays.sort(indices);
+			return indices;
+		}
+
+		/**
+		 * Returns the number of crossings between the edges that connect the
+		 * layer at the given index with the succeeding layer. Returns
+		 * <code>0</code> if there is no such pair of layers.
+		 * 
+		 * @param layerIndex
+		 *            The index of the upper layer.
+		 * @return The number of crossings between the given layer and the
+		 *         succeeding layer.
+		 */
+		public int crossings(int layerIndex) {
+			if (layerIndex < 0 || layerIndex + 1 >= layers.size())
+				return 0;
+			List<NodeWrapper> north = layers.get(layerIndex);
+			List<NodeWrapper> south = layers.get(layerIndex + 1);
+			if (north.isEmpty() || south.isEmpty())
+				return 0;
+
+			// accumulator tree with the south positions as leaves
+			int firstIndex = 1;
+			while (firstIndex < south.size())
+				firstIndex *= 2;
+			int[] tree = new int[2 * firstIndex - 1];
+			firstIndex -= 1;
+			int count = 0;
+
+			// insert the south positions of the edges in lexicographical
+			// order of their (north, south) positions
+			for (NodeWrapper nw : north) {
+				NodeWrapper[] neighbors = neighbors(below, nw);
+				int[] positions = sortedIndices(neighbors);
+				for (int i = 0; i < positions.length; i++) {
+					int index = positions[i] + firstIndex;
+					tree[index]++;
+					while (index > 0) {
+						if (index % 2 != 0)
+							count += tree[index + 1];
+						index = (index - 1) / 2;
+						tree[index]++;
 					}
 				}
 			}
+			return count;
+		}
 
-			return numOfCrosses;
+		/**
+		 * Returns the total number of crossings between all adjacent layers.
+		 * 
+		 * @return The total number of crossings between all adjacent layers.
+		 */
+		public int crossings() {
+			int count = 0;
+			for (int i = 0; i + 1 < layers.size(); i++)
+				count += crossings(i);
+			return count;
 		}
+	}
+
+	/**
+	 * Implements the CrossingReducer interface. This algorithm divides each
+	 * layer by a pivot node based on the relative position of connected nodes
+	 * and decides which side of the pivot point it should be for the fewer edge
+	 * crossing.
+	 * 
+	 * @author Adam Kovacs
+	 * 
+	 */
+	public static class SplitCrossingReducer implements CrossingReducer {
+		private CrossingCounter counter;
 
 		/**
 		 * Selects the pivot node by random and decides the order.
@@ -399,20 +616,18 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			// NodeWrapper pivot = layer.get(0);
 			// NodeWrapper pivot = layer.get((int)(layer.size() / 2));
 			for (NodeWrapper node : layer) {
-				if (!node.equals(pivot) && node.node != null
-						&& pivot.node != null) {
-					int num1 = numberOfCrosses(node, pivot);
-					int num2 = numberOfCrosses(pivot, node);
+				if (!node.equals(pivot)) {
+					int num1 = counter.crossings(node, pivot);
+					int num2 = counter.crossings(pivot, node);
 					if (num1 < num2)
 						left.add(node);
 					else if (num1 > num2)
 						right.add(node);
 					else {
 						if (num1 == num2 && num1 > 0) {
-							int tmpindex = map.get(pivot.node).index;
-							map.get(pivot.node).index = map
-									.get(node.node).index;
-							map.get(node.node).index = tmpindex;
+							int tmpindex = pivot.index;
+							pivot.index = node.index;
+							node.index = tmpindex;
 						}
 						if (node.index < pivot.index)
 							left.add(node);
@@ -429,16 +644,32 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			return res;
 		}
 
+		private static void updateIndex(List<NodeWrapper> list) {
+			for (int index = 0; index < list.size(); index++)
+				list.get(index).index = index;
+		}
+
 		public void crossReduction(List<List<NodeWrapper>> nodes) {
-			// Building the map
-			for (List<NodeWrapper> layer : nodes)
-				for (NodeWrapper nw : layer)
-					map.put(nw.node, nw);
+			counter = new CrossingCounter(nodes);
 			for (int i = 0; i < nodes.size(); i++) {
-				if (!nodes.get(i).isEmpty()) {
-					splitHeuristic(nodes.get(i));
+				List<NodeWrapper> layer = nodes.get(i);
+				if (!layer.isEmpty()) {
+					int before = counter.crossings(i - 1) + counter.crossings(i);
+					List<NodeWrapper> original = new ArrayList<>(layer);
+					List<NodeWrapper> split = splitHeuristic(layer);
+					layer.clear();
+					layer.addAll(split);
+					updateIndex(layer);
+					// only keep the new order if it does not add crossings
+					if (counter.crossings(i - 1)
+							+ counter.crossings(i) > before) {
+						layer.clear();
+						layer.addAll(original);
+						updateIndex(layer);
+					}
 				}
 			}
+			counter = null;
 		}
 	}
 
@@ -451,122 +682,8 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 	 * 
 	 */
 	public static class GreedyCrossingReducer implements CrossingReducer {
-		private final Map<Node, NodeWrapper> map = new IdentityHashMap<>();
-		private List<List<NodeWrapper>> layers = new ArrayList<>();
-		private Map<Integer, Integer> crossesForLayers = new IdentityHashMap<>();
-
-		/**
-		 * Filters the multiple connections from the two arrays.
-		 * 
-		 * @param a
-		 * @param b
-		 * @return
-		 */
-		private ArrayList<Node> unionOfNodes(Collection<Node> a,
-				Collection<Node> b) {
-			ArrayList<Node> res = new ArrayList<>(a);
-			for (Node n : b) {
-				if (!res.contains(n)) {
-					res.add(n);
-				}
-			}
-			return res;
-		}
-
-		/**
-		 * Returns the number of crosses between the two nodes and those
-		 * connected to them.
-		 * 
-		 * @param nodeA
-		 * @param nodeB
-		 * @return
-		 */
-		private int numberOfCrosses(NodeWrapper nodeA, NodeWrapper nodeB) {
-			int numOfCrosses = 0;
-			if (nodeA.equals(nodeB))
-				return 0;
-
-			// Filter nodes connected with bidirectional edges
-			ArrayList<Node> adjacentNodesOfA = unionOfNodes(
-					nodeA.node.getPredecessorNodes(),
-					nodeA.node.getSuccessorNodes());
-			ArrayList<Node> adjacentNodesOfB = unionOfNodes(
-					nodeB.node.getPredecessorNodes(),
-					nodeB.node.getSuccessorNodes());
-
-			for (Node aNode : adjacentNodesOfA) {
-				ArrayList<Integer> alreadyCrossed = new ArrayList<>();
-				NodeWrapper aNodeWrapper = map.get(aNode);
-				for (int i = 0; i < adjacentNodesOfB.size(); i++) {
-					NodeWrapper nw = map.get(adjacentNodesOfB.get(i));
-					if (!alreadyCrossed.contains(i) && nw != null) {
-						// only if on the same side
-						if ((nw.layer > nodeA.layer
-								&& aNodeWrapper.layer > nodeA.layer)
-								|| (nw.layer < nodeA.layer
-										&& aNodeWrapper.layer < nodeA.layer)) {
-							if (nodeA.index < nodeB.index) {
-								if (aNodeWrapper.index > nw.index) {
-									numOfCrosses++;
-									alreadyCrossed.add(i);
-								} else if (nw.index == aNodeWrapper.index) {
-									if (nodeA.index >= nw.index) {
-										// implies nodeB.index > nw.index
-										if ((aNodeWrapper.layer > nw.layer
-												&& nodeA.layer < nw.layer)
-												|| (aNodeWrapper.layer < nw.layer
-														&& nw.layer < nodeA.layer)) {
-											// top-left or bottom-left quarter
-											numOfCrosses++;
-											alreadyCrossed.add(i);
-										}
-									} else if (nodeB.index <= nw.index) {
-										// implies nodeA.index < nw.index
-										if ((aNodeWrapper.layer > nw.layer
-												&& aNodeWrapper.layer < nodeB.layer)
-												|| (aNodeWrapper.layer < nw.layer
-														&& aNodeWrapper.layer > nodeB.layer)) {
-											// top-right or bottom-right quarter
-											numOfCrosses++;
-											alreadyCrossed.add(i);
-										}
-									}
-								}
-							} else if (nodeA.index > nodeB.index) {
-								if (aNodeWrapper.index < nw.index) {
-									numOfCrosses++;
-									alreadyCrossed.add(i);
-								} else if (nw.index == aNodeWrapper.index) {
-									if (nodeB.index >= nw.index) {
-										// implies nodeB.index > nw.index
-										if ((aNodeWrapper.layer > nw.layer
-												&& nodeB.layer > aNodeWrapper.layer)
-												|| (aNodeWrapper.layer < nw.layer
-														&& aNodeWrapper.layer > nodeB.layer)) {
-											// top-left or bottom-left quarter
-											numOfCrosses++;
-											alreadyCrossed.add(i);
-										}
-									} else if (nodeA.index <= nw.index) {
-										// implies nodeA.index < nw.index
-										if ((aNodeWrapper.layer > nw.layer
-												&& nw.layer > nodeA.layer)
-												|| (aNodeWrapper.layer < nw.layer
-														&& nw.layer < nodeA.layer)) {
-											// top-right or bottom-right quarter
-											numOfCrosses++;
-											alreadyCrossed.add(i);
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-
-			return numOfCrosses;
-		}
+		private static final int MAX_SWEEPS = 35;
+		private CrossingCounter counter;
 
 		/**
 		 * Iterates the list and switches that results in less crossings.
@@ -576,61 +693,39 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		 */
 		private boolean greedyHeuristic(List<NodeWrapper> layer) {
 			boolean res = false;
-			if (layer.size() > 1) {
-				for (int i = 0; i < layer.size() - 1; i++) {
-					if (layer.get(i).node != null
-							&& layer.get(i + 1).node != null) {
-						int num1 = numberOfCrosses(layer.get(i),
-								layer.get(i + 1));
-						int num2 = numberOfCrosses(layer.get(i + 1),
-								layer.get(i));
-						if (num1 > num2 || (num1 == num2 && num1 > 0)) {
-							if (!crossesForLayers
-									.containsKey((layer.get(i).layer))
-									|| crossesForLayers
-											.get(layer.get(i).layer) > num2) {
-								crossesForLayers.put(layer.get(i).layer, num2);
-								res = true;
-								int level = layer.get(0).layer;
-
-								NodeWrapper tmp = layers.get(level).get(i);
-								int tmpindex = layers.get(level).get(i).index;
-								layers.get(level).get(i).index = layers
-										.get(level).get(i + 1).index;
-								layers.get(level).set(i,
-										layers.get(level).get(i + 1));
-								layers.get(level).get(i + 1).index = tmpindex;
-								layers.get(level).set(i + 1, tmp);
-							}
-						}
-					}
+			for (int i = 0; i < layer.size() - 1; i++) {
+				NodeWrapper first = layer.get(i);
+				NodeWrapper second = layer.get(i + 1);
+				int num1 = counter.crossings(first, second);
+				if (num1 > 0 && counter.crossings(second, first) < num1) {
+					res = true;
+					int tmpindex = first.index;
+					first.index = second.index;
+					second.index = tmpindex;
+					layer.set(i, second);
+					layer.set(i + 1, first);
 				}
 			}
 			return res;
 		}
 
 		public void crossReduction(List<List<NodeWrapper>> nodes) {
-			crossesForLayers.clear();
-			layers = nodes;
-
-			// Builds the map
-			for (List<NodeWrapper> layer : nodes)
-				for (NodeWrapper node : layer)
-					map.put(node.node, node);
-
-			// After three iteration with no change it stops
-			int iteration = 0;
-			boolean change = false;
-			while (iteration < 3) {
+			counter = new CrossingCounter(nodes);
+
+			// Each swap reduces the number of crossings, so that the iteration
+			// stops when no swap is possible any more. The number of sweeps is
+			// bounded nevertheless, because edges that span multiple layers
+			// are only approximated.
+			boolean change = true;
+			for (int sweep = 0; change && sweep < MAX_SWEEPS; sweep++) {
 				change = false;
 				for (int i = 0; i < nodes.size(); i++) {
-					if (greedyHeuristic(layers.get(i))) {
+					if (greedyHeuristic(nodes.get(i))) {
 						change = true;
 					}
 				}
-				if (!change)
-					iteration++;
 			}
+			counter = null;
 		}
 	}
 
@@ -691,9 +786,12 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		} // Dummy to connect two NodeLayout objects
 
 		/**
-		 * Constructs a new padding {@link NodeWrapper} (layer -1).
+		 * Constructs a new padding {@link NodeWrapper} (layer -1). Padding
+		 * {@link NodeWrapper}s can be inserted into the layers by custom
+		 * {@link CrossingReducer}s and are ignored by the
+		 * {@link CrossingCounter}.
 		 */
-		NodeWrapper() {
+		public NodeWrapper() {
 			this(null, PADDING);
 		} // Padding for final refinement phase
 
@@ -721,6 +819,25 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			succ.add(node);
 		}
 
+		/**
+		 * Returns the wrapped {@link Node}, or <code>null</code> if this
+		 * {@link NodeWrapper} is a dummy or padding node.
+		 * 
+		 * @return The wrapped {@link Node}.
+		 */
+		public Node getNode() {
+			return node;
+		}
+
+		/**
+		 * Returns the layer this {@link NodeWrapper} is in.
+		 * 
+		 * @return The layer this {@link NodeWrapper} is in.
+		 */
+		public int getLayer() {
+			return layer;
+		}
+
 		/**
 		 * Returns <code>true</code> if this {@link NodeWrapper} is a dummy.
 		 * Otherwise returns <code>false</code>.
@@ -1210,16 +1327,1036 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 
 	}
 
+	/**
+	 * A {@link LayerProvider} that assigns layers using the network simplex
+	 * algorithm of Gansner et al. (http://dx.doi.org/10.1109/32.221135). The
+	 * layering minimizes the total length of all edges, so that fewer dummy
+	 * nodes have to be inserted for long edges. Cycles are broken in advance by
+	 * reversing the back edges of a depth first search. In contrast to the
+	 * {@link SimpleLayerProvider}, the number of layers is not limited.
+	 * 
+	 * @author zhaosongvip
+	 */
+	public static class NetworkSimplexLayerProvider implements LayerProvider {
+
+		private static final int MINLEN = 1;
+
+		// edges (after cycle breaking and merging of parallel edges)
+		private int[] tail;
+		private int[] head;
+		private int[] weight;
+		private int[][] incident;
+
+		// the ranks and the tight spanning tree of the current component
+		private int[] rank;
+		private boolean[] treeEdge;
+		private int[][] treeIncident;
+		private int[] treeDegree;
+		private int[] parent;
+		private int[] parentEdge;
+		private int[] low;
+		private int[] lim;
+		private int[] cutValue;
+		private int[] next;
+		private int[] stack;
+		private int searchStart;
+
+		public List<List<NodeWrapper>> calculateLayers(List<Node> nodes) {
+			int n = nodes.size();
+			Map<Node, Integer> ids = new IdentityHashMap<>();
+			for (int i = 0; i < n; i++)
+				ids.put(nodes.get(i), i);
+			List<List<Integer>> out = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				List<Integer> targets = new ArrayList<>();
+				for (Edge e : nodes.get(i).getOutgoingEdges()) {
+					Integer j = ids.get(e.getTarget());
+					if (j != null && j != i)
+						targets.add(j);
+				}
+				out.add(targets);
+			}
+			initEdges(n, breakCycles(out));
+
+			rank = new int[n];
+			treeEdge = new boolean[tail.length];
+			treeIncident = new int[n][];
+			treeDegree = new int[n];
+			parent = new int[n];
+			parentEdge = new int[n];
+			low = new int[n];
+			lim = new int[n];
+			cutValue = new int[n];
+			next = new int[n];
+			stack = new int[n];
+			for (int[] component : components(n))
+				rankComponent(component);
+
+			return createLayers(nodes);
+		}
+
+		/**
+		 * Reverses the back edges of a depth first search, so that the
+		 * resulting graph is acyclic. Returns the edges as pairs of tail and
+		 * head.
+		 */
+		private static List<int[]> breakCycles(List<List<Integer>> out) {
+			int n = out.size();
+			List<int[]> edges = new ArrayList<>();
+			// 0 = unvisited, 1 = on stack, 2 = finished
+			int[] state = new int[n];
+			int[] stack = new int[n];
+			int[] next = new int[n];
+			for (int root = 0; root < n; root++) {
+				if (state[root] != 0)
+					continue;
+				int size = 0;
+				stack[size++] = root;
+				state[root] = 1;
+				while (size > 0) {
+					int u = stack[size - 1];
+					if (next[u] < out.get(u).size()) {
+						int v = out.get(u).get(next[u]++);
+						if (state[v] == 1) {
+							edges.add(new int[] { v, u });
+						} else {
+							edges.add(new int[] { u, v });
+							if (state[v] == 0) {
+								state[v] = 1;
+								stack[size++] = v;
+							}
+						}
+					} else {
+						state[u] = 2;
+						size--;
+					}
+				}
+			}
+			return edges;
+		}
+
+		/**
+		 * Merges parallel edges (summing up their weights) and builds the
+		 * incidence lists.
+		 */
+		private void initEdges(int n, List<int[]> edges) {
+			Map<Long, Integer> merged = new HashMap<>();
+			List<int[]> unique = new ArrayList<>();
+			List<Integer> weights = new ArrayList<>();
+			for (int[] e : edges) {
+				Long key = (long) e[0] * n + e[1];
+				Integer index = merged.get(key);
+				if (index == null) {
+					merged.put(key, unique.size());
+					unique.add(e);
+					weights.add(1);
+				} else {
+					weights.set(index, weights.get(index) + 1);
+				}
+			}
+			int m = unique.size();
+			tail = new int[m];
+			head = new int[m];
+			weight = new int[m];
+			int[] degree = new int[n];
+			for (int i = 0; i < m; i++) {
+				tail[i] = unique.get(i)[0];
+				head[i] = unique.get(i)[1];
+				weight[i] = weights.get(i);
+				degree[tail[i]]++;
+				degree[head[i]]++;
+			}
+			incident = new int[n][];
+			for (int v = 0; v < n; v++)
+				incident[v] = new int[degree[v]];
+			Arrays.fill(degree, 0);
+			for (int i = 0; i < m; i++) {
+				incident[tail[i]][degree[tail[i]]++] = i;
+				incident[head[i]][degree[head[i]]++] = i;
+			}
+		}
+
+		private List<int[]> components(int n) {
+			List<int[]> components = new ArrayList<>();
+			boolean[] visited = new boolean[n];
+			int[] queue = new int[n];
+			for (int root = 0; root < n; root++) {
+				if (visited[root])
+					continue;
+				int size = 0;
+				queue[size++] = root;
+				visited[root] = true;
+				for (int i = 0; i < size; i++) {
+					for (int e : incident[queue[i]]) {
+						int v = tail[e] == queue[i] ? head[e] : tail[e];
+						if (!visited[v]) {
+							visited[v] = true;
+							queue[size++] = v;
+						}
+					}
+				}
+				components.add(Arrays.copyOf(queue, size));
+			}
+			return components;
+		}
+
+		private int slack(int e) {
+			return rank[head[e]] - rank[tail[e]] - MINLEN;
+		}
+
+		private int other(int e, int v) {
+			return tail[e] == v ? head[e] : tail[e];
+		}
+
+		/**
+		 * Computes an optimal ranking for the given connected component, so
+		 * that its minimal rank is <code>0</code>.
+		 */
+		private void rankComponent(int[] component) {
+			initRank(component);
+			feasibleTree(component);
+			initCutValues(component);
+			int e;
+			while ((e = leaveEdge(component)) >= 0) {
+				exchange(e, enterEdge(e, component));
+			}
+			int min = Integer.MAX_VALUE;
+			for (int v : component)
+				min = Math.min(min, rank[v]);
+			for (int v : component)
+				rank[v] -= min;
+		}
+
+		/**
+		 * Assigns an initial feasible ranking using the longest path from the
+		 * sources.
+		 */
+		private void initRank(int[] component) {
+			int[] inDegree = new int[rank.length];
+			for (int v : component) {
+				for (int e : incident[v])
+					if (head[e] == v)
+						inDegree[v]++;
+			}
+			int[] queue = new int[component.length];
+			int size = 0;
+			for (int v : component) {
+				rank[v] = 0;
+				if (inDegree[v] == 0)
+					queue[size++] = v;
+			}
+			for (int i = 0; i < size; i++) {
+				int u = queue[i];
+				for (int e : incident[u]) {
+					if (tail[e] != u)
+						continue;
+					int v = head[e];
+					rank[v] = Math.max(rank[v], rank[u] + MINLEN);
+					if (--inDegree[v] == 0)
+						queue[size++] = v;
+				}
+			}
+		}
+
+		/**
+		 * Finds a spanning tree of tight edges, shifting the ranks of the tree
+		 * nodes until all nodes of the component are included.
+		 */
+		private void feasibleTree(int[] component) {
+			for (int v : component)
+				treeIncident[v] = new int[incident[v].length];
+			boolean[] inTree = new boolean[rank.length];
+			int[] members = new int[component.length];
+			int size = 0;
+			members[size++] = component[0];
+			inTree[component[0]] = true;
+			while (true) {
+				// grow the tree along tight edges
+				for (int i = 0; i < size; i++) {
+					int u = members[i];
+					for (int e : incident[u]) {
+						int v = other(e, u);
+						if (!inTree[v] && slack(e) == 0) {
+							inTree[v] = true;
+							members[size++] = v;
+							addTreeEdge(e);
+						}
+					}
+				}
+				if (size == component.length)
+					return;
+				// find an incident edge with minimal slack
+				int best = -1;
+				for (int i = 0; i < size; i++) {
+					for (int e : incident[members[i]]) {
+						if (inTree[tail[e]] != inTree[head[e]]
+								&& (best < 0 || slack(e) < slack(best)))
+							best = e;
+					}
+				}
+				int delta = inTree[tail[best]] ? slack(best) : -slack(best);
+				for (int i = 0; i < size; i++)
+					rank[members[i]] += delta;
+			}
+		}
+
+		private void addTreeEdge(int e) {
+			treeEdge[e] = true;
+			treeIncident[tail[e]][treeDegree[tail[e]]++] = e;
+			treeIncident[head[e]][treeDegree[head[e]]++] = e;
+		}
+
+		private void removeTreeEdge(int e) {
+			treeEdge[e] = false;
+			for (int v : new int[] { tail[e], head[e] }) {
+				for (int i = 0; i < treeDegree[v]; i++) {
+					if (treeIncident[v][i] == e) {
+						treeIncident[v][i] = treeIncident[v][--treeDegree[v]];
+						break;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Computes parent pointers, as well as low and lim values (postorder
+		 * numbers) for the tree, and re-computes the ranks, so that all tree
+		 * edges are tight.
+		 */
+		private void initLowLim(int[] component) {
+			int root = component[0];
+			parent[root] = -1;
+			parentEdge[root] = -1;
+			initLowLim(root, 1);
+		}
+
+		/**
+		 * Computes parent pointers, low and lim values, and ranks for the
+		 * subtree below the given node, whose parent pointer and rank have to
+		 * be valid already. The postorder numbers start at the given value.
+		 */
+		private void initLowLim(int root, int counter) {
+			int size = 0;
+			stack[size++] = root;
+			next[root] = 0;
+			low[root] = counter;
+			while (size > 0) {
+				int u = stack[size - 1];
+				if (next[u] < treeDegree[u]) {
+					int e = treeIncident[u][next[u]++];
+					if (e == parentEdge[u])
+						continue;
+					int v = other(e, u);
+					parent[v] = u;
+					parentEdge[v] = e;
+					rank[v] = rank[u] + (tail[e] == u ? MINLEN : -MINLEN);
+					low[v] = counter;
+					next[v] = 0;
+					stack[size++] = v;
+				} else {
+					lim[u] = counter++;
+					size--;
+				}
+			}
+		}
+
+		private boolean isDescendant(int v, int root) {
+			return low[root] <= lim[v] && lim[v] <= lim[root];
+		}
+
+		/**
+		 * Computes the cut value of the tree edge between the given node and
+		 * its parent, assuming that the cut values of the tree edges to its
+		 * children are already computed.
+		 */
+		private int computeCutValue(int child) {
+			int p = parent[child];
+			boolean childIsTail = tail[parentEdge[child]] == child;
+			int value = weight[parentEdge[child]];
+			for (int e : incident[child]) {
+				int v = other(e, child);
+				if (v == p)
+					continue;
+				boolean pointsToHead = (tail[e] == child) == childIsTail;
+				value += pointsToHead ? weight[e] : -weight[e];
+				if (treeEdge[e]) {
+					value += pointsToHead ? -cutValue[v] : cutValue[v];
+				}
+			}
+			return value;
+		}
+
+		private void initCutValues(int[] component) {
+			initLowLim(component);
+			// process children before their parents, i.e. in postorder
+			int[] postorder = new int[component.length];
+			for (int v : component)
+				postorder[lim[v] - 1] = v;
+			for (int v : postorder) {
+				if (parent[v] >= 0)
+					cutValue[v] = computeCutValue(v);
+			}
+			searchStart = 0;
+		}
+
+		/**
+		 * Returns a tree edge with a negative cut value (identified by its
+		 * child node), or <code>-1</code> if the ranking is optimal. The search
+		 * continues where the last one stopped.
+		 */
+		private int leaveEdge(int[] component) {
+			for (int i = 0; i < component.length; i++) {
+				int v = component[(searchStart + i) % component.length];
+				if (parent[v] >= 0 && cutValue[v] < 0) {
+					searchStart = (searchStart + i + 1) % component.length;
+					return parentEdge[v];
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Returns the non-tree edge with minimal slack that reconnects the two
+		 * components that result from removing the given tree edge. Only the
+		 * edges incident to the subtree below the leaving edge are considered,
+		 * as the low and lim values are only valid for the current component.
+		 */
+		private int enterEdge(int leaving, int[] component) {
+			int u = tail[leaving];
+			int v = head[leaving];
+			// the child of the tree edge roots the component without the root
+			boolean flip = lim[u] > lim[v];
+			int subtree = flip ? v : u;
+			int best = -1;
+			for (int w : component) {
+				if (!isDescendant(w, subtree))
+					continue;
+				for (int e : incident[w]) {
+					// the entering edge has to cross the cut in the opposite
+					// direction than the leaving edge
+					if ((tail[e] == w) != flip)
+						continue;
+					if (isDescendant(other(e, w), subtree))
+						continue;
+					if (best < 0 || slack(e) < slack(best))
+						best = e;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * Replaces the leaving by the entering tree edge. Only the subtree
+		 * below the lowest common ancestor of the end points of the entering
+		 * edge (within the old tree) is restructured, so that the low and lim
+		 * values and ranks are only re-computed for it; as it keeps its nodes,
+		 * it keeps its postorder range as well. The cut values are updated
+		 * incrementally: only those of the tree edges on the path between the
+		 * end points of the leaving edge (within the new tree) change.
+		 */
+		private void exchange(int leaving, int entering) {
+			int x = tail[entering];
+			int y = head[entering];
+			int top = x;
+			while (!isDescendant(y, top))
+				top = parent[top];
+			removeTreeEdge(leaving);
+			addTreeEdge(entering);
+			initLowLim(top, low[top]);
+			int a = tail[leaving];
+			int b = head[leaving];
+			// find the lowest common ancestor of both end points
+			int lca = a;
+			while (!isDescendant(b, lca))
+				lca = parent[lca];
+			for (int v : new int[] { a, b }) {
+				for (; v != lca; v = parent[v])
+					cutValue[v] = computeCutValue(v);
+			}
+		}
+
+		private List<List<NodeWrapper>> createLayers(List<Node> nodes) {
+			List<List<NodeWrapper>> layers = new ArrayList<>();
+			NodeWrapper[] wrappers = new NodeWrapper[nodes.size()];
+			for (int v = 0; v < wrappers.length; v++) {
+				while (layers.size() <= rank[v])
+					layers.add(new ArrayList<NodeWrapper>());
+				wrappers[v] = new NodeWrapper(nodes.get(v), rank[v]);
+				layers.get(rank[v]).add(wrappers[v]);
+			}
+			// chain the end points of long edges over dummy nodes
+			for (int e = 0; e < tail.length; e++) {
+				NodeWrapper predecessor = wrappers[tail[e]];
+				for (int level = rank[tail[e]] + 1; level < rank[head[e]]; level++) {
+					NodeWrapper dummy = new NodeWrapper(level);
+					dummy.addPredecessor(predecessor);
+					predecessor.addSuccessor(dummy);
+					layers.get(level).add(dummy);
+					predecessor = dummy;
+				}
+				wrappers[head[e]].addPredecessor(predecessor);
+				predecessor.addSuccessor(wrappers[head[e]]);
+			}
+			for (List<NodeWrapper> layer : layers) {
+				for (int index = 0; index < layer.size(); index++)
+					layer.get(index).index = index;
+			}
+			// release the data of this run
+			tail = head = weight = null;
+			incident = treeIncident = null;
+			rank = treeDegree = parent = parentEdge = low = lim = cutValue = null;
+			next = stack = null;
+			treeEdge = null;
+			return layers;
+		}
+
+	}
+
+	/**
+	 * An interface for assigning coordinates to the nodes of a layered graph
+	 * after the layers have been computed and ordered.
+	 * 
+	 * @author zhaosongvip
+	 */
+	public static interface CoordinateAssigner {
+
+		/**
+		 * Assigns a location to each {@link Node} that is wrapped by one of the
+		 * given {@link NodeWrapper}s. The layers and the order of the
+		 * {@link NodeWrapper}s within each layer are not changed.
+		 * 
+		 * @param layers
+		 *            The ordered layers, represented each as a list of
+		 *            {@link NodeWrapper}s.
+		 * @param direction
+		 *            The {@link Direction} of the layout.
+		 * @param bounds
+		 *            The layout area.
+		 */
+		void assignCoordinates(List<List<NodeWrapper>> layers,
+				Direction direction, Rectangle bounds);
+	}
+
+	/**
+	 * Places each node in the center of a uniform grid cell that is determined
+	 * by its layer and its index within that layer.
+	 * 
+	 * @author Rene Kuhlemann
+	 */
+	public static class GridCoordinateAssigner implements CoordinateAssigner {
+
+		public void assignCoordinates(List<List<NodeWrapper>> layers,
+				Direction direction, Rectangle bounds) {
+			int maxLayerSize = 0;
+			for (List<NodeWrapper> layer : layers)
+				if (layer.size() > maxLayerSize)
+					maxLayerSize = layer.size();
+			double dx = bounds.getWidth() / layers.size();
+			double dy = bounds.getHeight() / (maxLayerSize + 1);
+			for (List<NodeWrapper> layer : layers) {
+				for (NodeWrapper nw : layer) {
+					if (nw.node == null)
+						continue;
+					if (direction == Direction.HORIZONTAL)
+						LayoutProperties.setLocation(nw.node, new Point(
+								(nw.layer + 0.5d) * dx, (nw.index + 0.5d) * dy));
+					else
+						LayoutProperties.setLocation(nw.node, new Point(
+								(nw.index + 0.5d) * dx, (nw.layer + 0.5d) * dy));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Implements the CoordinateAssigner interface based on the linear-time
+	 * algorithm of Brandes and Köpf (http://dx.doi.org/10.1007/3-540-45848-4_3).
+	 * Four candidate placements are computed by aligning each node with the
+	 * median of its upper or lower neighbors while scanning from the left or
+	 * from the right. The candidates are compacted with respect to the node
+	 * sizes and finally balanced by averaging the two median candidate
+	 * coordinates of each node. Segments between two dummy nodes are always
+	 * preferred, so that long edges are drawn as straight lines.
+	 * 
+	 * The layers are evenly distributed across the layout area, as by the
+	 * {@link GridCoordinateAssigner}.
+	 * 
+	 * @author zhaosongvip
+	 */
+	public static class BrandesKoepfCoordinateAssigner
+			implements CoordinateAssigner {
+
+		/**
+		 * The default minimum spacing between two adjacent nodes of a layer.
+		 */
+		public static final double DEFAULT_NODE_SPACING = 20;
+
+		private final double nodeSpacing;
+
+		// nodes are identified by an index into the following arrays
+		private int n;
+		private int[][] layerIds;
+		private int[] pos;
+		private int[] layerOf;
+		private int[][] upper;
+		private int[][] lower;
+		// segments are identified by the position of their upper end point
+		// within the upper neighbors of their lower end point, offset by
+		// upperOffset of the lower end point
+		private int[] upperOffset;
+		private int[][] lowerSegment;
+		private double[] size;
+		private boolean[] dummy;
+		private final BitSet marked = new BitSet();
+
+		/**
+		 * Constructs a new {@link BrandesKoepfCoordinateAssigner} that uses
+		 * the {@link #DEFAULT_NODE_SPACING}.
+		 */
+		public BrandesKoepfCoordinateAssigner() {
+			this(DEFAULT_NODE_SPACING);
+		}
+
+		/**
+		 * Constructs a new {@link BrandesKoepfCoordinateAssigner} that uses
+		 * the given minimum spacing between adjacent nodes of a layer.
+		 * 
+		 * @param nodeSpacing
+		 *            The minimum spacing between two adjacent nodes of a
+		 *            layer.
+		 */
+		public BrandesKoepfCoordinateAssigner(double nodeSpacing) {
+			this.nodeSpacing = nodeSpacing;
+		}
+
+		public void assignCoordinates(List<List<NodeWrapper>> layers,
+				Direction direction, Rectangle bounds) {
+			if (layers.isEmpty())
+				return;
+			index(layers, direction);
+			markTypeOneConflicts();
+			double[][] candidates = new double[4][];
+			int[] root = new int[n];
+			int[] align = new int[n];
+			for (int i = 0; i < 4; i++) {
+				boolean down = i < 2;
+				boolean left = (i & 1) == 0;
+				alignVertically(down, left, root, align);
+				candidates[i] = compactHorizontally(left, root);
+			}
+			place(layers, balance(candidates), direction, bounds);
+			marked.clear();
+			upper = lower = layerIds = lowerSegment = null;
+		}
+
+		/**
+		 * Assigns an index to each {@link NodeWrapper} and computes the
+		 * neighbors of each in the adjacent layers. The neighbors are taken
+		 * from the predecessors and successors, or, if the layers are not
+		 * chained at all (e.g. when using the {@link DFSLayerProvider}), from
+		 * the graph edges that connect adjacent layers. As the indices are
+		 * assigned in layer order, the neighbors within a layer are ordered by
+		 * position when sorted by index.
+		 */
+		private void index(List<List<NodeWrapper>> layers,
+				Direction direction) {
+			Map<NodeWrapper, Integer> ids = new IdentityHashMap<>();
+			List<NodeWrapper> wrappers = new ArrayList<>();
+			boolean chained = false;
+			layerIds = new int[layers.size()][];
+			for (int l = 0; l < layers.size(); l++) {
+				List<NodeWrapper> layer = layers.get(l);
+				layerIds[l] = new int[layer.size()];
+				for (int i = 0; i < layer.size(); i++) {
+					NodeWrapper nw = layer.get(i);
+					layerIds[l][i] = wrappers.size();
+					ids.put(nw, wrappers.size());
+					wrappers.add(nw);
+					chained |= !nw.pred.isEmpty() || !nw.succ.isEmpty();
+				}
+			}
+
+			n = wrappers.size();
+			pos = new int[n];
+			layerOf = new int[n];
+			size = new double[n];
+			dummy = new boolean[n];
+			for (int l = 0; l < layerIds.length; l++) {
+				for (int i = 0; i < layerIds[l].length; i++) {
+					int id = layerIds[l][i];
+					NodeWrapper nw = wrappers.get(id);
+					pos[id] = i;
+					layerOf[id] = l;
+					dummy[id] = nw.node == null;
+					if (nw.node != null) {
+						Dimension d = LayoutProperties.getSize(nw.node);
+						if (d != null)
+							size[id] = direction == Direction.VERTICAL
+									? d.getWidth() : d.getHeight();
+					}
+				}
+			}
+
+			// determine the upper neighbors; the lower neighbors are derived
+			// from them so that both are consistent
+			int[][] candidates = chained ? null : edgeCandidates(wrappers);
+			int[] stamp = new int[n];
+			Arrays.fill(stamp, -1);
+			upper = new int[n][];
+			upperOffset = new int[n];
+			int[] lowerCount = new int[n];
+			int segments = 0;
+			for (int id = 0; id < n; id++) {
+				int[] neighbors;
+				int count = 0;
+				if (chained) {
+					NodeWrapper nw = wrappers.get(id);
+					neighbors = new int[nw.pred.size() + nw.succ.size()];
+					for (NodeWrapper p : nw.pred)
+						count = addUpper(id, ids.get(p), neighbors, count,
+								stamp);
+					for (NodeWrapper s : nw.succ)
+						count = addUpper(id, ids.get(s), neighbors, count,
+								stamp);
+				} else {
+					neighbors = new int[candidates[id].length];
+					for (int c : candidates[id])
+						count = addUpper(id, c, neighbors, count, stamp);
+				}
+				upper[id] = count == neighbors.length ? neighbors
+						: Arrays.copyOf(neighbors, count);
+				Arrays.sort(upper[id]);
+				upperOffset[id] = segments;
+				segments += count;
+				for (int u : upper[id])
+					lowerCount[u]++;
+			}
+			lower = new int[n][];
+			lowerSegment = new int[n][];
+			for (int id = 0; id < n; id++) {
+				lower[id] = new int[lowerCount[id]];
+				lowerSegment[id] = new int[lowerCount[id]];
+				lowerCount[id] = 0;
+			}
+			// lower neighbors are added in index order, i.e. by position
+			for (int id = 0; id < n; id++) {
+				for (int j = 0; j < upper[id].length; j++) {
+					int u = upper[id][j];
+					lower[u][lowerCount[u]] = id;
+					lowerSegment[u][lowerCount[u]++] = upperOffset[id] + j;
+				}
+			}
+		}
+
+		private int addUpper(int id, Integer neighbor, int[] neighbors,
+				int count, int[] stamp) {
+			if (neighbor == null || layerOf[neighbor] != layerOf[id] - 1
+					|| stamp[neighbor] == id)
+				return count;
+			stamp[neighbor] = id;
+			neighbors[count] = neighbor;
+			return count + 1;
+		}
+
+		/**
+		 * Collects the end points of the graph edges that connect adjacent
+		 * layers, indexed by the end point within the lower layer.
+		 */
+		private int[][] edgeCandidates(List<NodeWrapper> wrappers) {
+			int[][] candidates = new int[n][];
+			Map<Node, Integer> nodeIds = new IdentityHashMap<>();
+			Graph graph = null;
+			for (int id = 0; id < n; id++) {
+				Node node = wrappers.get(id).node;
+				if (node != null) {
+					nodeIds.put(node, id);
+					if (graph == null)
+						graph = node.getGraph();
+				}
+			}
+			int[] count = new int[n];
+			List<int[]> segments = new ArrayList<>();
+			if (graph != null) {
+				for (Edge edge : graph.getEdges()) {
+					Integer source = nodeIds.get(edge.getSource());
+					Integer target = nodeIds.get(edge.getTarget());
+					if (source == null || target == null)
+						continue;
+					if (layerOf[target] == layerOf[source] + 1)
+						segments.add(new int[] { source, target });
+					else if (layerOf[source] == layerOf[target] + 1)
+						segments.add(new int[] { target, source });
+					else
+						continue;
+					count[segments.get(segments.size() - 1)[1]]++;
+				}
+			}
+			for (int id = 0; id < n; id++) {
+				candidates[id] = new int[count[id]];
+				count[id] = 0;
+			}
+			for (int[] segment : segments)
+				candidates[segment[1]][count[segment[1]]++] = segment[0];
+			return candidates;
+		}
+
+		private boolean isInnerSegment(int upperId, int lowerId) {
+			return dummy[upperId] && dummy[lowerId];
+		}
+
+		/**
+		 * Marks all non-inner segments that cross an inner segment (a segment
+		 * between two dummy nodes), so that they are not used for alignment.
+		 */
+		private void markTypeOneConflicts() {
+			marked.clear();
+			for (int l = 1; l < layerIds.length; l++) {
+				int[] layer = layerIds[l];
+				int k0 = 0;
+				int scan = 0;
+				for (int l1 = 0; l1 < layer.length; l1++) {
+					int v = layer[l1];
+					int innerUpper = -1;
+					if (dummy[v]) {
+						for (int u : upper[v]) {
+							if (dummy[u]) {
+								innerUpper = u;
+								break;
+							}
+						}
+					}
+					if (l1 == layer.length - 1 || innerUpper >= 0) {
+						int k1 = innerUpper >= 0 ? pos[innerUpper]
+								: layerIds[l - 1].length - 1;
+						for (; scan <= l1; scan++) {
+							int w = layer[scan];
+							for (int j = 0; j < upper[w].length; j++) {
+								int u = upper[w][j];
+								if ((pos[u] < k0 || pos[u] > k1)
+										&& !isInnerSegment(u, w))
+									marked.set(upperOffset[w] + j);
+							}
+						}
+						k0 = k1;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Aligns each node with one of its median neighbors in the preceding
+		 * layer (according to the vertical direction) unless the segment is
+		 * marked or crosses a previously aligned segment.
+		 */
+		private void alignVertically(boolean down, boolean left, int[] root,
+				int[] align) {
+			for (int i = 0; i < n; i++) {
+				root[i] = i;
+				align[i] = i;
+			}
+			int h = layerIds.length;
+			for (int s = 1; s < h; s++) {
+				int[] layer = layerIds[down ? s : h - 1 - s];
+				int r = -1;
+				for (int k = 0; k < layer.length; k++) {
+					int v = layer[left ? k : layer.length - 1 - k];
+					int[] neighbors = down ? upper[v] : lower[v];
+					int d = neighbors.length;
+					for (int m = (d - 1) / 2; d > 0 && m <= d / 2; m++) {
+						if (align[v] != v)
+							break;
+						int u = neighbors[left ? m : d - 1 - m];
+						int pu = left ? pos[u]
+								: layerIds[layerOf[u]].length - 1 - pos[u];
+						boolean isMarked = marked.get(down
+								? upperOffset[v] + (left ? m : d - 1 - m)
+								: lowerSegment[v][left ? m : d - 1 - m]);
+						if (!isMarked && r < pu) {
+							align[u] = v;
+							root[v] = root[u];
+							align[v] = root[v];
+							r = pu;
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Places the blocks as close to each other as possible. The blocks
+		 * form a directed acyclic graph with an edge from the block of each
+		 * node to the block of its successor within the layer. The blocks are
+		 * first placed at their leftmost possible position (in topological
+		 * order), and afterwards moved towards their successors (in reverse
+		 * topological order).
+		 */
+		private double[] compactHorizontally(boolean left, int[] root) {
+			// collect the block graph edges
+			int edgeCount = 0;
+			int[] source = new int[n];
+			int[] target = new int[n];
+			double[] separation = new double[n];
+			for (int[] layer : layerIds) {
+				for (int k = 1; k < layer.length; k++) {
+					int u = layer[left ? k - 1 : layer.length - k];
+					int w = layer[left ? k : layer.length - 1 - k];
+					source[edgeCount] = root[u];
+					target[edgeCount] = root[w];
+					separation[edgeCount] = (size[u] + size[w]) / 2
+							+ nodeSpacing;
+					edgeCount++;
+				}
+			}
+			int[] outStart = new int[n + 1];
+			int[] inStart = new int[n + 1];
+			for (int e = 0; e < edgeCount; e++) {
+				outStart[source[e] + 1]++;
+				inStart[target[e] + 1]++;
+			}
+			for (int i = 0; i < n; i++) {
+				outStart[i + 1] += outStart[i];
+				inStart[i + 1] += inStart[i];
+			}
+			int[] outEdges = new int[edgeCount];
+			int[] inEdges = new int[edgeCount];
+			int[] outFill = Arrays.copyOf(outStart, n);
+			int[] inFill = Arrays.copyOf(inStart, n);
+			for (int e = 0; e < edgeCount; e++) {
+				outEdges[outFill[source[e]]++] = e;
+				inEdges[inFill[target[e]]++] = e;
+			}
+
+			// topological order of the blocks (Kahn)
+			int[] inDegree = new int[n];
+			for (int i = 0; i < n; i++)
+				inDegree[i] = inStart[i + 1] - inStart[i];
+			int[] order = new int[n];
+			int head = 0;
+			int tail = 0;
+			boolean[] ordered = new boolean[n];
+			for (int i = 0; i < n; i++) {
+				if (root[i] == i && inDegree[i] == 0) {
+					order[tail++] = i;
+					ordered[i] = true;
+				}
+			}
+			while (head < tail) {
+				int b = order[head++];
+				for (int j = outStart[b]; j < outStart[b + 1]; j++) {
+					int t = target[outEdges[j]];
+					if (--inDegree[t] == 0 && !ordered[t]) {
+						order[tail++] = t;
+						ordered[t] = true;
+					}
+				}
+			}
+			// guard against cycles, which only result from inconsistent input
+			for (int i = 0; i < n; i++)
+				if (root[i] == i && !ordered[i])
+					order[tail++] = i;
+
+			double[] blockX = new double[n];
+			for (int i = 0; i < tail; i++) {
+				int b = order[i];
+				for (int j = inStart[b]; j < inStart[b + 1]; j++) {
+					int e = inEdges[j];
+					blockX[b] = Math.max(blockX[b],
+							blockX[source[e]] + separation[e]);
+				}
+			}
+			for (int i = tail - 1; i >= 0; i--) {
+				int b = order[i];
+				double max = Double.POSITIVE_INFINITY;
+				for (int j = outStart[b]; j < outStart[b + 1]; j++) {
+					int e = outEdges[j];
+					max = Math.min(max, blockX[target[e]] - separation[e]);
+				}
+				if (max != Double.POSITIVE_INFINITY)
+					blockX[b] = Math.max(blockX[b], max);
+			}
+
+			double[] x = new double[n];
+			for (int i = 0; i < n; i++)
+				x[i] = left ? blockX[root[i]] : -blockX[root[i]];
+			return x;
+		}
+
+		/**
+		 * Aligns the candidate placements to the one with the smallest width
+		 * and returns the average of the two median coordinates of each node.
+		 */
+		private double[] balance(double[][] candidates) {
+			double[] min = new double[candidates.length];
+			double[] max = new double[candidates.length];
+			int smallest = 0;
+			for (int i = 0; i < candidates.length; i++) {
+				min[i] = Double.POSITIVE_INFINITY;
+				max[i] = Double.NEGATIVE_INFINITY;
+				for (int v = 0; v < n; v++) {
+					min[i] = Math.min(min[i], candidates[i][v] - size[v] / 2);
+					max[i] = Math.max(max[i], candidates[i][v] + size[v] / 2);
+				}
+				if (max[i] - min[i] < max[smallest] - min[smallest])
+					smallest = i;
+			}
+			for (int i = 0; i < candidates.length; i++) {
+				// left-aligned candidates are aligned at their minimum,
+				// right-aligned candidates at their maximum
+				double shift = (i & 1) == 0 ? min[smallest] - min[i]
+						: max[smallest] - max[i];
+				for (int v = 0; v < n; v++)
+					candidates[i][v] += shift;
+			}
+			double[] x = new double[n];
+			double[] values = new double[candidates.length];
+			for (int v = 0; v < n; v++) {
+				for (int i = 0; i < candidates.length; i++)
+					values[i] = candidates[i][v];
+				Arrays.sort(values);
+				x[v] = (values[1] + values[2]) / 2;
+			}
+			return x;
+		}
+
+		private void place(List<List<NodeWrapper>> layers, double[] x,
+				Direction direction, Rectangle bounds) {
+			boolean vertical = direction == Direction.VERTICAL;
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int v = 0; v < n; v++) {
+				min = Math.min(min, x[v] - size[v] / 2);
+				max = Math.max(max, x[v] + size[v] / 2);
+			}
+			double extent = vertical ? bounds.getWidth() : bounds.getHeight();
+			double offset = (vertical ? bounds.getX() : bounds.getY())
+					+ Math.max(0, (extent - (max - min)) / 2) - min;
+			double layerDistance = (vertical ? bounds.getHeight()
+					: bounds.getWidth()) / layers.size();
+			double layerStart = vertical ? bounds.getY() : bounds.getX();
+			for (int l = 0; l < layers.size(); l++) {
+				List<NodeWrapper> layer = layers.get(l);
+				double lc = layerStart + (l + 0.5d) * layerDistance;
+				for (int k = 0; k < layer.size(); k++) {
+					Node node = layer.get(k).node;
+					if (node == null)
+						continue;
+					double c = x[layerIds[l][k]] + offset;
+					LayoutProperties.setLocation(node,
+							vertical ? new Point(c, lc) : new Point(lc, c));
+				}
+			}
+		}
+	}
+
 	private List<List<NodeWrapper>> layers = new ArrayList<>();
 	private Map<Node, NodeWrapper> map = new IdentityHashMap<>();
 	private final Direction direction;
 	private final Dimension dimension;
 
-	// index of the last element in a layer after padding process
-	private int last;
-
 	private LayerProvider layerProvider;
 	private CrossingReducer crossingReducer;
+	private CoordinateAssigner coordinateAssigner;
+	private double incrementalThreshold = 0.5;
 
 	/**
 	 * Constructs a tree-like, layered layout of a directed graph.
@@ -1237,9 +2374,13 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 	 * 
 	 * @param crossing
 	 *            - implementation of CrossingReducer interface
+	 * 
+	 * @param coordinates
+	 *            - implementation of CoordinateAssigner interface
 	 */
 	public SugiyamaLayoutAlgorithm(Direction dir, Dimension dim,
-			LayerProvider layering, CrossingReducer crossing) {
+			LayerProvider layering, CrossingReducer crossing,
+			CoordinateAssigner coordinates) {
 		direction = dir;
 		dimension = dim;
 
@@ -1247,6 +2388,31 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 				: layering;
 		crossingReducer = (crossing == null) ? new BarycentricCrossingReducer()
 				: crossing;
+		coordinateAssigner = (coordinates == null)
+				? new GridCoordinateAssigner() : coordinates;
+	}
+
+	/**
+	 * Constructs a tree-like, layered layout of a directed graph, using a
+	 * {@link GridCoordinateAssigner}.
+	 * 
+	 * @param dir
+	 *            {@link Direction#HORIZONTAL}: left to right -
+	 *            {@link Direction#VERTICAL} : top to bottom
+	 * 
+	 * @param dim
+	 *            - desired size of the layout area. Uses the BOUNDS_PROPERTY of
+	 *            the LayoutContext if not set
+	 * 
+	 * @param layering
+	 *            - implementation of LayerProvider interface
+	 * 
+	 * @param crossing
+	 *            - implementation of CrossingReducer interface
+	 */
+	public SugiyamaLayoutAlgorithm(Direction dir, Dimension dim,
+			LayerProvider layering, CrossingReducer crossing) {
+		this(dir, dim, layering, crossing, null);
 	}
 
 	/**
@@ -1330,9 +2496,37 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		this(Direction.VERTICAL, null, null, null);
 	}
 
+	/**
+	 * Returns the maximum share of added and removed nodes up to which an
+	 * incremental layout pass is performed. Defaults to <code>0.5</code>.
+	 * 
+	 * @return The incremental threshold.
+	 */
+	public double getIncrementalThreshold() {
+		return incrementalThreshold;
+	}
+
+	/**
+	 * Sets the maximum share of added and removed nodes (relative to the
+	 * number of previously laid out nodes and added nodes) up to which an
+	 * incremental layout pass is performed. If more nodes changed, the
+	 * previous layers do not provide a meaningful starting point, so that a
+	 * clean layout pass is performed instead.
+	 * 
+	 * @param incrementalThreshold
+	 *            The new incremental threshold, between <code>0</code> (always
+	 *            clean) and <code>1</code> (always incremental).
+	 */
+	public void setIncrementalThreshold(double incrementalThreshold) {
+		this.incrementalThreshold = incrementalThreshold;
+	}
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
-		if (!clean)
+		if (!clean && !layers.isEmpty()
+				&& isIncrementalChange(layoutContext.getNodes())) {
+			applyIncrementalLayout(layoutContext);
 			return;
+		}
 		layers.clear();
 		map.clear();
 
@@ -1342,38 +2536,364 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			nodes.add(node);
 			nodes2.add(node);
 		}
+		layoutContext.beginLayoutPhase("layering",
+				ILayoutProgressMonitor.UNKNOWN);
 		layers = layerProvider.calculateLayers(nodes);
+		if (layoutContext.isLayoutCanceled())
+			return;
+		layoutContext.beginLayoutPhase("crossing reduction",
+				ILayoutProgressMonitor.UNKNOWN);
 		crossingReducer.crossReduction(layers);
+		if (layoutContext.isLayoutCanceled())
+			return;
 
 		for (List<NodeWrapper> layer : layers) {
-			if (layer.size() > last)
-				last = layer.size();
 			for (NodeWrapper nw : layer) {
 				map.put(nw.node, nw);
 			}
 		}
+		layoutContext.beginLayoutPhase("coordinate assignment",
+				ILayoutProgressMonitor.UNKNOWN);
 		calculatePositions(layoutContext);
 	}
 
+	/**
+	 * Returns <code>true</code> if the share of added and removed nodes does
+	 * not exceed the incremental threshold.
+	 */
+	private boolean isIncrementalChange(Node[] nodes) {
+		int kept = 0;
+		for (Node node : nodes)
+			if (map.containsKey(node))
+				kept++;
+		// dummy nodes are stored for the null key
+		int previous = map.size() - (map.containsKey(null) ? 1 : 0);
+		int added = nodes.length - kept;
+		int removed = previous - kept;
+		int total = previous + added;
+		return total == 0 || added + removed <= incrementalThreshold * total;
+	}
+
+	/**
+	 * Performs an incremental layout pass based on the layers and orders of
+	 * the previous layout pass. The previously laid out nodes keep their
+	 * layers and their relative order, and the dummy nodes of unchanged edges
+	 * keep their positions. Added nodes are assigned to the layer below their
+	 * lowest predecessor (or above their highest successor), and empty layers
+	 * are removed. Finally, the added nodes and dummy nodes are inserted using
+	 * a local crossing reduction, so that the effort is roughly proportional
+	 * to the size of the change.
+	 * 
+	 * @param layoutContext
+	 *            The {@link LayoutContext} that provides the nodes and edges.
+	 */
+	private void applyIncrementalLayout(LayoutContext layoutContext) {
+		layoutContext.beginLayoutPhase("layering",
+				ILayoutProgressMonitor.UNKNOWN);
+		Node[] nodes = layoutContext.getNodes();
+		Edge[] edges = layoutContext.getEdges();
+
+		// record the dummy positions of the previous edges
+		Map<Node, Map<Node, int[]>> previousChains = new IdentityHashMap<>();
+		for (List<NodeWrapper> layer : layers) {
+			for (NodeWrapper nw : layer) {
+				if (nw.node == null)
+					continue;
+				for (NodeWrapper next : nw.succ) {
+					List<Integer> indices = new ArrayList<>();
+					while (next.isDummy() && !next.succ.isEmpty()) {
+						indices.add(next.index);
+						next = next.succ.get(0);
+					}
+					if (next.node == null)
+						continue;
+					int[] chain = new int[indices.size()];
+					for (int i = 0; i < chain.length; i++)
+						chain[i] = indices.get(i);
+					Map<Node, int[]> chains = previousChains.get(nw.node);
+					if (chains == null) {
+						chains = new IdentityHashMap<>();
+						previousChains.put(nw.node, chains);
+					}
+					chains.put(next.node, chain);
+				}
+			}
+		}
+
+		// determine the neighbors along the relevant edges
+		Map<Node, List<Node>> predecessors = new IdentityHashMap<>();
+		Map<Node, List<Node>> successors = new IdentityHashMap<>();
+		for (Node node : nodes) {
+			predecessors.put(node, new ArrayList<Node>());
+			successors.put(node, new ArrayList<Node>());
+		}
+		for (Edge edge : edges) {
+			List<Node> sourceSuccessors = successors.get(edge.getSource());
+			List<Node> targetPredecessors = predecessors
+					.get(edge.getTarget());
+			if (sourceSuccessors != null && targetPredecessors != null
+					&& edge.getSource() != edge.getTarget()) {
+				sourceSuccessors.add(edge.getTarget());
+				targetPredecessors.add(edge.getSource());
+			}
+		}
+
+		// previously laid out nodes keep their layers, added nodes are
+		// assigned breadth-first, starting at the previously laid out nodes
+		Map<Node, Integer> layerOf = new IdentityHashMap<>();
+		List<Node> added = new ArrayList<>();
+		for (Node node : nodes) {
+			NodeWrapper previous = map.get(node);
+			if (previous != null)
+				layerOf.put(node, previous.layer);
+			else
+				added.add(node);
+		}
+		ArrayDeque<Node> queue = new ArrayDeque<>();
+		for (Node node : added) {
+			if (hasAssignedNeighbor(node, predecessors, successors, layerOf))
+				queue.add(node);
+		}
+		int nextAdded = 0;
+		while (layerOf.size() < nodes.length) {
+			if (queue.isEmpty()) {
+				// start a new component at the top
+				while (layerOf.containsKey(added.get(nextAdded)))
+					nextAdded++;
+				queue.add(added.get(nextAdded));
+			}
+			Node node = queue.poll();
+			if (layerOf.containsKey(node))
+				continue;
+			layerOf.put(node,
+					getInsertionLayer(node, predecessors, successors, layerOf));
+			for (Node neighbor : predecessors.get(node))
+				if (!layerOf.containsKey(neighbor))
+					queue.add(neighbor);
+			for (Node neighbor : successors.get(node))
+				if (!layerOf.containsKey(neighbor))
+					queue.add(neighbor);
+		}
+
+		// remove empty layers
+		List<Integer> usedLayers = new ArrayList<>(
+				new TreeSet<>(layerOf.values()));
+		Map<Integer, Integer> compactLayer = new HashMap<>();
+		for (int i = 0; i < usedLayers.size(); i++)
+			compactLayer.put(usedLayers.get(i), i);
+
+		// create the wrappers, remembering the previous positions as keys
+		List<List<NodeWrapper>> newLayers = new ArrayList<>();
+		for (int i = 0; i < usedLayers.size(); i++)
+			newLayers.add(new ArrayList<NodeWrapper>());
+		final Map<NodeWrapper, Double> keys = new IdentityHashMap<>();
+		Set<NodeWrapper> inserted = Collections
+				.newSetFromMap(new IdentityHashMap<NodeWrapper, Boolean>());
+		Map<Node, NodeWrapper> wrappers = new IdentityHashMap<>();
+		for (Node node : nodes) {
+			NodeWrapper nw = new NodeWrapper(node,
+					compactLayer.get(layerOf.get(node)));
+			wrappers.put(node, nw);
+			newLayers.get(nw.layer).add(nw);
+			NodeWrapper previous = map.get(node);
+			if (previous != null)
+				keys.put(nw, (double) previous.index);
+			else
+				inserted.add(nw);
+		}
+		// added nodes are initially placed at the barycenter of their
+		// previously laid out neighbors, or at the end of their layer
+		for (NodeWrapper nw : inserted) {
+			double sum = 0;
+			int count = 0;
+			for (List<Node> neighbors : Arrays.asList(
+					predecessors.get(nw.node), successors.get(nw.node))) {
+				for (Node neighbor : neighbors) {
+					Double key = keys.get(wrappers.get(neighbor));
+					if (key != null) {
+						sum += key;
+						count++;
+					}
+				}
+			}
+			keys.put(nw, count > 0 ? sum / count
+					: (double) newLayers.get(nw.layer).size());
+		}
+
+		// connect the wrappers, inserting dummies for long edges
+		Map<NodeWrapper, Set<NodeWrapper>> connected = new IdentityHashMap<>();
+		for (Edge edge : edges) {
+			NodeWrapper upper = wrappers.get(edge.getSource());
+			NodeWrapper lower = wrappers.get(edge.getTarget());
+			if (upper == null || lower == null || upper.layer == lower.layer)
+				continue;
+			if (upper.layer > lower.layer) {
+				NodeWrapper tmp = upper;
+				upper = lower;
+				lower = tmp;
+			}
+			Set<NodeWrapper> targets = connected.get(upper);
+			if (targets == null) {
+				targets = Collections.newSetFromMap(
+						new IdentityHashMap<NodeWrapper, Boolean>());
+				connected.put(upper, targets);
+			}
+			if (!targets.add(lower))
+				continue;
+			Map<Node, int[]> chains = previousChains.get(upper.node);
+			int[] chain = chains == null ? null : chains.get(lower.node);
+			int length = lower.layer - upper.layer - 1;
+			if (chain != null && chain.length != length)
+				chain = null;
+			NodeWrapper predecessor = upper;
+			for (int i = 0; i < length; i++) {
+				NodeWrapper dummy = new NodeWrapper(upper.layer + i + 1);
+				dummy.addPredecessor(predecessor);
+				predecessor.addSuccessor(dummy);
+				newLayers.get(dummy.layer).add(dummy);
+				if (chain != null) {
+					keys.put(dummy, (double) chain[i]);
+				} else {
+					// interpolate between the end points
+					double fraction = (i + 1d) / (length + 1);
+					keys.put(dummy, keys.get(upper)
+							+ fraction * (keys.get(lower) - keys.get(upper)));
+					inserted.add(dummy);
+				}
+				predecessor = dummy;
+			}
+			lower.addPredecessor(predecessor);
+			predecessor.addSuccessor(lower);
+		}
+
+		// order the layers by the keys (stable, so that ties keep the order)
+		for (List<NodeWrapper> layer : newLayers) {
+			Collections.sort(layer, new Comparator<NodeWrapper>() {
+				public int compare(NodeWrapper nw1, NodeWrapper nw2) {
+					return Double.compare(keys.get(nw1), keys.get(nw2));
+				}
+			});
+		}
+		if (layoutContext.isLayoutCanceled())
+			return;
+
+		// insert the added nodes and dummies using local crossing reduction
+		layoutContext.beginLayoutPhase("crossing reduction",
+				ILayoutProgressMonitor.UNKNOWN);
+		if (!inserted.isEmpty()) {
+			// only the layers that contain inserted wrappers are changed, so
+			// that only their neighbors need to be determined; the counter
+			// synchronizes the indices with the layer positions
+			TreeSet<Integer> changed = new TreeSet<>();
+			for (NodeWrapper nw : inserted)
+				changed.add(nw.layer);
+			CrossingCounter counter = new CrossingCounter(newLayers,
+					changed);
+			for (int i : changed)
+				insertLocally(counter, newLayers.get(i), inserted);
+			for (int i : changed.descendingSet())
+				if (i < newLayers.size() - 1)
+					insertLocally(counter, newLayers.get(i), inserted);
+		}
+		if (layoutContext.isLayoutCanceled())
+			return;
+
+		// The crossing reduction of a clean pass leaves gaps where padding
+		// nodes were removed, so that the previously laid out nodes keep
+		// their indices unless they are pushed aside by inserted nodes.
+		for (List<NodeWrapper> layer : newLayers) {
+			int next = 0;
+			for (NodeWrapper nw : layer) {
+				nw.index = inserted.contains(nw) ? next
+						: Math.max(keys.get(nw).intValue(), next);
+				next = nw.index + 1;
+			}
+		}
+
+		layers = newLayers;
+		map.clear();
+		map.putAll(wrappers);
+		layoutContext.beginLayoutPhase("coordinate assignment",
+				ILayoutProgressMonitor.UNKNOWN);
+		calculatePositions(layoutContext);
+	}
+
+	private static boolean hasAssignedNeighbor(Node node,
+			Map<Node, List<Node>> predecessors,
+			Map<Node, List<Node>> successors, Map<Node, Integer> layerOf) {
+		for (Node neighbor : predecessors.get(node))
+			if (layerOf.containsKey(neighbor))
+				return true;
+		for (Node neighbor : successors.get(node))
+			if (layerOf.containsKey(neighbor))
+				return true;
+		return false;
+	}
+
+	private static int getInsertionLayer(Node node,
+			Map<Node, List<Node>> predecessors,
+			Map<Node, List<Node>> successors, Map<Node, Integer> layerOf) {
+		Integer layer = null;
+		for (Node predecessor : predecessors.get(node)) {
+			Integer predecessorLayer = layerOf.get(predecessor);
+			if (predecessorLayer != null
+					&& (layer == null || predecessorLayer + 1 > layer))
+				layer = predecessorLayer + 1;
+		}
+		if (layer != null)
+			return layer;
+		for (Node successor : successors.get(node)) {
+			Integer successorLayer = layerOf.get(successor);
+			if (successorLayer != null
+					&& (layer == null || successorLayer - 1 < layer))
+				layer = successorLayer - 1;
+		}
+		return layer == null ? 0 : layer;
+	}
+
+	/**
+	 * Moves each of the given inserted {@link NodeWrapper}s that is contained
+	 * in the given layer to the position that minimizes the number of
+	 * crossings with the adjacent layers, while the order of the other
+	 * {@link NodeWrapper}s is preserved. On ties, the position closest to the
+	 * current one is chosen.
+	 */
+	private static void insertLocally(CrossingCounter counter,
+			List<NodeWrapper> layer, Set<NodeWrapper> inserted) {
+		for (NodeWrapper nw : new ArrayList<>(layer)) {
+			if (!inserted.contains(nw))
+				continue;
+			int current = nw.index;
+			layer.remove(current);
+			// start with the wrapper being placed first
+			int crossings = 0;
+			for (NodeWrapper other : layer)
+				crossings += counter.crossings(nw, other);
+			int best = crossings;
+			int bestPosition = 0;
+			for (int i = 0; i < layer.size(); i++) {
+				NodeWrapper other = layer.get(i);
+				crossings += counter.crossings(other, nw)
+						- counter.crossings(nw, other);
+				if (crossings < best || crossings == best && Math
+						.abs(i + 1 - current) < Math.abs(bestPosition - current)) {
+					best = crossings;
+					bestPosition = i + 1;
+				}
+			}
+			layer.add(bestPosition, nw);
+			for (int i = Math.min(current, bestPosition); i <= Math
+					.max(current, bestPosition) && i < layer.size(); i++)
+				layer.get(i).index = i;
+		}
+	}
+
 	private void calculatePositions(LayoutContext context) {
 		Rectangle boundary = LayoutProperties.getBounds(context.getGraph());
 		if (dimension != null)
 			boundary = new Rectangle(0, 0, dimension.getWidth(),
 					dimension.getHeight());
-		double dx = boundary.getWidth() / layers.size();
-		double dy = boundary.getHeight() / (last + 1);
-		if (direction == Direction.HORIZONTAL)
-			for (Node node : context.getNodes()) {
-				NodeWrapper nw = map.get(node);
-				LayoutProperties.setLocation(node, new Point(
-						(nw.layer + 0.5d) * dx, (nw.index + 0.5d) * dy));
-			}
-		else
-			for (Node node : context.getNodes()) {
-				NodeWrapper nw = map.get(node);
-				LayoutProperties.setLocation(node, new Point(
-						(nw.index + 0.5d) * dx, (nw.layer + 0.5d) * dy));
-			}
+		coordinateAssigner.assignCoordinates(layers, direction, boundary);
 	}
 
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutProgressMonitor;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.layout.algorithms.TreeLayoutHelper.TreeNode;
@@ -170,6 +171,8 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 			return;
 
 		internalApplyLayout(layoutContext);
+		if (layoutContext.isLayoutCanceled())
+			return;
 
 		Node[] entities = layoutContext.getNodes();
 		if (resize) {
@@ -192,7 +195,8 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 
 	/**
 	 * Performs a layout pass for the tree without scaling the entities to
-	 * maximum size / use the whole bounds.
+	 * maximum size / use the whole bounds. The progress is reported per root
+	 * of the tree, and the pass stops before the next root if it is canceled.
 	 * 
 	 * @param context
 	 *            The {@link LayoutContext} to use.
@@ -204,12 +208,15 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 		TreeNode superRoot = treeObserver.getSuperRoot();
 		bounds = LayoutProperties.getBounds(context.getGraph());
 		updateLeafAndLayerSizes();
+		context.beginLayoutPhase("tree", superRoot.getChildren().size());
 		int leafCountSoFar = 0;
 		for (Iterator<TreeNode> iterator = superRoot.getChildren()
-				.iterator(); iterator.hasNext();) {
+				.iterator(); iterator.hasNext()
+						&& !context.isLayoutCanceled();) {
 			TreeNode rootInfo = iterator.next();
 			computePositionRecursively(rootInfo, leafCountSoFar);
 			leafCountSoFar = leafCountSoFar + rootInfo.numOfLeaves;
+			context.layoutWorked(1);
 		}
 	}
 
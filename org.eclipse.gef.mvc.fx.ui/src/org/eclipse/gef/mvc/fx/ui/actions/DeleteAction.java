@@ -104,10 +104,8 @@ public class DeleteAction extends AbstractViewerAction {
 					"DeleteActionHandler requires a DeletionPolicy to be registered at the viewer's root part.");
 		}
 		deletionPolicy.init();
-		for (IContentPart<? extends Node> s : new ArrayList<>(
-				getSelectionModel().getSelectionUnmodifiable())) {
-			deletionPolicy.delete(s);
-		}
+		deletionPolicy.delete(new ArrayList<>(
+				getSelectionModel().getSelectionUnmodifiable()));
 		ITransactionalOperation deleteOperation = deletionPolicy.commit();
 		return deleteOperation;
 	}
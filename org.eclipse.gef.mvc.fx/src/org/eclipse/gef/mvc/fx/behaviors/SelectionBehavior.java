@@ -13,13 +13,18 @@
 package org.eclipse.gef.mvc.fx.behaviors;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
-import org.eclipse.gef.common.collections.CollectionUtils;
 import org.eclipse.gef.mvc.fx.models.SelectionModel;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IFeedbackPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IHandlePart;
 import org.eclipse.gef.mvc.fx.parts.IHandlePartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
 import javafx.collections.ListChangeListener;
@@ -27,7 +32,11 @@ import javafx.scene.Node;
 
 /**
  * The default selection behavior is responsible for creating and removing
- * selection feedback and handles.
+ * selection feedback and handles. Selection changes are processed
+ * incrementally, i.e. feedback is only created (or removed) for the parts that
+ * are added to (or removed from) the selection, and the handles of a multi
+ * selection are re-anchored instead of being re-created as long as the
+ * selection consists of multiple parts.
  *
  * @author anyssen
  * @author mwienand
@@ -52,16 +61,35 @@ public class SelectionBehavior extends AbstractBehavior {
 		public void onChanged(
 				ListChangeListener.Change<? extends IContentPart<? extends Node>> c) {
 			// order of selection should not be relevant for feedback and
-			// handles, as such we ignore permutations
-			List<IContentPart<? extends Node>> newSelection = new ArrayList<>(
-					c.getList());
-			List<? extends IContentPart<? extends Node>> oldSelection = CollectionUtils
-					.getPreviousContents(c);
-			removeFeedbackAndHandles(oldSelection);
-			addFeedbackAndHandles(newSelection);
+			// handles, as such we ignore permutations, as well as parts that
+			// are removed and added again within the same change
+			Set<IContentPart<? extends Node>> deselected = Collections
+					.newSetFromMap(
+							new IdentityHashMap<IContentPart<? extends Node>, Boolean>());
+			List<IContentPart<? extends Node>> added = new ArrayList<>();
+			while (c.next()) {
+				if (c.wasRemoved()) {
+					deselected.addAll(c.getRemoved());
+				}
+				if (c.wasAdded()) {
+					added.addAll(c.getAddedSubList());
+				}
+			}
+			List<IContentPart<? extends Node>> selected = new ArrayList<>();
+			for (IContentPart<? extends Node> part : added) {
+				if (!deselected.remove(part)) {
+					selected.add(part);
+				}
+			}
+			if (!deselected.isEmpty() || !selected.isEmpty()) {
+				updateFeedbackAndHandles(c.getList(), deselected, selected);
+			}
 		}
 	};
 
+	// the target parts for which handles are currently added
+	private Set<IVisualPart<? extends Node>> handleTargets;
+
 	/**
 	 * @param selected
 	 *            List of {@link IContentPart}s for which to add feedback and
@@ -84,9 +112,18 @@ public class SelectionBehavior extends AbstractBehavior {
 				// add handles for the whole multi selection
 				addHandles(selected);
 			}
+			handleTargets = createIdentitySet(selected);
 		}
 	}
 
+	private Set<IVisualPart<? extends Node>> createIdentitySet(
+			Collection<? extends IVisualPart<? extends Node>> parts) {
+		Set<IVisualPart<? extends Node>> set = Collections.newSetFromMap(
+				new IdentityHashMap<IVisualPart<? extends Node>, Boolean>());
+		set.addAll(parts);
+		return set;
+	}
+
 	@Override
 	protected void doActivate() {
 		// register
@@ -155,6 +192,73 @@ public class SelectionBehavior extends AbstractBehavior {
 				// remove handles for the multi selection
 				removeHandles(selected);
 			}
+			handleTargets = null;
+		}
+	}
+
+	/**
+	 * Updates feedback and handles after the selection changed. Feedback is
+	 * removed for the deselected parts and added for the selected parts. If
+	 * the selection consisted of multiple parts before and after the change,
+	 * the existing multi selection handles are re-anchored and refreshed.
+	 * Otherwise, the handles are re-created.
+	 *
+	 * @param selection
+	 *            The (complete) selection after the change.
+	 * @param deselected
+	 *            The {@link IContentPart}s that were removed from the
+	 *            selection.
+	 * @param selected
+	 *            The {@link IContentPart}s that were added to the selection.
+	 */
+	protected void updateFeedbackAndHandles(
+			List<? extends IContentPart<? extends Node>> selection,
+			Collection<? extends IContentPart<? extends Node>> deselected,
+			List<? extends IContentPart<? extends Node>> selected) {
+		// update feedback individually for the changed parts
+		for (IContentPart<? extends Node> part : deselected) {
+			removeFeedback(part);
+		}
+		for (IContentPart<? extends Node> part : selected) {
+			addFeedback(part);
+		}
+
+		// re-anchor the handles if a multi selection remains
+		List<IHandlePart<? extends Node>> handles = null;
+		if (handleTargets != null && handleTargets.size() > 1
+				&& selection.size() > 1) {
+			handles = getHandlesPerTargetSet().remove(handleTargets);
+		}
+		if (handles != null) {
+			for (IHandlePart<? extends Node> handle : handles) {
+				for (IContentPart<? extends Node> part : deselected) {
+					handle.detachFromAnchorage(part);
+				}
+				for (IContentPart<? extends Node> part : selected) {
+					handle.attachToAnchorage(part);
+				}
+				handle.refreshVisual();
+			}
+			handleTargets = createIdentitySet(selection);
+			getHandlesPerTargetSet().put(handleTargets, handles);
+			return;
+		}
+
+		// otherwise re-create the handles
+		if (handleTargets != null && hasHandles(handleTargets)) {
+			removeHandles(handleTargets);
+		}
+		handleTargets = null;
+		if (selection.size() == 1) {
+			addHandles(selection.get(0));
+		} else if (!selection.isEmpty()) {
+			// XXX: The (observable) selection is passed to the handle part
+			// factory, so that the multi selection handles can evaluate the
+			// current selection when they are re-anchored.
+			addHandles(selection);
+		}
+		if (!selection.isEmpty()) {
+			handleTargets = createIdentitySet(selection);
 		}
 	}
 }
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.behaviors;
+
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.mvc.fx.models.FocusModel;
+import org.eclipse.gef.mvc.fx.models.HoverModel;
+import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+
+/**
+ * The {@link ViewportCullingBehavior} can be registered on an
+ * {@link IContentPart} to virtualize it. When the visual of the
+ * {@link #getHost() host} is located outside of the viewport of the
+ * {@link InfiniteCanvas} (extended by a
+ * {@link ViewportCullingManager#getMargin() margin}), the {@link #getHost()
+ * host} is culled, i.e. it is removed from its parent and released (together
+ * with its visual) to the {@link ContentPartPool}, so that it does no longer
+ * take part in CSS, layout, and rendering passes. As soon as the content
+ * element is scrolled or zoomed into view, a part is retrieved from the
+ * {@link ContentPartPool} and added to the parent again.
+ * <p>
+ * The {@link #getHost() host} is only culled if it does not have any
+ * children or anchoreds, and if it is neither selected, nor focused, nor
+ * hovered, so that the state of the viewer is preserved. The anchorages of
+ * the {@link #getHost() host} are realized before the {@link #getHost()
+ * host} is realized, so that anchors can be computed.
+ * <p>
+ * The viewport is observed by the {@link ViewportCullingManager} of the
+ * viewer, at which the {@link ViewportCullingBehavior} registers when it is
+ * activated, and from which it unregisters when it is deactivated. The
+ * {@link ViewportCullingManager} culls or realizes the parts that left or
+ * entered the viewport within the next JavaFX pulse.
+ * <p>
+ * The {@link ViewportCullingBehavior} is not registered by default, i.e. it
+ * has to be bound to the content parts for which virtualization is desired,
+ * and the {@link ViewportCullingManager} has to be bound to the viewer. If no
+ * {@link ViewportCullingManager} is bound, this behavior does not have any
+ * effect.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class ViewportCullingBehavior extends AbstractBehavior {
+
+	private ViewportCullingManager manager;
+
+	private ChangeListener<Bounds> boundsObserver = new ChangeListener<Bounds>() {
+		@Override
+		public void changed(ObservableValue<? extends Bounds> observable,
+				Bounds oldValue, Bounds newValue) {
+			manager.update(ViewportCullingBehavior.this);
+		}
+	};
+
+	private InvalidationListener anchoredsObserver = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			updateCulling();
+		}
+	};
+
+	/**
+	 * Returns <code>true</code> if the {@link #getHost() host} does not have
+	 * any children or anchoreds, and if it is neither selected, nor focused,
+	 * nor hovered, so that it may be culled. Otherwise returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if the {@link #getHost() host} may be culled,
+	 *         otherwise <code>false</code>.
+	 */
+	protected boolean canCull() {
+		IContentPart<? extends Node> host = getHost();
+		if (!host.getChildrenUnmodifiable().isEmpty()
+				|| !host.getAnchoredsUnmodifiable().isEmpty()) {
+			return false;
+		}
+		IViewer viewer = host.getRoot().getViewer();
+		SelectionModel selectionModel = viewer
+				.getAdapter(SelectionModel.class);
+		if (selectionModel != null && selectionModel.isSelected(host)) {
+			return false;
+		}
+		FocusModel focusModel = viewer.getAdapter(FocusModel.class);
+		if (focusModel != null && focusModel.getFocus() == host) {
+			return false;
+		}
+		HoverModel hoverModel = viewer.getAdapter(HoverModel.class);
+		return hoverModel == null || (hoverModel.getHover() != host
+				&& hoverModel.getHoverIntent() != host);
+	}
+
+	/**
+	 * Culls the {@link #getHost() host}, i.e. removes it from its parent and
+	 * releases it to the {@link ContentPartPool}. Afterwards, this behavior
+	 * is no longer active.
+	 */
+	protected void cull() {
+		manager.cull(this);
+	}
+
+	@Override
+	protected void doActivate() {
+		manager = getHost().getRoot().getViewer()
+				.getAdapter(ViewportCullingManager.class);
+		if (manager == null) {
+			return;
+		}
+		manager.register(this);
+		getHost().getVisual().boundsInParentProperty()
+				.addListener(boundsObserver);
+		getHost().anchoredsUnmodifiableProperty()
+				.addListener(anchoredsObserver);
+		updateCulling();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		if (manager == null) {
+			return;
+		}
+		getHost().anchoredsUnmodifiableProperty()
+				.removeListener(anchoredsObserver);
+		getHost().getVisual().boundsInParentProperty()
+				.removeListener(boundsObserver);
+		manager.unregister(this);
+		manager = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public IContentPart<? extends Node> getHost() {
+		return (IContentPart<? extends Node>) super.getHost();
+	}
+
+	/**
+	 * Returns <code>true</code> if the visual of the {@link #getHost() host}
+	 * intersects the viewport of the {@link InfiniteCanvas} extended by the
+	 * {@link ViewportCullingManager#getMargin() margin}. Otherwise returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if the visual of the {@link #getHost() host}
+	 *         is (nearly) visible, otherwise <code>false</code>.
+	 *
+	 * @see ViewportCullingManager#isInViewport(ViewportCullingBehavior)
+	 */
+	protected boolean isInViewport() {
+		return manager.isInViewport(this);
+	}
+
+	/**
+	 * Schedules the {@link #getHost() host} to be culled within the next pulse
+	 * if it is located outside of the viewport and may be culled then.
+	 *
+	 * @see ViewportCullingManager#schedule(ViewportCullingBehavior)
+	 */
+	protected void updateCulling() {
+		if (isActive() && manager != null) {
+			manager.schedule(this);
+		}
+	}
+
+}
@@ -0,0 +1,819 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.common.adapt.IAdaptable;
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+
+import com.google.common.collect.HashMultimap;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+
+/**
+ * The {@link ViewportCullingManager} is an {@link InfiniteCanvasViewer}
+ * adapter that virtualizes the {@link IContentPart}s at which a
+ * {@link ViewportCullingBehavior} is registered. It is the only observer of
+ * the viewport of the {@link InfiniteCanvas}, and it maintains a spatial index
+ * (a uniform grid within the coordinate system of the
+ * {@link InfiniteCanvas#getContentGroup() content group}) of the bounds of the
+ * content elements of these parts. This way, a viewport change only needs to
+ * process the content elements that are (nearly) visible before or after the
+ * change, and only the parts that entered or left the viewport are culled or
+ * realized.
+ * <p>
+ * When a part is culled, it is removed from its parent, its content element
+ * is remembered together with the last known bounds of its visual, and the
+ * part (including its visual) is released to the {@link ContentPartPool}.
+ * When the bounds of the content element enter the viewport, the part is
+ * realized, i.e. it is retrieved from the {@link ContentPartPool} (or created
+ * by the {@link IContentPartFactory}) and added to its parent again, and its
+ * content children and anchorages are synchronized via the
+ * {@link ContentBehavior} of the root part. As parts may not be removed or
+ * added while the parts are synchronized with the content, parts are culled
+ * and realized within the next JavaFX pulse (or when {@link #flush()} is
+ * called).
+ * <p>
+ * The {@link ViewportCullingBehavior}s register at the
+ * {@link ViewportCullingManager} when they are activated and unregister when
+ * they are deactivated. A culled content element is forgotten when it is
+ * removed from the content children of its parent, or when its parent is
+ * removed. When the content children of a parent change, the
+ * {@link ContentBehavior} re-creates the parts of the culled siblings, which
+ * are culled again within the next pulse. The viewport is only observed
+ * while parts are registered or culled.
+ * <p>
+ * The {@link ViewportCullingManager} is not registered by default, i.e. it has
+ * to be bound to the {@link InfiniteCanvasViewer} together with the
+ * {@link ViewportCullingBehavior} that is bound to the content parts.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class ViewportCullingManager extends IAdaptable.Bound.Impl<IViewer>
+		implements IDisposable {
+
+	/**
+	 * A content element whose part was culled.
+	 */
+	private static class Culled {
+		private IVisualPart<? extends Node> parent;
+		// bounds of the visual within the coordinate system of its parent node
+		private Node parentNode;
+		private Bounds bounds;
+		// the content anchorages have to be realized before the content
+		private Set<Object> anchorages;
+	}
+
+	/**
+	 * The default margin (in pixels) by which the viewport is extended when
+	 * determining if the visual of a part is visible.
+	 */
+	public static final double DEFAULT_MARGIN = 200;
+
+	/**
+	 * The size of the cells of the spatial index within the coordinate system
+	 * of the {@link InfiniteCanvas#getContentGroup() content group}.
+	 */
+	private static final double CELL_SIZE = 256;
+
+	/**
+	 * Content elements that span more cells are not put into the grid, but are
+	 * tested for each query.
+	 */
+	private static final long MAX_CELLS = 64;
+
+	private double margin = DEFAULT_MARGIN;
+	private InfiniteCanvas canvas;
+	// viewport extended by the margin in content group coordinates, or
+	// null if it cannot be determined
+	private Bounds viewport;
+
+	private Map<Object, ViewportCullingBehavior> registered = new HashMap<>();
+	private Map<Object, Culled> culled = new HashMap<>();
+	private Map<IVisualPart<? extends Node>, Set<Object>> culledChildren = new HashMap<>();
+	private Map<Object, Bounds> bounds = new HashMap<>();
+	private Map<Long, Set<Object>> grid = new HashMap<>();
+	private Set<Object> oversized = new HashSet<>();
+	// content elements whose bounds could not be determined yet
+	private Set<Object> unindexed = new HashSet<>();
+	private Set<Object> inViewport = new HashSet<>();
+
+	// content elements whose parts are culled or realized within the next
+	// pulse if needed
+	private Set<Object> pending = new LinkedHashSet<>();
+	private boolean isFlushing = false;
+	private boolean isPulseScheduled = false;
+	private Object culling;
+
+	private AnimationTimer pulseListener = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			flush();
+		}
+	};
+
+	private ChangeListener<Object> viewportObserver = new ChangeListener<Object>() {
+		@Override
+		public void changed(ObservableValue<? extends Object> observable,
+				Object oldValue, Object newValue) {
+			updateViewport();
+		}
+	};
+
+	private ListChangeListener<Object> contentChildrenObserver = new ListChangeListener<Object>() {
+		@Override
+		public void onChanged(
+				ListChangeListener.Change<? extends Object> change) {
+			// forget the culled content elements that were removed
+			for (IVisualPart<? extends Node> parent : new ArrayList<>(
+					culledChildren.keySet())) {
+				Set<Object> contentChildren = new HashSet<>(
+						getContentChildren(parent));
+				for (Object content : new ArrayList<>(
+						culledChildren.get(parent))) {
+					if (!contentChildren.contains(content)) {
+						release(content);
+					}
+				}
+			}
+			releaseIfUnused();
+		}
+	};
+
+	private static long cell(int x, int y) {
+		return ((long) x << 32) | (y & 0xffffffffL);
+	}
+
+	private static int cellIndex(double coordinate) {
+		return (int) Math.floor(coordinate / CELL_SIZE);
+	}
+
+	private Bounds computeBounds(Object content) {
+		if (canvas.getScene() == null) {
+			return null;
+		}
+		Culled c = culled.get(content);
+		if (c != null) {
+			if (c.parentNode.getScene() == null) {
+				return null;
+			}
+			return canvas.getContentGroup()
+					.sceneToLocal(c.parentNode.localToScene(c.bounds));
+		}
+		ViewportCullingBehavior behavior = registered.get(content);
+		if (behavior == null) {
+			return null;
+		}
+		Node node = behavior.getHost().getVisual();
+		if (node.getScene() == null) {
+			// XXX: Bounds cannot be determined (e.g. because the visual is
+			// not yet added to the scene graph).
+			return null;
+		}
+		return canvas.getContentGroup()
+				.sceneToLocal(node.localToScene(node.getLayoutBounds()));
+	}
+
+	private Bounds computeViewport() {
+		if (canvas.getScene() == null) {
+			return null;
+		}
+		Bounds sceneViewport = canvas.localToScene(canvas.getLayoutBounds());
+		return canvas.getContentGroup()
+				.sceneToLocal(new BoundingBox(sceneViewport.getMinX() - margin,
+						sceneViewport.getMinY() - margin,
+						sceneViewport.getWidth() + 2 * margin,
+						sceneViewport.getHeight() + 2 * margin));
+	}
+
+	/**
+	 * Culls the host of the given {@link ViewportCullingBehavior}, i.e.
+	 * removes it from its parent and releases it to the
+	 * {@link ContentPartPool}. Afterwards, the parent and the former
+	 * anchorages of the host are scheduled to be culled.
+	 *
+	 * @param behavior
+	 *            The {@link ViewportCullingBehavior} whose host is to be
+	 *            culled.
+	 */
+	void cull(ViewportCullingBehavior behavior) {
+		IContentPart<? extends Node> host = behavior.getHost();
+		IVisualPart<? extends Node> parent = host.getParent();
+		Node visual = host.getVisual();
+		ContentBehavior contentBehavior = getContentBehavior();
+		ContentPartPool pool = getAdaptable()
+				.getAdapter(ContentPartPool.class);
+		if (parent == null || visual.getParent() == null
+				|| contentBehavior == null || pool == null) {
+			return;
+		}
+		Object content = host.getContent();
+		Culled c = new Culled();
+		c.parent = parent;
+		c.parentNode = visual.getParent();
+		c.bounds = visual.getBoundsInParent();
+		c.anchorages = new HashSet<>(
+				host.getContentAnchoragesUnmodifiable().keySet());
+		List<IVisualPart<? extends Node>> anchorages = new ArrayList<>(
+				host.getAnchoragesUnmodifiable().keySet());
+
+		culled.put(content, c);
+		Set<Object> siblings = culledChildren.get(parent);
+		if (siblings == null) {
+			siblings = new HashSet<>();
+			culledChildren.put(parent, siblings);
+			getContentChildren(parent).addListener(contentChildrenObserver);
+		}
+		siblings.add(content);
+
+		// keep the index entry of the content element while the host is
+		// removed
+		culling = content;
+		try {
+			contentBehavior.synchronizeContentPartAnchorages(host,
+					HashMultimap.<Object, String> create());
+			parent.removeChild(host);
+		} finally {
+			culling = null;
+		}
+		pool.add(host);
+		host.setContent(null);
+
+		updateCulling(parent);
+		for (IVisualPart<? extends Node> anchorage : anchorages) {
+			updateCulling(anchorage);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		pending.clear();
+		stopPulseListener();
+		if (canvas != null) {
+			unobserveViewport();
+		}
+		registered.clear();
+		clearCulled();
+		clearIndex();
+	}
+
+	private void clearCulled() {
+		for (IVisualPart<? extends Node> parent : culledChildren.keySet()) {
+			getContentChildren(parent).removeListener(contentChildrenObserver);
+		}
+		culledChildren.clear();
+		culled.clear();
+	}
+
+	private void clearIndex() {
+		bounds.clear();
+		grid.clear();
+		oversized.clear();
+		unindexed.clear();
+		inViewport.clear();
+		viewport = null;
+	}
+
+	/**
+	 * Culls or realizes the parts of the content elements that left or
+	 * entered the viewport (or whose parts may be culled now). Parts that are
+	 * scheduled while flushing are processed as well, so that no parts remain
+	 * to be culled or realized when this method returns.
+	 */
+	public void flush() {
+		if (isFlushing) {
+			// pending content elements are processed by the running flush
+			return;
+		}
+		isFlushing = true;
+		try {
+			while (!pending.isEmpty()) {
+				List<Object> contents = new ArrayList<>(pending);
+				pending.clear();
+				for (Object content : contents) {
+					ViewportCullingBehavior behavior = registered.get(content);
+					if (behavior != null) {
+						if (behavior.isActive() && !behavior.isInViewport()
+								&& behavior.canCull()) {
+							behavior.cull();
+						}
+					} else if (inViewport.contains(content)) {
+						realize(content);
+					}
+				}
+			}
+		} finally {
+			isFlushing = false;
+			stopPulseListener();
+		}
+	}
+
+	private ContentBehavior getContentBehavior() {
+		return getAdaptable().getRootPart().getAdapter(ContentBehavior.class);
+	}
+
+	private ObservableList<? extends Object> getContentChildren(
+			IVisualPart<? extends Node> parent) {
+		if (parent instanceof IContentPart) {
+			return ((IContentPart<? extends Node>) parent)
+					.getContentChildrenUnmodifiable();
+		}
+		// the content children of the root part are the viewer contents
+		return getAdaptable().getContents();
+	}
+
+	/**
+	 * Returns the content elements whose parts are currently culled.
+	 *
+	 * @return The content elements whose parts are culled.
+	 */
+	public Set<Object> getCulled() {
+		return Collections.unmodifiableSet(culled.keySet());
+	}
+
+	/**
+	 * Returns the margin (in pixels) by which the viewport is extended when
+	 * determining if the visual of a part is visible.
+	 *
+	 * @return The margin by which the viewport is extended.
+	 */
+	public double getMargin() {
+		return margin;
+	}
+
+	/**
+	 * Returns the {@link ViewportCullingBehavior}s that are currently
+	 * registered at this {@link ViewportCullingManager}.
+	 *
+	 * @return The {@link ViewportCullingBehavior}s that are currently
+	 *         registered.
+	 */
+	public Collection<ViewportCullingBehavior> getRegistered() {
+		return Collections.unmodifiableCollection(registered.values());
+	}
+
+	private void index(Object content) {
+		if (!registered.containsKey(content) && !culled.containsKey(content)) {
+			return;
+		}
+		Bounds newBounds = computeBounds(content);
+		if (newBounds == null) {
+			// keep the last known bounds (if any)
+			if (!bounds.containsKey(content)) {
+				unindexed.add(content);
+			}
+			return;
+		}
+		unindex(content);
+		bounds.put(content, newBounds);
+		int minX = cellIndex(newBounds.getMinX());
+		int maxX = cellIndex(newBounds.getMaxX());
+		int minY = cellIndex(newBounds.getMinY());
+		int maxY = cellIndex(newBounds.getMaxY());
+		if ((maxX - minX + 1L) * (maxY - minY + 1L) > MAX_CELLS) {
+			oversized.add(content);
+		} else {
+			for (int x = minX; x <= maxX; x++) {
+				for (int y = minY; y <= maxY; y++) {
+					Set<Object> entries = grid.get(cell(x, y));
+					if (entries == null) {
+						entries = new HashSet<>();
+						grid.put(cell(x, y), entries);
+					}
+					entries.add(content);
+				}
+			}
+		}
+		if (viewport != null && newBounds.intersects(viewport)) {
+			inViewport.add(content);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the part of the given content element is
+	 * currently culled, i.e. released to the {@link ContentPartPool}.
+	 * Otherwise returns <code>false</code>.
+	 *
+	 * @param content
+	 *            The content element in question.
+	 * @return <code>true</code> if the part of the given content element is
+	 *         culled, otherwise <code>false</code>.
+	 */
+	public boolean isCulled(Object content) {
+		return culled.containsKey(content);
+	}
+
+	/**
+	 * Returns <code>true</code> if the host of the given
+	 * {@link ViewportCullingBehavior} intersects the viewport of the
+	 * {@link InfiniteCanvas} extended by the {@link #getMargin() margin}.
+	 * Returns <code>false</code> if it does not intersect the extended
+	 * viewport. If this cannot be determined, e.g. because the bounds of the
+	 * host are not known yet, returns <code>true</code>, so that the host is
+	 * not culled.
+	 *
+	 * @param behavior
+	 *            The {@link ViewportCullingBehavior} in question.
+	 * @return <code>true</code> if the visual of the host is (nearly)
+	 *         visible, otherwise <code>false</code>.
+	 */
+	public boolean isInViewport(ViewportCullingBehavior behavior) {
+		Object content = behavior.getHost().getContent();
+		if (viewport == null || !bounds.containsKey(content)) {
+			return true;
+		}
+		return inViewport.contains(content);
+	}
+
+	private void observeViewport() {
+		canvas = ((InfiniteCanvasViewer) getAdaptable()).getCanvas();
+		canvas.getContentGroup().localToSceneTransformProperty()
+				.addListener(viewportObserver);
+		canvas.widthProperty().addListener(viewportObserver);
+		canvas.heightProperty().addListener(viewportObserver);
+		viewport = computeViewport();
+	}
+
+	private Set<Object> query(Bounds region) {
+		Set<Object> result = new HashSet<>();
+		if (region == null) {
+			return result;
+		}
+		int minX = cellIndex(region.getMinX());
+		int maxX = cellIndex(region.getMaxX());
+		int minY = cellIndex(region.getMinY());
+		int maxY = cellIndex(region.getMaxY());
+		if ((maxX - minX + 1L) * (maxY - minY + 1L) > bounds.size()) {
+			// the region spans more cells than there are content elements
+			for (Map.Entry<Object, Bounds> entry : bounds.entrySet()) {
+				if (entry.getValue().intersects(region)) {
+					result.add(entry.getKey());
+				}
+			}
+			return result;
+		}
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				Set<Object> entries = grid.get(cell(x, y));
+				if (entries != null) {
+					for (Object content : entries) {
+						if (bounds.get(content).intersects(region)) {
+							result.add(content);
+						}
+					}
+				}
+			}
+		}
+		for (Object content : oversized) {
+			if (bounds.get(content).intersects(region)) {
+				result.add(content);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Realizes the part of the given culled content element, i.e. retrieves
+	 * it from the {@link ContentPartPool} (or creates it) and adds it to its
+	 * parent. The culled content anchorages are realized before.
+	 *
+	 * @param content
+	 *            The content element whose part is to be realized.
+	 * @return <code>true</code> if a part is available for the content element
+	 *         afterwards, otherwise <code>false</code>.
+	 */
+	private boolean realize(Object content) {
+		Map<Object, IContentPart<? extends Node>> contentPartMap = getAdaptable()
+				.getContentPartMap();
+		Culled c = culled.get(content);
+		if (c == null) {
+			return contentPartMap.containsKey(content);
+		}
+		List<? extends Object> siblings = getContentChildren(c.parent);
+		if (!siblings.contains(content)) {
+			release(content);
+			return false;
+		}
+		for (Object anchorage : c.anchorages) {
+			if (!realize(anchorage)) {
+				// XXX: The anchorage cannot be realized (e.g. because its
+				// parent was culled), so the content element stays culled.
+				return false;
+			}
+		}
+		realize(content, c, siblings);
+		return true;
+	}
+
+	private void realize(Object content, Culled c,
+			List<? extends Object> siblings) {
+		removeCulled(content, c);
+		// the content element is indexed again when its part registers
+		unindex(content);
+		IContentPart<? extends Node> part = getAdaptable()
+				.getAdapter(ContentPartPool.class).remove(content);
+		if (part == null) {
+			IContentPartFactory contentPartFactory = getAdaptable()
+					.getAdapter(IContentPartFactory.class);
+			part = contentPartFactory.createContentPart(content,
+					Collections.emptyMap());
+			if (part == null) {
+				throw new IllegalStateException("IContentPartFactory '"
+						+ contentPartFactory.getClass().getSimpleName()
+						+ "' did not create part for " + content + ".");
+			}
+		}
+		part.setContent(content);
+		c.parent.addChild(part,
+				getInsertionIndex(c.parent, siblings, content));
+		ContentBehavior contentBehavior = getContentBehavior();
+		contentBehavior.synchronizeContentPartChildren(part,
+				part.getContentChildrenUnmodifiable());
+		contentBehavior.synchronizeContentPartAnchorages(part,
+				part.getContentAnchoragesUnmodifiable());
+	}
+
+	private int getInsertionIndex(IVisualPart<? extends Node> parent,
+			List<? extends Object> siblings, Object content) {
+		// XXX: The children of the parent are ordered like their content
+		// elements, but culled content elements do not have a child.
+		List<IVisualPart<? extends Node>> children = parent
+				.getChildrenUnmodifiable();
+		int index = 0;
+		for (Object sibling : siblings) {
+			if (sibling == content) {
+				break;
+			}
+			if (index < children.size()
+					&& children.get(index) instanceof IContentPart
+					&& ((IContentPart<? extends Node>) children.get(index))
+							.getContent() == sibling) {
+				index++;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Registers the given {@link ViewportCullingBehavior}, so that its host is
+	 * culled and realized depending on the viewport.
+	 *
+	 * @param behavior
+	 *            The {@link ViewportCullingBehavior} to register.
+	 */
+	public void register(ViewportCullingBehavior behavior) {
+		Object content = behavior.getHost().getContent();
+		if (content == null) {
+			return;
+		}
+		if (canvas == null) {
+			observeViewport();
+		}
+		// the part may have been created for a culled content element during
+		// content synchronization
+		Culled c = culled.get(content);
+		if (c != null) {
+			removeCulled(content, c);
+		}
+		registered.put(content, behavior);
+		index(content);
+	}
+
+	/**
+	 * Forgets the given culled content element and the culled content
+	 * elements whose parent it is.
+	 */
+	private void release(Object content) {
+		Culled c = culled.get(content);
+		if (c != null) {
+			removeCulled(content, c);
+		}
+		unindex(content);
+	}
+
+	private void releaseIfUnused() {
+		if (registered.isEmpty() && culled.isEmpty() && canvas != null) {
+			unobserveViewport();
+			clearIndex();
+		}
+	}
+
+	private void removeCulled(Object content, Culled c) {
+		culled.remove(content);
+		Set<Object> siblings = culledChildren.get(c.parent);
+		siblings.remove(content);
+		if (siblings.isEmpty()) {
+			culledChildren.remove(c.parent);
+			getContentChildren(c.parent)
+					.removeListener(contentChildrenObserver);
+		}
+	}
+
+	/**
+	 * Schedules the host of the given {@link ViewportCullingBehavior} to be
+	 * culled within the next pulse (or when {@link #flush()} is called) if it
+	 * is located outside of the viewport and may be culled then.
+	 *
+	 * @param behavior
+	 *            The {@link ViewportCullingBehavior} whose host may be culled.
+	 */
+	public void schedule(ViewportCullingBehavior behavior) {
+		Object content = behavior.getHost().getContent();
+		if (registered.get(content) == behavior) {
+			schedule(Collections.singletonList(content));
+		}
+	}
+
+	private void schedule(List<Object> contents) {
+		pending.addAll(contents);
+		if (!pending.isEmpty() && !isFlushing && !isPulseScheduled) {
+			isPulseScheduled = true;
+			pulseListener.start();
+		}
+	}
+
+	/**
+	 * Sets the margin (in pixels) by which the viewport is extended when
+	 * determining if the visual of a part is visible.
+	 *
+	 * @param margin
+	 *            The new margin by which the viewport is extended.
+	 */
+	public void setMargin(double margin) {
+		this.margin = margin;
+		if (canvas != null) {
+			updateViewport();
+		}
+	}
+
+	private void stopPulseListener() {
+		if (isPulseScheduled) {
+			isPulseScheduled = false;
+			pulseListener.stop();
+		}
+	}
+
+	private void unindex(Object content) {
+		unindexed.remove(content);
+		inViewport.remove(content);
+		Bounds oldBounds = bounds.remove(content);
+		if (oldBounds == null || oversized.remove(content)) {
+			return;
+		}
+		for (int x = cellIndex(oldBounds.getMinX()); x <= cellIndex(
+				oldBounds.getMaxX()); x++) {
+			for (int y = cellIndex(oldBounds.getMinY()); y <= cellIndex(
+					oldBounds.getMaxY()); y++) {
+				Set<Object> entries = grid.get(cell(x, y));
+				if (entries != null) {
+					entries.remove(content);
+					if (entries.isEmpty()) {
+						grid.remove(cell(x, y));
+					}
+				}
+			}
+		}
+	}
+
+	private void unobserveViewport() {
+		canvas.heightProperty().removeListener(viewportObserver);
+		canvas.widthProperty().removeListener(viewportObserver);
+		canvas.getContentGroup().localToSceneTransformProperty()
+				.removeListener(viewportObserver);
+		canvas = null;
+	}
+
+	/**
+	 * Unregisters the given {@link ViewportCullingBehavior} and releases its
+	 * host, as well as the culled content elements whose parent the host is.
+	 * The viewport is no longer observed when no parts are registered or
+	 * culled any more.
+	 *
+	 * @param behavior
+	 *            The {@link ViewportCullingBehavior} to unregister.
+	 */
+	public void unregister(ViewportCullingBehavior behavior) {
+		IContentPart<? extends Node> host = behavior.getHost();
+		Object content = host.getContent();
+		if (registered.get(content) != behavior) {
+			return;
+		}
+		registered.remove(content);
+		if (culling != content) {
+			unindex(content);
+		}
+		// the culled children are synchronized when the host is realized
+		Set<Object> children = culledChildren.get(host);
+		if (children != null) {
+			for (Object child : new ArrayList<>(children)) {
+				release(child);
+			}
+		}
+		releaseIfUnused();
+	}
+
+	/**
+	 * Notifies this {@link ViewportCullingManager} about a change of the
+	 * bounds of the host of the given {@link ViewportCullingBehavior}. The
+	 * bounds of the host and of its registered and culled descendants are
+	 * updated within the spatial index, and their parts are culled or
+	 * realized if needed.
+	 *
+	 * @param behavior
+	 *            The {@link ViewportCullingBehavior} of which the host bounds
+	 *            changed.
+	 */
+	public void update(ViewportCullingBehavior behavior) {
+		List<Object> updated = new ArrayList<>();
+		updateBounds(behavior.getHost(), updated);
+		schedule(updated);
+	}
+
+	private void updateBounds(IVisualPart<? extends Node> part,
+			List<Object> updated) {
+		if (part instanceof IContentPart) {
+			Object content = ((IContentPart<? extends Node>) part).getContent();
+			if (registered.containsKey(content)) {
+				index(content);
+				updated.add(content);
+			}
+		}
+		// the bounds of the descendants change with the bounds of the part
+		for (IVisualPart<? extends Node> child : part
+				.getChildrenUnmodifiable()) {
+			updateBounds(child, updated);
+		}
+		Set<Object> children = culledChildren.get(part);
+		if (children != null) {
+			for (Object child : children) {
+				index(child);
+				updated.add(child);
+			}
+		}
+	}
+
+	private void updateCulling(IVisualPart<? extends Node> part) {
+		ViewportCullingBehavior behavior = part
+				.getAdapter(ViewportCullingBehavior.class);
+		if (behavior != null) {
+			behavior.updateCulling();
+		}
+	}
+
+	private void updateViewport() {
+		viewport = computeViewport();
+		// bounds may be determined now (e.g. because the canvas was added to
+		// a scene)
+		for (Object content : new ArrayList<>(unindexed)) {
+			index(content);
+		}
+		Set<Object> newInViewport = query(viewport);
+		List<Object> changed = new ArrayList<>();
+		for (Object content : newInViewport) {
+			if (!inViewport.contains(content)) {
+				changed.add(content);
+			}
+		}
+		for (Object content : inViewport) {
+			if (!newInViewport.contains(content)) {
+				changed.add(content);
+			}
+		}
+		inViewport = newInViewport;
+		schedule(changed);
+	}
+
+}
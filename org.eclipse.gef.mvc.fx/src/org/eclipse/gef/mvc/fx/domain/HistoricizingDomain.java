@@ -13,11 +13,14 @@ package org.eclipse.gef.mvc.fx.domain;
 
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.WeakHashMap;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.operations.IOperationHistory;
@@ -34,9 +37,13 @@ import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.common.adapt.inject.InjectAdapters;
 import org.eclipse.gef.mvc.fx.gestures.IGesture;
 import org.eclipse.gef.mvc.fx.operations.AbstractCompositeOperation;
+import org.eclipse.gef.mvc.fx.operations.ChangeViewportOperation;
 import org.eclipse.gef.mvc.fx.operations.ForwardUndoCompositeOperation;
+import org.eclipse.gef.mvc.fx.operations.ISizedOperation;
 import org.eclipse.gef.mvc.fx.operations.ITransactionalOperation;
 import org.eclipse.gef.mvc.fx.operations.ReverseUndoCompositeOperation;
+import org.eclipse.gef.mvc.fx.operations.TransformContentOperation;
+import org.eclipse.gef.mvc.fx.operations.TransformVisualOperation;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
 import com.google.common.reflect.TypeToken;
@@ -50,12 +57,28 @@ import javafx.collections.ObservableMap;
  * The {@link HistoricizingDomain} is an {@link IDomain} that uses an
  * {@link IOperationHistory} for executing {@link ITransactionalOperation
  * ITransactionalOperations}.
+ * <p>
+ * The undo history is bounded by count as well as by an estimated memory
+ * budget (see {@link #setUndoMemoryBudget(long)}). When the estimated retained
+ * size of all operations within the undo history exceeds the budget, the
+ * oldest operations are evicted. The retained size of an operation is
+ * provided by the operation itself if it is an {@link ISizedOperation} (see
+ * {@link #estimateRetainedSize(IUndoableOperation)}). Besides, adjacent
+ * compatible operations can be compacted into a single operation when they are
+ * added to the history, i.e. consecutive viewport changes (see
+ * {@link #setCompactViewportChanges(boolean)}) and consecutive transformations
+ * of the same parts (see {@link #setCompactContentTransforms(boolean)}). As
+ * compaction reduces the granularity of undo, it is disabled by default.
  *
  * @author anyssen
  */
 public class HistoricizingDomain implements IDomain {
 
 	private static final int DEFAULT_UNDO_LIMIT = 128;
+	private static final long DEFAULT_UNDO_MEMORY_BUDGET = 64 * 1024 * 1024;
+	// assumed size (in bytes) of an operation that does not estimate its
+	// retained size
+	private static final long DEFAULT_OPERATION_SIZE = 64;
 	private static final UncaughtExceptionHandler UNCAUGHT_EXCEPTION_HANDLER = new UncaughtExceptionHandler() {
 		@Override
 		public void uncaughtException(Thread t, Throwable e) {
@@ -101,6 +124,28 @@ public class HistoricizingDomain implements IDomain {
 		}
 	};
 
+	private long undoMemoryBudget = DEFAULT_UNDO_MEMORY_BUDGET;
+	private boolean compactViewportChanges = false;
+	private boolean compactContentTransforms = false;
+	private Map<IUndoableOperation, Long> estimatedSizes = new WeakHashMap<>();
+	private boolean isCompactingHistory = false;
+	private IOperationHistoryListener historyCompactionListener = new IOperationHistoryListener() {
+		@Override
+		public void historyNotification(OperationHistoryEvent event) {
+			if (event.getEventType() == OperationHistoryEvent.OPERATION_ADDED
+					&& !isCompactingHistory && undoContext != null
+					&& event.getOperation().hasContext(undoContext)) {
+				isCompactingHistory = true;
+				try {
+					compactUndoHistory(event.getOperation());
+					enforceUndoMemoryBudget();
+				} finally {
+					isCompactingHistory = false;
+				}
+			}
+		}
+	};
+
 	/**
 	 * Creates a new {@link HistoricizingDomain} instance.
 	 */
@@ -198,6 +243,63 @@ public class HistoricizingDomain implements IDomain {
 		transactionContext.remove(tool);
 	}
 
+	/**
+	 * Compacts the undo history after the given operation was added to it by
+	 * merging it into the preceding operation if both are compatible (see
+	 * {@link #merge(IUndoableOperation, IUndoableOperation)}). In that case,
+	 * the given operation is removed from the history.
+	 *
+	 * @param added
+	 *            The {@link IUndoableOperation} that was added to the undo
+	 *            history.
+	 */
+	protected void compactUndoHistory(IUndoableOperation added) {
+		IUndoableOperation[] undoHistory = getOperationHistory()
+				.getUndoHistory(undoContext);
+		int count = undoHistory.length;
+		// only compact operations that are exclusively used in the undo
+		// context of this domain
+		if (count < 2 || undoHistory[count - 1] != added
+				|| added.getContexts().length > 1
+				|| undoHistory[count - 2].getContexts().length > 1) {
+			return;
+		}
+		if (merge(undoHistory[count - 2], added)) {
+			remove(added);
+		}
+	}
+
+	private boolean collectMergeableSteps(IUndoableOperation operation,
+			List<ITransactionalOperation> steps) {
+		if (operation instanceof AbstractCompositeOperation) {
+			for (ITransactionalOperation op : ((AbstractCompositeOperation) operation)
+					.getOperations()) {
+				if (!collectMergeableSteps(op, steps)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (!(operation instanceof ITransactionalOperation)) {
+			return false;
+		}
+		ITransactionalOperation step = (ITransactionalOperation) operation;
+		if (step.isNoOp()) {
+			// no-ops do not contribute to the merged operation
+			return true;
+		}
+		if (step instanceof ChangeViewportOperation) {
+			steps.add(step);
+			return compactViewportChanges;
+		}
+		if (step instanceof TransformContentOperation
+				|| step instanceof TransformVisualOperation) {
+			steps.add(step);
+			return compactContentTransforms;
+		}
+		return false;
+	}
+
 	/**
 	 * Creates a {@link ForwardUndoCompositeOperation} which is used to store
 	 * the operations within an execution transaction. The operation is opened
@@ -235,6 +337,10 @@ public class HistoricizingDomain implements IDomain {
 		// dispose transaction related objects
 		operationHistory.removeOperationHistoryListener(transactionListener);
 		transactionListener = null;
+		operationHistory
+				.removeOperationHistoryListener(historyCompactionListener);
+		historyCompactionListener = null;
+		estimatedSizes.clear();
 		transactionContext.clear();
 		transactionContext = null;
 		transaction = null;
@@ -265,6 +371,68 @@ public class HistoricizingDomain implements IDomain {
 		deactivateAdapters();
 	}
 
+	/**
+	 * Evicts the oldest operations from the undo history until the estimated
+	 * retained size (see {@link #estimateRetainedSize(IUndoableOperation)}) of
+	 * all operations in the undo history does not exceed the
+	 * {@link #getUndoMemoryBudget() undo memory budget} anymore. The most
+	 * recent operation is never evicted.
+	 */
+	protected void enforceUndoMemoryBudget() {
+		if (undoMemoryBudget <= 0) {
+			return;
+		}
+		IUndoableOperation[] undoHistory = getOperationHistory()
+				.getUndoHistory(undoContext);
+		long[] sizes = new long[undoHistory.length];
+		long totalSize = 0;
+		for (int i = 0; i < undoHistory.length; i++) {
+			Long size = estimatedSizes.get(undoHistory[i]);
+			if (size == null) {
+				size = estimateRetainedSize(undoHistory[i]);
+				estimatedSizes.put(undoHistory[i], size);
+			}
+			sizes[i] = size;
+			totalSize += size;
+		}
+		// history is ordered from oldest to most recent
+		for (int i = 0; i < undoHistory.length - 1
+				&& totalSize > undoMemoryBudget; i++) {
+			remove(undoHistory[i]);
+			totalSize -= sizes[i];
+		}
+	}
+
+	/**
+	 * Estimates the memory that is retained by the given
+	 * {@link IUndoableOperation}. The estimate is used to enforce the
+	 * {@link #getUndoMemoryBudget() undo memory budget}. By default, an
+	 * {@link ISizedOperation} is estimated by its
+	 * {@link ISizedOperation#getRetainedSize() retained size}, while other
+	 * operations are estimated by a fixed default size. A composite operation
+	 * is estimated by its own size plus the sum of the estimates of its nested
+	 * operations. Subclasses may override this method to provide more
+	 * accurate estimates for specific operations.
+	 *
+	 * @param operation
+	 *            The {@link IUndoableOperation} for which to estimate the
+	 *            retained memory.
+	 * @return The estimated number of bytes retained by the given
+	 *         {@link IUndoableOperation}.
+	 */
+	protected long estimateRetainedSize(IUndoableOperation operation) {
+		long size = operation instanceof ISizedOperation
+				? ((ISizedOperation) operation).getRetainedSize()
+				: DEFAULT_OPERATION_SIZE;
+		if (operation instanceof AbstractCompositeOperation) {
+			for (ITransactionalOperation op : ((AbstractCompositeOperation) operation)
+					.getOperations()) {
+				size += estimateRetainedSize(op);
+			}
+		}
+		return size;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -303,6 +471,19 @@ public class HistoricizingDomain implements IDomain {
 		}
 	}
 
+	private List<Object> getMergeKey(ITransactionalOperation step) {
+		if (step instanceof ChangeViewportOperation) {
+			return Arrays.<Object> asList(ChangeViewportOperation.class,
+					((ChangeViewportOperation) step).getInfiniteCanvas());
+		} else if (step instanceof TransformContentOperation) {
+			return Arrays.<Object> asList(TransformContentOperation.class,
+					((TransformContentOperation) step)
+							.getTransformableContentPart());
+		}
+		return Arrays.<Object> asList(TransformVisualOperation.class,
+				((TransformVisualOperation) step).getTransformablePart());
+	}
+
 	@Override
 	public <T> T getAdapter(AdapterKey<T> key) {
 		return ads.getAdapter(key);
@@ -365,6 +546,17 @@ public class HistoricizingDomain implements IDomain {
 		return undoContext;
 	}
 
+	/**
+	 * Returns the estimated number of bytes that may be retained by the
+	 * operations within the undo history.
+	 *
+	 * @return The undo memory budget in bytes.
+	 * @see #setUndoMemoryBudget(long)
+	 */
+	public long getUndoMemoryBudget() {
+		return undoMemoryBudget;
+	}
+
 	@Override
 	public Map<AdapterKey<? extends IViewer>, IViewer> getViewers() {
 		return ads.getAdapters(IViewer.class);
@@ -375,6 +567,30 @@ public class HistoricizingDomain implements IDomain {
 		return acs.isActive();
 	}
 
+	/**
+	 * Returns <code>true</code> if consecutive transformations of the same
+	 * parts are merged into a single operation within the undo history.
+	 * Otherwise returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if content transformations are compacted,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isCompactContentTransforms() {
+		return compactContentTransforms;
+	}
+
+	/**
+	 * Returns <code>true</code> if consecutive viewport changes are merged
+	 * into a single operation within the undo history. Otherwise returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if viewport changes are compacted, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isCompactViewportChanges() {
+		return compactViewportChanges;
+	}
+
 	/**
 	 * Returns <code>true</code> if an execution transaction is currently open.
 	 * Otherwise returns <code>false</code>.
@@ -391,6 +607,84 @@ public class HistoricizingDomain implements IDomain {
 		return transactionContext.contains(tool);
 	}
 
+	/**
+	 * Merges the given <i>next</i> {@link IUndoableOperation} into the given
+	 * <i>previous</i> {@link IUndoableOperation} if both are compatible.
+	 * Returns <code>true</code> if the operations were merged, otherwise
+	 * returns <code>false</code>.
+	 * <p>
+	 * Two operations are compatible if both consist of the same kind of
+	 * (non-no-op) steps for the same targets, i.e. {@link ChangeViewportOperation}
+	 * s for the same canvas (if {@link #isCompactViewportChanges()}), or
+	 * {@link TransformContentOperation}s and {@link TransformVisualOperation}s
+	 * for the same parts (if {@link #isCompactContentTransforms()}). When
+	 * merging, each step of the <i>previous</i> operation adopts the final
+	 * state of the corresponding step of the <i>next</i> operation, so that
+	 * undoing the <i>previous</i> operation restores the state before both
+	 * operations.
+	 *
+	 * @param previous
+	 *            The {@link IUndoableOperation} that precedes <i>next</i>
+	 *            within the undo history.
+	 * @param next
+	 *            The {@link IUndoableOperation} that is to be merged into
+	 *            <i>previous</i>.
+	 * @return <code>true</code> if <i>next</i> was merged into
+	 *         <i>previous</i>, otherwise <code>false</code>.
+	 */
+	protected boolean merge(IUndoableOperation previous,
+			IUndoableOperation next) {
+		List<ITransactionalOperation> previousSteps = new ArrayList<>();
+		List<ITransactionalOperation> nextSteps = new ArrayList<>();
+		if (!collectMergeableSteps(previous, previousSteps)
+				|| !collectMergeableSteps(next, nextSteps)
+				|| previousSteps.isEmpty()
+				|| previousSteps.size() != nextSteps.size()) {
+			return false;
+		}
+
+		// match steps by kind and target
+		Map<List<Object>, ITransactionalOperation> previousStepsByKey = new HashMap<>();
+		for (ITransactionalOperation step : previousSteps) {
+			if (previousStepsByKey.put(getMergeKey(step), step) != null) {
+				return false;
+			}
+		}
+		List<ITransactionalOperation> matchingSteps = new ArrayList<>();
+		for (ITransactionalOperation step : nextSteps) {
+			ITransactionalOperation match = previousStepsByKey
+					.remove(getMergeKey(step));
+			if (match == null) {
+				return false;
+			}
+			matchingSteps.add(match);
+		}
+
+		// merge final states
+		for (int i = 0; i < nextSteps.size(); i++) {
+			ITransactionalOperation target = matchingSteps.get(i);
+			ITransactionalOperation source = nextSteps.get(i);
+			if (target instanceof ChangeViewportOperation) {
+				ChangeViewportOperation t = (ChangeViewportOperation) target;
+				ChangeViewportOperation s = (ChangeViewportOperation) source;
+				t.setNewWidth(s.getNewWidth());
+				t.setNewHeight(s.getNewHeight());
+				t.setNewHorizontalScrollOffset(
+						s.getNewHorizontalScrollOffset());
+				t.setNewVerticalScrollOffset(s.getNewVerticalScrollOffset());
+				t.setNewContentTransform(s.getNewContentTransform());
+			} else if (target instanceof TransformContentOperation) {
+				((TransformContentOperation) target).setFinalDelta(
+						((TransformContentOperation) source)
+								.getFinalTransform());
+			} else {
+				((TransformVisualOperation) target).setFinalTransform(
+						((TransformVisualOperation) source).getNewTransform());
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void openExecutionTransaction(IGesture tool) {
 		// if (transactionContext.contains(tool)) {
@@ -413,6 +707,18 @@ public class HistoricizingDomain implements IDomain {
 		}
 	}
 
+	private void remove(IUndoableOperation operation) {
+		estimatedSizes.remove(operation);
+		if (operation.getContexts().length > 1) {
+			// only remove the operation from the undo context of this domain
+			operation.removeContext(undoContext);
+		} else {
+			getOperationHistory().replaceOperation(operation,
+					new IUndoableOperation[] {});
+			operation.dispose();
+		}
+	}
+
 	@Override
 	public <T> void setAdapter(T adapter) {
 		ads.setAdapter(adapter);
@@ -435,6 +741,34 @@ public class HistoricizingDomain implements IDomain {
 		ads.setAdapter(adapterType, adapter, role);
 	}
 
+	/**
+	 * Specifies whether consecutive transformations of the same parts are
+	 * merged into a single operation within the undo history (see
+	 * {@link #merge(IUndoableOperation, IUndoableOperation)}). As this reduces
+	 * the granularity of undo, it is disabled by default.
+	 *
+	 * @param compactContentTransforms
+	 *            <code>true</code> to compact content transformations,
+	 *            otherwise <code>false</code>.
+	 */
+	public void setCompactContentTransforms(boolean compactContentTransforms) {
+		this.compactContentTransforms = compactContentTransforms;
+	}
+
+	/**
+	 * Specifies whether consecutive viewport changes (e.g. scrolling and
+	 * zooming steps) are merged into a single operation within the undo
+	 * history (see {@link #merge(IUndoableOperation, IUndoableOperation)}). As
+	 * this reduces the granularity of undo, it is disabled by default.
+	 *
+	 * @param compactViewportChanges
+	 *            <code>true</code> to compact viewport changes, otherwise
+	 *            <code>false</code>.
+	 */
+	public void setCompactViewportChanges(boolean compactViewportChanges) {
+		this.compactViewportChanges = compactViewportChanges;
+	}
+
 	/**
 	 * Sets the {@link IOperationHistory} that is used by this
 	 * {@link HistoricizingDomain} to the given value. Operation history
@@ -449,12 +783,16 @@ public class HistoricizingDomain implements IDomain {
 				&& this.operationHistory != operationHistory) {
 			this.operationHistory
 					.removeOperationHistoryListener(transactionListener);
+			this.operationHistory
+					.removeOperationHistoryListener(historyCompactionListener);
 		}
 		if (this.operationHistory != operationHistory) {
 			this.operationHistory = operationHistory;
 			if (this.operationHistory != null) {
 				this.operationHistory
 						.addOperationHistoryListener(transactionListener);
+				this.operationHistory
+						.addOperationHistoryListener(historyCompactionListener);
 				if (undoContext != null) {
 					this.operationHistory.setLimit(undoContext,
 							DEFAULT_UNDO_LIMIT);
@@ -478,6 +816,23 @@ public class HistoricizingDomain implements IDomain {
 		}
 	}
 
+	/**
+	 * Sets the estimated number of bytes that may be retained by the
+	 * operations within the undo history. When the budget is exceeded, the
+	 * oldest operations are evicted from the undo history. A value that is
+	 * smaller than or equal to <code>0</code> disables the budget, so that the
+	 * undo history is only bounded by count.
+	 *
+	 * @param undoMemoryBudget
+	 *            The new undo memory budget in bytes.
+	 */
+	public void setUndoMemoryBudget(long undoMemoryBudget) {
+		this.undoMemoryBudget = undoMemoryBudget;
+		if (operationHistory != null && undoContext != null) {
+			enforceUndoMemoryBudget();
+		}
+	}
+
 	@Override
 	public <T> void unsetAdapter(T adapter) {
 		ads.unsetAdapter(adapter);
@@ -62,9 +62,7 @@ public class DeleteSelectedOnTypeHandler extends AbstractHandler
 		DeletionPolicy deletionPolicy = getHost().getRoot()
 				.getAdapter(DeletionPolicy.class);
 		init(deletionPolicy);
-		for (IContentPart<? extends Node> s : selected) {
-			deletionPolicy.delete(s);
-		}
+		deletionPolicy.delete(selected);
 		commit(deletionPolicy);
 	}
 
@@ -25,17 +25,26 @@ import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.parts.IBendableContentPart;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.policies.TransformPolicy;
 
 import javafx.scene.Node;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.transform.Translate;
 import javafx.util.Pair;
 
 /**
  * The {@link TranslateSelectedOnDragHandler} is an {@link IOnDragHandler} that
  * relocates its {@link #getHost() host} when it is dragged with the mouse.
+ * <p>
+ * When multiple parts are dragged, the visuals of the parts that are
+ * {@link #isGroupTranslate(IContentPart) group translated} are moved through a
+ * single {@link Translate} that is shared among all parts with the same parent
+ * during the gesture, which avoids per-event operations on their
+ * {@link TransformPolicy}s. These are only updated once, when the drag is
+ * finished.
  *
  * @author anyssen
  * @auther mwienand
@@ -49,6 +58,8 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 	private Point initialMouseLocationInScene = null;
 	private Map<IContentPart<? extends Node>, Integer> translationIndices = new HashMap<>();
 	private List<Pair<IContentPart<? extends Node>, TransformPolicy>> targets;
+	private Map<Node, Translate> groupTranslates = new HashMap<>();
+	private Map<IContentPart<? extends Node>, Translate> groupTranslatedParts = new IdentityHashMap<>();
 
 	// gesture validity
 	private boolean invalidGesture = false;
@@ -60,6 +71,9 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 			return;
 		}
 
+		// remove shared translations
+		removeGroupTranslates(false);
+
 		// roll back changes for all target parts
 		for (Pair<IContentPart<? extends Node>, TransformPolicy> pair : targets) {
 			rollback(pair.getValue());
@@ -92,8 +106,17 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 		}
 		// determine if snapping is performed
 		boolean performSnapping = !isPrecise(e);
-		// apply changes to the target parts
+		// update shared translations
+		for (Map.Entry<Node, Translate> entry : groupTranslates.entrySet()) {
+			Point deltaInParent = getDeltaInParent(entry.getKey(), delta);
+			entry.getValue().setX(deltaInParent.x);
+			entry.getValue().setY(deltaInParent.y);
+		}
+		// apply changes to the remaining target parts
 		for (Pair<IContentPart<? extends Node>, TransformPolicy> pair : targets) {
+			if (groupTranslatedParts.containsKey(pair.getKey())) {
+				continue;
+			}
 			// determine start and end position in scene coordinates
 			Point startInScene = boundsInScene.get(pair.getKey()).getTopLeft();
 			Point endInScene = startInScene.getTranslated(delta);
@@ -135,6 +158,9 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 			return;
 		}
 
+		// transfer shared translations to the transform policies
+		removeGroupTranslates(true);
+
 		// commit changes for all target parts
 		for (Pair<IContentPart<? extends Node>, TransformPolicy> pair : targets) {
 			commit(pair.getValue());
@@ -171,6 +197,14 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 		return connectedSupport;
 	}
 
+	private Point getDeltaInParent(Node parent, Dimension delta) {
+		Point startInScene = getInitialMouseLocationInScene();
+		Point startInParent = NodeUtils.sceneToLocal(parent, startInScene);
+		Point endInParent = NodeUtils.sceneToLocal(parent,
+				startInScene.getTranslated(delta));
+		return endInParent.getTranslated(startInParent.getNegated());
+	}
+
 	/**
 	 * Returns the initial mouse location in scene coordinates.
 	 *
@@ -220,6 +254,36 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 	public void hideIndicationCursor() {
 	}
 
+	/**
+	 * Returns <code>true</code> if the visual of the given {@link IContentPart}
+	 * should be translated through a {@link Translate} that is shared among
+	 * all target parts with the same parent during the drag gesture, which
+	 * avoids per-event operations on its {@link TransformPolicy}. Otherwise
+	 * returns <code>false</code>.
+	 * <p>
+	 * Per default, returns <code>true</code> if multiple parts are dragged
+	 * (so that no snapping is performed), the given part is not an
+	 * {@link IBendableContentPart}, and its visual is neither rotated nor
+	 * scaled via its node properties (so that a translation in parent
+	 * coordinates can be prepended to its transformations).
+	 *
+	 * @param part
+	 *            The {@link IContentPart} in question.
+	 * @return <code>true</code> if the given {@link IContentPart} should be
+	 *         translated through a shared transformation, otherwise
+	 *         <code>false</code>.
+	 */
+	protected boolean isGroupTranslate(IContentPart<? extends Node> part) {
+		if (targets.size() < 2 || snapToSupport != null
+				|| part instanceof IBendableContentPart) {
+			return false;
+		}
+		Node visual = part.getVisual();
+		return visual.getParent() != null && visual.getRotate() == 0
+				&& visual.getScaleX() == 1 && visual.getScaleY() == 1
+				&& visual.getScaleZ() == 1;
+	}
+
 	/**
 	 * Returns <code>true</code> if precise manipulations should be performed
 	 * for the given {@link MouseEvent}. Otherwise returns <code>false</code>.
@@ -273,6 +337,33 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 		return true;
 	}
 
+	/**
+	 * Removes the shared translations from the visuals of the group
+	 * translated parts. If <i>apply</i> is <code>true</code>, the shared
+	 * translations are transferred to the {@link TransformPolicy}s of the
+	 * respective parts.
+	 *
+	 * @param apply
+	 *            <code>true</code> if the shared translations should be
+	 *            transferred to the {@link TransformPolicy}s, otherwise
+	 *            <code>false</code>.
+	 */
+	private void removeGroupTranslates(boolean apply) {
+		for (Pair<IContentPart<? extends Node>, TransformPolicy> pair : targets) {
+			Translate translate = groupTranslatedParts.get(pair.getKey());
+			if (translate != null) {
+				pair.getKey().getVisual().getTransforms().remove(translate);
+				if (apply) {
+					pair.getValue().setPostTranslate(
+							translationIndices.get(pair.getKey()),
+							translate.getX(), translate.getY());
+				}
+			}
+		}
+		groupTranslatedParts.clear();
+		groupTranslates.clear();
+	}
+
 	/**
 	 * Sets the initial mouse location to the given value.
 	 *
@@ -343,6 +434,23 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 			}
 		}
 
+		// share one translation per parent among the group translated parts
+		for (Pair<IContentPart<? extends Node>, TransformPolicy> pair : targets) {
+			IContentPart<? extends Node> part = pair.getKey();
+			if (isGroupTranslate(part)) {
+				Node parent = part.getVisual().getParent();
+				Translate translate = groupTranslates.get(parent);
+				if (translate == null) {
+					translate = new Translate();
+					groupTranslates.put(parent, translate);
+				}
+				// prepend, so that the translation is applied in parent
+				// coordinates
+				part.getVisual().getTransforms().add(0, translate);
+				groupTranslatedParts.put(part, translate);
+			}
+		}
+
 		connectedSupport = getHost().getViewer()
 				.getAdapter(ConnectedSupport.class);
 		if (connectedSupport != null) {
@@ -17,7 +17,9 @@ package org.eclipse.gef.mvc.fx.models;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.common.beans.property.ReadOnlyListWrapperEx;
 import org.eclipse.gef.common.collections.CollectionUtils;
@@ -38,6 +40,11 @@ import javafx.scene.Node;
  * It represents the selection as an ordered list of {@link IContentPart}s.
  * Thereby, it supports a multi-selection and allows to identify a primary
  * selection (the head element of the list) that may be treated specially.
+ * <p>
+ * The ordered selection is accompanied by an identity hash index, so that
+ * membership tests (e.g. {@link #isSelected(IContentPart)}) and the
+ * deduplication within the bulk operations do not depend on the size of the
+ * selection. All bulk operations notify listeners with a single change.
  *
  * @author anyssen
  * @author mwienand
@@ -58,6 +65,11 @@ public class SelectionModel
 	private ObservableList<IContentPart<? extends Node>> selection = CollectionUtils
 			.observableArrayList();
 
+	// identity index of the selected parts, kept in sync with the selection
+	// (it is updated before the selection is changed, so that it is
+	// consistent when listeners are notified)
+	private Set<IContentPart<? extends Node>> selectionIndex = createIndex();
+
 	private ObservableList<IContentPart<? extends Node>> selectionUnmodifiable = FXCollections
 			.unmodifiableObservableList(selection);
 	private ReadOnlyListWrapper<IContentPart<? extends Node>> selectionUnmodifiableProperty = new ReadOnlyListWrapperEx<>(
@@ -71,7 +83,7 @@ public class SelectionModel
 			if (change.wasRemoved()) {
 				IVisualPart<? extends Node> valueRemoved = change
 						.getValueRemoved();
-				if (selection.contains(valueRemoved)) {
+				if (selectionIndex.remove(valueRemoved)) {
 					selection.remove(valueRemoved);
 				}
 			}
@@ -114,46 +126,58 @@ public class SelectionModel
 	 */
 	public void appendToSelection(
 			List<? extends IContentPart<? extends Node>> toBeAppended) {
-		List<IContentPart<? extends Node>> newSelection = getSelectionCopy();
-		newSelection.removeAll(toBeAppended);
-		for (IContentPart<? extends Node> p : toBeAppended) {
-			if (newSelection.contains(p)) {
-				throw new IllegalArgumentException("The content part " + p
-						+ " is provided more than once in the given list.");
+		Set<IContentPart<? extends Node>> appended = createIndex(toBeAppended);
+		List<IContentPart<? extends Node>> newSelection = new ArrayList<>(
+				selection.size() + toBeAppended.size());
+		for (IContentPart<? extends Node> p : selection) {
+			if (!appended.contains(p)) {
+				newSelection.add(p);
 			}
-			newSelection.add(p);
-		}
-		// XXX: ObservableList.setAll() is not properly guarded against not
-		// having an effect (and will always notify attached listeners)
-		if (!selection.equals(newSelection)) {
-			selection.setAll(newSelection);
 		}
+		newSelection.addAll(toBeAppended);
+		updateSelection(newSelection);
 	}
 
 	/**
 	 * Clears the current selection.
 	 */
 	public void clearSelection() {
+		selectionIndex.clear();
 		selection.clear();
 	}
 
 	/**
-	 * @since 1.1
+	 * Creates an identity hash set of the given {@link IContentPart}s.
+	 *
+	 * @param contentParts
+	 *            The {@link IContentPart}s to add to the set.
+	 * @return An identity hash set containing the given {@link IContentPart}s.
+	 * @throws IllegalArgumentException
+	 *             if an {@link IContentPart} is contained more than once.
 	 */
-	@Override
-	public void dispose() {
-		// setAdaptable() already clears the selection
+	private static Set<IContentPart<? extends Node>> createIndex(
+			Collection<? extends IContentPart<? extends Node>> contentParts) {
+		Set<IContentPart<? extends Node>> index = createIndex();
+		for (IContentPart<? extends Node> p : contentParts) {
+			if (!index.add(p)) {
+				throw new IllegalArgumentException("The content part " + p
+						+ " is provided more than once in the given list.");
+			}
+		}
+		return index;
+	}
+
+	private static Set<IContentPart<? extends Node>> createIndex() {
+		return Collections.newSetFromMap(
+				new IdentityHashMap<IContentPart<? extends Node>, Boolean>());
 	}
 
 	/**
-	 * Returns a modifiable list of the currently selected {@link IContentPart}
-	 * s.
-	 *
-	 * @return A modifiable list of the currently selected {@link IContentPart}
-	 *         s.
+	 * @since 1.1
 	 */
-	private List<IContentPart<? extends Node>> getSelectionCopy() {
-		return new ArrayList<>(selection);
+	@Override
+	public void dispose() {
+		// setAdaptable() already clears the selection
 	}
 
 	/**
@@ -177,7 +201,7 @@ public class SelectionModel
 	 *         current selection.
 	 */
 	public boolean isSelected(IContentPart<? extends Node> contentPart) {
-		return selection.contains(contentPart);
+		return selectionIndex.contains(contentPart);
 	}
 
 	/**
@@ -216,19 +240,17 @@ public class SelectionModel
 	 */
 	public void prependToSelection(
 			List<? extends IContentPart<? extends Node>> toBePrepended) {
-		List<IContentPart<? extends Node>> newSelection = getSelectionCopy();
-		newSelection.removeAll(toBePrepended);
-		int i = 0;
-		for (IContentPart<? extends Node> p : toBePrepended) {
-			if (newSelection.contains(p)) {
-				throw new IllegalArgumentException("The content part " + p
-						+ " is provided more than once in the given list.");
+		Set<IContentPart<? extends Node>> prepended = createIndex(
+				toBePrepended);
+		List<IContentPart<? extends Node>> newSelection = new ArrayList<>(
+				selection.size() + toBePrepended.size());
+		newSelection.addAll(toBePrepended);
+		for (IContentPart<? extends Node> p : selection) {
+			if (!prepended.contains(p)) {
+				newSelection.add(p);
 			}
-			newSelection.add(i++, p);
-		}
-		if (!selection.equals(newSelection)) {
-			selection.setAll(newSelection);
 		}
+		updateSelection(newSelection);
 	}
 
 	/**
@@ -242,7 +264,18 @@ public class SelectionModel
 	 */
 	public void removeFromSelection(
 			Collection<? extends IContentPart<? extends Node>> contentParts) {
-		selection.removeAll(contentParts);
+		Set<IContentPart<? extends Node>> removed = createIndex();
+		for (IContentPart<? extends Node> p : contentParts) {
+			if (selectionIndex.contains(p)) {
+				removed.add(p);
+			}
+		}
+		if (!removed.isEmpty()) {
+			selectionIndex.removeAll(removed);
+			// XXX: The removed parts are passed as a set, so that removeAll()
+			// performs a hash lookup per selected part.
+			selection.removeAll(removed);
+		}
 	}
 
 	/**
@@ -254,7 +287,9 @@ public class SelectionModel
 	 *            selection.
 	 */
 	public void removeFromSelection(IContentPart<? extends Node> contentPart) {
-		selection.remove(contentPart);
+		if (selectionIndex.remove(contentPart)) {
+			selection.remove(contentPart);
+		}
 	}
 
 	/**
@@ -305,17 +340,29 @@ public class SelectionModel
 	 */
 	public void setSelection(
 			List<? extends IContentPart<? extends Node>> selection) {
-		List<IContentPart<? extends Node>> newSelection = new ArrayList<>();
-		int i = 0;
-		for (IContentPart<? extends Node> p : selection) {
-			if (newSelection.contains(p)) {
-				throw new IllegalArgumentException("The content part " + p
-						+ " is provided more than once in the given list.");
-			}
-			newSelection.add(i++, p);
-		}
-		if (!this.selection.equals(newSelection)) {
-			this.selection.setAll(newSelection);
+		updateSelection(new ArrayList<>(selection));
+	}
+
+	/**
+	 * Replaces the current selection with the given list of
+	 * {@link IContentPart}s (firing a single change), unless it is equal to
+	 * the current selection.
+	 *
+	 * @param newSelection
+	 *            The list of {@link IContentPart}s constituting the new
+	 *            selection.
+	 * @throws IllegalArgumentException
+	 *             if an {@link IContentPart} is contained more than once.
+	 */
+	private void updateSelection(
+			List<IContentPart<? extends Node>> newSelection) {
+		Set<IContentPart<? extends Node>> newSelectionIndex = createIndex(
+				newSelection);
+		// XXX: ObservableList.setAll() is not properly guarded against not
+		// having an effect (and will always notify attached listeners)
+		if (!selection.equals(newSelection)) {
+			selectionIndex = newSelectionIndex;
+			selection.setAll(newSelection);
 		}
 	}
 }
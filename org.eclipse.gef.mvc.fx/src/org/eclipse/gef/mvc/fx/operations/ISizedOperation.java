@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.operations;
+
+import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
+
+/**
+ * An {@link ISizedOperation} is an {@link ITransactionalOperation} that
+ * estimates the memory it retains, e.g. for the states that are needed to undo
+ * and redo its changes. The estimate is used by the
+ * {@link HistoricizingDomain} to bound its undo history by memory. Operations
+ * that do not implement this interface are estimated by a fixed default size.
+ *
+ * @author zhaosongvip
+ *
+ */
+public interface ISizedOperation extends ITransactionalOperation {
+
+	/**
+	 * Returns the estimated number of bytes that are retained by this
+	 * {@link ISizedOperation}. Objects that are not exclusively retained by
+	 * this operation (e.g. parts, visuals, or content elements) should only
+	 * be counted as references. Nested operations of a composite operation
+	 * are estimated separately and should not be included.
+	 *
+	 * @return The estimated number of bytes retained by this
+	 *         {@link ISizedOperation}.
+	 */
+	public long getRetainedSize();
+
+}
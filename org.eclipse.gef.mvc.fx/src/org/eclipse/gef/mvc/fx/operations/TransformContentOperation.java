@@ -74,6 +74,27 @@ public class TransformContentOperation extends AbstractOperation
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Returns the {@link AffineTransform} that will be set on the content upon
+	 * execution of this operation.
+	 *
+	 * @return The final {@link AffineTransform}.
+	 */
+	public AffineTransform getFinalTransform() {
+		return finalTransform;
+	}
+
+	/**
+	 * Returns the {@link ITransformableContentPart} whose content is
+	 * transformed by this operation.
+	 *
+	 * @return The {@link ITransformableContentPart} whose content is
+	 *         transformed by this operation.
+	 */
+	public ITransformableContentPart<? extends Node> getTransformableContentPart() {
+		return transformableContentPart;
+	}
+
 	@Override
 	public boolean isContentRelevant() {
 		return true;
@@ -117,6 +117,17 @@ public class TransformVisualOperation extends AbstractOperation
 		return finalTransform;
 	}
 
+	/**
+	 * Returns the {@link ITransformableContentPart} that is transformed by
+	 * this operation.
+	 *
+	 * @return The {@link ITransformableContentPart} that is transformed by
+	 *         this operation.
+	 */
+	public ITransformableContentPart<? extends Node> getTransformablePart() {
+		return transformablePart;
+	}
+
 	@Override
 	public boolean isContentRelevant() {
 		return false;
@@ -97,6 +97,9 @@ public abstract class AbstractVisualPart<V extends Node>
 	private V visual;
 
 	private ReadOnlyObjectWrapper<IViewer> viewerProperty = new ReadOnlyObjectWrapper<>();
+	// resolved when the viewer link is obtained, so that it does not need to
+	// be looked up for each refresh
+	private RefreshVisualScheduler refreshVisualScheduler;
 
 	/**
 	 * Activates this {@link IVisualPart} (if it is not already active) by
@@ -636,11 +639,18 @@ public abstract class AbstractVisualPart<V extends Node>
 	/**
 	 * Refreshes this {@link IVisualPart}'s <i>visuals</i>. Delegates to
 	 * {@link #doRefreshVisual(Node)} in case {@link #isRefreshVisual()} is not
-	 * set to <code>false</code>.
+	 * set to <code>false</code>. If a {@link RefreshVisualScheduler} was bound
+	 * to the {@link IViewer} when this part was attached to it, the refresh is
+	 * deferred to the next pulse.
 	 */
 	@Override
 	public final void refreshVisual() {
 		if (visual != null && isRefreshVisual()) {
+			if (refreshVisualScheduler != null
+					&& refreshVisualScheduler.schedule(this)) {
+				// refresh is performed by the scheduler
+				return;
+			}
 			// System.out.println("Refresh visual of " + this);
 			doRefreshVisual(visual);
 		}
@@ -742,6 +752,10 @@ public abstract class AbstractVisualPart<V extends Node>
 			unregister(oldViewer);
 		}
 		viewerProperty.set(viewer);
+		if (viewer != oldViewer) {
+			refreshVisualScheduler = viewer == null ? null
+					: viewer.getAdapter(RefreshVisualScheduler.class);
+		}
 		if (viewer != null && viewer != oldViewer) {
 			register(viewer);
 		}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.parts;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.common.adapt.IAdaptable;
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+
+/**
+ * The {@link RefreshVisualScheduler} is an {@link IViewer} adapter that defers
+ * {@link IVisualPart#refreshVisual() visual refreshes} of the
+ * {@link AbstractVisualPart}s within its {@link IViewer} to the next JavaFX
+ * pulse. Parts that request a refresh are marked dirty, and each dirty part is
+ * refreshed only once per pulse, parents before their children. This way, a
+ * batch of changes affecting the same part (e.g. multiple attribute changes,
+ * or a layout pass) results in a single refresh.
+ * <p>
+ * Deferred refreshing is enabled by binding the {@link RefreshVisualScheduler}
+ * as an adapter of the {@link IViewer}. If no {@link RefreshVisualScheduler} is
+ * bound, visuals are refreshed synchronously. When synchronous visuals are
+ * needed (e.g. in tests or by operations that query the visuals after
+ * changing them), {@link #flush()} can be called to immediately refresh all
+ * dirty parts.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class RefreshVisualScheduler extends IAdaptable.Bound.Impl<IViewer>
+		implements IDisposable {
+
+	private Set<IVisualPart<? extends Node>> dirtyParts = new LinkedHashSet<>();
+	private IVisualPart<? extends Node> refreshedPart = null;
+	private boolean isFlushing = false;
+	private boolean isPulseScheduled = false;
+
+	private AnimationTimer pulseListener = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			flush();
+		}
+	};
+
+	@Override
+	public void dispose() {
+		dirtyParts.clear();
+		stopPulseListener();
+	}
+
+	/**
+	 * Refreshes the visuals of all dirty parts, parents before their children.
+	 * Parts that are marked dirty while flushing are refreshed as well, so
+	 * that no dirty parts remain when this method returns.
+	 */
+	public void flush() {
+		if (isFlushing) {
+			// dirty parts are processed by the running flush
+			return;
+		}
+		isFlushing = true;
+		try {
+			while (!dirtyParts.isEmpty()) {
+				List<IVisualPart<? extends Node>> parts = new ArrayList<>(
+						dirtyParts);
+				dirtyParts.clear();
+				// refresh parents before their children
+				final Map<IVisualPart<? extends Node>, Integer> depths = new IdentityHashMap<>();
+				for (IVisualPart<? extends Node> part : parts) {
+					depths.put(part, getDepth(part));
+				}
+				Collections.sort(parts,
+						new Comparator<IVisualPart<? extends Node>>() {
+							@Override
+							public int compare(IVisualPart<? extends Node> p1,
+									IVisualPart<? extends Node> p2) {
+								return Integer.compare(depths.get(p1),
+										depths.get(p2));
+							}
+						});
+				for (IVisualPart<? extends Node> part : parts) {
+					// skip parts that were removed from the viewer
+					if (part.getViewer() != getAdaptable()) {
+						continue;
+					}
+					refreshedPart = part;
+					try {
+						part.refreshVisual();
+					} finally {
+						refreshedPart = null;
+					}
+				}
+			}
+		} finally {
+			isFlushing = false;
+			stopPulseListener();
+		}
+	}
+
+	private int getDepth(IVisualPart<? extends Node> part) {
+		int depth = 0;
+		IVisualPart<? extends Node> parent = part.getParent();
+		while (parent != null) {
+			depth++;
+			parent = parent.getParent();
+		}
+		return depth;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given {@link IVisualPart} is marked
+	 * dirty, i.e. its visual will be refreshed during the next pulse (or
+	 * {@link #flush()}). Otherwise returns <code>false</code>.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} in question.
+	 * @return <code>true</code> if the given {@link IVisualPart} is marked
+	 *         dirty, otherwise <code>false</code>.
+	 */
+	public boolean isDirty(IVisualPart<? extends Node> part) {
+		return dirtyParts.contains(part);
+	}
+
+	/**
+	 * Marks the given {@link IVisualPart} dirty, so that its visual is
+	 * refreshed during the next pulse. Returns <code>true</code> if the
+	 * refresh was deferred, or <code>false</code> if the refresh should be
+	 * performed synchronously, which is the case when the given
+	 * {@link IVisualPart} is currently refreshed by this
+	 * {@link RefreshVisualScheduler}.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} whose visual needs to be refreshed.
+	 * @return <code>true</code> if the refresh was deferred, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean schedule(IVisualPart<? extends Node> part) {
+		if (part == refreshedPart) {
+			return false;
+		}
+		dirtyParts.add(part);
+		if (!isPulseScheduled) {
+			isPulseScheduled = true;
+			pulseListener.start();
+		}
+		return true;
+	}
+
+	private void stopPulseListener() {
+		if (isPulseScheduled) {
+			isPulseScheduled = false;
+			pulseListener.stop();
+		}
+	}
+
+}
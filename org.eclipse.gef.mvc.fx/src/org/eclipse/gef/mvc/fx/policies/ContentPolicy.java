@@ -11,6 +11,8 @@
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.policies;
 
+import java.util.Collection;
+
 import org.eclipse.gef.mvc.fx.operations.AbstractCompositeOperation;
 import org.eclipse.gef.mvc.fx.operations.AddContentChildOperation;
 import org.eclipse.gef.mvc.fx.operations.AttachToContentAnchorageOperation;
@@ -148,6 +150,30 @@ public class ContentPolicy extends AbstractPolicy {
 		locallyExecuteOperation();
 	}
 
+	/**
+	 * Creates and records operations to remove the given
+	 * <i>contentChildren</i> from the content children of the
+	 * {@link #getHost() host} of this {@link ContentPolicy}. In contrast to
+	 * calling {@link #removeContentChild(Object)} for each of the given
+	 * content children, the recorded operations are only locally executed
+	 * once, which is considerably faster when removing a lot of content
+	 * children.
+	 *
+	 * @param contentChildren
+	 *            The content {@link Object}s that are removed from the content
+	 *            children of the {@link #getHost() host} of this
+	 *            {@link ContentPolicy}.
+	 */
+	public void removeContentChildren(
+			Collection<? extends Object> contentChildren) {
+		checkInitialized();
+		for (Object contentChild : contentChildren) {
+			getCompositeOperation().add(
+					new RemoveContentChildOperation(getHost(), contentChild));
+		}
+		locallyExecuteOperation();
+	}
+
 	@Override
 	public void setAdaptable(IVisualPart<? extends Node> adaptable) {
 		if (adaptable != null && !(adaptable instanceof IContentPart)) {
@@ -18,9 +18,11 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ AbstractVisualPartTests.class, BendableTests.class, ContentSynchronizationTests.class,
-		FocusTraversalPolicyTests.class, SelectionModelTests.class, AbstractHandlePartTests.class,
+		DeletionPolicyTests.class, FocusTraversalPolicyTests.class, SelectionModelTests.class, AbstractHandlePartTests.class,
 		BendConnectionPolicyTests.class, ClickDragGestureTests.class, TypeStrokeGestureTests.class, TransformPolicyTests.class,
-		FocusTraversalPolicyTests.class, ResizePolicyTests.class })
+		FocusTraversalPolicyTests.class, HistoricizingDomainTests.class, RefreshVisualSchedulerTests.class,
+		ResizePolicyTests.class, SelectionBehaviorTests.class, TranslateSelectedOnDragHandlerTests.class,
+		ViewportCullingBehaviorTests.class })
 public class AllTests {
 
 }
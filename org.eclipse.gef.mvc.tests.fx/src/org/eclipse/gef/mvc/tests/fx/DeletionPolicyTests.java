@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.operations.IOperationHistory;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.policies.DeletionPolicy;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+public class DeletionPolicyTests {
+
+	/**
+	 * Content element that can contain other elements and can be anchored on
+	 * other elements.
+	 */
+	public static class Element {
+		public String name;
+		public List<Object> children = new ArrayList<>();
+		public List<Object> anchorages = new ArrayList<>();
+
+		public Element(String name, Element... children) {
+			this.name = name;
+			this.children.addAll(Arrays.asList(children));
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	public static class ElementPart extends AbstractContentPart<Group> {
+		public static final String ROLE = "anchorage";
+
+		@Override
+		protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
+			getVisual().getChildren().add(index, child.getVisual());
+		}
+
+		@Override
+		protected void doAddContentChild(Object contentChild, int index) {
+			getContent().children.add(index, contentChild);
+		}
+
+		@Override
+		protected void doAttachToAnchorageVisual(IVisualPart<? extends Node> anchorage, String role) {
+		}
+
+		@Override
+		protected void doAttachToContentAnchorage(Object contentAnchorage, String role) {
+			getContent().anchorages.add(contentAnchorage);
+		}
+
+		@Override
+		protected Group doCreateVisual() {
+			return new Group();
+		}
+
+		@Override
+		protected void doDetachFromAnchorageVisual(IVisualPart<? extends Node> anchorage, String role) {
+		}
+
+		@Override
+		protected void doDetachFromContentAnchorage(Object contentAnchorage, String role) {
+			getContent().anchorages.remove(contentAnchorage);
+		}
+
+		@Override
+		protected SetMultimap<? extends Object, String> doGetContentAnchorages() {
+			SetMultimap<Object, String> anchorages = HashMultimap.create();
+			for (Object anchorage : getContent().anchorages) {
+				anchorages.put(anchorage, ROLE);
+			}
+			return anchorages;
+		}
+
+		@Override
+		protected List<? extends Object> doGetContentChildren() {
+			return getContent().children;
+		}
+
+		@Override
+		protected void doRefreshVisual(Group visual) {
+		}
+
+		@Override
+		protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+			getVisual().getChildren().remove(child.getVisual());
+		}
+
+		@Override
+		protected void doRemoveContentChild(Object contentChild) {
+			getContent().children.remove(contentChild);
+		}
+
+		@Override
+		public Element getContent() {
+			return (Element) super.getContent();
+		}
+	}
+
+	public static class ElementPartFactory implements IContentPartFactory {
+		@Inject
+		private Injector injector;
+
+		@Override
+		public IContentPart<? extends Node> createContentPart(Object content, Map<Object, Object> contextMap) {
+			return injector.getInstance(ElementPart.class);
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	/**
+	 * Deletes root and nested elements together with their anchoreds, and
+	 * checks that undo restores and redo removes the contents, children, and
+	 * anchorages.
+	 */
+	@Test
+	public void test_deleteConnectedAndNestedUndoRedo() throws Throwable {
+		Injector injector = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void configure() {
+				super.configure();
+				binder().bind(IContentPartFactory.class).to(ElementPartFactory.class);
+			}
+		});
+		final HistoricizingDomain domain = (HistoricizingDomain) injector.getInstance(IDomain.class);
+		final IViewer viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(viewer.getCanvas(), 100, 100);
+
+		final Element a1 = new Element("A1");
+		final Element a2 = new Element("A2");
+		final Element a = new Element("A", a1, a2);
+		final Element b = new Element("B");
+		// C is connected to a nested and to a root element, D to a root
+		// element
+		final Element c = new Element("C");
+		c.anchorages.addAll(Arrays.asList(a1, b));
+		final Element d = new Element("D");
+		d.anchorages.add(a);
+		final List<Object> contents = Arrays.<Object> asList(a, b, c, d);
+
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(contents);
+		});
+		assertNotNull(viewer.getContentPartMap().get(a1));
+
+		ctx.runAndWait(() -> {
+			DeletionPolicy deletionPolicy = viewer.getRootPart().getAdapter(DeletionPolicy.class);
+			deletionPolicy.init();
+			deletionPolicy.delete(Arrays.asList(viewer.getContentPartMap().get(a1), viewer.getContentPartMap().get(a),
+					viewer.getContentPartMap().get(b)));
+			try {
+				domain.execute(deletionPolicy.commit(), new NullProgressMonitor());
+			} catch (ExecutionException x) {
+				fail(x.getMessage());
+			}
+		});
+		final Runnable checkDeleted = () -> {
+			assertEquals(Arrays.asList(c, d), viewer.getContents());
+			assertTrue(c.anchorages.isEmpty());
+			assertTrue(d.anchorages.isEmpty());
+			// nested elements are removed together with their ancestor
+			assertEquals(Arrays.asList(a1, a2), a.children);
+			assertNull(viewer.getContentPartMap().get(a));
+			assertNull(viewer.getContentPartMap().get(a1));
+			assertTrue(viewer.getContentPartMap().get(c).getAnchoragesUnmodifiable().isEmpty());
+		};
+		checkDeleted.run();
+
+		final IOperationHistory history = domain.getOperationHistory();
+		ctx.runAndWait(() -> {
+			try {
+				history.undo(domain.getUndoContext(), null, null);
+			} catch (ExecutionException x) {
+				fail(x.getMessage());
+			}
+		});
+		assertEquals(contents, viewer.getContents());
+		assertEquals(Arrays.asList(a1, b), c.anchorages);
+		assertEquals(Collections.singletonList(a), d.anchorages);
+		IContentPart<? extends Node> cPart = viewer.getContentPartMap().get(c);
+		assertEquals(2, cPart.getAnchoragesUnmodifiable().size());
+		assertTrue(cPart.getAnchoragesUnmodifiable().containsKey(viewer.getContentPartMap().get(a1)));
+		assertTrue(cPart.getAnchoragesUnmodifiable().containsKey(viewer.getContentPartMap().get(b)));
+		assertTrue(viewer.getContentPartMap().get(d).getAnchoragesUnmodifiable()
+				.containsKey(viewer.getContentPartMap().get(a)));
+
+		ctx.runAndWait(() -> {
+			try {
+				history.redo(domain.getUndoContext(), null, null);
+			} catch (ExecutionException x) {
+				fail(x.getMessage());
+			}
+		});
+		checkDeleted.run();
+
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.emptyList());
+			domain.deactivate();
+		});
+	}
+}
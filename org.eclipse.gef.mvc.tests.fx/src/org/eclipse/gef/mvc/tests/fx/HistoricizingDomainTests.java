@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.operations.AbstractOperation;
+import org.eclipse.core.commands.operations.DefaultOperationHistory;
+import org.eclipse.core.commands.operations.IUndoableOperation;
+import org.eclipse.core.commands.operations.UndoContext;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
+import org.eclipse.gef.mvc.fx.operations.ChangeViewportOperation;
+import org.eclipse.gef.mvc.fx.operations.ForwardUndoCompositeOperation;
+import org.eclipse.gef.mvc.fx.operations.ISizedOperation;
+import org.eclipse.gef.mvc.tests.fx.rules.FXApplicationThreadRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class HistoricizingDomainTests {
+
+	/**
+	 * Operation that retains the given number of longs.
+	 */
+	private static class PayloadOperation extends AbstractOperation implements ISizedOperation {
+		private final long[] payload;
+
+		public PayloadOperation(int size) {
+			super("Payload");
+			payload = new long[size];
+		}
+
+		@Override
+		public IStatus execute(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public long getRetainedSize() {
+			// object header, array reference, and array
+			return 16 + 8 + 16 + 8 * payload.length;
+		}
+
+		@Override
+		public boolean isContentRelevant() {
+			return true;
+		}
+
+		@Override
+		public boolean isNoOp() {
+			return false;
+		}
+
+		@Override
+		public IStatus redo(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public IStatus undo(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+			return Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * Exposes {@link #estimateRetainedSize(IUndoableOperation)}.
+	 */
+	private static class TestDomain extends HistoricizingDomain {
+		public TestDomain() {
+			setOperationHistory(new DefaultOperationHistory());
+			setUndoContext(new UndoContext());
+		}
+
+		@Override
+		public long estimateRetainedSize(IUndoableOperation operation) {
+			return super.estimateRetainedSize(operation);
+		}
+
+		public IUndoableOperation[] getUndoHistory() {
+			return getOperationHistory().getUndoHistory(getUndoContext());
+		}
+	}
+
+	/**
+	 * Ensure all tests are executed on the JavaFX application thread (and the
+	 * JavaFX toolkit is properly initialized).
+	 */
+	@Rule
+	public FXApplicationThreadRule fxApplicationThreadRule = new FXApplicationThreadRule();
+
+	/**
+	 * Viewport changes are only compacted if enabled, and undoing a compacted
+	 * operation restores the state before all merged operations.
+	 */
+	@Test
+	public void test_compactViewportChanges() throws ExecutionException {
+		TestDomain domain = new TestDomain();
+		assertFalse(domain.isCompactViewportChanges());
+		InfiniteCanvas canvas = new InfiniteCanvas();
+		domain.execute(new ChangeViewportOperation(canvas, 10, 0), null);
+		domain.execute(new ChangeViewportOperation(canvas, 20, 0), null);
+		assertEquals(2, domain.getUndoHistory().length);
+
+		domain = new TestDomain();
+		domain.setCompactViewportChanges(true);
+		canvas = new InfiniteCanvas();
+		ChangeViewportOperation first = new ChangeViewportOperation(canvas, 10, 0);
+		domain.execute(first, null);
+		domain.execute(new ChangeViewportOperation(canvas, 20, 5), null);
+		domain.execute(new ChangeViewportOperation(canvas, 30, 10), null);
+		assertArrayEquals(new IUndoableOperation[] { first }, domain.getUndoHistory());
+		assertEquals(30, canvas.getHorizontalScrollOffset(), 0);
+
+		// undo restores the state before the merged operations
+		domain.getOperationHistory().undo(domain.getUndoContext(), null, null);
+		assertEquals(0, canvas.getHorizontalScrollOffset(), 0);
+		assertEquals(0, canvas.getVerticalScrollOffset(), 0);
+		domain.getOperationHistory().redo(domain.getUndoContext(), null, null);
+		assertEquals(30, canvas.getHorizontalScrollOffset(), 0);
+		assertEquals(10, canvas.getVerticalScrollOffset(), 0);
+
+		// incompatible operations are not merged
+		domain.execute(new PayloadOperation(0), null);
+		domain.execute(new ChangeViewportOperation(canvas, 40, 10), null);
+		assertEquals(3, domain.getUndoHistory().length);
+	}
+
+	/**
+	 * The estimated size is provided by sized operations, and composite
+	 * operations are estimated by the sum of their nested operations.
+	 */
+	@Test
+	public void test_estimateRetainedSize() {
+		TestDomain domain = new TestDomain();
+		PayloadOperation empty = new PayloadOperation(0);
+		PayloadOperation full = new PayloadOperation(1000);
+		assertEquals(1000 * 8, domain.estimateRetainedSize(full) - domain.estimateRetainedSize(empty));
+
+		ForwardUndoCompositeOperation composite = new ForwardUndoCompositeOperation("Composite");
+		composite.add(empty);
+		composite.add(full);
+		assertTrue(domain.estimateRetainedSize(composite) > domain.estimateRetainedSize(empty)
+				+ domain.estimateRetainedSize(full));
+	}
+
+	/**
+	 * The oldest operations are evicted when the budget is exceeded, while the
+	 * most recent operation is always kept.
+	 */
+	@Test
+	public void test_evictOldestOperations() throws ExecutionException {
+		TestDomain domain = new TestDomain();
+		// operations are estimated within the undo context
+		PayloadOperation probe = new PayloadOperation(1000);
+		probe.addContext(domain.getUndoContext());
+		long size = domain.estimateRetainedSize(probe);
+		domain.setUndoMemoryBudget(3 * size);
+		PayloadOperation[] operations = new PayloadOperation[5];
+		for (int i = 0; i < operations.length; i++) {
+			operations[i] = new PayloadOperation(1000);
+			domain.execute(operations[i], null);
+		}
+		assertArrayEquals(Arrays.copyOfRange(operations, 2, 5), domain.getUndoHistory());
+
+		// the most recent operation is kept even if it exceeds the budget
+		domain.setUndoMemoryBudget(1);
+		assertArrayEquals(new IUndoableOperation[] { operations[4] }, domain.getUndoHistory());
+		PayloadOperation large = new PayloadOperation(10000);
+		domain.execute(large, null);
+		assertEquals(1, domain.getUndoHistory().length);
+		assertSame(large, domain.getUndoHistory()[0]);
+
+		// without budget, the history is only bounded by count
+		domain.setUndoMemoryBudget(0);
+		for (int i = 0; i < 5; i++) {
+			domain.execute(new PayloadOperation(1000), null);
+		}
+		assertEquals(6, domain.getUndoHistory().length);
+	}
+}
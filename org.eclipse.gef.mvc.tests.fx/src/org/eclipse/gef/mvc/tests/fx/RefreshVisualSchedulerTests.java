@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.AbstractVisualPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.parts.RefreshVisualScheduler;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule.RunnableWithResult;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+public class RefreshVisualSchedulerTests {
+
+	/**
+	 * Counts the refreshes of its visual.
+	 */
+	private static class CountingPart extends AbstractVisualPart<Rectangle> {
+		private int refreshCount;
+
+		@Override
+		protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
+		}
+
+		@Override
+		protected Rectangle doCreateVisual() {
+			return new Rectangle(10, 10);
+		}
+
+		@Override
+		protected void doRefreshVisual(Rectangle visual) {
+			refreshCount++;
+		}
+
+		@Override
+		protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IViewer viewer;
+	private RefreshVisualScheduler scheduler;
+	private CountingPart part;
+
+	private void createViewer() throws Throwable {
+		Injector injector = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindIViewerAdaptersForContentViewer(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindIViewerAdaptersForContentViewer(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(RefreshVisualScheduler.class);
+			}
+		});
+		final IDomain domain = injector.getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		scheduler = viewer.getAdapter(RefreshVisualScheduler.class);
+		assertNotNull(scheduler);
+		ctx.createScene(viewer.getCanvas(), 100, 100);
+		part = new CountingPart();
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getRootPart().addChild(part);
+			scheduler.flush();
+		});
+	}
+
+	/**
+	 * Refreshes requested before a flush are coalesced into a single refresh,
+	 * which is performed by {@link RefreshVisualScheduler#flush()}.
+	 */
+	@Test
+	public void test_coalesceAndFlush() throws Throwable {
+		createViewer();
+		final int refreshCount = part.refreshCount;
+		ctx.runAndWait(() -> {
+			part.refreshVisual();
+			part.refreshVisual();
+			part.refreshVisual();
+			// deferred until flushed
+			assertEquals(refreshCount, part.refreshCount);
+			assertTrue(scheduler.isDirty(part));
+
+			scheduler.flush();
+			assertEquals(refreshCount + 1, part.refreshCount);
+			assertFalse(scheduler.isDirty(part));
+
+			// nothing remains to be refreshed
+			scheduler.flush();
+			assertEquals(refreshCount + 1, part.refreshCount);
+		});
+	}
+
+	/**
+	 * Refreshes requested within the same pulse are coalesced into a single
+	 * refresh that is performed during the next pulse.
+	 */
+	@Test
+	public void test_coalesceUntilPulse() throws Throwable {
+		createViewer();
+		final int refreshCount = part.refreshCount;
+		ctx.runAndWait(() -> {
+			part.refreshVisual();
+			part.refreshVisual();
+		});
+		for (int i = 0; i < 100 && ctx.runAndWait(new RunnableWithResult<Boolean>() {
+			@Override
+			public Boolean run() {
+				return scheduler.isDirty(part);
+			}
+		}); i++) {
+			Thread.sleep(20);
+		}
+		assertEquals(refreshCount + 1, (int) ctx.runAndWait(new RunnableWithResult<Integer>() {
+			@Override
+			public Integer run() {
+				return part.refreshCount;
+			}
+		}));
+	}
+
+	/**
+	 * Parts that are not attached to the viewer are refreshed synchronously.
+	 */
+	@Test
+	public void test_refreshDetachedSynchronously() throws Throwable {
+		createViewer();
+		ctx.runAndWait(() -> {
+			viewer.getRootPart().removeChild(part);
+			int refreshCount = part.refreshCount;
+			part.refreshVisual();
+			assertEquals(refreshCount + 1, part.refreshCount);
+			assertFalse(scheduler.isDirty(part));
+		});
+	}
+}
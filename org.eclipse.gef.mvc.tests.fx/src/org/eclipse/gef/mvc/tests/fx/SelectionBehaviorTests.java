@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.behaviors.SelectionBehavior;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
+import org.eclipse.gef.mvc.fx.parts.AbstractFeedbackPart;
+import org.eclipse.gef.mvc.fx.parts.AbstractHandlePart;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IFeedbackPart;
+import org.eclipse.gef.mvc.fx.parts.IFeedbackPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IHandlePart;
+import org.eclipse.gef.mvc.fx.parts.IHandlePartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+public class SelectionBehaviorTests {
+
+	public static class TestContentPart extends AbstractContentPart<Rectangle> {
+		@Override
+		protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
+		}
+
+		@Override
+		protected Rectangle doCreateVisual() {
+			return new Rectangle(50, 50);
+		}
+
+		@Override
+		protected SetMultimap<? extends Object, String> doGetContentAnchorages() {
+			return HashMultimap.create();
+		}
+
+		@Override
+		protected List<? extends Object> doGetContentChildren() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		protected void doRefreshVisual(Rectangle visual) {
+		}
+
+		@Override
+		protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+		}
+	}
+
+	public static class TestContentPartFactory implements IContentPartFactory {
+		@Inject
+		private Injector injector;
+
+		@Override
+		public IContentPart<? extends Node> createContentPart(Object content, Map<Object, Object> contextMap) {
+			return injector.getInstance(TestContentPart.class);
+		}
+	}
+
+	public static class TestFeedbackPart extends AbstractFeedbackPart<Rectangle> {
+		@Override
+		protected Rectangle doCreateVisual() {
+			return new Rectangle(5, 5);
+		}
+
+		@Override
+		protected void doRefreshVisual(Rectangle visual) {
+		}
+	}
+
+	/**
+	 * Creates a single feedback part per target set and counts the created
+	 * parts.
+	 */
+	public static class TestFeedbackPartFactory implements IFeedbackPartFactory {
+		private int created;
+
+		@Override
+		public List<IFeedbackPart<? extends Node>> createFeedbackParts(List<? extends IVisualPart<? extends Node>> targets,
+				Map<Object, Object> contextMap) {
+			created++;
+			return Collections.<IFeedbackPart<? extends Node>> singletonList(new TestFeedbackPart());
+		}
+	}
+
+	public static class TestHandlePart extends AbstractHandlePart<Rectangle> {
+		@Override
+		protected Rectangle doCreateVisual() {
+			return new Rectangle(5, 5);
+		}
+
+		@Override
+		protected void doRefreshVisual(Rectangle visual) {
+		}
+	}
+
+	/**
+	 * Creates a single handle part per target set and counts the created
+	 * parts.
+	 */
+	public static class TestHandlePartFactory implements IHandlePartFactory {
+		private int created;
+
+		@Override
+		public List<IHandlePart<? extends Node>> createHandleParts(List<? extends IVisualPart<? extends Node>> targets,
+				Map<Object, Object> contextMap) {
+			created++;
+			return Collections.<IHandlePart<? extends Node>> singletonList(new TestHandlePart());
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IDomain domain;
+	private IViewer viewer;
+
+	private void createViewer() throws Throwable {
+		Injector injector = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindSelectionFeedbackPartFactoryAsContentViewerAdapter(
+					MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				adapterMapBinder.addBinding(AdapterKey.role(SelectionBehavior.SELECTION_FEEDBACK_PART_FACTORY))
+						.to(TestFeedbackPartFactory.class);
+			}
+
+			@Override
+			protected void bindSelectionHandlePartFactoryAsContentViewerAdapter(
+					MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				adapterMapBinder.addBinding(AdapterKey.role(SelectionBehavior.SELECTION_HANDLE_PART_FACTORY))
+						.to(TestHandlePartFactory.class);
+			}
+
+			@Override
+			protected void configure() {
+				super.configure();
+				binder().bind(IContentPartFactory.class).to(TestContentPartFactory.class);
+			}
+		});
+		domain = injector.getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(viewer.getCanvas(), 400, 400);
+	}
+
+	private <T> List<T> getAnchoreds(IVisualPart<? extends Node> part, Class<T> type) {
+		List<T> anchoreds = new ArrayList<>();
+		for (IVisualPart<? extends Node> anchored : part.getAnchoredsUnmodifiable()) {
+			if (type.isInstance(anchored)) {
+				anchoreds.add(type.cast(anchored));
+			}
+		}
+		return anchoreds;
+	}
+
+	private TestFeedbackPart getFeedback(IVisualPart<? extends Node> part) {
+		List<TestFeedbackPart> feedback = getAnchoreds(part, TestFeedbackPart.class);
+		assertEquals(1, feedback.size());
+		return feedback.get(0);
+	}
+
+	private TestHandlePart getHandle(IVisualPart<? extends Node> part) {
+		List<TestHandlePart> handles = getAnchoreds(part, TestHandlePart.class);
+		assertEquals(1, handles.size());
+		return handles.get(0);
+	}
+
+	private IContentPart<? extends Node> getPart(Object content) {
+		return viewer.getContentPartMap().get(content);
+	}
+
+	/**
+	 * Feedback is only removed for deselected parts and only added for
+	 * selected parts, and the multi selection handles are re-anchored instead
+	 * of being re-created while the selection remains a multi selection.
+	 */
+	@Test
+	public void test_updateFeedbackAndHandlesIncrementally() throws Throwable {
+		createViewer();
+		final Object a = "A";
+		final Object b = "B";
+		final Object c = "C";
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Arrays.asList(a, b, c));
+		});
+
+		ctx.runAndWait(() -> {
+			SelectionModel selectionModel = viewer.getAdapter(SelectionModel.class);
+			TestFeedbackPartFactory feedbackFactory = (TestFeedbackPartFactory) viewer.getAdapter(
+					AdapterKey.get(IFeedbackPartFactory.class, SelectionBehavior.SELECTION_FEEDBACK_PART_FACTORY));
+			TestHandlePartFactory handleFactory = (TestHandlePartFactory) viewer.getAdapter(
+					AdapterKey.get(IHandlePartFactory.class, SelectionBehavior.SELECTION_HANDLE_PART_FACTORY));
+			IContentPart<? extends Node> pa = getPart(a);
+			IContentPart<? extends Node> pb = getPart(b);
+			IContentPart<? extends Node> pc = getPart(c);
+
+			// multi selection: feedback per part, handles for the whole
+			// selection
+			selectionModel.setSelection(Arrays.<IContentPart<? extends Node>> asList(pa, pb));
+			assertEquals(2, feedbackFactory.created);
+			assertEquals(1, handleFactory.created);
+			TestFeedbackPart feedbackA = getFeedback(pa);
+			TestFeedbackPart feedbackB = getFeedback(pb);
+			TestHandlePart handle = getHandle(pa);
+			assertSame(handle, getHandle(pb));
+
+			// reordering keeps feedback and handles
+			selectionModel.setSelection(Arrays.<IContentPart<? extends Node>> asList(pb, pa));
+			assertEquals(2, feedbackFactory.created);
+			assertEquals(1, handleFactory.created);
+			assertSame(feedbackA, getFeedback(pa));
+			assertSame(feedbackB, getFeedback(pb));
+			assertSame(handle, getHandle(pa));
+
+			// appending re-anchors the handles to the added part
+			selectionModel.appendToSelection(pc);
+			assertEquals(3, feedbackFactory.created);
+			assertEquals(1, handleFactory.created);
+			assertSame(feedbackA, getFeedback(pa));
+			assertSame(feedbackB, getFeedback(pb));
+			getFeedback(pc);
+			assertSame(handle, getHandle(pc));
+			assertEquals(3, handle.getAnchoragesUnmodifiable().keySet().size());
+
+			// removing re-anchors the handles from the removed part
+			selectionModel.removeFromSelection(pa);
+			assertTrue(getAnchoreds(pa, TestFeedbackPart.class).isEmpty());
+			assertTrue(getAnchoreds(pa, TestHandlePart.class).isEmpty());
+			assertFalse(handle.getAnchoragesUnmodifiable().containsKey(pa));
+			assertSame(handle, getHandle(pb));
+			assertSame(feedbackB, getFeedback(pb));
+			assertEquals(1, handleFactory.created);
+
+			// switching to a single selection re-creates the handles
+			selectionModel.removeFromSelection(pc);
+			assertEquals(2, handleFactory.created);
+			assertNull(handle.getParent());
+			assertNotSame(handle, getHandle(pb));
+			assertSame(feedbackB, getFeedback(pb));
+			assertEquals(3, feedbackFactory.created);
+
+			// clearing the selection removes all feedback and handles
+			selectionModel.clearSelection();
+			assertTrue(getAnchoreds(pb, TestFeedbackPart.class).isEmpty());
+			assertTrue(getAnchoreds(pb, TestHandlePart.class).isEmpty());
+			viewer.getContents().setAll(Collections.emptyList());
+			domain.deactivate();
+		});
+	}
+}
@@ -223,6 +223,40 @@ public class SelectionModelTests {
 		Assert.assertEquals(Collections.emptyList(), selectionModel.getSelectionUnmodifiable());
 	}
 
+	@Test
+	public void testIsSelected() {
+		SelectionModel selectionModel = new SelectionModel();
+		IContentPart<Node> c1 = new ContentPartStub();
+		IContentPart<Node> c2 = new ContentPartStub();
+		IContentPart<Node> c3 = new ContentPartStub();
+		IContentPart<Node> c4 = new ContentPartStub();
+		selectionModel.setSelection(Arrays.asList(c1, c2));
+		selectionModel.appendToSelection(Arrays.asList(c3, c1));
+		Assert.assertEquals(Arrays.asList(c2, c3, c1), selectionModel.getSelectionUnmodifiable());
+		Assert.assertTrue(selectionModel.isSelected(c1));
+		Assert.assertTrue(selectionModel.isSelected(c3));
+		Assert.assertFalse(selectionModel.isSelected(c4));
+
+		// bulk removal ignores parts that are not selected
+		selectionModel.removeFromSelection(Arrays.asList(c1, c3, c4));
+		Assert.assertEquals(Arrays.asList(c2), selectionModel.getSelectionUnmodifiable());
+		Assert.assertFalse(selectionModel.isSelected(c1));
+		Assert.assertFalse(selectionModel.isSelected(c3));
+		Assert.assertTrue(selectionModel.isSelected(c2));
+
+		// a failed update does not affect the selection
+		try {
+			selectionModel.prependToSelection(Arrays.asList(c4, c4));
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// expected, because the list contains duplicates
+		}
+		Assert.assertFalse(selectionModel.isSelected(c4));
+
+		selectionModel.clearSelection();
+		Assert.assertFalse(selectionModel.isSelected(c2));
+	}
+
 	@Test
 	public void testPrepend() {
 		SelectionModel selectionModel = new SelectionModel();
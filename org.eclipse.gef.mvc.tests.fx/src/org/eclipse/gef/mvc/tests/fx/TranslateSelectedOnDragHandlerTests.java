@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.handlers.TranslateSelectedOnDragHandler;
+import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.ITransformableContentPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.policies.TransformPolicy;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.Transform;
+import javafx.scene.transform.Translate;
+
+public class TranslateSelectedOnDragHandlerTests {
+
+	public static class TransformablePart extends AbstractContentPart<Rectangle>
+			implements ITransformableContentPart<Rectangle> {
+		private Affine transform = new Affine();
+
+		@Override
+		protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
+		}
+
+		@Override
+		protected Rectangle doCreateVisual() {
+			return new Rectangle(50, 50);
+		}
+
+		@Override
+		protected SetMultimap<? extends Object, String> doGetContentAnchorages() {
+			return HashMultimap.create();
+		}
+
+		@Override
+		protected List<? extends Object> doGetContentChildren() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		protected void doRefreshVisual(Rectangle visual) {
+			visual.setX(((double[]) getContent())[0]);
+			visual.setY(((double[]) getContent())[1]);
+		}
+
+		@Override
+		protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+		}
+
+		@Override
+		public Affine getContentTransform() {
+			return transform;
+		}
+
+		@Override
+		public void setContentTransform(Affine transform) {
+			this.transform = transform;
+		}
+	}
+
+	public static class TransformablePartFactory implements IContentPartFactory {
+		@Inject
+		private Injector injector;
+
+		@Override
+		public IContentPart<? extends Node> createContentPart(Object content, Map<Object, Object> contextMap) {
+			return injector.getInstance(TransformablePart.class);
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IDomain domain;
+	private IViewer viewer;
+
+	private void createViewer() throws Throwable {
+		Injector injector = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindAbstractContentPartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindAbstractContentPartAdapters(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(TransformPolicy.class);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(TranslateSelectedOnDragHandler.class);
+			}
+
+			@Override
+			protected void configure() {
+				super.configure();
+				binder().bind(IContentPartFactory.class).to(TransformablePartFactory.class);
+			}
+		});
+		domain = injector.getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(viewer.getCanvas(), 400, 400);
+	}
+
+	private MouseEvent createMouseEvent(double sceneX, double sceneY) {
+		return createMouseEvent(sceneX, sceneY, false);
+	}
+
+	private MouseEvent createMouseEvent(double sceneX, double sceneY, boolean precise) {
+		// the shortcut modifier disables snapping
+		return new MouseEvent(MouseEvent.MOUSE_DRAGGED, sceneX, sceneY, sceneX, sceneY, MouseButton.PRIMARY, 1, false,
+				precise, false, precise, true, false, false, false, false, false, new PickResult(null, sceneX, sceneY));
+	}
+
+	private TransformablePart getPart(Object content) {
+		return (TransformablePart) viewer.getContentPartMap().get(content);
+	}
+
+	private boolean hasTranslate(Node visual) {
+		for (Transform transform : visual.getTransforms()) {
+			if (transform instanceof Translate) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The visuals of multiple dragged parts are moved through one shared
+	 * {@link Translate}, which is transferred to the {@link TransformPolicy}s
+	 * of the parts when the drag is finished.
+	 */
+	@Test
+	public void test_groupTranslate() throws Throwable {
+		createViewer();
+		final double[] first = new double[] { 0, 0 };
+		final double[] second = new double[] { 100, 50 };
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Arrays.asList(first, second));
+		});
+
+		ctx.runAndWait(() -> {
+			TransformablePart p1 = getPart(first);
+			TransformablePart p2 = getPart(second);
+			viewer.getAdapter(SelectionModel.class).setSelection(Arrays.<IContentPart<? extends Node>> asList(p1, p2));
+			Bounds initialBounds1 = p1.getVisual().getBoundsInParent();
+			Bounds initialBounds2 = p2.getVisual().getBoundsInParent();
+
+			// both visuals share the same translation during the gesture
+			TranslateSelectedOnDragHandler handler = p1.getAdapter(TranslateSelectedOnDragHandler.class);
+			handler.startDrag(createMouseEvent(10, 10));
+			Transform shared = p1.getVisual().getTransforms().get(0);
+			assertTrue(shared instanceof Translate);
+			assertSame(shared, p2.getVisual().getTransforms().get(0));
+
+			// dragging only updates the shared translation
+			Dimension delta = new Dimension(10, 20);
+			handler.drag(createMouseEvent(20, 30), delta);
+			assertEquals(10, ((Translate) shared).getX(), 0);
+			assertEquals(20, ((Translate) shared).getY(), 0);
+			assertEquals(0, p1.getVisualTransform().getTx(), 0);
+			assertEquals(0, p2.getVisualTransform().getTx(), 0);
+			assertEquals(initialBounds1.getMinX() + 10, p1.getVisual().getBoundsInParent().getMinX(), 0);
+			assertEquals(initialBounds2.getMinY() + 20, p2.getVisual().getBoundsInParent().getMinY(), 0);
+
+			// the shared translation is transferred to the parts
+			handler.endDrag(createMouseEvent(20, 30), delta);
+			assertFalse(p1.getVisual().getTransforms().contains(shared));
+			assertFalse(p2.getVisual().getTransforms().contains(shared));
+			assertEquals(10, p1.getVisualTransform().getTx(), 0);
+			assertEquals(20, p1.getVisualTransform().getTy(), 0);
+			assertEquals(10, p2.getVisualTransform().getTx(), 0);
+			assertEquals(20, p2.getVisualTransform().getTy(), 0);
+			assertEquals(initialBounds1.getMinX() + 10, p1.getVisual().getBoundsInParent().getMinX(), 0);
+			assertEquals(initialBounds2.getMinY() + 20, p2.getVisual().getBoundsInParent().getMinY(), 0);
+		});
+
+		// aborting removes the shared translation without changes
+		ctx.runAndWait(() -> {
+			TransformablePart p1 = getPart(first);
+			TransformablePart p2 = getPart(second);
+			TranslateSelectedOnDragHandler handler = p1.getAdapter(TranslateSelectedOnDragHandler.class);
+			handler.startDrag(createMouseEvent(10, 10));
+			handler.drag(createMouseEvent(20, 30), new Dimension(10, 20));
+			handler.abortDrag();
+			assertFalse(hasTranslate(p1.getVisual()));
+			assertFalse(hasTranslate(p2.getVisual()));
+			assertEquals(10, p1.getVisualTransform().getTx(), 0);
+			assertEquals(10, p2.getVisualTransform().getTx(), 0);
+		});
+
+		// a single part is translated through its transform policy
+		ctx.runAndWait(() -> {
+			TransformablePart p1 = getPart(first);
+			viewer.getAdapter(SelectionModel.class).setSelection(p1);
+			TranslateSelectedOnDragHandler handler = p1.getAdapter(TranslateSelectedOnDragHandler.class);
+			handler.startDrag(createMouseEvent(10, 10, true));
+			assertFalse(hasTranslate(p1.getVisual()));
+			handler.drag(createMouseEvent(15, 10, true), new Dimension(5, 0));
+			assertEquals(15, p1.getVisualTransform().getTx(), 0);
+			handler.endDrag(createMouseEvent(15, 10, true), new Dimension(5, 0));
+			assertEquals(15, p1.getVisualTransform().getTx(), 0);
+			viewer.getContents().setAll(Collections.emptyList());
+			domain.deactivate();
+		});
+	}
+}
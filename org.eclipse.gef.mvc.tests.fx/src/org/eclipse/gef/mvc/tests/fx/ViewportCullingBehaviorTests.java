@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.behaviors.ContentPartPool;
+import org.eclipse.gef.mvc.fx.behaviors.ViewportCullingBehavior;
+import org.eclipse.gef.mvc.fx.behaviors.ViewportCullingManager;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+public class ViewportCullingBehaviorTests {
+
+	/**
+	 * Content element that is located at a fixed position and can be anchored
+	 * on other elements.
+	 */
+	public static class Box {
+		public double x;
+		public double y;
+		public List<Object> anchorages = new ArrayList<>();
+
+		public Box(double x, double y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	public static class BoxPart extends AbstractContentPart<Rectangle> {
+		public static final String ROLE = "anchorage";
+
+		@Override
+		protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
+		}
+
+		@Override
+		protected void doAttachToAnchorageVisual(IVisualPart<? extends Node> anchorage, String role) {
+		}
+
+		@Override
+		protected Rectangle doCreateVisual() {
+			return new Rectangle(50, 50);
+		}
+
+		@Override
+		protected void doDetachFromAnchorageVisual(IVisualPart<? extends Node> anchorage, String role) {
+		}
+
+		@Override
+		protected SetMultimap<? extends Object, String> doGetContentAnchorages() {
+			SetMultimap<Object, String> anchorages = HashMultimap.create();
+			for (Object anchorage : getContent().anchorages) {
+				anchorages.put(anchorage, ROLE);
+			}
+			return anchorages;
+		}
+
+		@Override
+		protected List<? extends Object> doGetContentChildren() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		protected void doRefreshVisual(Rectangle visual) {
+			visual.setX(getContent().x);
+			visual.setY(getContent().y);
+		}
+
+		@Override
+		protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+		}
+
+		@Override
+		public Box getContent() {
+			return (Box) super.getContent();
+		}
+	}
+
+	public static class BoxPartFactory implements IContentPartFactory {
+		@Inject
+		private Injector injector;
+
+		@Override
+		public IContentPart<? extends Node> createContentPart(Object content, Map<Object, Object> contextMap) {
+			return injector.getInstance(BoxPart.class);
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IDomain domain;
+	private InfiniteCanvasViewer viewer;
+	private ViewportCullingManager manager;
+
+	private void createViewer() throws Throwable {
+		Injector injector = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void bindAbstractContentPartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindAbstractContentPartAdapters(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(ViewportCullingBehavior.class);
+			}
+
+			@Override
+			protected void bindIViewerAdaptersForContentViewer(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindIViewerAdaptersForContentViewer(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(ViewportCullingManager.class);
+			}
+
+			@Override
+			protected void configure() {
+				super.configure();
+				binder().bind(IContentPartFactory.class).to(BoxPartFactory.class);
+			}
+		});
+		domain = injector.getInstance(IDomain.class);
+		viewer = (InfiniteCanvasViewer) domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		manager = viewer.getAdapter(ViewportCullingManager.class);
+		assertNotNull(manager);
+		manager.setMargin(0);
+		ctx.createScene(viewer.getCanvas(), 400, 400);
+	}
+
+	private BoxPart getPart(Box box) {
+		return (BoxPart) viewer.getContentPartMap().get(box);
+	}
+
+	private void scrollTo(final double x, final double y) throws Throwable {
+		ctx.runAndWait(() -> {
+			viewer.getCanvas().setHorizontalScrollOffset(-x);
+			viewer.getCanvas().setVerticalScrollOffset(-y);
+			manager.flush();
+		});
+	}
+
+	/**
+	 * Parts are released to the pool when they leave the viewport and
+	 * recycled when they enter it, and culled content elements are forgotten
+	 * when they are removed.
+	 */
+	@Test
+	public void test_cullAndRealizeOnScroll() throws Throwable {
+		createViewer();
+		final Box near = new Box(100, 100);
+		final Box far = new Box(2000, 2000);
+		final ContentPartPool pool = viewer.getAdapter(ContentPartPool.class);
+		final List<IContentPart<? extends Node>> released = new ArrayList<>();
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Arrays.asList(near, far));
+		});
+		ctx.runAndWait(() -> {
+			manager.flush();
+			assertFalse(manager.isCulled(near));
+			assertTrue(manager.isCulled(far));
+			// the culled part is removed and released to the pool
+			assertNull(getPart(far));
+			assertEquals(1, manager.getRegistered().size());
+			assertEquals(1, pool.getPooled().size());
+			released.addAll(pool.getPooled());
+		});
+
+		scrollTo(1900, 1900);
+		ctx.runAndWait(() -> {
+			assertTrue(manager.isCulled(near));
+			assertFalse(manager.isCulled(far));
+			// the released part is recycled
+			assertSame(released.get(0), getPart(far));
+			assertSame(far, getPart(far).getContent());
+			assertNotNull(getPart(far).getVisual().getScene());
+			assertEquals(1, pool.getPooled().size());
+		});
+
+		// removed content elements are forgotten
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Collections.singletonList(far));
+			assertFalse(manager.isCulled(near));
+			assertTrue(manager.getCulled().isEmpty());
+			assertEquals(1, manager.getRegistered().size());
+			viewer.getContents().setAll(Collections.emptyList());
+			assertTrue(manager.getRegistered().isEmpty());
+			domain.deactivate();
+		});
+	}
+
+	/**
+	 * An anchorage is only culled when its anchoreds are culled, and it is
+	 * realized before its anchoreds are realized.
+	 */
+	@Test
+	public void test_anchoragesFollowAnchoreds() throws Throwable {
+		createViewer();
+		final Box anchorage = new Box(2000, 2000);
+		final Box anchored = new Box(100, 100);
+		anchored.anchorages.add(anchorage);
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Arrays.asList(anchorage, anchored));
+		});
+		ctx.runAndWait(() -> {
+			manager.flush();
+			assertSame(getPart(anchorage), getPart(anchored).getAnchoragesUnmodifiable().keySet().iterator().next());
+			// the anchored is visible, so that the anchorage is kept
+			assertFalse(manager.isCulled(anchored));
+			assertFalse(manager.isCulled(anchorage));
+		});
+
+		// both out of view, culling the anchored culls the anchorage
+		scrollTo(5000, 5000);
+		ctx.runAndWait(() -> {
+			assertTrue(manager.isCulled(anchored));
+			assertTrue(manager.isCulled(anchorage));
+			assertNull(getPart(anchored));
+			assertNull(getPart(anchorage));
+		});
+
+		// realizing the anchored realizes the anchorage
+		scrollTo(0, 0);
+		ctx.runAndWait(() -> {
+			assertFalse(manager.isCulled(anchored));
+			assertFalse(manager.isCulled(anchorage));
+			assertSame(getPart(anchorage), getPart(anchored).getAnchoragesUnmodifiable().keySet().iterator().next());
+			viewer.getContents().setAll(Collections.emptyList());
+			domain.deactivate();
+		});
+	}
+}
@@ -17,11 +17,16 @@ package org.eclipse.gef.zest.fx.jface;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.common.attributes.IAttributeStore;
 import org.eclipse.gef.fx.swt.canvas.IFXCanvasFactory;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
@@ -69,6 +74,13 @@ import javafx.scene.Scene;
  */
 public class ZestContentViewer extends ContentViewer {
 
+	/**
+	 * The keys of the {@link Node} attributes that are computed by this viewer
+	 * (and not by an {@link IGraphAttributesProvider}).
+	 */
+	private static final String[] NODE_ATTRIBUTE_KEYS = { ZestProperties.LABEL__NE, ZestProperties.ICON__N,
+			ZestProperties.TOOLTIP__N, ZestProperties.SHAPE_CSS_STYLE__N, ZestProperties.LABEL_CSS_STYLE__NE };
+
 	private ListChangeListener<IContentPart<? extends javafx.scene.Node>> selectionNotifier = new ListChangeListener<IContentPart<? extends javafx.scene.Node>>() {
 		@Override
 		public void onChanged(ListChangeListener.Change<? extends IContentPart<? extends javafx.scene.Node>> c) {
@@ -164,15 +176,38 @@ public class ZestContentViewer extends ContentViewer {
 	protected Edge createEdge(ILabelProvider labelProvider, Object contentSourceNode, Node sourceNode,
 			Object contentTargetNode, Node targetNode) {
 		Edge edge = new Edge(sourceNode, targetNode);
+		edge.attributesProperty().putAll(createEdgeAttributes(labelProvider, contentSourceNode, contentTargetNode));
+		return edge;
+	}
+
+	/**
+	 * Computes the attributes for the {@link Edge} that connects the nodes
+	 * representing the given <i>contentSourceNode</i> and
+	 * <i>contentTargetNode</i>. If the <i>labelProvider</i> implements
+	 * {@link IGraphAttributesProvider}, then the attributes are determined
+	 * using the
+	 * {@link IGraphAttributesProvider#getEdgeAttributes(Object, Object)}
+	 * method.
+	 *
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 * @param contentSourceNode
+	 *            The content element representing the source node of the edge.
+	 * @param contentTargetNode
+	 *            The content element representing the target node of the edge.
+	 * @return The attributes for the {@link Edge}.
+	 */
+	protected Map<String, Object> createEdgeAttributes(ILabelProvider labelProvider, Object contentSourceNode,
+			Object contentTargetNode) {
 		if (labelProvider instanceof IGraphAttributesProvider) {
 			IGraphAttributesProvider graphNodeLabelProvider = (IGraphAttributesProvider) labelProvider;
 			Map<String, Object> edgeAttributes = graphNodeLabelProvider.getEdgeAttributes(contentSourceNode,
 					contentTargetNode);
 			if (edgeAttributes != null) {
-				edge.attributesProperty().putAll(edgeAttributes);
+				return edgeAttributes;
 			}
 		}
-		return edge;
+		return Collections.emptyMap();
 	}
 
 	/**
@@ -207,19 +242,35 @@ public class ZestContentViewer extends ContentViewer {
 	protected Graph createNestedGraph(Object contentNestingNode, IGraphContentProvider graphContentProvider,
 			ILabelProvider labelProvider) {
 		Graph graph = createEmptyGraph();
+		graph.attributesProperty().putAll(createNestedGraphAttributes(contentNestingNode, labelProvider));
+		Object[] contentNodes = graphContentProvider.getNestedGraphNodes(contentNestingNode);
+		if (contentNodes != null) {
+			createNodesAndEdges(graphContentProvider, labelProvider, graph, contentNodes);
+		}
+		return graph;
+	}
+
+	/**
+	 * Computes the attributes (in addition to the default attributes of an
+	 * {@link #createEmptyGraph() empty graph}) for the {@link Graph} that is
+	 * nested in the node represented by the given <i>contentNestingNode</i>.
+	 *
+	 * @param contentNestingNode
+	 *            The content {@link Object} that represents the nesting node.
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 * @return The attributes for the nested {@link Graph}.
+	 */
+	private Map<String, Object> createNestedGraphAttributes(Object contentNestingNode, ILabelProvider labelProvider) {
 		if (labelProvider instanceof IGraphAttributesProvider) {
 			IGraphAttributesProvider nestedGraphLabelProvider = (IGraphAttributesProvider) labelProvider;
 			Map<String, Object> nestedGraphAttributes = nestedGraphLabelProvider
 					.getNestedGraphAttributes(contentNestingNode);
 			if (nestedGraphAttributes != null) {
-				graph.attributesProperty().putAll(nestedGraphAttributes);
+				return nestedGraphAttributes;
 			}
 		}
-		Object[] contentNodes = graphContentProvider.getNestedGraphNodes(contentNestingNode);
-		if (contentNodes != null) {
-			createNodesAndEdges(graphContentProvider, labelProvider, graph, contentNodes);
-		}
-		return graph;
+		return Collections.emptyMap();
 	}
 
 	/**
@@ -242,9 +293,33 @@ public class ZestContentViewer extends ContentViewer {
 			throw new IllegalStateException("A node for content <" + contentNode + "> has already been created.");
 		}
 
-		Node node = new Node();
+		Node node = new Node(createNodeAttributes(contentNode, labelProvider));
 		contentNodeMap.put(contentNode, node);
 
+		// create nested graph (optional)
+		if (graphContentProvider.hasNestedGraph(contentNode)) {
+			Graph graph = createNestedGraph(contentNode, graphContentProvider, labelProvider);
+			graph.setNestingNode(node);
+		}
+
+		return node;
+	}
+
+	/**
+	 * Computes the attributes for the {@link Node} that represents the given
+	 * <i>contentNode</i> using the given {@link ILabelProvider}.
+	 *
+	 * @param contentNode
+	 *            The content {@link Object} that represents the node.
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 * @return The attributes for the {@link Node}.
+	 */
+	protected Map<String, Object> createNodeAttributes(final Object contentNode, final ILabelProvider labelProvider) {
+		// XXX: The attributes are collected within a detached node, so that
+		// they can be set using ZestProperties.
+		Node node = new Node();
+
 		// label
 		ZestProperties.setLabel(node, new Provider<String>() {
 			@Override
@@ -327,13 +402,7 @@ public class ZestContentViewer extends ContentViewer {
 			}
 		}
 
-		// create nested graph (optional)
-		if (graphContentProvider.hasNestedGraph(contentNode)) {
-			Graph graph = createNestedGraph(contentNode, graphContentProvider, labelProvider);
-			graph.setNestingNode(node);
-		}
-
-		return node;
+		return node.getAttributes();
 	}
 
 	/**
@@ -384,13 +453,7 @@ public class ZestContentViewer extends ContentViewer {
 	 */
 	protected Graph createRootGraph(IContentProvider contentProvider, ILabelProvider labelProvider) {
 		Graph graph = createEmptyGraph();
-		if (labelProvider instanceof IGraphAttributesProvider) {
-			IGraphAttributesProvider graphNodeLabelProvider = (IGraphAttributesProvider) labelProvider;
-			Map<String, Object> rootGraphAttributes = graphNodeLabelProvider.getGraphAttributes();
-			if (rootGraphAttributes != null) {
-				graph.attributesProperty().putAll(rootGraphAttributes);
-			}
-		}
+		graph.attributesProperty().putAll(createRootGraphAttributes(labelProvider));
 		if (contentProvider instanceof IGraphContentProvider) {
 			IGraphContentProvider graphNodeProvider = (IGraphContentProvider) contentProvider;
 			Object[] nodes = graphNodeProvider.getNodes();
@@ -401,6 +464,25 @@ public class ZestContentViewer extends ContentViewer {
 		return graph;
 	}
 
+	/**
+	 * Computes the attributes (in addition to the default attributes of an
+	 * {@link #createEmptyGraph() empty graph}) for the root {@link Graph}.
+	 *
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 * @return The attributes for the root {@link Graph}.
+	 */
+	private Map<String, Object> createRootGraphAttributes(ILabelProvider labelProvider) {
+		if (labelProvider instanceof IGraphAttributesProvider) {
+			IGraphAttributesProvider graphNodeLabelProvider = (IGraphAttributesProvider) labelProvider;
+			Map<String, Object> rootGraphAttributes = graphNodeLabelProvider.getGraphAttributes();
+			if (rootGraphAttributes != null) {
+				return rootGraphAttributes;
+			}
+		}
+		return Collections.emptyMap();
+	}
+
 	/**
 	 * Returns an unmodifiable view of the content-node-map.
 	 *
@@ -482,11 +564,89 @@ public class ZestContentViewer extends ContentViewer {
 		}
 	}
 
+	/**
+	 * Returns <code>true</code> if the given {@link Node} is contained within
+	 * the given {@link Graph} or within a graph that is (transitively) nested
+	 * inside of it. Otherwise returns <code>false</code>.
+	 *
+	 * @param node
+	 *            The {@link Node} to test.
+	 * @param graph
+	 *            The {@link Graph} to test.
+	 * @return <code>true</code> if the given {@link Node} is contained within
+	 *         the given {@link Graph} (or its nested graphs), otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean isContained(Node node, Graph graph) {
+		Graph g = node.getGraph();
+		while (g != null) {
+			if (g == graph) {
+				return true;
+			}
+			Node nestingNode = g.getNestingNode();
+			g = nestingNode == null ? null : nestingNode.getGraph();
+		}
+		return false;
+	}
+
+	/**
+	 * Refreshes the complete {@link Graph}. In contrast to building a new
+	 * {@link Graph}, the {@link Node}s of content elements that are still
+	 * provided (and still located within the same graph) as well as the
+	 * {@link Edge}s between them are reused. Only their attributes are
+	 * recomputed and changed attributes are applied (see
+	 * {@link #updateNodesAndEdges(IGraphContentProvider, ILabelProvider, Graph, Object[], Map)}),
+	 * so that parts, layout positions, and selection are preserved.
+	 */
 	@Override
 	public void refresh() {
-		contentNodeMap.clear();
-		viewer.getContents()
-				.setAll(Collections.singletonList(createRootGraph(getContentProvider(), getLabelProvider())));
+		Graph rootGraph = viewer.getContents().isEmpty() ? null : (Graph) viewer.getContents().get(0);
+		if (rootGraph == null || !(getContentProvider() instanceof IGraphContentProvider)) {
+			contentNodeMap.clear();
+			viewer.getContents()
+					.setAll(Collections.singletonList(createRootGraph(getContentProvider(), getLabelProvider())));
+			return;
+		}
+		Map<Object, Node> reusableNodes = contentNodeMap;
+		contentNodeMap = new IdentityHashMap<>();
+		updateAttributes(rootGraph, createRootGraphAttributes(getLabelProvider()), true);
+		IGraphContentProvider graphContentProvider = (IGraphContentProvider) getContentProvider();
+		Object[] contentNodes = graphContentProvider.getNodes();
+		updateNodesAndEdges(graphContentProvider, getLabelProvider(), rootGraph,
+				contentNodes == null ? new Object[] {} : contentNodes, reusableNodes);
+	}
+
+	/**
+	 * Refreshes the {@link Node} that represents the given content element,
+	 * i.e. its attributes, its outgoing {@link Edge}s, and its nested
+	 * {@link Graph} are recomputed and changed attributes are applied to the
+	 * existing {@link Node} and {@link Edge}s. If the given element is not
+	 * represented by a {@link Node} (e.g. because it is the input of this
+	 * viewer), the complete {@link Graph} is {@link #refresh() refreshed}.
+	 *
+	 * @param element
+	 *            The content element to refresh.
+	 */
+	public void refresh(Object element) {
+		Node node = contentNodeMap.get(element);
+		if (node == null || !(getContentProvider() instanceof IGraphContentProvider)) {
+			refresh();
+			return;
+		}
+		IGraphContentProvider graphContentProvider = (IGraphContentProvider) getContentProvider();
+		// the nodes of the nested graph can be reused
+		Map<Object, Node> reusableNodes = new IdentityHashMap<>();
+		if (node.getNestedGraph() != null) {
+			for (Iterator<Entry<Object, Node>> it = contentNodeMap.entrySet().iterator(); it.hasNext();) {
+				Entry<Object, Node> entry = it.next();
+				if (isContained(entry.getValue(), node.getNestedGraph())) {
+					reusableNodes.put(entry.getKey(), entry.getValue());
+					it.remove();
+				}
+			}
+		}
+		updateNode(element, node, graphContentProvider, getLabelProvider(), reusableNodes);
+		updateEdges(graphContentProvider, getLabelProvider(), node.getGraph(), new Object[] { element });
 	}
 
 	/**
@@ -530,6 +690,246 @@ public class ZestContentViewer extends ContentViewer {
 		}
 	}
 
+	/**
+	 * Updates the attributes of the {@link Node} that represents the given
+	 * content element. In contrast to {@link #refresh(Object)}, the structure
+	 * (i.e. edges and nested graph) is not updated. If <i>properties</i> are
+	 * given, the update is only performed if at least one of them is a label
+	 * property (see {@link ILabelProvider#isLabelProperty(Object, String)}).
+	 *
+	 * @param element
+	 *            The content element to update.
+	 * @param properties
+	 *            The properties that changed, or <code>null</code> to update
+	 *            all attributes.
+	 */
+	public void update(Object element, String[] properties) {
+		Node node = contentNodeMap.get(element);
+		if (node == null) {
+			return;
+		}
+		if (properties != null) {
+			boolean isLabelProperty = false;
+			for (int i = 0; i < properties.length && !isLabelProperty; i++) {
+				isLabelProperty = getLabelProvider().isLabelProperty(element, properties[i]);
+			}
+			if (!isLabelProperty) {
+				return;
+			}
+		}
+		updateAttributes(node, createNodeAttributes(element, getLabelProvider()), false, NODE_ATTRIBUTE_KEYS);
+	}
+
+	/**
+	 * Applies the given attributes to the given {@link IAttributeStore}. Only
+	 * attributes that changed are put, so that only the parts of the affected
+	 * elements are refreshed. However, {@link Provider} values are always put,
+	 * because they have to be re-evaluated. The attributes with the given
+	 * <i>managedKeys</i> are removed if they are not contained in the given
+	 * attributes. Other attributes are not removed, because they cannot be
+	 * distinguished from attributes that were set otherwise (e.g. layout
+	 * positions).
+	 *
+	 * @param store
+	 *            The {@link IAttributeStore} to update.
+	 * @param attributes
+	 *            The new attributes.
+	 * @param isGraph
+	 *            <code>true</code> if the default attributes of an
+	 *            {@link #createEmptyGraph() empty graph} should be applied as
+	 *            well, otherwise <code>false</code>.
+	 * @param managedKeys
+	 *            The keys of the attributes that are removed if they are not
+	 *            contained in the given attributes.
+	 */
+	private void updateAttributes(IAttributeStore store, Map<String, Object> attributes, boolean isGraph,
+			String... managedKeys) {
+		Map<String, Object> newAttributes = attributes;
+		if (isGraph) {
+			newAttributes = new HashMap<>(createEmptyGraph().getAttributes());
+			newAttributes.putAll(attributes);
+		}
+		Map<String, Object> oldAttributes = store.getAttributes();
+		for (String key : managedKeys) {
+			if (!newAttributes.containsKey(key)) {
+				oldAttributes.remove(key);
+			}
+		}
+		for (Entry<String, Object> entry : newAttributes.entrySet()) {
+			Object oldValue = oldAttributes.get(entry.getKey());
+			Object newValue = entry.getValue();
+			if (newValue instanceof Provider || oldValue == null || !oldValue.equals(newValue)) {
+				oldAttributes.put(entry.getKey(), newValue);
+			}
+		}
+	}
+
+	/**
+	 * Updates the {@link Edge}s of the given {@link Graph} that originate at
+	 * the {@link Node}s representing the given <i>contentSourceNodes</i>, so
+	 * that they correspond to the adjacent nodes provided by the given
+	 * {@link IGraphContentProvider}. Existing {@link Edge}s are reused, new
+	 * {@link Edge}s are {@link #createEdge(ILabelProvider, Object, Node, Object, Node)
+	 * created}, and obsolete {@link Edge}s are removed.
+	 *
+	 * @param graphContentProvider
+	 *            This viewer's {@link IGraphContentProvider} for convenience.
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 * @param graph
+	 *            The {@link Graph} that contains the {@link Edge}s.
+	 * @param contentSourceNodes
+	 *            The content elements that represent the source nodes of the
+	 *            {@link Edge}s to update.
+	 */
+	private void updateEdges(IGraphContentProvider graphContentProvider, ILabelProvider labelProvider, Graph graph,
+			Object[] contentSourceNodes) {
+		// index existing edges by source node
+		Map<Node, List<Edge>> obsoleteEdges = new IdentityHashMap<>();
+		for (Object contentSourceNode : contentSourceNodes) {
+			obsoleteEdges.put(contentNodeMap.get(contentSourceNode), new ArrayList<Edge>());
+		}
+		for (Edge edge : graph.getEdges()) {
+			List<Edge> outgoing = obsoleteEdges.get(edge.getSource());
+			if (outgoing != null) {
+				outgoing.add(edge);
+			}
+		}
+		List<Edge> addedEdges = new ArrayList<>();
+		for (Object contentSourceNode : contentSourceNodes) {
+			Node sourceNode = contentNodeMap.get(contentSourceNode);
+			Object[] connectedTo = graphContentProvider.getAdjacentNodes(contentSourceNode);
+			if (connectedTo != null) {
+				for (Object contentTargetNode : connectedTo) {
+					Node targetNode = contentNodeMap.get(contentTargetNode);
+					Edge edge = null;
+					for (Iterator<Edge> it = obsoleteEdges.get(sourceNode).iterator(); it.hasNext();) {
+						Edge outgoing = it.next();
+						if (outgoing.getTarget() == targetNode) {
+							it.remove();
+							edge = outgoing;
+							break;
+						}
+					}
+					if (edge == null) {
+						addedEdges.add(
+								createEdge(labelProvider, contentSourceNode, sourceNode, contentTargetNode, targetNode));
+					} else {
+						updateAttributes(edge, createEdgeAttributes(labelProvider, contentSourceNode, contentTargetNode),
+								false);
+					}
+				}
+			}
+		}
+		Set<Edge> removedEdges = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (List<Edge> edges : obsoleteEdges.values()) {
+			removedEdges.addAll(edges);
+		}
+		if (!removedEdges.isEmpty()) {
+			graph.getEdges().removeAll(removedEdges);
+		}
+		if (!addedEdges.isEmpty()) {
+			graph.getEdges().addAll(addedEdges);
+		}
+	}
+
+	/**
+	 * Updates the attributes and the nested {@link Graph} of the given
+	 * {@link Node}, which represents the given <i>contentNode</i>.
+	 *
+	 * @param contentNode
+	 *            The content {@link Object} that represents the node.
+	 * @param node
+	 *            The {@link Node} to update.
+	 * @param graphContentProvider
+	 *            This viewer's {@link IGraphContentProvider} for convenience.
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 * @param reusableNodes
+	 *            The {@link Node}s that may be reused for the nested content
+	 *            elements.
+	 */
+	private void updateNode(Object contentNode, Node node, IGraphContentProvider graphContentProvider,
+			ILabelProvider labelProvider, Map<Object, Node> reusableNodes) {
+		updateAttributes(node, createNodeAttributes(contentNode, labelProvider), false, NODE_ATTRIBUTE_KEYS);
+		Graph nestedGraph = node.getNestedGraph();
+		if (graphContentProvider.hasNestedGraph(contentNode)) {
+			if (nestedGraph == null) {
+				createNestedGraph(contentNode, graphContentProvider, labelProvider).setNestingNode(node);
+			} else {
+				updateAttributes(nestedGraph, createNestedGraphAttributes(contentNode, labelProvider), true);
+				Object[] contentNodes = graphContentProvider.getNestedGraphNodes(contentNode);
+				updateNodesAndEdges(graphContentProvider, labelProvider, nestedGraph,
+						contentNodes == null ? new Object[] {} : contentNodes, reusableNodes);
+			}
+		} else if (nestedGraph != null) {
+			node.setNestedGraph(null);
+		}
+	}
+
+	/**
+	 * Updates the {@link Node nodes} and {@link Edge edges} of the given
+	 * {@link Graph}, so that they correspond to the given
+	 * <i>contentNodes</i>. The {@link Node}s within the given
+	 * <i>reusableNodes</i> are reused for their content elements if they are
+	 * contained in the given {@link Graph}, i.e. only their attributes are
+	 * updated. For all other content elements, {@link Node}s are
+	 * {@link #createNode(Object, IGraphContentProvider, ILabelProvider)
+	 * created}. {@link Node}s that are not reused are removed from the
+	 * {@link Graph}, together with their {@link Edge}s.
+	 *
+	 * @param graphContentProvider
+	 *            This viewer's {@link IGraphContentProvider} for convenience.
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 * @param graph
+	 *            The {@link Graph} for which nodes and edges are updated.
+	 * @param contentNodes
+	 *            Content elements which represent the nodes of the
+	 *            {@link Graph}.
+	 * @param reusableNodes
+	 *            A map from content elements to {@link Node}s that may be
+	 *            reused.
+	 */
+	protected void updateNodesAndEdges(IGraphContentProvider graphContentProvider, ILabelProvider labelProvider,
+			Graph graph, Object[] contentNodes, Map<Object, Node> reusableNodes) {
+		// reuse or create nodes
+		Set<Node> reusedNodes = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		List<Node> addedNodes = new ArrayList<>();
+		for (Object contentNode : contentNodes) {
+			Node node = reusableNodes.get(contentNode);
+			if (node != null && node.getGraph() == graph && !contentNodeMap.containsKey(contentNode)) {
+				contentNodeMap.put(contentNode, node);
+				reusedNodes.add(node);
+				updateNode(contentNode, node, graphContentProvider, labelProvider, reusableNodes);
+			} else {
+				addedNodes.add(createNode(contentNode, graphContentProvider, labelProvider));
+			}
+		}
+		// remove obsolete nodes together with their edges
+		Set<Node> removedNodes = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		for (Node node : graph.getNodes()) {
+			if (!reusedNodes.contains(node)) {
+				removedNodes.add(node);
+			}
+		}
+		if (!removedNodes.isEmpty()) {
+			List<Edge> removedEdges = new ArrayList<>();
+			for (Edge edge : graph.getEdges()) {
+				if (removedNodes.contains(edge.getSource()) || removedNodes.contains(edge.getTarget())) {
+					removedEdges.add(edge);
+				}
+			}
+			graph.getEdges().removeAll(removedEdges);
+			graph.getNodes().removeAll(removedNodes);
+		}
+		if (!addedNodes.isEmpty()) {
+			graph.getNodes().addAll(addedNodes);
+		}
+		// reuse or create edges
+		updateEdges(graphContentProvider, labelProvider, graph, contentNodes);
+	}
+
 	/**
 	 * Converts the given {@link Color} into a CSS string:
 	 * <code>"rgb(red,green,blue)"</code>.
@@ -47,6 +47,7 @@ import org.eclipse.gef.zest.fx.behaviors.EdgeHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.EdgeLabelHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.EdgeLayoutBehavior;
 import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailManager;
 import org.eclipse.gef.zest.fx.behaviors.NodeHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.NodeLayoutBehavior;
 import org.eclipse.gef.zest.fx.handlers.BendFirstAnchorageAndRelocateLabelsOnSegmentHandleDragHandler;
@@ -302,6 +303,7 @@ public class ZestFxModule extends MvcFxModule {
 		bindNavigationModelAsContentViewerAdapter(adapterMapBinder);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(HidingModel.class);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LabelOffsetSupport.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LevelOfDetailManager.class);
 	}
 
 	/**
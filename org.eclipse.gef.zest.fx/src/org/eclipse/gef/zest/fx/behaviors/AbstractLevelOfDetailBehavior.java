@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+
+/**
+ * The {@link AbstractLevelOfDetailBehavior} registers at the
+ * {@link LevelOfDetailManager} of the viewer upon activation, which observes
+ * the content transform of the {@link InfiniteCanvas}. When the zoom level
+ * falls below the {@link #getDetailThreshold() detail threshold},
+ * {@link #reduceDetail()} is called, so that details that are not legible at
+ * that zoom level can be removed from the scene graph. When the zoom level
+ * reaches the {@link #getDetailThreshold() detail threshold} again,
+ * {@link #restoreDetail()} is called. Both methods are only called when the
+ * threshold is crossed, i.e. zooming without crossing the threshold does not
+ * affect the {@link #getHost() host}. The {@link LevelOfDetailManager} only
+ * notifies the behaviors whose threshold was crossed, so that a zoom level
+ * change does not need to process all parts.
+ * <p>
+ * The level of detail behaviors are not bound by the
+ * {@link org.eclipse.gef.zest.fx.ZestFxModule} by default, so that all details
+ * are shown at every zoom level. They can be enabled by binding them to the
+ * adapter maps of the respective parts, e.g. by binding the
+ * {@link NodeLevelOfDetailBehavior} within an overridden
+ * {@link org.eclipse.gef.zest.fx.ZestFxModule#bindNodePartAdapters(com.google.inject.multibindings.MapBinder)}.
+ * The {@link LevelOfDetailManager} is bound to the content viewer by default.
+ * If it is not bound, the level of detail is only determined upon activation.
+ *
+ * @author zhaosongvip
+ *
+ */
+public abstract class AbstractLevelOfDetailBehavior extends AbstractBehavior {
+
+	/**
+	 * The default zoom level below which details are reduced.
+	 */
+	public static final double DEFAULT_DETAIL_THRESHOLD = 0.5;
+
+	private LevelOfDetailManager manager;
+	private double detailThreshold = DEFAULT_DETAIL_THRESHOLD;
+	private boolean isReduced;
+
+	@Override
+	protected void doActivate() {
+		manager = getHost().getRoot().getViewer().getAdapter(LevelOfDetailManager.class);
+		if (manager != null) {
+			manager.register(this);
+		}
+		updateLevelOfDetail();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		if (manager != null) {
+			manager.unregister(this);
+			manager = null;
+		}
+		// restore details so that the host can be reused
+		if (isReduced) {
+			isReduced = false;
+			restoreDetail();
+		}
+	}
+
+	/**
+	 * Returns the {@link InfiniteCanvas} of the {@link InfiniteCanvasViewer}
+	 * of the {@link #getHost() host}.
+	 *
+	 * @return The {@link InfiniteCanvas} of the {@link #getHost() host}'s
+	 *         viewer.
+	 */
+	protected InfiniteCanvas getCanvas() {
+		return ((InfiniteCanvasViewer) getHost().getRoot().getViewer()).getCanvas();
+	}
+
+	/**
+	 * Returns the zoom level below which details are reduced.
+	 *
+	 * @return The zoom level below which details are reduced.
+	 */
+	public double getDetailThreshold() {
+		return detailThreshold;
+	}
+
+	/**
+	 * Returns the current zoom level, i.e. the horizontal scale of the content
+	 * transform of the {@link #getCanvas() canvas}.
+	 *
+	 * @return The current zoom level.
+	 */
+	protected double getZoomLevel() {
+		if (manager != null) {
+			return manager.getZoomLevel();
+		}
+		return getCanvas().getContentTransform().getMxx();
+	}
+
+	/**
+	 * Returns <code>true</code> if the details of the {@link #getHost() host}
+	 * are currently reduced. Otherwise, returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the details of the {@link #getHost() host}
+	 *         are currently reduced, otherwise <code>false</code>.
+	 */
+	protected boolean isReduced() {
+		return isReduced;
+	}
+
+	/**
+	 * Removes the details of the {@link #getHost() host} that are not legible
+	 * below the {@link #getDetailThreshold() detail threshold}.
+	 */
+	protected abstract void reduceDetail();
+
+	/**
+	 * Restores the details of the {@link #getHost() host} that were removed
+	 * by {@link #reduceDetail()}.
+	 */
+	protected abstract void restoreDetail();
+
+	/**
+	 * Sets the zoom level below which details are reduced to the given value.
+	 *
+	 * @param detailThreshold
+	 *            The new zoom level below which details are reduced.
+	 */
+	public void setDetailThreshold(double detailThreshold) {
+		this.detailThreshold = detailThreshold;
+		if (isActive()) {
+			if (manager != null) {
+				manager.register(this);
+			}
+			updateLevelOfDetail();
+		}
+	}
+
+	/**
+	 * Compares the current {@link #getZoomLevel() zoom level} with the
+	 * {@link #getDetailThreshold() detail threshold} and calls either
+	 * {@link #reduceDetail()} or {@link #restoreDetail()} if the threshold was
+	 * crossed.
+	 */
+	protected void updateLevelOfDetail() {
+		boolean wasReduced = isReduced;
+		isReduced = getZoomLevel() < detailThreshold;
+		if (wasReduced && !isReduced) {
+			restoreDetail();
+		} else if (!wasReduced && isReduced) {
+			reduceDetail();
+		}
+	}
+
+}
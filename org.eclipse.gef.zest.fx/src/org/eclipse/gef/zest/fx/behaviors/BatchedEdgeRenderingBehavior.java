@@ -0,0 +1,702 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.Geometry2FX;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.Path.Segment;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.models.HoverModel;
+import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IRootPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.zest.fx.models.HidingModel;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.SetChangeListener;
+import javafx.event.EventHandler;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.shape.Shape;
+import javafx.scene.text.Text;
+
+/**
+ * The {@link BatchedEdgeRenderingBehavior} can be registered on a
+ * {@link GraphPart} to render the edges of the graph in bulk into a single
+ * {@link Canvas}, instead of rendering an individual {@link Connection} per
+ * edge. The {@link Canvas} is placed into the
+ * {@link InfiniteCanvas#getScrolledUnderlayGroup() scrolled underlay group} of
+ * the {@link InfiniteCanvas}, i.e. below the contents, and is sized to the
+ * viewport, so that its size does not depend on the size of the graph.
+ * <p>
+ * The edges that are rendered by this behavior are determined by the
+ * {@link EdgeBatchingBehavior}s of the {@link EdgePart}s, which
+ * {@link #add(EdgePart) add} their host when it is not interactive, and
+ * {@link #remove(EdgePart) remove} it as soon as it is hovered or selected.
+ * In order to detect this, the {@link EdgeBatchingBehavior}s
+ * {@link #register(EdgeBatchingBehavior) register} at this behavior, which
+ * observes the {@link HoverModel} and {@link SelectionModel} and only notifies
+ * the {@link EdgeBatchingBehavior}s of the parts whose hover or selection
+ * status changed. As the batched {@link Connection}s are invisible, this
+ * behavior also determines the batched edge under the mouse pointer, so that
+ * it can be promoted and picked (see {@link #getPointed()}).
+ * <p>
+ * The geometry of a batched edge is cached and only recomputed when it is
+ * {@link #update(EdgePart) updated}. The bounds of the batched edges are
+ * maintained within a spatial index (a uniform grid within the coordinate
+ * system of the {@link GraphPart}), so that redrawing a region and
+ * determining the edge under the mouse pointer only process the edges within
+ * that region. Changes are accumulated within a dirty region that is redrawn
+ * once per pulse, while changes of the viewport require a full redraw of the
+ * viewport.
+ * <p>
+ * Only the curve and the decorations that are {@link Shape}s or
+ * {@link GeometryNode}s are rendered (using their fill, stroke, and stroke
+ * width). Batched rendering is only supported for a top-level
+ * {@link GraphPart}, because the edges of a nested graph are rendered within
+ * their nesting node.
+ * <p>
+ * The {@link BatchedEdgeRenderingBehavior} is not registered by default, i.e.
+ * it has to be bound to the {@link GraphPart} together with the
+ * {@link EdgeBatchingBehavior} that is bound to the {@link EdgePart}.
+ *
+ * @author zhaosongvip
+ *
+ */
+// only applicable for GraphPart (see #getHost())
+public class BatchedEdgeRenderingBehavior extends AbstractBehavior {
+
+	/**
+	 * The cached geometry of an outline (curve or decoration) of a batched
+	 * edge, specified within the coordinate system of the {@link GraphPart}.
+	 */
+	private static class Outline {
+		private IGeometry geometry;
+		private Paint fill;
+		private Paint stroke;
+		private double strokeWidth;
+	}
+
+	/**
+	 * The cached geometry of a batched edge.
+	 */
+	private static class BatchedEdge {
+		private List<Outline> outlines = new ArrayList<>();
+		// bounds including stroke width
+		private Rectangle bounds = new Rectangle();
+	}
+
+	/**
+	 * The size of the cells of the spatial index within the coordinate system
+	 * of the {@link GraphPart}.
+	 */
+	private static final double CELL_SIZE = 256;
+
+	/**
+	 * Edges that span more cells are not put into the grid, but are tested
+	 * for each query.
+	 */
+	private static final long MAX_CELLS = 64;
+
+	/**
+	 * The distance (in pixels) within which the mouse pointer is considered
+	 * to be over a batched edge.
+	 */
+	private static final double PICK_TOLERANCE = 3;
+
+	private InfiniteCanvas infiniteCanvas;
+	private Canvas canvas;
+	private Map<EdgePart, BatchedEdge> batchedEdges = new HashMap<>();
+	private Map<Long, Set<EdgePart>> grid = new HashMap<>();
+	private Set<EdgePart> oversized = new HashSet<>();
+	private EdgePart pointed;
+	private Map<IVisualPart<? extends Node>, EdgeBatchingBehavior> batchingBehaviors = new HashMap<>();
+	private Set<EdgePart> dirtyEdges = new LinkedHashSet<>();
+	private Rectangle dirtyRegion;
+	private boolean isFullRedraw;
+
+	private AnimationTimer redrawTimer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			stop();
+			redraw();
+		}
+	};
+
+	private ChangeListener<Object> viewportObserver = new ChangeListener<Object>() {
+		@Override
+		public void changed(ObservableValue<? extends Object> observable, Object oldValue, Object newValue) {
+			isFullRedraw = true;
+			scheduleRedraw();
+		}
+	};
+
+	private ChangeListener<IVisualPart<? extends Node>> hoverObserver = new ChangeListener<IVisualPart<? extends Node>>() {
+		@Override
+		public void changed(ObservableValue<? extends IVisualPart<? extends Node>> observable,
+				IVisualPart<? extends Node> oldValue, IVisualPart<? extends Node> newValue) {
+			updateBatching(oldValue);
+			updateBatching(newValue);
+		}
+	};
+
+	private SetChangeListener<org.eclipse.gef.graph.Node> hidingModelObserver = new SetChangeListener<org.eclipse.gef.graph.Node>() {
+		@Override
+		public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+			// the edges of (un)hidden nodes are (un)hidden as well
+			org.eclipse.gef.graph.Node node = change.wasAdded() ? change.getElementAdded()
+					: change.getElementRemoved();
+			Map<Object, IContentPart<? extends Node>> contentPartMap = getHost().getRoot().getViewer()
+					.getContentPartMap();
+			for (Set<Edge> edges : Arrays.asList(node.getIncomingEdges(), node.getOutgoingEdges())) {
+				for (Edge edge : edges) {
+					IContentPart<? extends Node> part = contentPartMap.get(edge);
+					if (part instanceof EdgePart) {
+						update((EdgePart) part);
+					}
+				}
+			}
+		}
+	};
+
+	private EventHandler<MouseEvent> mouseFilter = new EventHandler<MouseEvent>() {
+		@Override
+		public void handle(MouseEvent event) {
+			EdgePart newPointed = event.getEventType() == MouseEvent.MOUSE_EXITED_TARGET ? null : pick(event);
+			if (newPointed != pointed) {
+				EdgePart oldPointed = pointed;
+				pointed = newPointed;
+				updateBatching(oldPointed);
+				updateBatching(newPointed);
+			}
+		}
+	};
+
+	private ListChangeListener<IContentPart<? extends Node>> selectionObserver = new ListChangeListener<IContentPart<? extends Node>>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends IContentPart<? extends Node>> c) {
+			while (c.next()) {
+				for (IContentPart<? extends Node> part : c.getRemoved()) {
+					updateBatching(part);
+				}
+				for (IContentPart<? extends Node> part : c.getAddedSubList()) {
+					updateBatching(part);
+				}
+			}
+		}
+	};
+
+	/**
+	 * Adds the given {@link EdgePart} to the edges that are rendered by this
+	 * behavior.
+	 *
+	 * @param edgePart
+	 *            The {@link EdgePart} that is rendered by this behavior.
+	 */
+	public void add(EdgePart edgePart) {
+		batchedEdges.put(edgePart, null);
+		update(edgePart);
+	}
+
+	private void addDirtyRegion(Rectangle region) {
+		if (dirtyRegion == null) {
+			dirtyRegion = region.getCopy();
+		} else {
+			dirtyRegion.union(region);
+		}
+	}
+
+	private static long cell(int x, int y) {
+		return ((long) x << 32) | (y & 0xffffffffL);
+	}
+
+	private static int cellIndex(double coordinate) {
+		return (int) Math.floor(coordinate / CELL_SIZE);
+	}
+
+	private void addOutline(BatchedEdge batchedEdge, Connection connection, Node node, boolean isCurve) {
+		IGeometry geometry = NodeUtils.localToParent(connection,
+				isCurve ? NodeUtils.getGeometricOutline(connection)
+						: NodeUtils.localToParent(node, NodeUtils.getGeometricOutline(node)));
+		Outline outline = new Outline();
+		outline.geometry = geometry;
+		if (node instanceof GeometryNode) {
+			GeometryNode<?> geometryNode = (GeometryNode<?>) node;
+			outline.fill = isCurve ? null : geometryNode.getFill();
+			outline.stroke = geometryNode.getStroke();
+			outline.strokeWidth = geometryNode.getStrokeWidth();
+		} else {
+			Shape shape = (Shape) node;
+			outline.fill = isCurve ? null : shape.getFill();
+			outline.stroke = shape.getStroke();
+			outline.strokeWidth = shape.getStrokeWidth();
+		}
+		batchedEdge.outlines.add(outline);
+		Rectangle bounds = geometry.getBounds().expand(outline.strokeWidth / 2 + 1, outline.strokeWidth / 2 + 1);
+		if (batchedEdge.outlines.size() == 1) {
+			batchedEdge.bounds = bounds;
+		} else {
+			batchedEdge.bounds.union(bounds);
+		}
+	}
+
+	private BatchedEdge computeBatchedEdge(EdgePart edgePart) {
+		Connection connection = edgePart.getVisual();
+		BatchedEdge batchedEdge = new BatchedEdge();
+		// XXX: Hidden edges (see EdgeHidingBehavior) are not rendered.
+		EdgeBatchingBehavior batchingBehavior = batchingBehaviors.get(edgePart);
+		if (batchingBehavior != null && batchingBehavior.isHidden()) {
+			return batchedEdge;
+		}
+		if (isSupported(connection.getCurve())) {
+			addOutline(batchedEdge, connection, connection.getCurve(), true);
+		}
+		if (isSupported(connection.getStartDecoration())) {
+			addOutline(batchedEdge, connection, connection.getStartDecoration(), false);
+		}
+		if (isSupported(connection.getEndDecoration())) {
+			addOutline(batchedEdge, connection, connection.getEndDecoration(), false);
+		}
+		return batchedEdge;
+	}
+
+	@Override
+	protected void doActivate() {
+		if (!(getHost().getParent() instanceof IRootPart)) {
+			// nested graph
+			return;
+		}
+		infiniteCanvas = ((InfiniteCanvasViewer) getHost().getRoot().getViewer()).getCanvas();
+		canvas = new Canvas();
+		canvas.setManaged(false);
+		canvas.setMouseTransparent(true);
+		infiniteCanvas.getScrolledUnderlayGroup().getChildren().add(canvas);
+		infiniteCanvas.getContentGroup().localToSceneTransformProperty().addListener(viewportObserver);
+		infiniteCanvas.widthProperty().addListener(viewportObserver);
+		infiniteCanvas.heightProperty().addListener(viewportObserver);
+		infiniteCanvas.addEventFilter(MouseEvent.MOUSE_MOVED, mouseFilter);
+		infiniteCanvas.addEventFilter(MouseEvent.MOUSE_EXITED_TARGET, mouseFilter);
+		IViewer viewer = getHost().getRoot().getViewer();
+		viewer.getAdapter(HoverModel.class).hoverProperty().addListener(hoverObserver);
+		viewer.getAdapter(SelectionModel.class).getSelectionUnmodifiable().addListener(selectionObserver);
+		HidingModel hidingModel = viewer.getAdapter(HidingModel.class);
+		if (hidingModel != null) {
+			hidingModel.hiddenProperty().addListener(hidingModelObserver);
+		}
+		isFullRedraw = true;
+		scheduleRedraw();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		if (canvas == null) {
+			return;
+		}
+		redrawTimer.stop();
+		IViewer viewer = getHost().getRoot().getViewer();
+		HidingModel hidingModel = viewer.getAdapter(HidingModel.class);
+		if (hidingModel != null) {
+			hidingModel.hiddenProperty().removeListener(hidingModelObserver);
+		}
+		viewer.getAdapter(SelectionModel.class).getSelectionUnmodifiable().removeListener(selectionObserver);
+		viewer.getAdapter(HoverModel.class).hoverProperty().removeListener(hoverObserver);
+		infiniteCanvas.removeEventFilter(MouseEvent.MOUSE_EXITED_TARGET, mouseFilter);
+		infiniteCanvas.removeEventFilter(MouseEvent.MOUSE_MOVED, mouseFilter);
+		infiniteCanvas.heightProperty().removeListener(viewportObserver);
+		infiniteCanvas.widthProperty().removeListener(viewportObserver);
+		infiniteCanvas.getContentGroup().localToSceneTransformProperty().removeListener(viewportObserver);
+		infiniteCanvas.getScrolledUnderlayGroup().getChildren().remove(canvas);
+		canvas = null;
+		infiniteCanvas = null;
+		batchedEdges.clear();
+		batchingBehaviors.clear();
+		grid.clear();
+		oversized.clear();
+		dirtyEdges.clear();
+		dirtyRegion = null;
+		pointed = null;
+	}
+
+	private void draw(GraphicsContext gc, BatchedEdge batchedEdge) {
+		for (Outline outline : batchedEdge.outlines) {
+			gc.beginPath();
+			for (Segment segment : outline.geometry.toPath().getSegments()) {
+				Point[] points = segment.getPoints();
+				switch (segment.getType()) {
+				case Segment.MOVE_TO:
+					gc.moveTo(points[0].x, points[0].y);
+					break;
+				case Segment.LINE_TO:
+					gc.lineTo(points[0].x, points[0].y);
+					break;
+				case Segment.QUAD_TO:
+					gc.quadraticCurveTo(points[0].x, points[0].y, points[1].x, points[1].y);
+					break;
+				case Segment.CUBIC_TO:
+					gc.bezierCurveTo(points[0].x, points[0].y, points[1].x, points[1].y, points[2].x, points[2].y);
+					break;
+				case Segment.CLOSE:
+					gc.closePath();
+					break;
+				}
+			}
+			if (outline.fill != null) {
+				gc.setFill(outline.fill);
+				gc.fill();
+			}
+			if (outline.stroke != null) {
+				gc.setStroke(outline.stroke);
+				gc.setLineWidth(outline.strokeWidth);
+				gc.stroke();
+			}
+		}
+	}
+
+	@Override
+	public GraphPart getHost() {
+		return (GraphPart) super.getHost();
+	}
+
+	/**
+	 * Returns the {@link EdgePart} that is promoted because the mouse pointer
+	 * is located over it, or <code>null</code> if the mouse pointer is not
+	 * located over a batched edge.
+	 *
+	 * @return The {@link EdgePart} under the mouse pointer, or
+	 *         <code>null</code>.
+	 */
+	public EdgePart getPointed() {
+		return pointed;
+	}
+
+	private void index(EdgePart edgePart, BatchedEdge batchedEdge) {
+		if (batchedEdge.outlines.isEmpty()) {
+			return;
+		}
+		Rectangle bounds = batchedEdge.bounds;
+		int minX = cellIndex(bounds.getX());
+		int maxX = cellIndex(bounds.getRight());
+		int minY = cellIndex(bounds.getY());
+		int maxY = cellIndex(bounds.getBottom());
+		if ((maxX - minX + 1L) * (maxY - minY + 1L) > MAX_CELLS) {
+			oversized.add(edgePart);
+			return;
+		}
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				Set<EdgePart> entries = grid.get(cell(x, y));
+				if (entries == null) {
+					entries = new HashSet<>();
+					grid.put(cell(x, y), entries);
+				}
+				entries.add(edgePart);
+			}
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if this behavior renders the edges of its
+	 * {@link #getHost() host}. Otherwise, returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if batched rendering is enabled, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isEnabled() {
+		return canvas != null;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given {@link EdgePart} is currently
+	 * rendered by this behavior. Otherwise, returns <code>false</code>.
+	 *
+	 * @param edgePart
+	 *            The {@link EdgePart} in question.
+	 * @return <code>true</code> if the given {@link EdgePart} is rendered by
+	 *         this behavior, otherwise <code>false</code>.
+	 */
+	public boolean isBatched(EdgePart edgePart) {
+		return batchedEdges.containsKey(edgePart);
+	}
+
+	private boolean isDescendant(Node ancestor, Node node) {
+		for (Node n = node; n != null; n = n.getParent()) {
+			if (n == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isSupported(Node node) {
+		return node instanceof GeometryNode
+				|| node instanceof Shape && !(node instanceof Text) && !(node instanceof SVGPath);
+	}
+
+	/**
+	 * Returns the batched {@link EdgePart} under the mouse pointer. The
+	 * currently {@link #getPointed() pointed} {@link EdgePart} is retained
+	 * while the mouse pointer is located over its (promoted) visual.
+	 */
+	private EdgePart pick(MouseEvent event) {
+		if (pointed != null && isDescendant(pointed.getVisual(), event.getPickResult().getIntersectedNode())) {
+			return pointed;
+		}
+		Point2D local = getHost().getVisual().sceneToLocal(event.getSceneX(), event.getSceneY());
+		if (local == null) {
+			return null;
+		}
+		// the tolerance is specified in pixels
+		double scale = NodeUtils.getLocalToSceneTx(getHost().getVisual()).getScaleX();
+		double tolerance = PICK_TOLERANCE / (scale > 0 ? scale : 1);
+		Rectangle area = new Rectangle(local.getX() - tolerance, local.getY() - tolerance, 2 * tolerance,
+				2 * tolerance);
+		for (EdgePart edgePart : query(area)) {
+			for (Outline outline : batchedEdges.get(edgePart).outlines) {
+				double strokeTolerance = outline.strokeWidth / 2;
+				if (outline.geometry.touches(area.getExpanded(strokeTolerance, strokeTolerance))) {
+					return edgePart;
+				}
+			}
+		}
+		return null;
+	}
+
+	private Set<EdgePart> query(Rectangle region) {
+		Set<EdgePart> result = new LinkedHashSet<>();
+		int minX = cellIndex(region.getX());
+		int maxX = cellIndex(region.getRight());
+		int minY = cellIndex(region.getY());
+		int maxY = cellIndex(region.getBottom());
+		if ((maxX - minX + 1L) * (maxY - minY + 1L) > batchedEdges.size()) {
+			// the region spans more cells than there are edges
+			for (Map.Entry<EdgePart, BatchedEdge> entry : batchedEdges.entrySet()) {
+				BatchedEdge batchedEdge = entry.getValue();
+				if (batchedEdge != null && !batchedEdge.outlines.isEmpty() && batchedEdge.bounds.touches(region)) {
+					result.add(entry.getKey());
+				}
+			}
+			return result;
+		}
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				Set<EdgePart> entries = grid.get(cell(x, y));
+				if (entries != null) {
+					for (EdgePart edgePart : entries) {
+						if (batchedEdges.get(edgePart).bounds.touches(region)) {
+							result.add(edgePart);
+						}
+					}
+				}
+			}
+		}
+		for (EdgePart edgePart : oversized) {
+			if (batchedEdges.get(edgePart).bounds.touches(region)) {
+				result.add(edgePart);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Redraws the dirty region of the {@link Canvas}, or the complete
+	 * {@link Canvas} if the viewport changed. Before, the cached geometry of
+	 * the {@link #update(EdgePart) updated} edges is recomputed.
+	 */
+	protected void redraw() {
+		if (canvas == null) {
+			return;
+		}
+		// recompute geometry of dirty edges
+		for (EdgePart edgePart : dirtyEdges) {
+			BatchedEdge oldEdge = batchedEdges.get(edgePart);
+			if (oldEdge != null) {
+				unindex(edgePart, oldEdge);
+				if (!oldEdge.outlines.isEmpty()) {
+					addDirtyRegion(oldEdge.bounds);
+				}
+			}
+			if (batchedEdges.containsKey(edgePart)) {
+				BatchedEdge newEdge = computeBatchedEdge(edgePart);
+				batchedEdges.put(edgePart, newEdge);
+				index(edgePart, newEdge);
+				if (!newEdge.outlines.isEmpty()) {
+					addDirtyRegion(newEdge.bounds);
+				}
+			}
+		}
+		dirtyEdges.clear();
+
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+		if (isFullRedraw) {
+			// place the canvas at the viewport
+			Point2D origin = infiniteCanvas.getScrolledUnderlayGroup()
+					.sceneToLocal(infiniteCanvas.localToScene(0, 0));
+			canvas.relocate(origin.getX(), origin.getY());
+			canvas.setWidth(infiniteCanvas.getWidth());
+			canvas.setHeight(infiniteCanvas.getHeight());
+		}
+
+		// transform from graph coordinates to canvas coordinates
+		AffineTransform graphToCanvas = NodeUtils.getSceneToLocalTx(canvas)
+				.concatenate(NodeUtils.getLocalToSceneTx(getHost().getVisual()));
+		Rectangle viewport = new Rectangle(0, 0, canvas.getWidth(), canvas.getHeight())
+				.getTransformed(graphToCanvas.getInverse()).getBounds();
+		Rectangle region;
+		if (isFullRedraw) {
+			region = viewport;
+		} else if (dirtyRegion != null && dirtyRegion.touches(viewport)) {
+			region = dirtyRegion.getIntersected(viewport);
+		} else {
+			dirtyRegion = null;
+			return;
+		}
+		isFullRedraw = false;
+		dirtyRegion = null;
+
+		gc.save();
+		gc.setTransform(Geometry2FX.toFXAffine(graphToCanvas));
+		gc.beginPath();
+		gc.rect(region.getX(), region.getY(), region.getWidth(), region.getHeight());
+		gc.clip();
+		gc.clearRect(region.getX(), region.getY(), region.getWidth(), region.getHeight());
+		for (EdgePart edgePart : query(region)) {
+			draw(gc, batchedEdges.get(edgePart));
+		}
+		gc.restore();
+	}
+
+	/**
+	 * Registers the given {@link EdgeBatchingBehavior}, so that it is notified
+	 * when its host is hovered, unhovered, selected, or deselected.
+	 *
+	 * @param batchingBehavior
+	 *            The {@link EdgeBatchingBehavior} to register.
+	 */
+	public void register(EdgeBatchingBehavior batchingBehavior) {
+		batchingBehaviors.put(batchingBehavior.getHost(), batchingBehavior);
+	}
+
+	/**
+	 * Removes the given {@link EdgePart} from the edges that are rendered by
+	 * this behavior.
+	 *
+	 * @param edgePart
+	 *            The {@link EdgePart} that is no longer rendered by this
+	 *            behavior.
+	 */
+	public void remove(EdgePart edgePart) {
+		BatchedEdge batchedEdge = batchedEdges.remove(edgePart);
+		dirtyEdges.remove(edgePart);
+		if (batchedEdge != null) {
+			unindex(edgePart, batchedEdge);
+			if (!batchedEdge.outlines.isEmpty()) {
+				addDirtyRegion(batchedEdge.bounds);
+				scheduleRedraw();
+			}
+		}
+	}
+
+	private void scheduleRedraw() {
+		if (canvas != null) {
+			// the timer fires once within the next pulse (see #redrawTimer)
+			redrawTimer.start();
+		}
+	}
+
+	private void unindex(EdgePart edgePart, BatchedEdge batchedEdge) {
+		if (batchedEdge.outlines.isEmpty() || oversized.remove(edgePart)) {
+			return;
+		}
+		Rectangle bounds = batchedEdge.bounds;
+		for (int x = cellIndex(bounds.getX()); x <= cellIndex(bounds.getRight()); x++) {
+			for (int y = cellIndex(bounds.getY()); y <= cellIndex(bounds.getBottom()); y++) {
+				Set<EdgePart> entries = grid.get(cell(x, y));
+				if (entries != null) {
+					entries.remove(edgePart);
+					if (entries.isEmpty()) {
+						grid.remove(cell(x, y));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Unregisters the given {@link EdgeBatchingBehavior}, so that it is no
+	 * longer notified about hover and selection changes.
+	 *
+	 * @param batchingBehavior
+	 *            The {@link EdgeBatchingBehavior} to unregister.
+	 */
+	public void unregister(EdgeBatchingBehavior batchingBehavior) {
+		if (batchingBehaviors.get(batchingBehavior.getHost()) == batchingBehavior) {
+			batchingBehaviors.remove(batchingBehavior.getHost());
+		}
+		if (pointed == batchingBehavior.getHost()) {
+			pointed = null;
+		}
+	}
+
+	/**
+	 * Notifies this behavior about a change of the visual of the given
+	 * {@link EdgePart}, so that its geometry is recomputed and the affected
+	 * region is redrawn within the next pulse.
+	 *
+	 * @param edgePart
+	 *            The {@link EdgePart} of which the visual changed.
+	 */
+	public void update(EdgePart edgePart) {
+		if (batchedEdges.containsKey(edgePart)) {
+			dirtyEdges.add(edgePart);
+			scheduleRedraw();
+		}
+	}
+
+	private void updateBatching(IVisualPart<? extends Node> part) {
+		EdgeBatchingBehavior batchingBehavior = part == null ? null : batchingBehaviors.get(part);
+		if (batchingBehavior != null) {
+			batchingBehavior.updateBatching();
+		}
+	}
+
+}
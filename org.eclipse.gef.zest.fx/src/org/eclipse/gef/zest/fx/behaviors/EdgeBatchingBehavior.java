@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.models.HoverModel;
+import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.parts.IHandlePart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+
+/**
+ * The {@link EdgeBatchingBehavior} is an {@link EdgePart}-specific behavior
+ * that hands the rendering of its {@link #getHost() host} over to the
+ * {@link BatchedEdgeRenderingBehavior} of the parent {@link GraphPart} while
+ * the {@link #getHost() host} is not interactive, i.e. neither hovered,
+ * selected, pointed at, nor equipped with handles (e.g. while being bent). A
+ * batched {@link Connection} is made invisible and unmanaged, so that it is
+ * neither rendered nor picked and does not take part in layout passes, and
+ * only its points are observed. It remains part of the scene graph, because
+ * its anchors compute its points within the coordinate system of the scene. As
+ * soon as the {@link #getHost() host} becomes interactive, it is promoted,
+ * i.e. its visibility is restored and it is removed from the batched
+ * rendering.
+ * <p>
+ * As batched {@link Connection}s cannot be picked, the
+ * {@link BatchedEdgeRenderingBehavior} determines the batched edge under the
+ * mouse pointer and promotes it, so that it can be hovered and selected as
+ * usual.
+ * <p>
+ * While the {@link #getHost() host} is batched, its visibility is controlled
+ * by this behavior. Whether it is hidden (see {@link EdgeHidingBehavior}) is
+ * considered when it is rendered by the {@link BatchedEdgeRenderingBehavior},
+ * and when its visibility is restored.
+ * <p>
+ * The {@link HoverModel} and {@link SelectionModel} are observed by the
+ * {@link BatchedEdgeRenderingBehavior}, which notifies only the
+ * {@link EdgeBatchingBehavior}s of the affected parts, so that a hover or
+ * selection change does not need to be processed by each
+ * {@link EdgeBatchingBehavior}.
+ * <p>
+ * If no {@link BatchedEdgeRenderingBehavior} is registered on the parent of
+ * the {@link #getHost() host}, this behavior does not have any effect.
+ *
+ * @author zhaosongvip
+ *
+ */
+// only applicable for EdgePart (see #getHost())
+public class EdgeBatchingBehavior extends AbstractBehavior {
+
+	private BatchedEdgeRenderingBehavior renderer;
+	private boolean isBatched;
+	private boolean isManaged;
+
+	private InvalidationListener pointsObserver = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			renderer.update(getHost());
+		}
+	};
+
+	private ChangeListener<Boolean> visibilityObserver = new ChangeListener<Boolean>() {
+		@Override
+		public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
+			// the host was shown (see EdgeHidingBehavior) while being batched
+			if (newValue) {
+				getHost().getVisual().setVisible(false);
+				renderer.update(getHost());
+			}
+		}
+	};
+
+	private InvalidationListener anchoredsObserver = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			updateBatching();
+		}
+	};
+
+	/**
+	 * Hands the rendering of the {@link #getHost() host} over to the
+	 * {@link BatchedEdgeRenderingBehavior}.
+	 */
+	protected void batch() {
+		Connection connection = getHost().getVisual();
+		isManaged = connection.isManaged();
+		connection.setVisible(false);
+		connection.setManaged(false);
+		connection.getPointsUnmodifiable().addListener(pointsObserver);
+		connection.visibleProperty().addListener(visibilityObserver);
+		renderer.add(getHost());
+	}
+
+	/**
+	 * Returns <code>true</code> if the {@link #getHost() host} should be
+	 * rendered by the {@link BatchedEdgeRenderingBehavior}, i.e. if it is
+	 * neither hovered, selected, nor pointed at, and if no handles are
+	 * anchored on it. Otherwise, returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the {@link #getHost() host} should be
+	 *         batched, otherwise <code>false</code>.
+	 */
+	protected boolean determineBatchedStatus() {
+		if (getHoverModel().getHover() == getHost() || getSelectionModel().isSelected(getHost())
+				|| renderer.getPointed() == getHost()) {
+			return false;
+		}
+		for (IVisualPart<? extends Node> anchored : getHost().getAnchoredsUnmodifiable().elementSet()) {
+			if (anchored instanceof IHandlePart) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	protected void doActivate() {
+		IVisualPart<? extends Node> parent = getHost().getParent();
+		renderer = parent == null ? null : parent.getAdapter(BatchedEdgeRenderingBehavior.class);
+		if (renderer == null || !renderer.isEnabled()) {
+			renderer = null;
+			return;
+		}
+		getHost().anchoredsUnmodifiableProperty().addListener(anchoredsObserver);
+		renderer.register(this);
+		updateBatching();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		if (renderer == null) {
+			return;
+		}
+		getHost().anchoredsUnmodifiableProperty().removeListener(anchoredsObserver);
+		renderer.unregister(this);
+		// promote the host so that it can be reused
+		if (isBatched) {
+			isBatched = false;
+			unbatch();
+		}
+		renderer = null;
+	}
+
+	@Override
+	public EdgePart getHost() {
+		return (EdgePart) super.getHost();
+	}
+
+	private HoverModel getHoverModel() {
+		return getHost().getRoot().getViewer().getAdapter(HoverModel.class);
+	}
+
+	private SelectionModel getSelectionModel() {
+		return getHost().getRoot().getViewer().getAdapter(SelectionModel.class);
+	}
+
+	/**
+	 * Returns <code>true</code> if the {@link #getHost() host} is currently
+	 * rendered by the {@link BatchedEdgeRenderingBehavior}. Otherwise, returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if the {@link #getHost() host} is currently
+	 *         batched, otherwise <code>false</code>.
+	 */
+	public boolean isBatched() {
+		return isBatched;
+	}
+
+	/**
+	 * Returns <code>true</code> if the {@link #getHost() host} is hidden by
+	 * its {@link EdgeHidingBehavior}. Otherwise, returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the {@link #getHost() host} is hidden,
+	 *         otherwise <code>false</code>.
+	 */
+	boolean isHidden() {
+		EdgeHidingBehavior hidingBehavior = getHost().getAdapter(EdgeHidingBehavior.class);
+		return hidingBehavior != null && hidingBehavior.isHidden();
+	}
+
+	/**
+	 * Takes the rendering of the {@link #getHost() host} back from the
+	 * {@link BatchedEdgeRenderingBehavior}.
+	 */
+	protected void unbatch() {
+		Connection connection = getHost().getVisual();
+		connection.visibleProperty().removeListener(visibilityObserver);
+		connection.getPointsUnmodifiable().removeListener(pointsObserver);
+		renderer.remove(getHost());
+		connection.setManaged(isManaged);
+		connection.setVisible(!isHidden());
+	}
+
+	/**
+	 * {@link #determineBatchedStatus() Determines} if the {@link #getHost()
+	 * host} should be batched and calls either {@link #batch()} or
+	 * {@link #unbatch()} if the status changed. Called by the
+	 * {@link BatchedEdgeRenderingBehavior} when the {@link #getHost() host} is
+	 * hovered, unhovered, selected, deselected, pointed at, or no longer
+	 * pointed at, as well as when handles are anchored on the
+	 * {@link #getHost() host} or removed from it.
+	 */
+	protected void updateBatching() {
+		boolean wasBatched = isBatched;
+		isBatched = determineBatchedStatus();
+		if (wasBatched && !isBatched) {
+			unbatch();
+		} else if (!wasBatched && isBatched) {
+			batch();
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+
+/**
+ * The {@link EdgeLevelOfDetailBehavior} is a {@link EdgePart}-specific
+ * {@link AbstractLevelOfDetailBehavior} implementation. When zoomed out, the
+ * decorations of the {@link #getHost() host} are removed from the scene graph,
+ * so that only its curve is rendered.
+ *
+ * @author zhaosongvip
+ *
+ */
+// only applicable for EdgePart (see #getHost())
+public class EdgeLevelOfDetailBehavior extends AbstractLevelOfDetailBehavior {
+
+	@Override
+	public EdgePart getHost() {
+		return (EdgePart) super.getHost();
+	}
+
+	@Override
+	protected void reduceDetail() {
+		getHost().setDetailed(false);
+	}
+
+	@Override
+	protected void restoreDetail() {
+		getHost().setDetailed(true);
+	}
+
+}
@@ -12,13 +12,27 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutFilter;
 import org.eclipse.gef.layout.LayoutContext;
@@ -35,6 +49,9 @@ import org.eclipse.gef.zest.fx.models.NavigationModel.ViewportState;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
+import com.google.inject.Provider;
+
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
@@ -88,25 +105,79 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	private ListChangeListener<IVisualPart<? extends Node>> childrenObserver = new ListChangeListener<IVisualPart<? extends Node>>() {
 		@Override
 		public void onChanged(ListChangeListener.Change<? extends IVisualPart<? extends Node>> c) {
-			applyLayout(true, null);
+			// preserve the mental map when the content changes
+			applyLayout(false, null);
 		}
 	};
 
 	private SetChangeListener<org.eclipse.gef.graph.Node> hidingModelObserver = new SetChangeListener<org.eclipse.gef.graph.Node>() {
 		@Override
 		public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
-			applyLayout(true, null);
+			// preserve the mental map when nodes are hidden or shown
+			applyLayout(false, null);
 		}
 	};
 
 	private boolean skipNextLayout;
 
+	/**
+	 * The nested graphs that were laid out concurrently (see
+	 * {@link #layoutNestedGraphs()}), and that do not need to be laid out
+	 * again when they are displayed. Only used by the behavior of the root
+	 * graph, and only accessed on the JavaFX application thread.
+	 */
+	private final Set<Graph> preLaidOutNestedGraphs = Collections
+			.newSetFromMap(new IdentityHashMap<Graph, Boolean>());
+
+	/**
+	 * The nested graphs that are currently laid out concurrently. A nested
+	 * graph is removed when it is displayed before its layout pass finished,
+	 * so that the (outdated) result is discarded. Only used by the behavior of
+	 * the root graph, and only accessed on the JavaFX application thread.
+	 */
+	private final Set<Graph> pendingNestedGraphs = Collections
+			.newSetFromMap(new IdentityHashMap<Graph, Boolean>());
+
+	/**
+	 * The size that is assumed for nodes of nested graphs that are not
+	 * displayed yet, and for which no size is specified.
+	 */
+	private static final Dimension DEFAULT_NESTED_NODE_SIZE = new Dimension(50, 30);
+
+	/**
+	 * The {@link ExecutorService} that performs the concurrent layout passes
+	 * of nested graphs (see {@link #layoutNestedGraphs()}). It is separate
+	 * from the common fork/join pool, which is used by the layout algorithms
+	 * themselves, and its threads are daemon threads that terminate when idle.
+	 */
+	private static final ExecutorService NESTED_LAYOUT_EXECUTOR = createNestedLayoutExecutor();
+
+	private boolean layoutNestedGraphsConcurrently = false;
+
+	private static ExecutorService createNestedLayoutExecutor() {
+		int threads = Runtime.getRuntime().availableProcessors();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "Nested graph layout");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	/**
 	 * Performs one layout pass using the static layout algorithm that is
 	 * configured for the layout context.
 	 *
 	 * @param clean
-	 *            Whether to fully re-compute the layout or not.
+	 *            Whether to fully re-compute the layout or not. A layout pass
+	 *            that is not clean is only performed incrementally if the
+	 *            layout algorithm is an {@link IIncrementalLayoutAlgorithm},
+	 *            otherwise, the layout is fully re-computed.
 	 * @param extra
 	 *            An extra {@link Object} that is passed-on to the
 	 *            {@link ILayoutAlgorithm}.
@@ -152,7 +223,8 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		}
 
 		// apply layout (if no algorithm is set, will be a no-op)
-		layoutContext.applyLayout(true);
+		layoutContext.applyLayout(
+				clean || !(layoutContext.getLayoutAlgorithm() instanceof IIncrementalLayoutAlgorithm));
 	}
 
 	/**
@@ -252,7 +324,19 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		// nested graphs are not unnecessarily layouted
 		skipNextLayout = savedViewport != null;
 		if (savedViewport == null || isNested || isViewportChanged) {
-			LayoutProperties.setBounds(getHost().getContent(), computeLayoutBounds());
+			Rectangle bounds = computeLayoutBounds();
+			// skip the layout of a nested graph that was already laid out
+			// (concurrently) for the same bounds, and discard the result of a
+			// concurrent layout pass that is not finished yet
+			if (isNested) {
+				GraphLayoutBehavior rootBehavior = getRootGraphLayoutBehavior();
+				rootBehavior.pendingNestedGraphs.remove(getHost().getContent());
+				if (rootBehavior.preLaidOutNestedGraphs.remove(getHost().getContent())
+						&& bounds.equals(LayoutProperties.getBounds(getHost().getContent()))) {
+					return;
+				}
+			}
+			LayoutProperties.setBounds(getHost().getContent(), bounds);
 			applyLayout(true, null);
 		}
 	}
@@ -277,6 +361,8 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 			getInfiniteCanvas().scrollableBoundsProperty().removeListener(viewportBoundsChangeListener);
 		}
 		nestingVisual = null;
+		pendingNestedGraphs.clear();
+		preLaidOutNestedGraphs.clear();
 	}
 
 	@Override
@@ -314,6 +400,204 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return null;
 	}
 
+	/**
+	 * Returns the {@link GraphLayoutBehavior} of the root graph, which
+	 * maintains the nested graphs that are laid out concurrently.
+	 *
+	 * @return The {@link GraphLayoutBehavior} of the root graph.
+	 */
+	private GraphLayoutBehavior getRootGraphLayoutBehavior() {
+		GraphLayoutBehavior behavior = this;
+		NodePart nestingPart = getNestingPart();
+		while (nestingPart != null) {
+			GraphLayoutBehavior parentBehavior = nestingPart.getParent().getAdapter(GraphLayoutBehavior.class);
+			if (parentBehavior == null) {
+				break;
+			}
+			behavior = parentBehavior;
+			nestingPart = behavior.getNestingPart();
+		}
+		return behavior;
+	}
+
+	/**
+	 * Returns a new {@link ILayoutAlgorithm} for the concurrent layout pass of
+	 * the given nested {@link Graph} (see {@link #layoutNestedGraphs()}), or
+	 * <code>null</code> if the nested graph is to be laid out when it is
+	 * displayed. As layout algorithms are stateful, the returned instance may
+	 * not be used by any other layout pass. By default, the instance is
+	 * obtained from the {@link Provider} that is specified as the
+	 * {@link ZestProperties#LAYOUT_ALGORITHM__G} attribute (which is expected
+	 * to create a new instance upon each call), while nested graphs for which
+	 * an {@link ILayoutAlgorithm} instance is specified are not laid out
+	 * concurrently.
+	 *
+	 * @param nestedGraph
+	 *            The nested {@link Graph} that is to be laid out.
+	 * @return A new {@link ILayoutAlgorithm} for the given nested
+	 *         {@link Graph}, or <code>null</code>.
+	 */
+	protected ILayoutAlgorithm createNestedLayoutAlgorithm(Graph nestedGraph) {
+		Object value = nestedGraph.attributesProperty().get(ZestProperties.LAYOUT_ALGORITHM__G);
+		if (value instanceof Provider) {
+			return (ILayoutAlgorithm) ((Provider<?>) value).get();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns <code>true</code> if the nested graphs are laid out concurrently
+	 * after a layout pass of the root graph, before they are displayed.
+	 * Otherwise returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the nested graphs are laid out
+	 *         concurrently, otherwise <code>false</code>.
+	 * @see #setLayoutNestedGraphsConcurrently(boolean)
+	 */
+	public boolean isLayoutNestedGraphsConcurrently() {
+		return layoutNestedGraphsConcurrently;
+	}
+
+	/**
+	 * Lays out all (transitively) nested graphs of the host's graph that were
+	 * not laid out before, concurrently, using the layout algorithms that are
+	 * specified for the nested graphs (see
+	 * {@link ZestProperties#getLayoutAlgorithm(Graph)}). The nested graphs are
+	 * copied on the calling thread, and the copies are laid out in the
+	 * background, so that the JavaFX application thread is not blocked. As the
+	 * nested graphs are not displayed yet, the layout bounds are inferred from
+	 * the default size of the nested graph area, and the node sizes are taken
+	 * from the {@link ZestProperties#getSize(org.eclipse.gef.graph.Node) size}
+	 * attributes (if specified). The computed positions are transferred to the
+	 * {@link ZestProperties#getPosition(org.eclipse.gef.graph.Node) position}
+	 * attributes on the JavaFX application thread, unless the nested graph was
+	 * displayed in the meantime, and the layout pass that is initiated when a
+	 * nested graph is displayed is skipped if its layout bounds did not change.
+	 * As layout algorithms are stateful, each concurrent layout pass uses its
+	 * own {@link ILayoutAlgorithm} (see
+	 * {@link #createNestedLayoutAlgorithm(Graph)}), and nested graphs for which
+	 * no such instance is provided are skipped.
+	 *
+	 * @return A {@link CompletableFuture} that is completed after the results
+	 *         were transferred.
+	 */
+	protected CompletableFuture<Void> layoutNestedGraphs() {
+		Rectangle bounds = new Rectangle(0, 0,
+				NodePart.DEFAULT_OUTER_LAYOUT_CONTAINER_WIDTH_NESTING / NodePart.DEFAULT_NESTED_CHILDREN_ZOOM_FACTOR,
+				NodePart.DEFAULT_OUTER_LAYOUT_CONTAINER_HEIGHT_NESTING / NodePart.DEFAULT_NESTED_CHILDREN_ZOOM_FACTOR);
+		List<Graph> nestedGraphs = new ArrayList<>();
+		List<Graph> graphs = new ArrayList<>();
+		graphs.add(getHost().getContent());
+		for (int i = 0; i < graphs.size(); i++) {
+			for (org.eclipse.gef.graph.Node node : graphs.get(i).getNodes()) {
+				Graph nestedGraph = node.getNestedGraph();
+				if (nestedGraph == null) {
+					continue;
+				}
+				graphs.add(nestedGraph);
+				if (LayoutProperties.getBounds(nestedGraph) == null && !pendingNestedGraphs.contains(nestedGraph)) {
+					nestedGraphs.add(nestedGraph);
+				}
+			}
+		}
+
+		// copy the nested graphs (on the calling thread)
+		final Map<Graph, LayoutContext> contexts = new IdentityHashMap<>();
+		Set<ILayoutAlgorithm> usedAlgorithms = Collections.newSetFromMap(new IdentityHashMap<ILayoutAlgorithm, Boolean>());
+		for (Graph nestedGraph : nestedGraphs) {
+			ILayoutAlgorithm layoutAlgorithm = createNestedLayoutAlgorithm(nestedGraph);
+			if (layoutAlgorithm == null || !usedAlgorithms.add(layoutAlgorithm)) {
+				continue;
+			}
+			// the copies have the same order as the nested nodes
+			Map<org.eclipse.gef.graph.Node, org.eclipse.gef.graph.Node> copies = new IdentityHashMap<>();
+			List<org.eclipse.gef.graph.Node> nodeCopies = new ArrayList<>();
+			for (org.eclipse.gef.graph.Node nestedNode : nestedGraph.getNodes()) {
+				org.eclipse.gef.graph.Node copy = new org.eclipse.gef.graph.Node(
+						new HashMap<>(nestedNode.getAttributes()));
+				Dimension size = ZestProperties.getSize(nestedNode);
+				size = size == null ? DEFAULT_NESTED_NODE_SIZE.getCopy() : size.getCopy();
+				LayoutProperties.setSize(copy, size);
+				Point position = ZestProperties.getPosition(nestedNode);
+				LayoutProperties.setLocation(copy,
+						position == null ? new Point() : position.getTranslated(size.getScaled(0.5)));
+				copies.put(nestedNode, copy);
+				nodeCopies.add(copy);
+			}
+			List<Edge> edgeCopies = new ArrayList<>();
+			for (Edge edge : nestedGraph.getEdges()) {
+				org.eclipse.gef.graph.Node source = copies.get(edge.getSource());
+				org.eclipse.gef.graph.Node target = copies.get(edge.getTarget());
+				if (source != null && target != null) {
+					edgeCopies.add(new Edge(new HashMap<>(edge.getAttributes()), source, target));
+				}
+			}
+			Graph graphCopy = new Graph(new HashMap<>(nestedGraph.getAttributes()),
+					nodeCopies, edgeCopies);
+			LayoutProperties.setBounds(graphCopy, bounds.getCopy());
+			LayoutContext context = new LayoutContext();
+			context.setGraph(graphCopy);
+			context.setLayoutAlgorithm(layoutAlgorithm);
+			contexts.put(nestedGraph, context);
+			pendingNestedGraphs.add(nestedGraph);
+		}
+		if (contexts.isEmpty()) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// the passes do not share layout algorithms, so that they can be
+		// performed independently, without blocking a pool thread
+		List<CompletableFuture<Void>> passes = new ArrayList<>();
+		for (final LayoutContext context : contexts.values()) {
+			passes.add(CompletableFuture.runAsync(new Runnable() {
+				@Override
+				public void run() {
+					context.applyLayout(true);
+				}
+			}, NESTED_LAYOUT_EXECUTOR));
+		}
+		return CompletableFuture.allOf(passes.toArray(new CompletableFuture<?>[passes.size()]))
+				.thenRunAsync(new Runnable() {
+					@Override
+					public void run() {
+						transferNestedLayouts(contexts);
+					}
+				}, Platform::runLater);
+	}
+
+	/**
+	 * Transfers the results of the concurrent layout passes of the given
+	 * nested graphs (see {@link #layoutNestedGraphs()}) from the copies to the
+	 * nested graphs. Nested graphs that were displayed in the meantime are
+	 * skipped.
+	 *
+	 * @param contexts
+	 *            The {@link LayoutContext}s of the copies, by nested graph.
+	 */
+	private void transferNestedLayouts(Map<Graph, LayoutContext> contexts) {
+		for (Graph nestedGraph : contexts.keySet()) {
+			if (!pendingNestedGraphs.remove(nestedGraph)) {
+				continue;
+			}
+			Graph graphCopy = contexts.get(nestedGraph).getGraph();
+			for (int i = 0; i < nestedGraph.getNodes().size(); i++) {
+				org.eclipse.gef.graph.Node nestedNode = nestedGraph.getNodes().get(i);
+				org.eclipse.gef.graph.Node copy = graphCopy.getNodes().get(i);
+				Dimension size = LayoutProperties.getSize(copy);
+				Point location = LayoutProperties.getLocation(copy);
+				LayoutProperties.setSize(nestedNode, size);
+				LayoutProperties.setLocation(nestedNode, location);
+				if (ZestProperties.getSize(nestedNode) != null) {
+					ZestProperties.setSize(nestedNode, size);
+				}
+				// location is center, position is top-left
+				ZestProperties.setPosition(nestedNode, location.getTranslated(size.getScaled(0.5).getNegated()));
+			}
+			LayoutProperties.setBounds(nestedGraph, LayoutProperties.getBounds(graphCopy));
+			preLaidOutNestedGraphs.add(nestedGraph);
+		}
+	}
+
 	@Override
 	protected void postLayout() {
 		// execute post-layout of all nodes and edges
@@ -328,6 +612,11 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 				childLayoutBehavior.postLayout();
 			}
 		}
+
+		// lay out the nested graphs before they are displayed
+		if (layoutNestedGraphsConcurrently && getNestingPart() == null) {
+			layoutNestedGraphs();
+		}
 	}
 
 	@Override
@@ -346,6 +635,23 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		}
 	}
 
+	/**
+	 * Specifies whether the nested graphs are laid out concurrently after a
+	 * layout pass of the root graph, before they are displayed (see
+	 * {@link #layoutNestedGraphs()}). Otherwise, a nested graph is laid out
+	 * when it is displayed. Only nested graphs for which a new
+	 * {@link ILayoutAlgorithm} can be created (see
+	 * {@link #createNestedLayoutAlgorithm(Graph)}) are laid out concurrently.
+	 * Defaults to <code>false</code>.
+	 *
+	 * @param layoutNestedGraphsConcurrently
+	 *            <code>true</code> to lay out the nested graphs concurrently,
+	 *            otherwise <code>false</code>.
+	 */
+	public void setLayoutNestedGraphsConcurrently(boolean layoutNestedGraphsConcurrently) {
+		this.layoutNestedGraphsConcurrently = layoutNestedGraphsConcurrently;
+	}
+
 	/**
 	 * Updates the bounds property from the visual (viewport or nesting node)
 	 */
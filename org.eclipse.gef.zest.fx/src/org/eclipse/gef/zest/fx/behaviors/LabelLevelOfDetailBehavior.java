@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import org.eclipse.gef.zest.fx.parts.AbstractLabelPart;
+
+/**
+ * The {@link LabelLevelOfDetailBehavior} is an
+ * {@link AbstractLabelPart}-specific {@link AbstractLevelOfDetailBehavior}
+ * implementation. When zoomed out, the text of the {@link #getHost() host} is
+ * removed from the scene graph.
+ *
+ * @author zhaosongvip
+ *
+ */
+// only applicable for AbstractLabelPart (see #getHost())
+public class LabelLevelOfDetailBehavior extends AbstractLevelOfDetailBehavior {
+
+	@Override
+	public AbstractLabelPart getHost() {
+		return (AbstractLabelPart) super.getHost();
+	}
+
+	@Override
+	protected void reduceDetail() {
+		getHost().setDetailed(false);
+	}
+
+	@Override
+	protected void restoreDetail() {
+		getHost().setDetailed(true);
+	}
+
+}
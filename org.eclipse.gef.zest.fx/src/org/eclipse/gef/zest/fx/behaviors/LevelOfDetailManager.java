@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.gef.common.adapt.IAdaptable;
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * The {@link LevelOfDetailManager} is an {@link InfiniteCanvasViewer} adapter
+ * that is the only observer of the zoom level (i.e. the content transform of
+ * the {@link InfiniteCanvas}) for the {@link AbstractLevelOfDetailBehavior}s
+ * of its viewer. The registered behaviors are grouped by their
+ * {@link AbstractLevelOfDetailBehavior#getDetailThreshold() detail
+ * threshold}, so that a zoom level change only notifies the behaviors whose
+ * threshold was crossed, i.e. whose level of detail changes.
+ * <p>
+ * The {@link AbstractLevelOfDetailBehavior}s register at the
+ * {@link LevelOfDetailManager} when they are activated and unregister when
+ * they are deactivated. The zoom level is only observed while at least one
+ * {@link AbstractLevelOfDetailBehavior} is registered.
+ *
+ * @author zhaosongvip
+ *
+ */
+public class LevelOfDetailManager extends IAdaptable.Bound.Impl<IViewer> implements IDisposable {
+
+	private InfiniteCanvas canvas;
+	private double zoomLevel;
+
+	private Map<AbstractLevelOfDetailBehavior, Double> thresholds = new HashMap<>();
+	private NavigableMap<Double, Set<AbstractLevelOfDetailBehavior>> registered = new TreeMap<>();
+
+	private ChangeListener<Number> zoomLevelObserver = new ChangeListener<Number>() {
+		@Override
+		public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+			updateZoomLevel(newValue.doubleValue());
+		}
+	};
+
+	@Override
+	public void dispose() {
+		if (canvas != null) {
+			unobserveZoomLevel();
+		}
+		thresholds.clear();
+		registered.clear();
+	}
+
+	/**
+	 * Returns the {@link AbstractLevelOfDetailBehavior}s that are currently
+	 * registered at this {@link LevelOfDetailManager}.
+	 *
+	 * @return The {@link AbstractLevelOfDetailBehavior}s that are currently
+	 *         registered.
+	 */
+	public Collection<AbstractLevelOfDetailBehavior> getRegistered() {
+		return new ArrayList<>(thresholds.keySet());
+	}
+
+	/**
+	 * Returns the current zoom level, i.e. the horizontal scale of the content
+	 * transform of the {@link InfiniteCanvas}.
+	 *
+	 * @return The current zoom level.
+	 */
+	public double getZoomLevel() {
+		if (canvas == null) {
+			return ((InfiniteCanvasViewer) getAdaptable()).getCanvas().getContentTransform().getMxx();
+		}
+		return zoomLevel;
+	}
+
+	private void observeZoomLevel() {
+		canvas = ((InfiniteCanvasViewer) getAdaptable()).getCanvas();
+		canvas.getContentTransform().mxxProperty().addListener(zoomLevelObserver);
+		zoomLevel = canvas.getContentTransform().getMxx();
+	}
+
+	/**
+	 * Registers the given {@link AbstractLevelOfDetailBehavior} under its
+	 * current {@link AbstractLevelOfDetailBehavior#getDetailThreshold() detail
+	 * threshold}, so that it is notified when the zoom level crosses that
+	 * threshold. If the behavior is already registered, it is re-registered
+	 * under its current threshold.
+	 *
+	 * @param behavior
+	 *            The {@link AbstractLevelOfDetailBehavior} to register.
+	 */
+	public void register(AbstractLevelOfDetailBehavior behavior) {
+		if (thresholds.containsKey(behavior)) {
+			remove(behavior);
+		} else if (canvas == null) {
+			observeZoomLevel();
+		}
+		Double threshold = behavior.getDetailThreshold();
+		thresholds.put(behavior, threshold);
+		Set<AbstractLevelOfDetailBehavior> behaviors = registered.get(threshold);
+		if (behaviors == null) {
+			behaviors = new LinkedHashSet<>();
+			registered.put(threshold, behaviors);
+		}
+		behaviors.add(behavior);
+	}
+
+	private void remove(AbstractLevelOfDetailBehavior behavior) {
+		Double threshold = thresholds.remove(behavior);
+		Set<AbstractLevelOfDetailBehavior> behaviors = registered.get(threshold);
+		behaviors.remove(behavior);
+		if (behaviors.isEmpty()) {
+			registered.remove(threshold);
+		}
+	}
+
+	private void unobserveZoomLevel() {
+		canvas.getContentTransform().mxxProperty().removeListener(zoomLevelObserver);
+		canvas = null;
+	}
+
+	/**
+	 * Unregisters the given {@link AbstractLevelOfDetailBehavior}. The zoom
+	 * level is no longer observed when the last
+	 * {@link AbstractLevelOfDetailBehavior} is unregistered.
+	 *
+	 * @param behavior
+	 *            The {@link AbstractLevelOfDetailBehavior} to unregister.
+	 */
+	public void unregister(AbstractLevelOfDetailBehavior behavior) {
+		if (!thresholds.containsKey(behavior)) {
+			return;
+		}
+		remove(behavior);
+		if (thresholds.isEmpty()) {
+			unobserveZoomLevel();
+		}
+	}
+
+	private void updateZoomLevel(double newZoomLevel) {
+		double oldZoomLevel = zoomLevel;
+		zoomLevel = newZoomLevel;
+		// details are reduced below the threshold, so the level of detail
+		// only changes for the thresholds in (min, max]
+		List<AbstractLevelOfDetailBehavior> crossed = new ArrayList<>();
+		for (Set<AbstractLevelOfDetailBehavior> behaviors : registered
+				.subMap(Math.min(oldZoomLevel, newZoomLevel), false, Math.max(oldZoomLevel, newZoomLevel), true)
+				.values()) {
+			crossed.addAll(behaviors);
+		}
+		for (AbstractLevelOfDetailBehavior behavior : crossed) {
+			behavior.updateLevelOfDetail();
+		}
+	}
+
+}
@@ -13,8 +13,6 @@
 package org.eclipse.gef.zest.fx.behaviors;
 
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.zest.fx.models.HidingModel;
@@ -41,17 +39,7 @@ import javafx.scene.Node;
 public class NodeHidingBehavior extends AbstractHidingBehavior {
 
 	private IVisualPart<? extends Node> hiddenNeighborsFeedbackPart;
-
-	private boolean containsAny(Set<org.eclipse.gef.graph.Node> hidden, Set<org.eclipse.gef.graph.Node> neighbors) {
-		boolean containsAny = false;
-		for (org.eclipse.gef.graph.Node n : neighbors) {
-			if (hidden.contains(n)) {
-				containsAny = true;
-				break;
-			}
-		}
-		return containsAny;
-	}
+	private int hiddenNeighborCount;
 
 	/**
 	 * Creates the {@link HiddenNeighborsFeedbackPart} that shows the hidden
@@ -77,7 +65,8 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 		super.doActivate();
 		// create hidden neighbors part if it is already associated with our
 		// host
-		if (getHidingModel().hasHiddenNeighbors(getHost())) {
+		hiddenNeighborCount = getHidingModel().getHiddenNeighborCount(getHost().getContent());
+		if (hiddenNeighborCount > 0) {
 			createHiddenNeighborsFeedbackPart();
 		}
 	}
@@ -86,8 +75,9 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 	protected void doDeactivate() {
 		// remove hidden neighbors part if it is currently associated with our
 		// host
-		if (getHidingModel().hasHiddenNeighbors(getHost())) {
+		if (hiddenNeighborCount > 0) {
 			removeHiddenNeighborsFeedbackPart();
+			hiddenNeighborCount = 0;
 		}
 		super.doDeactivate();
 	}
@@ -112,21 +102,17 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 	protected void onHidingModelChange(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
 		super.onHidingModelChange(change);
 
-		Set<org.eclipse.gef.graph.Node> newHidden = new HashSet<>(change.getSet());
-		Set<org.eclipse.gef.graph.Node> oldHidden = new HashSet<>(change.getSet());
-		oldHidden.remove(change.getElementAdded());
-		oldHidden.add(change.getElementRemoved());
-
-		// check if we have to show/hide/update the pruned neighbors part
-		org.eclipse.gef.graph.Node content = getHost().getContent();
-		Set<org.eclipse.gef.graph.Node> neighbors = content.getNeighbors();
+		// check if we have to show/hide/update the pruned neighbors part (the
+		// hidden neighbor count is maintained by the hiding model, so that
+		// only a change of the count needs to be handled)
+		int oldCount = hiddenNeighborCount;
+		hiddenNeighborCount = getHidingModel().getHiddenNeighborCount(getHost().getContent());
 
-		if (!containsAny(oldHidden, neighbors) && containsAny(newHidden, neighbors)) {
+		if (oldCount == 0 && hiddenNeighborCount > 0) {
 			createHiddenNeighborsFeedbackPart();
-		} else if (containsAny(oldHidden, neighbors) && !containsAny(newHidden, neighbors)) {
+		} else if (oldCount > 0 && hiddenNeighborCount == 0) {
 			removeHiddenNeighborsFeedbackPart();
-		} else {
-			// TODO: only necessary when neighbors change
+		} else if (oldCount != hiddenNeighborCount) {
 			if (hiddenNeighborsFeedbackPart != null) {
 				updateHiddenNeighborsFeedbackPart();
 			}
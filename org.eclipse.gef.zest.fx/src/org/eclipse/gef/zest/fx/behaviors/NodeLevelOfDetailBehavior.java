@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import org.eclipse.gef.zest.fx.parts.NodePart;
+
+/**
+ * The {@link NodeLevelOfDetailBehavior} is a {@link NodePart}-specific
+ * {@link AbstractLevelOfDetailBehavior} implementation. When zoomed out, the
+ * label, icon, and nested content of the {@link #getHost() host} are removed
+ * from the scene graph, so that only its shape is rendered.
+ *
+ * @author zhaosongvip
+ *
+ */
+// only applicable for NodePart (see #getHost())
+public class NodeLevelOfDetailBehavior extends AbstractLevelOfDetailBehavior {
+
+	@Override
+	public NodePart getHost() {
+		return (NodePart) super.getHost();
+	}
+
+	@Override
+	protected void reduceDetail() {
+		getHost().setDetailed(false);
+	}
+
+	@Override
+	protected void restoreDetail() {
+		getHost().setDetailed(true);
+	}
+
+}
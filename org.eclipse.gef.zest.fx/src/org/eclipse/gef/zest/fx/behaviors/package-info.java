@@ -20,6 +20,15 @@
  * {@link org.eclipse.gef.zest.fx.behaviors.AbstractHidingBehavior},
  * {@link org.eclipse.gef.zest.fx.behaviors.NodeHidingBehavior},
  * {@link org.eclipse.gef.zest.fx.behaviors.EdgeHidingBehavior},
- * {@link org.eclipse.gef.zest.fx.behaviors.EdgeLabelHidingBehavior}).
+ * {@link org.eclipse.gef.zest.fx.behaviors.EdgeLabelHidingBehavior}),
+ * zoom-dependent level of detail (
+ * {@link org.eclipse.gef.zest.fx.behaviors.AbstractLevelOfDetailBehavior},
+ * {@link org.eclipse.gef.zest.fx.behaviors.NodeLevelOfDetailBehavior},
+ * {@link org.eclipse.gef.zest.fx.behaviors.EdgeLevelOfDetailBehavior},
+ * {@link org.eclipse.gef.zest.fx.behaviors.LabelLevelOfDetailBehavior},
+ * {@link org.eclipse.gef.zest.fx.behaviors.LevelOfDetailManager}), and
+ * batched edge rendering (
+ * {@link org.eclipse.gef.zest.fx.behaviors.BatchedEdgeRenderingBehavior},
+ * {@link org.eclipse.gef.zest.fx.behaviors.EdgeBatchingBehavior}).
  */
 package org.eclipse.gef.zest.fx.behaviors;
\ No newline at end of file
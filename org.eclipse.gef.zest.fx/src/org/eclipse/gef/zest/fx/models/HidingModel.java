@@ -18,6 +18,8 @@ import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
@@ -25,12 +27,21 @@ import org.eclipse.gef.zest.fx.parts.NodePart;
 import javafx.beans.property.ReadOnlySetProperty;
 import javafx.beans.property.ReadOnlySetWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 
 /**
  * The {@link HidingModel} manages a {@link Set} of currently hidden
  * {@link org.eclipse.gef.graph.Node}s. The hidden neighbors of a
  * {@link org.eclipse.gef.graph.Node} can be identified using
  * {@link #getHiddenNeighbors(org.eclipse.gef.graph.Node)}.
+ * <p>
+ * The hidden neighbors are indexed per {@link org.eclipse.gef.graph.Node}, and
+ * the index is updated incrementally when a
+ * {@link org.eclipse.gef.graph.Node} is hidden or shown, so that the hidden
+ * neighbors (and their number) can be queried without scanning the edges of
+ * the graph. While a {@link org.eclipse.gef.graph.Node} is hidden, the edges of
+ * its {@link Graph} are observed, so that the index is kept up-to-date when
+ * edges are added or removed.
  *
  * @author mwienand
  *
@@ -46,6 +57,32 @@ public class HidingModel {
 	private ReadOnlySetWrapper<org.eclipse.gef.graph.Node> hiddenProperty = new ReadOnlySetWrapper<>(this,
 			HIDDEN_PROPERTY, FXCollections.observableSet(new HashSet<org.eclipse.gef.graph.Node>()));
 
+	// the hidden neighbors per node (updated before the hidden set is changed,
+	// so that it is consistent when listeners are notified)
+	private Map<org.eclipse.gef.graph.Node, Set<org.eclipse.gef.graph.Node>> hiddenNeighbors = new IdentityHashMap<>();
+
+	// the current neighbors of each hidden node
+	private Map<org.eclipse.gef.graph.Node, Set<org.eclipse.gef.graph.Node>> neighborsOfHidden = new IdentityHashMap<>();
+
+	// the graph of each hidden node, and the number of hidden nodes per graph
+	// (the edges of these graphs are observed)
+	private Map<org.eclipse.gef.graph.Node, Graph> graphsOfHidden = new IdentityHashMap<>();
+	private Map<Graph, Integer> observedGraphs = new IdentityHashMap<>();
+
+	private ListChangeListener<Edge> edgesChangeListener = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+			while (change.next()) {
+				for (Edge edge : change.getRemoved()) {
+					onEdgeRemoved(edge);
+				}
+				for (Edge edge : change.getAddedSubList()) {
+					onEdgeAdded(edge);
+				}
+			}
+		}
+	};
+
 	/**
 	 * Returns a {@link Set} containing all {@link NodePart}s corresponding to
 	 * the hidden neighbors of the content of the given {@link NodePart}.
@@ -78,17 +115,30 @@ public class HidingModel {
 	 *         {@link org.eclipse.gef.graph.Node}.
 	 */
 	public Set<org.eclipse.gef.graph.Node> getHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		Set<org.eclipse.gef.graph.Node> neighbors = node.getNeighbors();
 		Set<org.eclipse.gef.graph.Node> hiddenNeighbors = Collections
 				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
-		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
-			if (isHidden(neighbor)) {
-				hiddenNeighbors.add(neighbor);
-			}
+		Set<org.eclipse.gef.graph.Node> indexed = this.hiddenNeighbors.get(node);
+		if (indexed != null) {
+			hiddenNeighbors.addAll(indexed);
 		}
 		return hiddenNeighbors;
 	}
 
+	/**
+	 * Returns the number of hidden neighbors of the given
+	 * {@link org.eclipse.gef.graph.Node}.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} of which the hidden
+	 *            neighbors are counted.
+	 * @return The number of hidden neighbors of the given
+	 *         {@link org.eclipse.gef.graph.Node}.
+	 */
+	public int getHiddenNeighborCount(org.eclipse.gef.graph.Node node) {
+		Set<org.eclipse.gef.graph.Node> indexed = hiddenNeighbors.get(node);
+		return indexed == null ? 0 : indexed.size();
+	}
+
 	/**
 	 * Returns a copy of the {@link Set} that contains all hidden
 	 * {@link org.eclipse.gef.graph.Node}s.
@@ -128,7 +178,7 @@ public class HidingModel {
 	 *         <code>false</code>.
 	 */
 	public boolean hasHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		return getHiddenNeighbors(node).size() > 0;
+		return getHiddenNeighborCount(node) > 0;
 	}
 
 	/**
@@ -163,6 +213,23 @@ public class HidingModel {
 	 *            {@link Set} of hidden {@link org.eclipse.gef.graph.Node}s.
 	 */
 	public void hide(org.eclipse.gef.graph.Node node) {
+		if (neighborsOfHidden.containsKey(node)) {
+			return;
+		}
+		neighborsOfHidden.put(node,
+				Collections.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>()));
+		for (org.eclipse.gef.graph.Node neighbor : node.getNeighbors()) {
+			link(node, neighbor);
+		}
+		Graph graph = node.getGraph();
+		if (graph != null) {
+			graphsOfHidden.put(node, graph);
+			Integer count = observedGraphs.get(graph);
+			if (count == null) {
+				graph.edgesProperty().addListener(edgesChangeListener);
+			}
+			observedGraphs.put(graph, count == null ? 1 : count + 1);
+		}
 		hiddenProperty.add(node);
 	}
 
@@ -200,6 +267,43 @@ public class HidingModel {
 		return hiddenProperty.contains(node);
 	}
 
+	/**
+	 * Records the given neighbor of the given hidden
+	 * {@link org.eclipse.gef.graph.Node}.
+	 */
+	private void link(org.eclipse.gef.graph.Node hidden, org.eclipse.gef.graph.Node neighbor) {
+		neighborsOfHidden.get(hidden).add(neighbor);
+		Set<org.eclipse.gef.graph.Node> indexed = hiddenNeighbors.get(neighbor);
+		if (indexed == null) {
+			indexed = Collections.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
+			hiddenNeighbors.put(neighbor, indexed);
+		}
+		indexed.add(hidden);
+	}
+
+	private void onEdgeAdded(Edge edge) {
+		org.eclipse.gef.graph.Node source = edge.getSource();
+		org.eclipse.gef.graph.Node target = edge.getTarget();
+		if (neighborsOfHidden.containsKey(source)) {
+			link(source, target);
+		}
+		if (neighborsOfHidden.containsKey(target)) {
+			link(target, source);
+		}
+	}
+
+	private void onEdgeRemoved(Edge edge) {
+		// the nodes may still be connected by another edge
+		org.eclipse.gef.graph.Node source = edge.getSource();
+		org.eclipse.gef.graph.Node target = edge.getTarget();
+		if (neighborsOfHidden.containsKey(source) && !source.getNeighbors().contains(target)) {
+			unlink(source, target);
+		}
+		if (neighborsOfHidden.containsKey(target) && !target.getNeighbors().contains(source)) {
+			unlink(target, source);
+		}
+	}
+
 	/**
 	 * Remove the content of the given {@link NodePart} from the {@link Set} of
 	 * hidden {@link org.eclipse.gef.graph.Node} s. Notifies all property change
@@ -224,7 +328,42 @@ public class HidingModel {
 	 *            s.
 	 */
 	public void show(org.eclipse.gef.graph.Node node) {
+		Set<org.eclipse.gef.graph.Node> neighbors = neighborsOfHidden.remove(node);
+		if (neighbors == null) {
+			return;
+		}
+		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
+			unindex(node, neighbor);
+		}
+		Graph graph = graphsOfHidden.remove(node);
+		if (graph != null) {
+			int count = observedGraphs.remove(graph) - 1;
+			if (count > 0) {
+				observedGraphs.put(graph, count);
+			} else {
+				graph.edgesProperty().removeListener(edgesChangeListener);
+			}
+		}
 		hiddenProperty.remove(node);
 	}
 
+	private void unindex(org.eclipse.gef.graph.Node hidden, org.eclipse.gef.graph.Node neighbor) {
+		Set<org.eclipse.gef.graph.Node> indexed = hiddenNeighbors.get(neighbor);
+		if (indexed != null) {
+			indexed.remove(hidden);
+			if (indexed.isEmpty()) {
+				hiddenNeighbors.remove(neighbor);
+			}
+		}
+	}
+
+	/**
+	 * Removes the given neighbor of the given hidden
+	 * {@link org.eclipse.gef.graph.Node}.
+	 */
+	private void unlink(org.eclipse.gef.graph.Node hidden, org.eclipse.gef.graph.Node neighbor) {
+		neighborsOfHidden.get(hidden).remove(neighbor);
+		unindex(hidden, neighbor);
+	}
+
 }
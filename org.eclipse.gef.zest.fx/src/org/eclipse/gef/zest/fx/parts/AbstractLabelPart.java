@@ -74,6 +74,7 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 	};
 
 	private Text text;
+	private boolean detailed = true;
 
 	/**
 	 * Computes a position for this label.
@@ -187,6 +188,18 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 		return text;
 	}
 
+	/**
+	 * Returns <code>true</code> if the {@link #getText() text} of this
+	 * {@link AbstractLabelPart} is part of the scene graph. Otherwise, returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if the text is displayed, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isDetailed() {
+		return detailed;
+	}
+
 	/**
 	 * Recomputes the label position.
 	 */
@@ -220,6 +233,27 @@ public abstract class AbstractLabelPart extends AbstractContentPart<Group> imple
 		setLabelPosition(new Point(transform.getTx(), transform.getTy()));
 	}
 
+	/**
+	 * Adds the {@link #getText() text} of this {@link AbstractLabelPart} to the
+	 * scene graph if <code>true</code> is given, or removes it from the scene
+	 * graph otherwise.
+	 *
+	 * @param detailed
+	 *            <code>true</code> if the text should be displayed, otherwise
+	 *            <code>false</code>.
+	 */
+	public void setDetailed(boolean detailed) {
+		if (this.detailed == detailed) {
+			return;
+		}
+		this.detailed = detailed;
+		if (detailed) {
+			getVisual().getChildren().add(getText());
+		} else {
+			getVisual().getChildren().remove(getText());
+		}
+	}
+
 	/**
 	 * Sets the stored label position to the given value.
 	 *
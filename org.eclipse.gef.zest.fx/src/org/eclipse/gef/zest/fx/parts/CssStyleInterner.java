@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.parts;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * The {@link CssStyleInterner} interns the CSS style strings and CSS class
+ * names that are applied by the Zest parts, so that all visuals with the same
+ * style share a single {@link String} instance. This reduces the memory
+ * footprint of large graphs (e.g. imported ones, where each element obtains
+ * its own copy of a style) and allows the parts to detect unchanged styles by
+ * identity.
+ *
+ * @author zhaosongvip
+ *
+ */
+final class CssStyleInterner {
+
+	private static final Interner<String> INTERNER = Interners
+			.newWeakInterner();
+
+	/**
+	 * Returns the canonical instance of the given CSS style string, or
+	 * <code>null</code> if <code>null</code> is given.
+	 *
+	 * @param style
+	 *            The CSS style string to intern.
+	 * @return The canonical instance of the given CSS style string.
+	 */
+	static String intern(String style) {
+		return style == null ? null : INTERNER.intern(style);
+	}
+
+	private CssStyleInterner() {
+		// not intended to be instantiated
+	}
+
+}
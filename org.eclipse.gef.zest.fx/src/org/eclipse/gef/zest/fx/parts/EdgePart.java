@@ -61,6 +61,11 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 	 */
 	public static final String CSS_CLASS_DECORATION = "decoration";
 
+	private boolean detailed = true;
+	private String appliedCssClass;
+	private Node startDecoration;
+	private Node endDecoration;
+
 	private MapChangeListener<String, Object> edgeAttributesObserver = new MapChangeListener<String, Object>() {
 
 		@Override
@@ -187,6 +192,14 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		return Collections.emptyList();
 	}
 
+	private void applyStyle(Node node, String style) {
+		String interned = CssStyleInterner.intern(style);
+		if (interned == null ? node.getStyle() != null && !node.getStyle().isEmpty()
+				: !interned.equals(node.getStyle())) {
+			node.setStyle(interned);
+		}
+	}
+
 	@Override
 	protected void doRefreshVisual(Connection visual) {
 		Edge edge = getContent();
@@ -194,9 +207,15 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 
 		refreshCurve();
 
-		// css class
+		// css class (only if changed since the last refresh)
 		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
-			String cssClass = ZestProperties.getCssClass(edge);
+			String cssClass = CssStyleInterner.intern(ZestProperties.getCssClass(edge));
+			if (appliedCssClass != cssClass) {
+				if (appliedCssClass != null) {
+					visual.getStyleClass().remove(appliedCssClass);
+				}
+				appliedCssClass = cssClass;
+			}
 			if (!visual.getStyleClass().contains(cssClass)) {
 				visual.getStyleClass().add(cssClass);
 			}
@@ -205,19 +224,21 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		// css id
 		if (attrs.containsKey(ZestProperties.CSS_ID__NE)) {
 			String cssId = ZestProperties.getCssId(edge);
-			visual.setId(cssId);
+			if (cssId == null ? visual.getId() != null : !cssId.equals(visual.getId())) {
+				visual.setId(cssId);
+			}
 		}
 
-		// css style
-		String curveCssStyle = ZestProperties.getCurveCssStyle(edge);
+		// css style (interned, so that unchanged styles are detected by
+		// identity and equal styles share one instance)
 		if (attrs.containsKey(ZestProperties.CURVE_CSS_STYLE__E)) {
-			visual.getCurve().setStyle(curveCssStyle);
+			applyStyle(visual.getCurve(), ZestProperties.getCurveCssStyle(edge));
 		}
 
 		// custom decoration
 		Node sourceDecoration = ZestProperties.getSourceDecoration(edge);
 		if (sourceDecoration != null) {
-			visual.setStartDecoration(sourceDecoration);
+			setStartDecoration(sourceDecoration);
 			// apply CSS class
 			if (!sourceDecoration.getStyleClass().contains(CSS_CLASS_DECORATION)) {
 				sourceDecoration.getStyleClass().add(CSS_CLASS_DECORATION);
@@ -226,13 +247,13 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		// apply source decoration CSS style (even if decoration is not set via
 		// property)
 		String sourceDecorationCssStyle = ZestProperties.getSourceDecorationCssStyle(edge);
-		if (sourceDecorationCssStyle != null && visual.getStartDecoration() != null) {
-			visual.getStartDecoration().setStyle(sourceDecorationCssStyle);
+		if (sourceDecorationCssStyle != null && getStartDecoration() != null) {
+			applyStyle(getStartDecoration(), sourceDecorationCssStyle);
 		}
 
 		Node targetDecoration = ZestProperties.getTargetDecoration(edge);
 		if (targetDecoration != null) {
-			visual.setEndDecoration(targetDecoration);
+			setEndDecoration(targetDecoration);
 			// apply CSS class
 			if (!targetDecoration.getStyleClass().contains(CSS_CLASS_DECORATION)) {
 				targetDecoration.getStyleClass().add(CSS_CLASS_DECORATION);
@@ -241,19 +262,19 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		// apply target decoration CSS style (even if decoration is not set via
 		// property)
 		String targetDecorationCssStyle = ZestProperties.getTargetDecorationCssStyle(edge);
-		if (targetDecorationCssStyle != null && visual.getEndDecoration() != null) {
-			visual.getEndDecoration().setStyle(targetDecorationCssStyle);
+		if (targetDecorationCssStyle != null && getEndDecoration() != null) {
+			applyStyle(getEndDecoration(), targetDecorationCssStyle);
 		}
 
 		// connection router
 		IConnectionRouter router = ZestProperties.getRouter(edge);
-		if (router != null) {
+		if (router != null && visual.getRouter() != router) {
 			visual.setRouter(router);
 		}
 
 		// interpolator
 		IConnectionInterpolator interpolator = ZestProperties.getInterpolator(edge);
-		if (interpolator != null) {
+		if (interpolator != null && visual.getInterpolator() != interpolator) {
 			visual.setInterpolator(interpolator);
 		}
 
@@ -262,21 +283,24 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 
 		// start point or hint
 		Point startPoint = ZestProperties.getStartPoint(edge);
+		// XXX: Only update the start point (hint) if it changed, because
+		// setting it re-attaches a static anchor or refreshes the connection.
 		if (!getContentAnchoragesUnmodifiable().containsValue(SOURCE_ROLE)) {
-			if (startPoint != null) {
+			if (startPoint != null && (visual.isStartConnected() || !startPoint.equals(visual.getStartPoint()))) {
 				visual.setStartPoint(startPoint);
 			}
-		} else {
+		} else if (startPoint == null ? visual.getStartPointHint() != null
+				: !startPoint.equals(visual.getStartPointHint())) {
 			visual.setStartPointHint(startPoint);
 		}
 
 		// end point or hint
 		Point endPoint = ZestProperties.getEndPoint(edge);
 		if (!getContentAnchoragesUnmodifiable().containsValue(TARGET_ROLE)) {
-			if (endPoint != null) {
+			if (endPoint != null && (visual.isEndConnected() || !endPoint.equals(visual.getEndPoint()))) {
 				visual.setEndPoint(endPoint);
 			}
-		} else {
+		} else if (endPoint == null ? visual.getEndPointHint() != null : !endPoint.equals(visual.getEndPointHint())) {
 			visual.setEndPointHint(endPoint);
 		}
 
@@ -333,6 +357,17 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		return bendPoints;
 	}
 
+	/**
+	 * Returns the end decoration of this {@link EdgePart}, which is removed
+	 * from the {@link Connection} while this {@link EdgePart} is not
+	 * {@link #isDetailed() detailed}.
+	 *
+	 * @return The end decoration of this {@link EdgePart}.
+	 */
+	private Node getEndDecoration() {
+		return detailed ? getVisual().getEndDecoration() : endDecoration;
+	}
+
 	/**
 	 * Returns the {@link Node} that displays the edge.
 	 *
@@ -342,6 +377,28 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		return getVisual().getCurve();
 	}
 
+	/**
+	 * Returns the start decoration of this {@link EdgePart}, which is removed
+	 * from the {@link Connection} while this {@link EdgePart} is not
+	 * {@link #isDetailed() detailed}.
+	 *
+	 * @return The start decoration of this {@link EdgePart}.
+	 */
+	private Node getStartDecoration() {
+		return detailed ? getVisual().getStartDecoration() : startDecoration;
+	}
+
+	/**
+	 * Returns <code>true</code> if the decorations of this {@link EdgePart}
+	 * are part of the scene graph. Otherwise, returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the decorations of this {@link EdgePart}
+	 *         are displayed, otherwise <code>false</code>.
+	 */
+	public boolean isDetailed() {
+		return detailed;
+	}
+
 	private void refreshCurve() {
 		Node curve = ZestProperties.getCurve(getContent());
 		if (getVisual().getCurve() != curve && curve != null) {
@@ -437,4 +494,51 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		setRefreshVisual(wasRefreshVisual);
 		refreshVisual();
 	}
+
+	/**
+	 * Adds the decorations of this {@link EdgePart} to the {@link Connection}
+	 * if <code>true</code> is given, or removes them from the
+	 * {@link Connection} otherwise, so that only the {@link #getCurve() curve}
+	 * is rendered. Decorations that are set while this {@link EdgePart} is not
+	 * detailed are added when details are restored.
+	 *
+	 * @param detailed
+	 *            <code>true</code> if the decorations should be displayed,
+	 *            otherwise <code>false</code>.
+	 */
+	public void setDetailed(boolean detailed) {
+		if (this.detailed == detailed) {
+			return;
+		}
+		Connection visual = getVisual();
+		if (detailed) {
+			this.detailed = true;
+			visual.setStartDecoration(startDecoration);
+			visual.setEndDecoration(endDecoration);
+			startDecoration = null;
+			endDecoration = null;
+		} else {
+			startDecoration = visual.getStartDecoration();
+			endDecoration = visual.getEndDecoration();
+			visual.setStartDecoration(null);
+			visual.setEndDecoration(null);
+			this.detailed = false;
+		}
+	}
+
+	private void setEndDecoration(Node decoration) {
+		if (detailed) {
+			getVisual().setEndDecoration(decoration);
+		} else {
+			endDecoration = decoration;
+		}
+	}
+
+	private void setStartDecoration(Node decoration) {
+		if (detailed) {
+			getVisual().setStartDecoration(decoration);
+		} else {
+			startDecoration = decoration;
+		}
+	}
 }
@@ -168,6 +168,8 @@ public class NodePart extends AbstractContentPart<Group>
 
 	private static final String NODE_LABEL_EMPTY = "";
 
+	private static final Insets DEFAULT_PADDING = new Insets(DEFAULT_SHAPE_PADDING);
+
 	private MapChangeListener<String, Object> nodeAttributesObserver = new MapChangeListener<String, Object>() {
 		@Override
 		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
@@ -185,6 +187,9 @@ public class NodePart extends AbstractContentPart<Group>
 	private StackPane nestedContentStackPane;
 	private Pane nestedContentPane;
 	private AnchorPane nestedContentAnchorPane;
+	private boolean detailed = true;
+	private String appliedCssClass;
+	private boolean isCssClassApplied = false;
 
 	/**
 	 * Creates the shape used to display the node's border and background.
@@ -361,15 +366,21 @@ public class NodePart extends AbstractContentPart<Group>
 			throw new IllegalStateException();
 		}
 
-		// set CSS class
+		// set CSS class (only if changed since the last refresh)
 		Map<String, Object> attrs = node.attributesProperty();
-		List<String> cssClasses = new ArrayList<>();
-		cssClasses.add(CSS_CLASS);
-		if (attrs.containsKey(ZestProperties.CSS_CLASS__NE)) {
-			cssClasses.add(ZestProperties.getCssClass(node));
-		}
-		if (!visual.getStyleClass().equals(cssClasses)) {
-			visual.getStyleClass().setAll(cssClasses);
+		String cssClass = attrs.containsKey(ZestProperties.CSS_CLASS__NE)
+				? CssStyleInterner.intern(ZestProperties.getCssClass(node)) : null;
+		if (!isCssClassApplied || appliedCssClass != cssClass) {
+			List<String> cssClasses = new ArrayList<>();
+			cssClasses.add(CSS_CLASS);
+			if (cssClass != null) {
+				cssClasses.add(cssClass);
+			}
+			if (!visual.getStyleClass().equals(cssClasses)) {
+				visual.getStyleClass().setAll(cssClasses);
+			}
+			appliedCssClass = cssClass;
+			isCssClassApplied = true;
 		}
 
 		// set CSS id
@@ -383,27 +394,32 @@ public class NodePart extends AbstractContentPart<Group>
 
 		refreshShape();
 
-		// set CSS style
+		// set CSS style (interned, so that unchanged styles are detected by
+		// identity and equal styles share one instance)
 		if (attrs.containsKey(ZestProperties.SHAPE_CSS_STYLE__N)) {
 			if (getShape() != null) {
-				if (!getShape().getStyle().equals(ZestProperties.getShapeCssStyle(node))) {
-					getShape().setStyle(ZestProperties.getShapeCssStyle(node));
+				String shapeCssStyle = CssStyleInterner.intern(ZestProperties.getShapeCssStyle(node));
+				if (!getShape().getStyle().equals(shapeCssStyle)) {
+					getShape().setStyle(shapeCssStyle);
 				}
 			}
 		}
 		if (attrs.containsKey(ZestProperties.LABEL_CSS_STYLE__NE)) {
 			if (getLabelText() != null) {
-				if (!getLabelText().getStyle().equals(ZestProperties.getLabelCssStyle(node))) {
-					getLabelText().setStyle(ZestProperties.getLabelCssStyle(node));
+				String labelCssStyle = CssStyleInterner.intern(ZestProperties.getLabelCssStyle(node));
+				if (!getLabelText().getStyle().equals(labelCssStyle)) {
+					getLabelText().setStyle(labelCssStyle);
 				}
 			}
 		}
 
 		if (vbox != null) {
-			if (getShape() != null && DEFAULT_SHAPE_ROLE.equals(getShape().getUserData()) || isNesting()) {
-				vbox.setPadding(new Insets(DEFAULT_SHAPE_PADDING));
-			} else {
-				vbox.setPadding(Insets.EMPTY);
+			// XXX: Only set the padding if it changed, because setting an
+			// equal Insets object still invalidates the layout.
+			Insets padding = getShape() != null && DEFAULT_SHAPE_ROLE.equals(getShape().getUserData()) || isNesting()
+					? DEFAULT_PADDING : Insets.EMPTY;
+			if (!padding.equals(vbox.getPadding())) {
+				vbox.setPadding(padding);
 			}
 			if (isNesting()) {
 				if (!vbox.getChildren().contains(nestedContentAnchorPane)) {
@@ -541,6 +557,18 @@ public class NodePart extends AbstractContentPart<Group>
 		}
 	}
 
+	/**
+	 * Returns <code>true</code> if the label, icon, and nested content of this
+	 * {@link NodePart} are part of the scene graph. Otherwise, returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if the details of this {@link NodePart} are
+	 *         displayed, otherwise <code>false</code>.
+	 */
+	public boolean isDetailed() {
+		return detailed;
+	}
+
 	/**
 	 * Returns <code>true</code> if this {@link NodePart} contains a nested
 	 * {@link Graph}. Otherwise, <code>false</code> is returned.
@@ -609,6 +637,7 @@ public class NodePart extends AbstractContentPart<Group>
 		} else {
 			if (tooltipNode != null) {
 				Tooltip.uninstall(getVisual(), tooltipNode);
+				tooltipNode = null;
 			}
 		}
 	}
@@ -623,6 +652,28 @@ public class NodePart extends AbstractContentPart<Group>
 		ZestProperties.setPosition(getContent(), new Point(totalTransform.getTx(), totalTransform.getTy()));
 	}
 
+	/**
+	 * Adds the label, icon, and nested content of this {@link NodePart} to the
+	 * scene graph if <code>true</code> is given, or removes them from the scene
+	 * graph otherwise, so that only the {@link #getShape() shape} is rendered.
+	 * The size of the visual is not affected.
+	 *
+	 * @param detailed
+	 *            <code>true</code> if the details should be displayed,
+	 *            otherwise <code>false</code>.
+	 */
+	public void setDetailed(boolean detailed) {
+		if (this.detailed == detailed) {
+			return;
+		}
+		this.detailed = detailed;
+		if (detailed) {
+			getVisual().getChildren().add(vbox);
+		} else {
+			getVisual().getChildren().remove(vbox);
+		}
+	}
+
 	/**
 	 * Creates the nested graph icon and adds it to the
 	 * {@link #getNestedContentStackPane()}.
@@ -16,6 +16,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -453,6 +454,35 @@ public class ZestContentViewerTests {
 		viewer.setInput(new Object());
 	}
 
+	@Test
+	public void test_refresh() {
+		viewer.setInput(new Object());
+		org.eclipse.gef.graph.Node firstNode = viewer.getContentNodeMap().get(MyContentProvider.first());
+		IContentPart<? extends Node> firstPart = viewer.getContentViewer().getContentPartMap().get(firstNode);
+		Edge edge = firstNode.getGraph().getEdges().get(0);
+		viewer.refresh();
+		// ensure nodes, edges, and parts are reused
+		assertSame(firstNode, viewer.getContentNodeMap().get(MyContentProvider.first()));
+		assertSame(firstPart, viewer.getContentViewer().getContentPartMap().get(firstNode));
+		assertSame(edge, firstNode.getGraph().getEdges().get(0));
+		assertEquals(3, firstNode.getGraph().getNodes().size());
+		assertEquals(3, firstNode.getGraph().getEdges().size());
+	}
+
+	@Test
+	public void test_refreshElement() {
+		viewer.setInput(new Object());
+		org.eclipse.gef.graph.Node firstNode = viewer.getContentNodeMap().get(MyContentProvider.first());
+		org.eclipse.gef.graph.Node alphaNode = viewer.getContentNodeMap().get(MyContentProvider.alpha());
+		viewer.refresh(MyContentProvider.first());
+		// ensure the nested graph is reused
+		assertSame(firstNode, viewer.getContentNodeMap().get(MyContentProvider.first()));
+		assertSame(alphaNode, viewer.getContentNodeMap().get(MyContentProvider.alpha()));
+		assertSame(firstNode.getNestedGraph(), alphaNode.getGraph());
+		assertEquals(3, firstNode.getNestedGraph().getNodes().size());
+		assertEquals(3, firstNode.getNestedGraph().getEdges().size());
+	}
+
 	@Test
 	public void test_selectionModel() {
 		final List<Object> expectation = new ArrayList<>();
@@ -509,4 +539,14 @@ public class ZestContentViewerTests {
 		assertEquals(MyContentProvider.second().toUpperCase(), ZestProperties.getTooltip(node));
 	}
 
+	@Test
+	public void test_update() {
+		viewer.setInput(new Object());
+		org.eclipse.gef.graph.Node firstNode = viewer.getContentNodeMap().get(MyContentProvider.first());
+		viewer.update(MyContentProvider.first(), null);
+		assertSame(firstNode, viewer.getContentNodeMap().get(MyContentProvider.first()));
+		assertEquals(MyContentProvider.first(), ZestProperties.getLabel(firstNode));
+		assertEquals(MyContentProvider.first().toUpperCase(), ZestProperties.getTooltip(firstNode));
+	}
+
 }
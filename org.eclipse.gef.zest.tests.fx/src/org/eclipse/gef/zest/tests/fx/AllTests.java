@@ -17,6 +17,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ NodeLayoutBehaviorTests.class })
+@SuiteClasses({ EdgeBatchingBehaviorTests.class, GraphLayoutBehaviorTests.class, HidingModelTests.class,
+		LevelOfDetailBehaviorTests.class, NodeLayoutBehaviorTests.class })
 public class AllTests {
 }
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.models.HoverModel;
+import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.behaviors.BatchedEdgeRenderingBehavior;
+import org.eclipse.gef.zest.fx.behaviors.EdgeBatchingBehavior;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.MapBinder;
+
+public class EdgeBatchingBehaviorTests {
+
+	/**
+	 * Counts the calls to {@link #updateBatching()}.
+	 */
+	public static class CountingEdgeBatchingBehavior extends EdgeBatchingBehavior {
+		private int updates;
+
+		@Override
+		protected void updateBatching() {
+			updates++;
+			super.updateBatching();
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IDomain domain;
+	private IViewer viewer;
+
+	private void createViewer() throws Throwable {
+		Injector injector = Guice.createInjector(new ZestFxModule() {
+			@Override
+			protected void bindEdgePartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindEdgePartAdapters(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(CountingEdgeBatchingBehavior.class);
+			}
+
+			@Override
+			protected void bindGraphPartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindGraphPartAdapters(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(BatchedEdgeRenderingBehavior.class);
+			}
+		});
+		domain = injector.getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(viewer.getCanvas(), 400, 400);
+	}
+
+	/**
+	 * Edges are batched unless they are hovered or selected, and hover and
+	 * selection changes are only propagated to the affected edges.
+	 */
+	@Test
+	public void test_promoteOnHoverAndSelection() throws Throwable {
+		createViewer();
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Node n3 = new Node();
+		final Edge e1 = new Edge(n1, n2);
+		final Edge e2 = new Edge(n2, n3);
+		final Graph graph = new Graph(Arrays.asList(n1, n2, n3), Arrays.asList(e1, e2));
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Collections.singletonList(graph));
+		});
+
+		ctx.runAndWait(() -> {
+			GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+			BatchedEdgeRenderingBehavior renderer = graphPart.getAdapter(BatchedEdgeRenderingBehavior.class);
+			assertNotNull(renderer);
+			assertTrue(renderer.isEnabled());
+			EdgePart p1 = (EdgePart) viewer.getContentPartMap().get(e1);
+			EdgePart p2 = (EdgePart) viewer.getContentPartMap().get(e2);
+			CountingEdgeBatchingBehavior b1 = (CountingEdgeBatchingBehavior) p1
+					.getAdapter(EdgeBatchingBehavior.class);
+			CountingEdgeBatchingBehavior b2 = (CountingEdgeBatchingBehavior) p2
+					.getAdapter(EdgeBatchingBehavior.class);
+			assertTrue(b1.isBatched());
+			assertTrue(b2.isBatched());
+			assertTrue(renderer.isBatched(p1));
+			// batched connections are invisible and unmanaged
+			assertFalse(p1.getVisual().isVisible());
+			assertFalse(p1.getVisual().isManaged());
+			assertNull(renderer.getPointed());
+			int updates = b2.updates;
+
+			// hovering promotes the hovered edge
+			HoverModel hoverModel = viewer.getAdapter(HoverModel.class);
+			hoverModel.setHover(p1);
+			assertFalse(b1.isBatched());
+			assertFalse(renderer.isBatched(p1));
+			assertTrue(p1.getVisual().isVisible());
+			assertTrue(p1.getVisual().isManaged());
+			hoverModel.clearHover();
+			assertTrue(b1.isBatched());
+			assertTrue(renderer.isBatched(p1));
+
+			// selecting promotes the selected edge
+			SelectionModel selectionModel = viewer.getAdapter(SelectionModel.class);
+			selectionModel.setSelection(p1);
+			assertFalse(b1.isBatched());
+			selectionModel.clearSelection();
+			assertTrue(b1.isBatched());
+
+			// the other edge was not affected and not notified
+			assertTrue(b2.isBatched());
+			assertEquals(updates, b2.updates);
+		});
+
+		// batched edges are promoted on deactivation
+		ctx.runAndWait(() -> {
+			EdgePart p1 = (EdgePart) viewer.getContentPartMap().get(e1);
+			EdgeBatchingBehavior b1 = p1.getAdapter(EdgeBatchingBehavior.class);
+			viewer.getContents().setAll(Collections.emptyList());
+			assertFalse(b1.isBatched());
+			assertTrue(p1.getVisual().isVisible());
+			assertTrue(p1.getVisual().isManaged());
+			domain.deactivate();
+		});
+	}
+}
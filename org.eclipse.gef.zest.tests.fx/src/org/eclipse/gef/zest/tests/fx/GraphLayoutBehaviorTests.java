@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule.RunnableWithResult;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Provider;
+
+import javafx.application.Platform;
+
+public class GraphLayoutBehaviorTests {
+
+	/**
+	 * Exposes {@link #layoutNestedGraphs()} for the given graph.
+	 */
+	private static class TestGraphLayoutBehavior extends GraphLayoutBehavior {
+		private final GraphPart host;
+
+		public TestGraphLayoutBehavior(final Graph graph) {
+			host = new GraphPart() {
+				@Override
+				public Graph getContent() {
+					return graph;
+				}
+			};
+		}
+
+		@Override
+		public GraphPart getHost() {
+			return host;
+		}
+
+		@Override
+		public CompletableFuture<Void> layoutNestedGraphs() {
+			return super.layoutNestedGraphs();
+		}
+	}
+
+	/**
+	 * Delegates to a {@link GridLayoutAlgorithm} after the given latch was
+	 * released.
+	 */
+	private static class BlockingLayoutAlgorithm implements ILayoutAlgorithm {
+		private final CountDownLatch latch;
+		private volatile boolean onApplicationThread;
+
+		public BlockingLayoutAlgorithm(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public void applyLayout(LayoutContext layoutContext, boolean clean) {
+			onApplicationThread |= Platform.isFxApplicationThread();
+			try {
+				latch.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			new GridLayoutAlgorithm().applyLayout(layoutContext, clean);
+		}
+	}
+
+	/**
+	 * Provides a new {@link GridLayoutAlgorithm} upon each call and records
+	 * the provided instances.
+	 */
+	private static class GridLayoutAlgorithmProvider implements Provider<ILayoutAlgorithm> {
+		private final List<ILayoutAlgorithm> provided = new ArrayList<>();
+
+		@Override
+		public ILayoutAlgorithm get() {
+			ILayoutAlgorithm algorithm = new GridLayoutAlgorithm();
+			provided.add(algorithm);
+			return algorithm;
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private Graph createNestedGraph(Graph root, ILayoutAlgorithm algorithm) {
+		Graph nested = createNestedGraph(root);
+		ZestProperties.setLayoutAlgorithm(nested, algorithm);
+		return nested;
+	}
+
+	private Graph createNestedGraph(Graph root, Provider<ILayoutAlgorithm> algorithmProvider) {
+		Graph nested = createNestedGraph(root);
+		ZestProperties.setLayoutAlgorithm(nested, algorithmProvider);
+		return nested;
+	}
+
+	private Graph createNestedGraph(Graph root) {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Graph nested = new Graph(Arrays.asList(n1, n2), Arrays.asList(new Edge(n1, n2)));
+		Node nesting = new Node();
+		root.getNodes().add(nesting);
+		nesting.setNestedGraph(nested);
+		return nested;
+	}
+
+	/**
+	 * The nested graphs are laid out in the background, so that the JavaFX
+	 * application thread is not blocked, and the results are transferred
+	 * afterwards.
+	 */
+	@Test
+	public void test_layoutNestedGraphsInBackground() throws Throwable {
+		final Graph root = new Graph(Collections.<Node> emptyList(), Collections.<Edge> emptyList());
+		CountDownLatch latch = new CountDownLatch(1);
+		final BlockingLayoutAlgorithm algorithm = new BlockingLayoutAlgorithm(latch);
+		final Graph nested = createNestedGraph(root, new Provider<ILayoutAlgorithm>() {
+			@Override
+			public ILayoutAlgorithm get() {
+				return algorithm;
+			}
+		});
+
+		// returns although the layout algorithm is blocked
+		CompletableFuture<Void> future = ctx.runAndWait(new RunnableWithResult<CompletableFuture<Void>>() {
+			@Override
+			public CompletableFuture<Void> run() {
+				return new TestGraphLayoutBehavior(root).layoutNestedGraphs();
+			}
+		});
+		assertFalse(future.isDone());
+		assertNull(LayoutProperties.getBounds(nested));
+
+		latch.countDown();
+		future.get(10, TimeUnit.SECONDS);
+		assertFalse(algorithm.onApplicationThread);
+		assertNotNull(LayoutProperties.getBounds(nested));
+		for (Node node : nested.getNodes()) {
+			assertNotNull(ZestProperties.getPosition(node));
+		}
+	}
+
+	/**
+	 * The nested graphs that were laid out are recorded per behavior, so that
+	 * they are not laid out again by the same behavior, while other behaviors
+	 * (e.g. of other viewers) are not affected.
+	 */
+	@Test
+	public void test_preLaidOutNestedGraphsPerBehavior() throws Throwable {
+		final Graph root = new Graph(Collections.<Node> emptyList(), Collections.<Edge> emptyList());
+		final Graph nested = createNestedGraph(root, new GridLayoutAlgorithmProvider());
+		final TestGraphLayoutBehavior behavior = new TestGraphLayoutBehavior(root);
+		ctx.runAndWait(new RunnableWithResult<CompletableFuture<Void>>() {
+			@Override
+			public CompletableFuture<Void> run() {
+				return behavior.layoutNestedGraphs();
+			}
+		}).get(10, TimeUnit.SECONDS);
+		assertNotNull(LayoutProperties.getBounds(nested));
+
+		// already laid out, so that nothing remains to be done
+		CompletableFuture<Void> future = ctx.runAndWait(new RunnableWithResult<CompletableFuture<Void>>() {
+			@Override
+			public CompletableFuture<Void> run() {
+				return behavior.layoutNestedGraphs();
+			}
+		});
+		assertTrue(future.isDone());
+
+		// another root graph with its own nested graph is laid out
+		// independently
+		final Graph otherRoot = new Graph(Collections.<Node> emptyList(), Collections.<Edge> emptyList());
+		final Graph otherNested = createNestedGraph(otherRoot, new GridLayoutAlgorithmProvider());
+		ctx.runAndWait(new RunnableWithResult<CompletableFuture<Void>>() {
+			@Override
+			public CompletableFuture<Void> run() {
+				return new TestGraphLayoutBehavior(otherRoot).layoutNestedGraphs();
+			}
+		}).get(10, TimeUnit.SECONDS);
+		assertEquals(LayoutProperties.getBounds(nested), LayoutProperties.getBounds(otherNested));
+	}
+
+	/**
+	 * Each concurrent layout pass uses its own layout algorithm, and nested
+	 * graphs for which a layout algorithm instance (instead of a provider) is
+	 * specified are laid out when they are displayed.
+	 */
+	@Test
+	public void test_separateLayoutAlgorithmPerPass() throws Throwable {
+		final Graph root = new Graph(Collections.<Node> emptyList(), Collections.<Edge> emptyList());
+		GridLayoutAlgorithmProvider provider = new GridLayoutAlgorithmProvider();
+		final Graph first = createNestedGraph(root, provider);
+		final Graph second = createNestedGraph(root, provider);
+		final Graph shared = createNestedGraph(root, new GridLayoutAlgorithm());
+		ctx.runAndWait(new RunnableWithResult<CompletableFuture<Void>>() {
+			@Override
+			public CompletableFuture<Void> run() {
+				return new TestGraphLayoutBehavior(root).layoutNestedGraphs();
+			}
+		}).get(10, TimeUnit.SECONDS);
+		assertEquals(2, provider.provided.size());
+		assertNotSame(provider.provided.get(0), provider.provided.get(1));
+		assertNotNull(LayoutProperties.getBounds(first));
+		assertNotNull(LayoutProperties.getBounds(second));
+		assertNull(LayoutProperties.getBounds(shared));
+	}
+}
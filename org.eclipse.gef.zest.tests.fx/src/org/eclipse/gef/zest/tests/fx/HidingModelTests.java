@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.models.HidingModel;
+import org.junit.Test;
+
+public class HidingModelTests {
+
+	@Test
+	public void test_hideAndShow() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Node n3 = new Node();
+		new Graph(Arrays.asList(n1, n2, n3), Arrays.asList(new Edge(n1, n2), new Edge(n3, n1)));
+		HidingModel hidingModel = new HidingModel();
+
+		hidingModel.hide(n2);
+		hidingModel.hide(n3);
+		assertTrue(hidingModel.isHidden(n2));
+		assertEquals(2, hidingModel.getHiddenNeighborCount(n1));
+		assertTrue(hidingModel.getHiddenNeighbors(n2).isEmpty());
+
+		hidingModel.show(n2);
+		assertFalse(hidingModel.isHidden(n2));
+		assertEquals(Collections.singleton(n3), hidingModel.getHiddenNeighbors(n1));
+		hidingModel.show(n3);
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+	}
+
+	/**
+	 * The hidden neighbors are updated when edges are added or removed while a
+	 * node is hidden.
+	 */
+	@Test
+	public void test_edgesChangedWhileHidden() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Node n3 = new Node();
+		Edge e12 = new Edge(n1, n2);
+		Edge e21 = new Edge(n2, n1);
+		Graph graph = new Graph(Arrays.asList(n1, n2, n3), Arrays.asList(e12, e21));
+		HidingModel hidingModel = new HidingModel();
+		hidingModel.hide(n2);
+		assertEquals(1, hidingModel.getHiddenNeighborCount(n1));
+
+		// an edge to a hidden node is added
+		graph.getEdges().add(new Edge(n3, n2));
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n3));
+
+		// the nodes remain neighbors while another edge connects them
+		graph.getEdges().remove(e12);
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n1));
+		graph.getEdges().remove(e21);
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+
+		// only the current neighbors are released when the node is shown
+		hidingModel.show(n2);
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+		assertFalse(hidingModel.hasHiddenNeighbors(n3));
+
+		// the edges are no longer observed after the node was shown
+		graph.getEdges().add(new Edge(n1, n2));
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+		hidingModel.hide(n2);
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n1));
+	}
+}
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 zhaosongvip and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     zhaosongvip - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.behaviors.AbstractLevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.behaviors.EdgeHidingBehavior;
+import org.eclipse.gef.zest.fx.behaviors.EdgeLevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.behaviors.LabelLevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailManager;
+import org.eclipse.gef.zest.fx.behaviors.NodeHidingBehavior;
+import org.eclipse.gef.zest.fx.behaviors.NodeLevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.parts.EdgeLabelPart;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.NodeLabelPart;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.MapBinder;
+
+import javafx.scene.Scene;
+
+public class LevelOfDetailBehaviorTests {
+
+	/**
+	 * Counts the calls to {@link #updateLevelOfDetail()}.
+	 */
+	public static class CountingNodeLevelOfDetailBehavior extends NodeLevelOfDetailBehavior {
+		private int updates;
+
+		@Override
+		protected void updateLevelOfDetail() {
+			updates++;
+			super.updateLevelOfDetail();
+		}
+	}
+
+	/**
+	 * Records the calls to {@link #reduceDetail()} and {@link #restoreDetail()}
+	 * for a zoom level that can be set directly.
+	 */
+	private static class TestLevelOfDetailBehavior extends AbstractLevelOfDetailBehavior {
+		private double zoomLevel = 1;
+		private int reduced;
+		private int restored;
+
+		@Override
+		protected double getZoomLevel() {
+			return zoomLevel;
+		}
+
+		@Override
+		protected void reduceDetail() {
+			reduced++;
+		}
+
+		@Override
+		protected void restoreDetail() {
+			restored++;
+		}
+
+		public void zoom(double zoomLevel) {
+			this.zoomLevel = zoomLevel;
+			updateLevelOfDetail();
+		}
+	}
+
+	/**
+	 * Ensure all tests are executed on the JavaFX application thread (and the
+	 * JavaFX toolkit is properly initialized).
+	 */
+	@Rule
+	public FXApplicationThreadRule fxApplicationThreadRule = new FXApplicationThreadRule();
+
+	/**
+	 * The details are only reduced or restored when the threshold is crossed.
+	 */
+	@Test
+	public void test_reduceAndRestoreOnThresholdCrossing() {
+		TestLevelOfDetailBehavior behavior = new TestLevelOfDetailBehavior();
+		behavior.zoom(0.8);
+		behavior.zoom(0.6);
+		assertEquals(0, behavior.reduced);
+		behavior.zoom(0.4);
+		behavior.zoom(0.2);
+		assertEquals(1, behavior.reduced);
+		assertEquals(0, behavior.restored);
+		behavior.zoom(AbstractLevelOfDetailBehavior.DEFAULT_DETAIL_THRESHOLD);
+		behavior.zoom(2);
+		assertEquals(1, behavior.reduced);
+		assertEquals(1, behavior.restored);
+	}
+
+	/**
+	 * The level of detail behaviors are not bound by default, so that all
+	 * details are shown at every zoom level, but can be bound explicitly.
+	 */
+	@Test
+	public void test_optIn() {
+		Injector injector = Guice.createInjector(new ZestFxModule());
+		NodePart nodePart = new NodePart();
+		injector.injectMembers(nodePart);
+		assertNotNull(nodePart.getAdapter(NodeHidingBehavior.class));
+		assertNull(nodePart.getAdapter(NodeLevelOfDetailBehavior.class));
+		EdgePart edgePart = new EdgePart();
+		injector.injectMembers(edgePart);
+		assertNotNull(edgePart.getAdapter(EdgeHidingBehavior.class));
+		assertNull(edgePart.getAdapter(EdgeLevelOfDetailBehavior.class));
+		EdgeLabelPart edgeLabelPart = new EdgeLabelPart();
+		injector.injectMembers(edgeLabelPart);
+		assertNull(edgeLabelPart.getAdapter(LabelLevelOfDetailBehavior.class));
+		NodeLabelPart nodeLabelPart = new NodeLabelPart();
+		injector.injectMembers(nodeLabelPart);
+		assertNull(nodeLabelPart.getAdapter(LabelLevelOfDetailBehavior.class));
+
+		injector = Guice.createInjector(new ZestFxModule() {
+			@Override
+			protected void bindNodePartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindNodePartAdapters(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(NodeLevelOfDetailBehavior.class);
+			}
+		});
+		nodePart = new NodePart();
+		injector.injectMembers(nodePart);
+		assertNotNull(nodePart.getAdapter(NodeLevelOfDetailBehavior.class));
+	}
+
+	/**
+	 * The zoom level is observed once per viewer, and only the behaviors whose
+	 * threshold is crossed are notified.
+	 */
+	@Test
+	public void test_onlyCrossedThresholdsAreNotified() {
+		Injector injector = Guice.createInjector(new ZestFxModule() {
+			@Override
+			protected void bindNodePartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+				super.bindNodePartAdapters(adapterMapBinder);
+				adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(CountingNodeLevelOfDetailBehavior.class);
+			}
+		});
+		IDomain domain = injector.getInstance(IDomain.class);
+		InfiniteCanvasViewer viewer = (InfiniteCanvasViewer) domain
+				.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		new Scene(viewer.getCanvas(), 400, 400);
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Graph graph = new Graph(Arrays.asList(n1, n2), Collections.<Edge> emptyList());
+		domain.activate();
+		viewer.getContents().setAll(Collections.singletonList(graph));
+
+		NodePart p1 = (NodePart) viewer.getContentPartMap().get(n1);
+		NodePart p2 = (NodePart) viewer.getContentPartMap().get(n2);
+		CountingNodeLevelOfDetailBehavior b1 = (CountingNodeLevelOfDetailBehavior) p1
+				.getAdapter(NodeLevelOfDetailBehavior.class);
+		CountingNodeLevelOfDetailBehavior b2 = (CountingNodeLevelOfDetailBehavior) p2
+				.getAdapter(NodeLevelOfDetailBehavior.class);
+		b2.setDetailThreshold(0.25);
+		LevelOfDetailManager manager = viewer.getAdapter(LevelOfDetailManager.class);
+		assertNotNull(manager);
+		assertEquals(2, manager.getRegistered().size());
+		int updates1 = b1.updates;
+		int updates2 = b2.updates;
+
+		// only the first threshold is crossed
+		viewer.getCanvas().getContentTransform().setMxx(0.4);
+		assertFalse(p1.isDetailed());
+		assertTrue(p2.isDetailed());
+		assertEquals(updates1 + 1, b1.updates);
+		assertEquals(updates2, b2.updates);
+
+		// only the second threshold is crossed
+		viewer.getCanvas().getContentTransform().setMxx(0.2);
+		assertFalse(p2.isDetailed());
+		assertEquals(updates1 + 1, b1.updates);
+		assertEquals(updates2 + 1, b2.updates);
+
+		// both thresholds are crossed
+		viewer.getCanvas().getContentTransform().setMxx(1);
+		assertTrue(p1.isDetailed());
+		assertTrue(p2.isDetailed());
+		assertEquals(updates1 + 2, b1.updates);
+		assertEquals(updates2 + 2, b2.updates);
+
+		domain.deactivate();
+		assertTrue(manager.getRegistered().isEmpty());
+	}
+}